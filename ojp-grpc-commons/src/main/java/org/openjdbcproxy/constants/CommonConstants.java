@@ -20,9 +20,18 @@ public class CommonConstants {
     public static final String STATEMENT_COLUMN_INDEXES_KEY = "STATEMENT_COLUMN_INDEXES_KEY";
     public static final String STATEMENT_COLUMN_NAMES_KEY = "STATEMENT_COLUMN_NAMES_KEY";
     public static final String RESULT_SET_ROW_BY_ROW_MODE = "RESULT_SET_ROW_BY_ROW_MODE";
+    public static final String CALLABLE_STATEMENT_OUT_PARAMETERS_KEY = "CALLABLE_STATEMENT_OUT_PARAMETERS_KEY";
+    public static final String MATERIALIZE_RESULT_SET_FLAG = "MATERIALIZE_RESULT_SET_FLAG";
+    public static final String FLOW_CONTROLLED_RESULT_SET_FLAG = "FLOW_CONTROLLED_RESULT_SET_FLAG";
+    public static final String SESSIONLESS_QUERY_FLAG = "SESSIONLESS_QUERY_FLAG";
+    public static final String DATABASE_METADATA_SNAPSHOT = "DatabaseMetaDataSnapshot";
+    public static final String STATEMENT_DESCRIPTION = "StatementDescription";
+    public static final String RESULT_SET_ROW_CHANGES = "RowChanges";
     public static final int DEFAULT_PORT_NUMBER = 1059;
     public static final String OJP_REGEX_PATTERN = "ojp\\[([^\\]]+)\\]";
     public static final String OJP_CLOB_PREFIX = "OJP_CLOB_PREFIX:";
+    public static final String UNKNOWN_CONN_HASH_SQL_STATE = "08003";//Connection hash not known by the server
+    public static final String SESSIONLESS_QUERY_REFUSED_SQL_STATE = "0A000";//Query needs a session to read its rows
 
     // HikariCP default connection pool settings - optimized for high concurrency
     // ISSUE #29 FIX: Updated these values to prevent indefinite blocking under high load
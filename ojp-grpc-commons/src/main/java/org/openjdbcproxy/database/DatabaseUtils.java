@@ -4,11 +4,16 @@ import com.openjdbcproxy.grpc.DbName;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Set;
+
 
 @Slf4j
 @UtilityClass
 public class DatabaseUtils {
 
+    private static final Set<String> DDL_KEYWORDS = Set.of(
+            "CREATE", "ALTER", "DROP", "TRUNCATE", "RENAME", "COMMENT");
+
 
     public DbName resolveDbName(String url) {
         DbName dbName = DbName.UNMAPPED;
@@ -37,4 +42,35 @@ public class DatabaseUtils {
 
         return dbName;
     }
+
+    /**
+     * Whether the SQL statement changes the schema, cached statement descriptions are dropped when one goes through
+     * the proxy. Leading whitespace and comments are skipped.
+     */
+    public boolean isDdl(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c) || c == '(') {
+                i++;
+            } else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else {
+                break;
+            }
+        }
+        int start = i;
+        while (i < length && Character.isLetter(sql.charAt(i))) {
+            i++;
+        }
+        return DDL_KEYWORDS.contains(sql.substring(start, i).toUpperCase());
+    }
 }
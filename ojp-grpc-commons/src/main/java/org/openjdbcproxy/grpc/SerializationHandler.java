@@ -1,5 +1,7 @@
 package org.openjdbcproxy.grpc;
 
+import com.google.protobuf.ByteString;
+
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
@@ -21,6 +23,22 @@ public class SerializationHandler {
         }
     }
 
+    /**
+     * Serializes straight into a ByteString, the chunks written are handed over to the ByteString without the extra
+     * copies of ByteString.copyFrom(serialize(t)).
+     */
+    public static ByteString serializeToByteString(Object t) {
+        try (ByteString.Output bo = ByteString.newOutput()) {
+            try (ObjectOutputStream so = new ObjectOutputStream(bo)) {
+                so.writeObject(t);
+                so.flush();
+                return bo.toByteString();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static <T> T deserialize(byte[] byteArray, Class<T> type) {
         try (ByteArrayInputStream bi = new ByteArrayInputStream(byteArray)) {
             try (ObjectInputStream si = new ObjectInputStream(bi)) {
@@ -30,4 +48,15 @@ public class SerializationHandler {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Deserializes reading directly from the ByteString content instead of copying it to a byte array first.
+     */
+    public static <T> T deserialize(ByteString byteString, Class<T> type) {
+        try (ObjectInputStream si = new ObjectInputStream(byteString.newInput())) {
+            return type.cast(si.readObject());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
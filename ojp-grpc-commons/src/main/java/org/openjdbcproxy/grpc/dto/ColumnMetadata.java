@@ -0,0 +1,35 @@
+package org.openjdbcproxy.grpc.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * Metadata of one column of a result set, sent with the first block of data so the driver can answer
+ * ResultSetMetaData calls without going to the server.
+ */
+@Builder
+@Getter
+public class ColumnMetadata implements Serializable {
+    private int columnType;
+    private String columnTypeName;
+    private String columnLabel;
+    private String columnName;
+    private String schemaName;
+    private String tableName;
+    private String catalogName;
+    private int columnDisplaySize;
+    private int precision;
+    private int scale;
+    private int nullable;
+    private boolean autoIncrement;
+    private boolean caseSensitive;
+    private boolean searchable;
+    private boolean currency;
+    private boolean signed;
+    private boolean readOnly;
+    private boolean writable;
+    private boolean definitelyWritable;
+    private String columnClassName;
+}
@@ -0,0 +1,23 @@
+package org.openjdbcproxy.grpc.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * Metadata of one parameter of a prepared statement, sent with the statement description so the driver can answer
+ * ParameterMetaData calls without going to the server.
+ */
+@Builder
+@Getter
+public class ParameterMetadata implements Serializable {
+    private int parameterType;
+    private String parameterTypeName;
+    private String parameterClassName;
+    private int parameterMode;
+    private int precision;
+    private int scale;
+    private int nullable;
+    private boolean signed;
+}
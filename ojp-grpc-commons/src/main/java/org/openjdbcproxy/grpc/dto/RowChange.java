@@ -0,0 +1,25 @@
+package org.openjdbcproxy.grpc.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Change made to a row of an updatable result set, kept by the driver and sent to the server along with the other
+ * changes of the result set in a single call.
+ */
+@Builder
+@Getter
+public class RowChange implements Serializable {
+    private RowChangeType type;
+    /**
+     * Number of the row changed in the result set, not used by inserts.
+     */
+    private int row;
+    /**
+     * New values by column index, not used by deletes.
+     */
+    private Map<Integer, Object> values;
+}
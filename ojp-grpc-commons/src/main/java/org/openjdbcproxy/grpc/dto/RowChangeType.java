@@ -0,0 +1,5 @@
+package org.openjdbcproxy.grpc.dto;
+
+public enum RowChangeType {
+    UPDATE, INSERT, DELETE
+}
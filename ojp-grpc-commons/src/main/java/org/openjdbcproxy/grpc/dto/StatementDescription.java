@@ -0,0 +1,21 @@
+package org.openjdbcproxy.grpc.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Description of a prepared statement: the metadata of the result set it produces and of its parameters. Taken once
+ * per statement and cached by both the server and the driver until a DDL statement goes through the proxy or the
+ * cache time to live expires.
+ */
+@Builder
+@Getter
+public class StatementDescription implements Serializable {
+    //Null if the statement produces no result set or the database cannot describe it without executing it.
+    private List<ColumnMetadata> columns;
+    //Null if the database cannot describe the parameters.
+    private List<ParameterMetadata> parameters;
+}
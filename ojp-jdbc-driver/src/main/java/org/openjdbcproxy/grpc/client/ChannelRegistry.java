@@ -0,0 +1,298 @@
+package org.openjdbcproxy.grpc.client;
+
+import com.openjdbcproxy.grpc.StatementServiceGrpc;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.netty.NettyChannelBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.constants.CommonConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_EJECTION_MILLIS;
+
+/**
+ * Channels to the OJP servers, one set of channels per target shared by every connection to that target. Each target
+ * gets a configurable number of channels, each one its own HTTP/2 connection, and calls are spread over them so a
+ * heavy tenant does not block the others behind it on a single TCP connection.
+ */
+@Slf4j
+public class ChannelRegistry {
+
+    private static final String DNS_PREFIX = "dns:///";
+    private static final String UNIX_PREFIX = "unix:";
+    private static final String IN_PROCESS_PREFIX = "inprocess:";
+    private static final String COLON = ":";
+    private static final String COMMA = ",";
+    private static final Pattern PATTERN = Pattern.compile(CommonConstants.OJP_REGEX_PATTERN);
+    private static final long HEALTH_CHECK_DEADLINE_MILLIS = 500;
+
+    private final int channelsPerTarget;
+    private final long ejectionMillis;
+    private final Map<String, TargetChannels> targetChannels = new ConcurrentHashMap<>();
+
+    public ChannelRegistry(int channelsPerTarget) {
+        this(channelsPerTarget, DEFAULT_EJECTION_MILLIS);
+    }
+
+    /**
+     * @param ejectionMillis Time a target found unavailable is left out of the load balancing.
+     */
+    public ChannelRegistry(int channelsPerTarget, long ejectionMillis) {
+        this.channelsPerTarget = Math.max(1, channelsPerTarget);
+        this.ejectionMillis = ejectionMillis;
+    }
+
+    /**
+     * @param url OJP JDBC url, i.e. jdbc:ojp[host:port]_h2:~/test
+     * @return gRPC target of the first OJP server in the url, the default port is used if the url has none.
+     */
+    public static String target(String url) {
+        return targets(url).get(0);
+    }
+
+    /**
+     * @param url OJP JDBC url naming one or more OJP servers, i.e. jdbc:ojp[host1:1059,host2:1059]_h2:~/test. A server
+     *            running in the same host can be reached through its unix domain socket, i.e.
+     *            jdbc:ojp[unix:/var/run/ojp.sock]_h2:~/test, and a server embedded in the application JVM through its
+     *            name, i.e. jdbc:ojp[inprocess:ojp]_h2:~/test
+     * @return gRPC targets of the OJP servers in the url in the order listed.
+     */
+    public static List<String> targets(String url) {
+        Matcher matcher = PATTERN.matcher(url);
+        if (!matcher.find()) {
+            throw new RuntimeException("Invalid OJP host or port.");
+        }
+        List<String> targets = new ArrayList<>();
+        for (String hostPort : matcher.group(1).split(COMMA)) {
+            if (hostPort.trim().startsWith(UNIX_PREFIX) || hostPort.trim().startsWith(IN_PROCESS_PREFIX)) {
+                targets.add(hostPort.trim());
+                continue;
+            }
+            String[] hostPortSplit = hostPort.trim().split(COLON);
+            int port = hostPortSplit.length > 1 ? Integer.parseInt(hostPortSplit[1]) :
+                    CommonConstants.DEFAULT_PORT_NUMBER;
+            targets.add(DNS_PREFIX + hostPortSplit[0] + COLON + port);
+        }
+        return targets;
+    }
+
+    /**
+     * @return The channels of the target, opened the first time the target is used. Once open they remain open and are
+     * shared among all requests to the target.
+     */
+    public TargetChannels channels(String target) {
+        return this.targetChannels.computeIfAbsent(target,
+                t -> new TargetChannels(t, this.channelsPerTarget, this.ejectionMillis));
+    }
+
+    /**
+     * Channels to one target with their stubs, handed out in turns. The calls in flight are counted and a target whose
+     * calls fail as unavailable, or whose channels fail to connect, is ejected from the load balancing for a while.
+     */
+    public static class TargetChannels {
+        @Getter
+        private final String target;
+        private final ManagedChannel[] channels;
+        private final StatementServiceGrpc.StatementServiceBlockingStub[] blockingStubs;
+        private final StatementServiceGrpc.StatementServiceStub[] stubs;
+        private final AtomicInteger nextChannel = new AtomicInteger();
+        private final AtomicInteger outstandingCalls = new AtomicInteger();
+        private final long ejectionMillis;
+        private volatile long ejectedUntil;
+
+        TargetChannels(String target, int channelCount, long ejectionMillis) {
+            log.debug("Opening {} channels to {}", channelCount, target);
+            this.target = target;
+            this.ejectionMillis = ejectionMillis;
+            this.channels = new ManagedChannel[channelCount];
+            this.blockingStubs = new StatementServiceGrpc.StatementServiceBlockingStub[channelCount];
+            this.stubs = new StatementServiceGrpc.StatementServiceStub[channelCount];
+            ClientInterceptor callTracker = new CallTracker();
+            for (int i = 0; i < channelCount; i++) {
+                this.channels[i] = newChannel(target);
+                Channel channel = ClientInterceptors.intercept(this.channels[i], callTracker);
+                this.blockingStubs[i] = StatementServiceGrpc.newBlockingStub(channel);
+                this.stubs[i] = StatementServiceGrpc.newStub(channel);
+            }
+        }
+
+        private static ManagedChannel newChannel(String target) {
+            if (target.startsWith(IN_PROCESS_PREFIX)) {
+                return InProcessChannelBuilder.forName(target.substring(IN_PROCESS_PREFIX.length()))
+                        .build();
+            }
+            if (target.startsWith(UNIX_PREFIX)) {
+                return NettyChannelBuilder.forAddress(new DomainSocketAddress(target.substring(UNIX_PREFIX.length())))
+                        .eventLoopGroup(UnixEventLoopGroupHolder.GROUP)
+                        .channelType(EpollDomainSocketChannel.class)
+                        .usePlaintext()
+                        .build();
+            }
+            return ManagedChannelBuilder.forTarget(target)
+                    .usePlaintext()
+                    .build();
+        }
+
+        public StatementServiceGrpc.StatementServiceBlockingStub blockingStub() {
+            return this.blockingStubs[this.next()];
+        }
+
+        public StatementServiceGrpc.StatementServiceStub stub() {
+            return this.stubs[this.next()];
+        }
+
+        private int next() {
+            return this.blockingStubs.length == 1 ? 0 :
+                    Math.floorMod(this.nextChannel.getAndIncrement(), this.blockingStubs.length);
+        }
+
+        /**
+         * @return Calls started on the target and not yet closed.
+         */
+        public int getOutstandingCalls() {
+            return this.outstandingCalls.get();
+        }
+
+        /**
+         * @return false while the target is ejected.
+         */
+        public boolean isAvailable() {
+            return System.currentTimeMillis() >= this.ejectedUntil;
+        }
+
+        /**
+         * Leaves the target out of the load balancing until the ejection time passes or a health check finds it
+         * connected again.
+         */
+        public void eject() {
+            if (this.isAvailable()) {
+                log.warn("Ejecting OJP server {} for {}ms", this.target, this.ejectionMillis);
+            }
+            this.ejectedUntil = System.currentTimeMillis() + this.ejectionMillis;
+        }
+
+        /**
+         * Checks the connectivity of the channels, asking idle ones to connect, then asks a connected target for its
+         * health. A target connected and serving is readmitted right away, one not serving, i.e. draining, is ejected.
+         * One with every channel failing is ejected and its channels retry to connect without waiting for the
+         * reconnect backoff, so it is readmitted as soon as it is back.
+         */
+        public void checkHealth() {
+            ManagedChannel connected = null;
+            boolean failing = false;
+            for (ManagedChannel channel : this.channels) {
+                ConnectivityState state = channel.getState(true);
+                if (ConnectivityState.READY.equals(state)) {
+                    connected = connected == null ? channel : connected;
+                } else if (ConnectivityState.TRANSIENT_FAILURE.equals(state)) {
+                    failing = true;
+                    channel.resetConnectBackoff();
+                }
+            }
+            if (connected == null) {
+                if (failing) {
+                    this.eject();
+                }
+            } else if (this.isServing(connected)) {
+                if (!this.isAvailable()) {
+                    log.info("Readmitting OJP server {}", this.target);
+                }
+                this.ejectedUntil = 0;
+            } else {
+                this.eject();
+            }
+        }
+
+        /**
+         * Asks the gRPC health service of the server for its status. A server without the health service, i.e. an
+         * embedded one, is judged by its connectivity alone.
+         */
+        private boolean isServing(Channel channel) {
+            try {
+                HealthCheckResponse response = HealthGrpc.newBlockingStub(channel)
+                        .withDeadlineAfter(HEALTH_CHECK_DEADLINE_MILLIS, TimeUnit.MILLISECONDS)
+                        .check(HealthCheckRequest.getDefaultInstance());
+                return HealthCheckResponse.ServingStatus.SERVING.equals(response.getStatus());
+            } catch (StatusRuntimeException e) {
+                log.debug("Health check of OJP server {} failed: {}", this.target, e.getStatus());
+                return Status.Code.UNIMPLEMENTED.equals(e.getStatus().getCode());
+            }
+        }
+
+        void callStarted() {
+            this.outstandingCalls.incrementAndGet();
+        }
+
+        void callClosed(Status status) {
+            this.outstandingCalls.decrementAndGet();
+            if (Status.Code.UNAVAILABLE.equals(status.getCode())) {
+                this.eject();
+            }
+        }
+
+        /**
+         * Counts the calls in flight on the channels of the target and ejects it when a call finds it unavailable.
+         */
+        private class CallTracker implements ClientInterceptor {
+            @Override
+            public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                                       CallOptions callOptions, Channel next) {
+                return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+                    @Override
+                    public void start(Listener<RespT> responseListener, Metadata headers) {
+                        callStarted();
+                        super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                                responseListener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                callClosed(status);
+                                super.onClose(status, trailers);
+                            }
+                        }, headers);
+                    }
+                };
+            }
+        }
+    }
+
+    /**
+     * Event loops of the unix domain socket channels, created the first time a url names a unix socket as they need the
+     * native epoll transport, only available in Linux. They are never shut down: the channels using them are shared by
+     * every connection for as long as the driver is loaded, so the event loops live as long as the JVM, on daemon
+     * threads that do not keep it from exiting.
+     */
+    private static class UnixEventLoopGroupHolder {
+        private static final EventLoopGroup GROUP = new EpollEventLoopGroup(0,
+                new DefaultThreadFactory("ojp-unix-socket", true));
+    }
+}
@@ -0,0 +1,110 @@
+package org.openjdbcproxy.grpc.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the OJP server of each new connection among the servers listed in a url. Servers ejected for being
+ * unavailable or not serving are skipped, the health of every server is checked periodically so ejected servers are
+ * readmitted as soon as they are back. Connections stay on the server chosen for their whole life, as their sessions live there.
+ */
+@Slf4j
+public class LoadBalancer {
+
+    public enum Policy {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING //Server with the fewest calls in flight from this client
+    }
+
+    //Shared by every load balancer, health checks are quick and never block.
+    private static final ScheduledExecutorService HEALTH_CHECKER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ojp-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<ChannelRegistry.TargetChannels> targets;
+    private final Policy policy;
+    private final AtomicInteger nextTarget = new AtomicInteger();
+
+    public LoadBalancer(List<ChannelRegistry.TargetChannels> targets, Policy policy) {
+        this.targets = targets;
+        this.policy = policy;
+    }
+
+    /**
+     * Starts checking the health of the servers.
+     *
+     * @param periodMillis Time between checks, 0 disables the checks leaving ejected servers out until their ejection
+     *                     time passes.
+     */
+    public LoadBalancer startHealthChecks(long periodMillis) {
+        if (periodMillis > 0) {
+            HEALTH_CHECKER.scheduleWithFixedDelay(this::checkHealth, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * @return Server for a new connection. If every server is ejected all of them are considered, a connection is
+     * attempted anyway rather than failing without trying.
+     */
+    public ChannelRegistry.TargetChannels select() {
+        List<ChannelRegistry.TargetChannels> candidates = this.availableTargets(null);
+        if (candidates.isEmpty()) {
+            log.debug("Every OJP server is ejected, considering all of them");
+            candidates = this.targets;
+        }
+        return this.choose(candidates);
+    }
+
+    /**
+     * @return Available server other than the one given, null if there is none.
+     */
+    public ChannelRegistry.TargetChannels selectOther(ChannelRegistry.TargetChannels excluded) {
+        List<ChannelRegistry.TargetChannels> candidates = this.availableTargets(excluded);
+        return candidates.isEmpty() ? null : this.choose(candidates);
+    }
+
+    private List<ChannelRegistry.TargetChannels> availableTargets(ChannelRegistry.TargetChannels excluded) {
+        List<ChannelRegistry.TargetChannels> candidates = new ArrayList<>(this.targets.size());
+        for (ChannelRegistry.TargetChannels target : this.targets) {
+            if (target != excluded && target.isAvailable()) {
+                candidates.add(target);
+            }
+        }
+        return candidates;
+    }
+
+    private ChannelRegistry.TargetChannels choose(List<ChannelRegistry.TargetChannels> candidates) {
+        int start = Math.floorMod(this.nextTarget.getAndIncrement(), candidates.size());
+        if (Policy.ROUND_ROBIN.equals(this.policy)) {
+            return candidates.get(start);
+        }
+        //Ties are broken in turns, starting the search at the next server each time.
+        ChannelRegistry.TargetChannels selected = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            ChannelRegistry.TargetChannels candidate = candidates.get((start + i) % candidates.size());
+            if (selected == null || candidate.getOutstandingCalls() < selected.getOutstandingCalls()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    private void checkHealth() {
+        for (ChannelRegistry.TargetChannels target : this.targets) {
+            try {
+                target.checkHealth();
+            } catch (RuntimeException e) {
+                log.warn("Health check of OJP server {} failed: {}", target.getTarget(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.openjdbcproxy.grpc.client;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.openjdbcproxy.grpc.LobDataBlock;
+import com.openjdbcproxy.grpc.LobReference;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.jdbc.Connection;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+
+import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
+
+/**
+ * Client side of a createLob stream driven by the thread writing the LOB. Blocks are handed to gRPC straight from the
+ * writing thread, which waits while the call is not ready to take more messages, so the blocks buffered by the
+ * transport stay bounded.
+ */
+@Slf4j
+public class LobUploadStream implements ClientResponseObserver<LobDataBlock, LobReference> {
+
+    private final Connection connection;
+    //Indicates that the server acquired a connection to the DB and wrote the first block successfully.
+    private final SettableFuture<LobReference> sfFirstLobReference = SettableFuture.create();
+    //Indicates that the server has finished writing the last block successfully.
+    private final SettableFuture<LobReference> sfFinalLobReference = SettableFuture.create();
+    private final Object readyLock = new Object();
+    private ClientCallStreamObserver<LobDataBlock> requestStream;
+    private LobReference lobReference;
+    private boolean firstBlockSent = false;
+
+    public LobUploadStream(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<LobDataBlock> requestStream) {
+        this.requestStream = requestStream;
+        this.requestStream.setOnReadyHandler(this::signalReady);
+    }
+
+    /**
+     * Sends one block, waiting until the call is ready to take it. The first block is only confirmed once the server
+     * acquired a connection and wrote it, no further blocks are sent before that.
+     */
+    public void send(LobDataBlock lobDataBlock) throws SQLException {
+        this.awaitReady();
+        this.requestStream.onNext(lobDataBlock);
+        if (!this.firstBlockSent) {
+            this.firstBlockSent = true;
+            log.debug("Waiting first lob reference arrival");
+            this.await(this.sfFirstLobReference);
+            log.debug("First lob reference arrived");
+        }
+    }
+
+    /**
+     * Half closes the stream and waits for the server to finish writing the LOB.
+     *
+     * @return Final reference to the LOB written
+     */
+    public LobReference complete() throws SQLException {
+        this.requestStream.onCompleted();
+        log.debug("Waiting for final lob ref");
+        return this.await(this.sfFinalLobReference);
+    }
+
+    /**
+     * Abandons the stream, the server discards the LOB being written.
+     */
+    public void cancel(String message, Throwable cause) {
+        if (this.requestStream != null) {
+            this.requestStream.cancel(message, cause);
+        }
+    }
+
+    @Override
+    public void onNext(LobReference lobReference) {
+        log.debug("Lob reference received");
+        this.sfFirstLobReference.set(lobReference);
+        this.lobReference = lobReference;
+        //Update connection session on first confirmation to get the session id if session is new.
+        this.connection.setSession(lobReference.getSession());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Throwable error = throwable;
+        if (throwable instanceof StatusRuntimeException) {
+            try {
+                error = handle((StatusRuntimeException) throwable);//To convert to SQLException if possible
+            } catch (SQLException e) {
+                error = e;
+            }
+        }
+        this.sfFirstLobReference.setException(error);
+        this.sfFinalLobReference.setException(error);
+        this.signalReady();
+    }
+
+    @Override
+    public void onCompleted() {
+        log.debug("Final lob reference received");
+        this.sfFirstLobReference.set(this.lobReference);
+        this.sfFinalLobReference.set(this.lobReference);
+        this.signalReady();
+    }
+
+    private void signalReady() {
+        synchronized (this.readyLock) {
+            this.readyLock.notifyAll();
+        }
+    }
+
+    private void awaitReady() throws SQLException {
+        synchronized (this.readyLock) {
+            while (!this.requestStream.isReady() && !this.sfFinalLobReference.isDone()) {
+                try {
+                    this.readyLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.cancel("Interrupted while writing LOB", e);
+                    throw new SQLException("Interrupted while writing LOB.", e);
+                }
+            }
+        }
+        if (this.sfFinalLobReference.isDone()) {
+            //Stream ended before all blocks were sent, surfaces the error if any.
+            this.await(this.sfFinalLobReference);
+        }
+    }
+
+    private LobReference await(SettableFuture<LobReference> sfLobReference) throws SQLException {
+        try {
+            return sfLobReference.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Unable to write LOB: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.cancel("Interrupted while writing LOB", e);
+            throw new SQLException("Interrupted while writing LOB.", e);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package org.openjdbcproxy.grpc.client;
+
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.StatementRequest;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
+
+/**
+ * Hedges read-only autocommit queries executed without a session across the servers of a url listing several. If the
+ * first block of a query has not arrived within the 95th percentile of the recent first block latencies, the same
+ * query is sent to another server, the first server to answer wins and the call to the other one is cancelled. Hedges
+ * are limited to a percentage of the queries so a slow cluster is not flooded with duplicates.
+ */
+@Slf4j
+public class QueryHedger {
+
+    private static final int LATENCY_SAMPLES = 128;
+    private static final int MIN_LATENCY_SAMPLES = 20;//Queries measured before the first hedge
+    private static final long HEDGE_COST = 100;//Budget is kept in hundredths of a hedge
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;//Bursts of up to 10 hedges
+    private static final Object END = new Object();
+
+    //Shared by every hedger, it only sends the hedges.
+    private static final ScheduledExecutorService HEDGE_TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ojp-hedge-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LoadBalancer loadBalancer;
+    private final int budgetPercent;
+    private final long minDelayNanos;
+    private final long[] latencies = new long[LATENCY_SAMPLES];//Nanoseconds to the first block, the last ones
+    private int latencyCount;
+    private final AtomicLong budget = new AtomicLong();
+
+    /**
+     * @param budgetPercent  Hedges allowed per hundred queries
+     * @param minDelayMillis Shortest wait before hedging, however fast the recent queries were
+     */
+    public QueryHedger(LoadBalancer loadBalancer, int budgetPercent, long minDelayMillis) {
+        this.loadBalancer = loadBalancer;
+        this.budgetPercent = budgetPercent;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+    }
+
+    /**
+     * Executes the query on the primary server, hedging it to another server if it is slow to answer.
+     *
+     * @param primary Server of the connection
+     * @param request Query flagged to run without a session
+     * @return Blocks of the server that answered first.
+     */
+    public Iterator<OpResult> executeQuery(ChannelRegistry.TargetChannels primary, StatementRequest request)
+            throws SQLException {
+        this.addBudget();
+        HedgedQuery query = new HedgedQuery(request);
+        query.send(primary);
+        long delayNanos = this.hedgeDelayNanos();
+        ScheduledFuture<?> hedge = delayNanos < 0 ? null :
+                HEDGE_TIMER.schedule(() -> query.hedge(primary), delayNanos, TimeUnit.NANOSECONDS);
+        try {
+            return query.awaitFirst();
+        } finally {
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * @return 95th percentile of the recent first block latencies, -1 while too few queries were measured.
+     */
+    long hedgeDelayNanos() {
+        long[] samples;
+        synchronized (this.latencies) {
+            if (this.latencyCount < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+            samples = Arrays.copyOf(this.latencies, Math.min(this.latencyCount, LATENCY_SAMPLES));
+        }
+        Arrays.sort(samples);
+        long p95 = samples[(int) Math.ceil(samples.length * 0.95) - 1];
+        return Math.max(p95, this.minDelayNanos);
+    }
+
+    void recordLatency(long nanos) {
+        synchronized (this.latencies) {
+            this.latencies[this.latencyCount % LATENCY_SAMPLES] = nanos;
+            this.latencyCount++;
+        }
+    }
+
+    void addBudget() {
+        this.budget.accumulateAndGet(this.budgetPercent, (b, p) -> Math.min(MAX_BUDGET, b + p));
+    }
+
+    boolean takeBudget() {
+        long available;
+        do {
+            available = this.budget.get();
+            if (available < HEDGE_COST) {
+                return false;
+            }
+        } while (!this.budget.compareAndSet(available, available - HEDGE_COST));
+        return true;
+    }
+
+    /**
+     * One query sent to one or two servers. The first message received elects the call whose blocks are returned.
+     */
+    private class HedgedQuery {
+        private final StatementRequest request;
+        private final long startNanos = System.nanoTime();
+        private final BlockingQueue<Object> messages = new LinkedBlockingQueue<>();
+        private final List<Attempt> attempts = new ArrayList<>(2);
+        private Attempt winner;
+        private int failures;
+        private boolean failed;
+
+        HedgedQuery(StatementRequest request) {
+            this.request = request;
+        }
+
+        void send(ChannelRegistry.TargetChannels target) {
+            Attempt attempt = new Attempt();
+            synchronized (this) {
+                this.attempts.add(attempt);
+            }
+            target.stub().executeQuery(this.request, attempt);
+        }
+
+        void hedge(ChannelRegistry.TargetChannels primary) {
+            ChannelRegistry.TargetChannels target;
+            Attempt attempt = new Attempt();
+            synchronized (this) {
+                if (this.winner != null || this.failed) {
+                    return;
+                }
+                target = loadBalancer.selectOther(primary);
+                if (target == null || !takeBudget()) {
+                    return;
+                }
+                this.attempts.add(attempt);
+            }
+            log.debug("Hedging query to {}", target.getTarget());
+            target.stub().executeQuery(this.request, attempt);
+        }
+
+        /**
+         * Elects the attempt as the winner if no other was elected yet, cancelling the others.
+         *
+         * @return true if the attempt is the winner.
+         */
+        synchronized boolean elect(Attempt attempt) {
+            if (this.winner == null && !this.failed) {
+                this.winner = attempt;
+                recordLatency(System.nanoTime() - this.startNanos);
+                for (Attempt other : this.attempts) {
+                    if (other != attempt && other.call != null) {
+                        other.call.cancel("Query answered by another server", null);
+                    }
+                }
+            }
+            return this.winner == attempt;
+        }
+
+        synchronized void fail(Attempt attempt, Throwable throwable) {
+            if (this.winner == attempt) {
+                this.messages.add(throwable);
+            } else if (this.winner == null && ++this.failures == this.attempts.size()) {
+                //Every server failed, the error of the last one is thrown.
+                this.failed = true;
+                this.messages.add(throwable);
+            }
+        }
+
+        Iterator<OpResult> awaitFirst() throws SQLException {
+            Object first = this.take();
+            if (first instanceof StatusRuntimeException) {
+                throw handle((StatusRuntimeException) first);
+            } else if (first instanceof Throwable) {
+                throw new SQLException("Unable to execute query: " + ((Throwable) first).getMessage(), (Throwable) first);
+            }
+            return new Iterator<>() {
+                private Object next = first;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.next == null) {
+                        winner.call.request(1);
+                        this.next = take();
+                    }
+                    if (this.next instanceof StatusRuntimeException) {
+                        throw (StatusRuntimeException) this.next;
+                    } else if (this.next instanceof Throwable) {
+                        throw Status.fromThrowable((Throwable) this.next).asRuntimeException();
+                    }
+                    return this.next != END;
+                }
+
+                @Override
+                public OpResult next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    OpResult result = (OpResult) this.next;
+                    this.next = null;
+                    return result;
+                }
+            };
+        }
+
+        private Object take() {
+            try {
+                return this.messages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                synchronized (this) {
+                    for (Attempt attempt : this.attempts) {
+                        if (attempt.call != null) {
+                            attempt.call.cancel("Interrupted while waiting for the query", e);
+                        }
+                    }
+                }
+                return Status.CANCELLED.withDescription("Interrupted while waiting for the query").withCause(e)
+                        .asRuntimeException();
+            }
+        }
+
+        /**
+         * Call of the query to one server, its blocks are requested one at a time as they are read.
+         */
+        private class Attempt implements ClientResponseObserver<StatementRequest, OpResult> {
+            private volatile ClientCallStreamObserver<StatementRequest> call;
+
+            @Override
+            public void beforeStart(ClientCallStreamObserver<StatementRequest> requestStream) {
+                this.call = requestStream;
+                this.call.disableAutoRequestWithInitial(1);
+            }
+
+            @Override
+            public void onNext(OpResult opResult) {
+                if (elect(this)) {
+                    messages.add(opResult);
+                } else {
+                    //Lost the race before its call could be cancelled.
+                    this.call.cancel("Query answered by another server", null);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(this, throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                if (elect(this)) {
+                    messages.add(END);
+                }
+            }
+        }
+    }
+}
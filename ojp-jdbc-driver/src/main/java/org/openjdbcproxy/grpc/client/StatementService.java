@@ -5,8 +5,12 @@ import com.openjdbcproxy.grpc.CallResourceResponse;
 import com.openjdbcproxy.grpc.ConnectionDetails;
 import com.openjdbcproxy.grpc.LobDataBlock;
 import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobReferences;
 import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.ResourceRelease;
 import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.StatementRequest;
+import io.grpc.stub.ClientResponseObserver;
 import org.openjdbcproxy.grpc.dto.Parameter;
 import org.openjdbcproxy.jdbc.Connection;
 
@@ -14,6 +18,7 @@ import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Proxy Server interface to handle the Jdbc requests.
@@ -37,16 +42,68 @@ public interface StatementService {
 
     Iterator<OpResult> executeQuery(SessionInfo sessionInfo, String sql, List<Parameter> params, Map<String, Object> properties) throws SQLException;
 
+    /**
+     * Executes an update on behalf of a connection, sending along the connection settings pending and the transaction
+     * begin deferred by the connection.
+     *
+     * @param commitTransaction Commits the transaction in the same call right after the update.
+     */
+    OpResult executeUpdate(Connection connection, String sql, List<Parameter> params, String statementUUID,
+                           Map<String, Object> properties, Map<String, Object> statementSettings,
+                           boolean commitTransaction) throws SQLException;
+
+    /**
+     * Executes a query on behalf of a connection, sending along the connection settings pending and the transaction
+     * begin deferred by the connection.
+     */
+    Iterator<OpResult> executeQuery(Connection connection, String sql, List<Parameter> params, String statementUUID,
+                                    Map<String, Object> properties, Map<String, Object> statementSettings)
+            throws SQLException;
+
+    /**
+     * Executes a query on behalf of a connection without blocking, the blocks of rows are delivered to the observer only
+     * as it requests them and the server reads the next rows from the database once the observer is ready for them.
+     */
+    void executeQueryAsync(Connection connection, String sql, List<Parameter> params, Map<String, Object> properties,
+                           ClientResponseObserver<StatementRequest, OpResult> observer) throws SQLException;
+
+    /**
+     * Sends an update over the update pipeline of the connection without waiting for its result, the pipeline is
+     * started by the first update sent and ends when the connection awaits the pipelined updates.
+     *
+     * @return Future completed with the result of the update once the server executes it.
+     */
+    Future<OpResult> executeUpdatePipelined(Connection connection, String sql, List<Parameter> params,
+                                            String statementUUID, Map<String, Object> properties,
+                                            Map<String, Object> statementSettings) throws SQLException;
+
     OpResult fetchNextRows(SessionInfo sessionInfo, String resultSetUUID, int size) throws SQLException;
 
     //LOB (Large objects) management.
     LobReference createLob(Connection connection, Iterator<LobDataBlock> lobDataBlock) throws SQLException;
 
+    /**
+     * Opens a createLob stream to which the caller thread sends the blocks of a LOB directly.
+     */
+    LobUploadStream createLobStream(Connection connection) throws SQLException;
+
+    /**
+     * Creates several LOBs in a single stream, each block identifies its LOB by the lobIndex.
+     *
+     * @return References of the LOBs created ordered by lobIndex
+     */
+    LobReferences createLobs(Connection connection, List<LobDataBlock> lobDataBlocks) throws SQLException;
+
     Iterator<LobDataBlock> readLob(LobReference lobReference, long pos, int length) throws SQLException;
 
     //Session management.
     void terminateSession(SessionInfo session);
 
+    /**
+     * Releases server resources closed by the client, the client does not wait for the server to release them.
+     */
+    void releaseResources(SessionInfo session, List<ResourceRelease> resources);
+
     //Transaction management.
     SessionInfo startTransaction(SessionInfo session) throws SQLException;
 
@@ -7,33 +7,41 @@ import com.openjdbcproxy.grpc.CallResourceResponse;
 import com.openjdbcproxy.grpc.ConnectionDetails;
 import com.openjdbcproxy.grpc.LobDataBlock;
 import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobReferences;
 import com.openjdbcproxy.grpc.OpResult;
 import com.openjdbcproxy.grpc.ReadLobRequest;
+import com.openjdbcproxy.grpc.ReleaseResourcesRequest;
+import com.openjdbcproxy.grpc.ReleaseResourcesResponse;
+import com.openjdbcproxy.grpc.ResourceRelease;
 import com.openjdbcproxy.grpc.ResultSetFetchRequest;
 import com.openjdbcproxy.grpc.SessionInfo;
-import com.openjdbcproxy.grpc.SessionTerminationStatus;
 import com.openjdbcproxy.grpc.StatementRequest;
 import com.openjdbcproxy.grpc.StatementServiceGrpc;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.openjdbcproxy.constants.CommonConstants;
 import org.openjdbcproxy.grpc.dto.Parameter;
 import org.openjdbcproxy.jdbc.Connection;
 import org.openjdbcproxy.jdbc.LobGrpcIterator;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
 
 /**
@@ -42,50 +50,44 @@ import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
 @Slf4j
 public class StatementServiceGrpcClient implements StatementService {
 
-    private static final String DEFAULT_HOST = "localhost";
-    private static final String DNS_PREFIX = "dns:///";
-    private static final String COLON = ":";
-    private final Pattern pattern = Pattern.compile(CommonConstants.OJP_REGEX_PATTERN);
+    //A release of terminated sessions not answered by then fails, so the sessions closed meanwhile are not held back.
+    private static final long TERMINATION_TIMEOUT_SECONDS = 30;
 
-    private StatementServiceGrpc.StatementServiceBlockingStub statemetServiceBlockingStub;
-    private StatementServiceGrpc.StatementServiceStub statemetServiceStub;
+    private volatile ChannelRegistry.TargetChannels channels;
+    //Sessions of closed connections waiting to be terminated, sent in batches.
+    private final Queue<SessionInfo> pendingTerminations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean terminationInFlight = new AtomicBoolean();
 
+    /**
+     * Client bound to the server of the url of the first connect, on a single channel.
+     */
     public StatementServiceGrpcClient() {
     }
 
+    /**
+     * Client bound to a target of the channel registry.
+     */
+    public StatementServiceGrpcClient(ChannelRegistry.TargetChannels channels) {
+        this.channels = channels;
+    }
+
     @Override
     public SessionInfo connect(ConnectionDetails connectionDetails) throws SQLException {
         this.grpcChannelOpenAndStubsInitialized(connectionDetails.getUrl());
         try {
-            return this.statemetServiceBlockingStub.connect(connectionDetails);
+            return this.channels.blockingStub().connect(connectionDetails);
         } catch (StatusRuntimeException e) {
             throw handle(e);
         }
     }
 
     private void grpcChannelOpenAndStubsInitialized(String url) {
-        if (this.statemetServiceStub == null && this.statemetServiceBlockingStub == null) {
-            Matcher matcher = pattern.matcher(url);
-            String host = DEFAULT_HOST;
-            int port = CommonConstants.DEFAULT_PORT_NUMBER;
-
-            if (matcher.find()) {
-                String hostPort = matcher.group(1);
-                String[] hostPortSplit = hostPort.split(":");
-                host = hostPortSplit[0];
-                port = Integer.parseInt(hostPortSplit[1]);
-            } else {
-                throw new RuntimeException("Invalid OJP host or port.");
+        if (this.channels == null) {
+            synchronized (this) {
+                if (this.channels == null) {
+                    this.channels = new ChannelRegistry(1).channels(ChannelRegistry.target(url));
+                }
             }
-
-            //Once channel is open it remains open and is shared among all requests.
-            String target = DNS_PREFIX + host + COLON + port;
-            ManagedChannel channel = ManagedChannelBuilder.forTarget(target)
-                    .usePlaintext()
-                    .build();
-
-            this.statemetServiceBlockingStub = StatementServiceGrpc.newBlockingStub(channel);
-            this.statemetServiceStub = StatementServiceGrpc.newStub(channel);
         }
     }
 
@@ -99,20 +101,24 @@ public class StatementServiceGrpcClient implements StatementService {
     public OpResult executeUpdate(SessionInfo sessionInfo, String sql, List<Parameter> params, String statementUUID,
                                   Map<String, Object> properties)
             throws SQLException {
-        try {
-            StatementRequest.Builder builder = StatementRequest.newBuilder();
-            if (properties != null) {
-                builder.setProperties(ByteString.copyFrom(serialize(properties)));
-            }
-            return this.statemetServiceBlockingStub.executeUpdate(builder
-                    .setSession(sessionInfo)
-                    .setStatementUUID(statementUUID != null ? statementUUID : "")
-                    .setSql(sql)
-                    .setParameters(ByteString.copyFrom(serialize(params)))
-                    .build());
-        } catch (StatusRuntimeException e) {
-            throw handle(e);
-        }
+        return this.executeUpdate(this.newStatementRequestBuilder(properties, null)
+                .setSession(sessionInfo)
+                .setStatementUUID(statementUUID != null ? statementUUID : "")
+                .setSql(sql)
+                .setParameters(serializeToByteString(params)));
+    }
+
+    @Override
+    public OpResult executeUpdate(Connection connection, String sql, List<Parameter> params, String statementUUID,
+                                  Map<String, Object> properties, Map<String, Object> statementSettings,
+                                  boolean commitTransaction) throws SQLException {
+        connection.awaitPipelinedUpdates();
+        return this.retryingUnknownConnHash(connection, () -> this.executeUpdate(
+                this.newStatementRequestBuilder(connection, properties, statementSettings)
+                        .setCommitTransaction(commitTransaction)
+                        .setStatementUUID(statementUUID != null ? statementUUID : "")
+                        .setSql(sql)
+                        .setParameters(serializeToByteString(params))));
     }
 
     @Override
@@ -124,23 +130,169 @@ public class StatementServiceGrpcClient implements StatementService {
     @Override
     public Iterator<OpResult> executeQuery(SessionInfo sessionInfo, String sql, List<Parameter> params, String statementUUID,
                                            Map<String, Object> properties) throws SQLException {
+        return this.executeQuery(this.newStatementRequestBuilder(properties, null)
+                .setStatementUUID(statementUUID != null ? statementUUID : "")
+                .setSession(sessionInfo).setSql(sql).setParameters(serializeToByteString(params)));
+    }
+
+    @Override
+    public Iterator<OpResult> executeQuery(Connection connection, String sql, List<Parameter> params, String statementUUID,
+                                           Map<String, Object> properties, Map<String, Object> statementSettings)
+            throws SQLException {
+        connection.awaitPipelinedUpdates();
+        QueryHedger queryHedger = connection.getQueryHedger();
+        if (queryHedger != null && this.isHedgeable(connection, statementUUID, properties)) {
+            Map<String, Object> sessionlessProperties = properties != null ? new HashMap<>(properties) : new HashMap<>();
+            sessionlessProperties.put(CommonConstants.SESSIONLESS_QUERY_FLAG, Boolean.TRUE);
+            StatementRequest.Builder builder = this.newStatementRequestBuilder(connection, sessionlessProperties,
+                    statementSettings);
+            try {
+                return queryHedger.executeQuery(this.channels, builder
+                        .setSql(sql)
+                        .setParameters(serializeToByteString(params))
+                        .build());
+            } catch (SQLException e) {
+                if (!CommonConstants.SESSIONLESS_QUERY_REFUSED_SQL_STATE.equals(e.getSQLState())) {
+                    throw e;
+                }
+                log.debug("Query can not be hedged, executing it in a session: {}", e.getMessage());
+            }
+        }
+        return this.retryingUnknownConnHash(connection, () -> {
+            Iterator<OpResult> results = this.executeQuery(
+                    this.newStatementRequestBuilder(connection, properties, statementSettings)
+                            .setStatementUUID(statementUUID != null ? statementUUID : "")
+                            .setSql(sql).setParameters(serializeToByteString(params)));
+            try {
+                //Failures of the query, such as an unknown connection hash, arrive along with the first block.
+                results.hasNext();
+            } catch (StatusRuntimeException e) {
+                throw handle(e);
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Call to the server made again if it fails.
+     */
+    private interface RetriableCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * Makes a call of a connection, retrying it once if the server did not know the connection hash and the
+     * connection connected again.
+     */
+    private <T> T retryingUnknownConnHash(Connection connection, RetriableCall<T> call) throws SQLException {
+        try {
+            return call.call();
+        } catch (SQLException e) {
+            if (!connection.reconnectOnUnknownConnHash(e)) {
+                throw e;
+            }
+            return call.call();
+        }
+    }
+
+    @Override
+    public void executeQueryAsync(Connection connection, String sql, List<Parameter> params,
+                                  Map<String, Object> properties,
+                                  ClientResponseObserver<StatementRequest, OpResult> observer) throws SQLException {
+        connection.awaitPipelinedUpdates();
+        Map<String, Object> flowControlledProperties = properties != null ? new HashMap<>(properties) : new HashMap<>();
+        flowControlledProperties.put(CommonConstants.FLOW_CONTROLLED_RESULT_SET_FLAG, Boolean.TRUE);
+        StatementRequest.Builder builder = this.newStatementRequestBuilder(connection, flowControlledProperties, null);
+        try {
+            this.channels.stub().executeQuery(builder
+                    .setSql(sql)
+                    .setParameters(serializeToByteString(params))
+                    .build(), observer);
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
+        }
+    }
+
+    /**
+     * Only queries that leave nothing behind in a session can be sent to another server: read-only autocommit queries
+     * of connections without a session, not prepared in the server and with read-only result sets.
+     */
+    private boolean isHedgeable(Connection connection, String statementUUID, Map<String, Object> properties)
+            throws SQLException {
+        Object concurrency = properties != null ?
+                properties.get(CommonConstants.STATEMENT_RESULT_SET_CONCURRENCY_KEY) : null;
+        return connection.getAutoCommit() && connection.isReadOnly() &&
+                StringUtils.isEmpty(connection.getSession().getSessionUUID()) && StringUtils.isEmpty(statementUUID) &&
+                (concurrency == null || ((Number) concurrency).intValue() == java.sql.ResultSet.CONCUR_READ_ONLY);
+    }
+
+    @Override
+    public Future<OpResult> executeUpdatePipelined(Connection connection, String sql, List<Parameter> params,
+                                                   String statementUUID, Map<String, Object> properties,
+                                                   Map<String, Object> statementSettings) throws SQLException {
         try {
-            StatementRequest.Builder builder = StatementRequest.newBuilder();
-            if (properties != null) {
-                builder.setProperties(ByteString.copyFrom(serialize(properties)));
+            UpdatePipeline updatePipeline = connection.getUpdatePipeline();
+            if (updatePipeline == null) {
+                log.debug("Starting updates pipeline");
+                updatePipeline = new UpdatePipeline(connection);
+                this.channels.stub().executeUpdatePipeline(updatePipeline);
+                connection.setUpdatePipeline(updatePipeline);
             }
-            return this.statemetServiceBlockingStub.executeQuery(builder
+            StatementRequest.Builder builder = this.newStatementRequestBuilder(connection, properties, statementSettings);
+            return updatePipeline.send(builder
                     .setStatementUUID(statementUUID != null ? statementUUID : "")
-                    .setSession(sessionInfo).setSql(sql).setParameters(ByteString.copyFrom(serialize(params))).build());
+                    .setSql(sql)
+                    .setParameters(serializeToByteString(params))
+                    .build());
         } catch (StatusRuntimeException e) {
             throw handle(e);
         }
     }
 
+    private OpResult executeUpdate(StatementRequest.Builder builder) throws SQLException {
+        try {
+            return this.channels.blockingStub().executeUpdate(builder.build());
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
+        }
+    }
+
+    private Iterator<OpResult> executeQuery(StatementRequest.Builder builder) throws SQLException {
+        try {
+            return this.channels.blockingStub().executeQuery(builder.build());
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
+        }
+    }
+
+    private StatementRequest.Builder newStatementRequestBuilder(Connection connection, Map<String, Object> properties,
+                                                                Map<String, Object> statementSettings) {
+        StatementRequest.Builder builder = this.newStatementRequestBuilder(properties, statementSettings);
+        Map<String, Object> connectionSettings = connection.takeSettings();
+        if (!connectionSettings.isEmpty()) {
+            builder.setConnectionSettings(serializeToByteString(connectionSettings));
+        }
+        builder.setBeginTransaction(connection.beginTransactionOnExecution());
+        builder.addAllReleases(connection.takePendingReleases());
+        return builder.setSession(connection.getSession());
+    }
+
+    private StatementRequest.Builder newStatementRequestBuilder(Map<String, Object> properties,
+                                                                Map<String, Object> statementSettings) {
+        StatementRequest.Builder builder = StatementRequest.newBuilder();
+        if (properties != null) {
+            builder.setProperties(serializeToByteString(properties));
+        }
+        if (statementSettings != null && !statementSettings.isEmpty()) {
+            builder.setStatementSettings(serializeToByteString(statementSettings));
+        }
+        return builder;
+    }
+
     @Override
     public OpResult fetchNextRows(SessionInfo sessionInfo, String resultSetUUID, int size) throws SQLException {
         try {
-            return this.statemetServiceBlockingStub.fetchNextRows(
+            return this.channels.blockingStub().fetchNextRows(
                     ResultSetFetchRequest.newBuilder()
                             .setSession(sessionInfo)
                             .setResultSetUUID(resultSetUUID)
@@ -156,119 +308,75 @@ public class StatementServiceGrpcClient implements StatementService {
     public LobReference createLob(Connection connection, Iterator<LobDataBlock> lobDataBlock) throws SQLException {
         try {
             log.info("Creating new lob");
-            //Indicates that the server acquired a connection to the DB and wrote the first block successfully.
-            SettableFuture<LobReference> sfFirstLobReference = SettableFuture.create();
-            //Indicates that the server has finished writing the last block successfully.
-            SettableFuture<LobReference> sfFinalLobReference = SettableFuture.create();
-
-            StreamObserver<LobDataBlock> lobDataBlockStream = this.statemetServiceStub.createLob(
-                    new ServerCallStreamObserver<>() {
-                        private final AtomicBoolean abFirstResponseReceived = new AtomicBoolean(true);
-                        private LobReference lobReference;
-
-                        @Override
-                        public boolean isCancelled() {
-                            return false;
-                        }
-
-                        @Override
-                        public void setOnCancelHandler(Runnable runnable) {
-
-                        }
-
-                        @Override
-                        public void setCompression(String s) {
-
-                        }
-
-                        @Override
-                        public boolean isReady() {
-                            return false;
-                        }
-
-                        @Override
-                        public void setOnReadyHandler(Runnable runnable) {
-
-                        }
-
-                        @Override
-                        public void request(int i) {
-
-                        }
-
-                        @Override
-                        public void setMessageCompression(boolean b) {
-
-                        }
-
-                        @Override
-                        public void disableAutoInboundFlowControl() {
+            LobUploadStream lobUploadStream = this.createLobStream(connection);
+            //Blocks are sent one by one, the first one only after the server confirmed it acquired a connection.
+            while (lobDataBlock.hasNext()) {
+                lobUploadStream.send(lobDataBlock.next());
+            }
+            LobReference finalLobRef = lobUploadStream.complete();
+            log.debug("Final lob ref received");
+            return finalLobRef;
+        } catch (SQLException e) {
+            throw e;
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
+        } catch (Exception e) {
+            throw new SQLException("Unable to write LOB: " + e.getMessage(), e);
+        }
+    }
 
-                        }
+    @Override
+    public LobUploadStream createLobStream(Connection connection) throws SQLException {
+        try {
+            LobUploadStream lobUploadStream = new LobUploadStream(connection);
+            this.channels.stub().createLob(lobUploadStream);
+            return lobUploadStream;
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
+        }
+    }
 
+    @Override
+    public LobReferences createLobs(Connection connection, List<LobDataBlock> lobDataBlocks) throws SQLException {
+        try {
+            log.info("Creating {} lobs", lobDataBlocks.size());
+            SettableFuture<LobReferences> sfLobReferences = SettableFuture.create();
+            StreamObserver<LobDataBlock> lobDataBlockStream = this.channels.stub().createLobs(
+                    new StreamObserver<>() {
                         @Override
-                        public void onNext(LobReference lobReference) {
-                            log.debug("Lob reference received");
-                            if (this.abFirstResponseReceived.get()) {
-                                sfFirstLobReference.set(lobReference);
-                                log.debug("First lob reference trigger");
-                            }
-                            this.lobReference = lobReference;
-                            //Update connection session on first confirmation to get the session id if session is new.
-                            connection.setSession(lobReference.getSession());
+                        public void onNext(LobReferences lobReferences) {
+                            sfLobReferences.set(lobReferences);
                         }
 
                         @Override
                         public void onError(Throwable throwable) {
-                            if (throwable instanceof StatusRuntimeException) {
-                                try {
-                                    StatusRuntimeException sre = (StatusRuntimeException) throwable;
-                                    handle(sre);//To convert to SQLException if possible
-                                    sfFirstLobReference.setException(sre);
-                                    sfFinalLobReference.setException(sre); //When conversion to SQLException not possible
-                                } catch (SQLException e) {
-                                    sfFirstLobReference.setException(e);
-                                    sfFinalLobReference.setException(e);
-                                }
-                            } else {
-                                sfFirstLobReference.setException(throwable);
-                                sfFinalLobReference.setException(throwable);
-                            }
+                            sfLobReferences.setException(throwable);
                         }
 
                         @Override
                         public void onCompleted() {
-                            log.debug("Final lob reference received");
-                            sfFinalLobReference.set(this.lobReference);
-                            log.debug("Final lob reference notified");
                         }
                     }
             );
-
-            //Send all data blocks one by one only after server finished consuming the previous block
-            boolean firstBlockProcessedSuccessfully = false;
-            while (lobDataBlock.hasNext()) {
-                lobDataBlockStream.onNext(lobDataBlock.next());
-                if (!firstBlockProcessedSuccessfully) {
-                    //Wait first block to be processed by the server to avoid sending more data before the server actually acquired a connection and wrote the first block.
-                    log.debug("Waiting first lob reference arrival");
-                    sfFirstLobReference.get();
-                    log.debug("First lob reference arrived");
-                    firstBlockProcessedSuccessfully = true;
-                }
+            //All blocks are sent without waiting, the references of every LOB only come back once the stream completes.
+            for (LobDataBlock lobDataBlock : lobDataBlocks) {
+                lobDataBlockStream.onNext(lobDataBlock);
             }
             lobDataBlockStream.onCompleted();
-
-            log.debug("Waiting for final lob ref");
-            LobReference finalLobRef = sfFinalLobReference.get();
-            log.debug("Final lob ref received");
-            return finalLobRef;
+            LobReferences lobReferences = sfLobReferences.get();
+            connection.setSession(lobReferences.getSession());
+            return lobReferences;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StatusRuntimeException) {
+                throw handle((StatusRuntimeException) e.getCause());
+            }
+            throw new SQLException("Unable to write LOBs: " + e.getCause().getMessage(), e.getCause());
         } catch (StatusRuntimeException e) {
             throw handle(e);
-        } catch (Exception e) {
-            throw new SQLException("Unable to write LOB: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while writing LOBs.", e);
         }
-
     }
 
     @Override
@@ -284,7 +392,7 @@ public class StatementServiceGrpcClient implements StatementService {
 
             final Throwable[] errorReceived = {null};
 
-            this.statemetServiceStub.readLob(readLobRequest, new ServerCallStreamObserver<LobDataBlock>() {
+            this.channels.stub().readLob(readLobRequest, new ServerCallStreamObserver<LobDataBlock>() {
                 private final AtomicBoolean abFirstResponseReceived = new AtomicBoolean(true);
 
                 @Override
@@ -369,62 +477,73 @@ public class StatementServiceGrpcClient implements StatementService {
     @Override
     public void terminateSession(SessionInfo session) {
         //Fire and forget - done async intentionally to improve client performance.
-        this.statemetServiceStub.terminateSession(session, new ServerCallStreamObserver<>() {
-            @Override
-            public boolean isCancelled() {
-                return false;
-            }
-
-            @Override
-            public void setOnCancelHandler(Runnable runnable) {
-
-            }
-
-            @Override
-            public void setCompression(String s) {
-
-            }
-
-            @Override
-            public boolean isReady() {
-                return false;
-            }
-
-            @Override
-            public void setOnReadyHandler(Runnable runnable) {
+        this.pendingTerminations.add(session);
+        this.sendTerminations();
+    }
 
+    /**
+     * Sends the sessions waiting to be terminated in a single release, unless a release is in flight already. Sessions
+     * of connections closed meanwhile go together in the next release once the one in flight completes, so closing
+     * many connections at once does not cost a call each and closing a single one is not delayed.
+     */
+    private void sendTerminations() {
+        while (!this.pendingTerminations.isEmpty() && this.terminationInFlight.compareAndSet(false, true)) {
+            List<SessionInfo> sessions = new ArrayList<>();
+            SessionInfo session;
+            while ((session = this.pendingTerminations.poll()) != null) {
+                sessions.add(session);
             }
-
-            @Override
-            public void request(int i) {
-
-            }
-
-            @Override
-            public void setMessageCompression(boolean b) {
-
+            if (sessions.isEmpty()) {
+                this.terminationInFlight.set(false);
+                continue;
             }
+            this.channels.stub().withDeadlineAfter(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .releaseResources(ReleaseResourcesRequest.newBuilder()
+                    .setSession(sessions.get(0))
+                    .addAllTerminatedSessions(sessions)
+                    .build(), new StreamObserver<>() {
+                @Override
+                public void onNext(ReleaseResourcesResponse releaseResourcesResponse) {
+                }
 
-            @Override
-            public void disableAutoInboundFlowControl() {
+                @Override
+                public void onError(Throwable throwable) {
+                    Throwable t = throwable;
+                    if (throwable instanceof StatusRuntimeException) {
+                        try {
+                            handle((StatusRuntimeException) throwable);
+                        } catch (SQLException e) {
+                            t = e;
+                        }
+                    }
+                    log.error("Error while terminating sessions: " + t.getMessage(), t);
+                    this.onCompleted();
+                }
 
-            }
+                @Override
+                public void onCompleted() {
+                    terminationInFlight.set(false);
+                    sendTerminations();
+                }
+            });
+            return;
+        }
+    }
 
+    @Override
+    public void releaseResources(SessionInfo session, List<ResourceRelease> resources) {
+        //Fire and forget, releasing resources does not change the outcome of anything the client does next.
+        this.channels.stub().releaseResources(ReleaseResourcesRequest.newBuilder()
+                .setSession(session)
+                .addAllResources(resources)
+                .build(), new StreamObserver<>() {
             @Override
-            public void onNext(SessionTerminationStatus sessionTerminationStatus) {
+            public void onNext(ReleaseResourcesResponse releaseResourcesResponse) {
             }
 
             @Override
             public void onError(Throwable throwable) {
-                Throwable t = throwable;
-                if (throwable instanceof StatusRuntimeException) {
-                    try {
-                        handle((StatusRuntimeException) throwable);
-                    } catch (SQLException e) {
-                        t = e;
-                    }
-                }
-                log.error("Error while terminating session: " + t.getMessage(), t);
+                log.warn("Error while releasing resources: " + throwable.getMessage());
             }
 
             @Override
@@ -436,7 +555,7 @@ public class StatementServiceGrpcClient implements StatementService {
     @Override
     public SessionInfo startTransaction(SessionInfo session) throws SQLException {
         try {
-            return this.statemetServiceBlockingStub.startTransaction(session);
+            return this.channels.blockingStub().startTransaction(session);
         } catch (StatusRuntimeException e) {
             throw handle(e);
         } catch (Exception e) {
@@ -447,7 +566,7 @@ public class StatementServiceGrpcClient implements StatementService {
     @Override
     public SessionInfo commitTransaction(SessionInfo session) throws SQLException {
         try {
-            return this.statemetServiceBlockingStub.commitTransaction(session);
+            return this.channels.blockingStub().commitTransaction(session);
         } catch (StatusRuntimeException e) {
             throw handle(e);
         } catch (Exception e) {
@@ -458,7 +577,7 @@ public class StatementServiceGrpcClient implements StatementService {
     @Override
     public SessionInfo rollbackTransaction(SessionInfo session) throws SQLException {
         try {
-            return this.statemetServiceBlockingStub.rollbackTransaction(session);
+            return this.channels.blockingStub().rollbackTransaction(session);
         } catch (StatusRuntimeException e) {
             throw handle(e);
         } catch (Exception e) {
@@ -469,7 +588,7 @@ public class StatementServiceGrpcClient implements StatementService {
     @Override
     public CallResourceResponse callResource(CallResourceRequest request) throws SQLException {
         try {
-            return this.statemetServiceBlockingStub.callResource(request);
+            return this.channels.blockingStub().callResource(request);
         } catch (StatusRuntimeException e) {
             throw handle(e);
         } catch (Exception e) {
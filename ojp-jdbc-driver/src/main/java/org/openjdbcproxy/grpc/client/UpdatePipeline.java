@@ -0,0 +1,151 @@
+package org.openjdbcproxy.grpc.client;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.StatementRequest;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.jdbc.Connection;
+
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
+
+/**
+ * Client side of an executeUpdatePipeline stream. Updates are sent without waiting for the result of the previous ones,
+ * the server executes them in the order sent and answers each one with its result, which completes the future returned
+ * when it was sent. The first failure ends the stream, it fails every update not yet answered and is thrown when the
+ * pipeline is drained.
+ */
+@Slf4j
+public class UpdatePipeline implements ClientResponseObserver<StatementRequest, OpResult> {
+
+    private final Connection connection;
+    private final Queue<SettableFuture<OpResult>> pendingResults = new ConcurrentLinkedQueue<>();
+    //Indicates that the server answered every update or failed.
+    private final SettableFuture<OpResult> sfDone = SettableFuture.create();
+    private final Object readyLock = new Object();
+    private ClientCallStreamObserver<StatementRequest> requestStream;
+    private volatile OpResult lastResult;
+
+    public UpdatePipeline(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<StatementRequest> requestStream) {
+        this.requestStream = requestStream;
+        this.requestStream.setOnReadyHandler(this::signalReady);
+    }
+
+    /**
+     * Sends one update, waiting only while the call is not ready to take more messages.
+     *
+     * @return Future completed with the result of the update once the server executes it.
+     */
+    public Future<OpResult> send(StatementRequest request) throws SQLException {
+        this.awaitReady();
+        SettableFuture<OpResult> sfResult = SettableFuture.create();
+        this.pendingResults.add(sfResult);
+        this.requestStream.onNext(request);
+        return sfResult;
+    }
+
+    /**
+     * Half closes the stream and waits for the results of every update sent, the session of the connection is updated
+     * with the one returned by the last update.
+     *
+     * @throws SQLException the first failure of the updates sent
+     */
+    public void drain() throws SQLException {
+        log.debug("Draining {} pipelined updates", this.pendingResults.size());
+        this.requestStream.onCompleted();
+        try {
+            await(this.sfDone);
+        } finally {
+            if (this.lastResult != null) {
+                this.connection.setSession(this.lastResult.getSession());
+            }
+        }
+    }
+
+    @Override
+    public void onNext(OpResult opResult) {
+        this.lastResult = opResult;
+        SettableFuture<OpResult> sfResult = this.pendingResults.poll();
+        if (sfResult != null) {
+            sfResult.set(opResult);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Throwable error = throwable;
+        if (throwable instanceof StatusRuntimeException) {
+            try {
+                error = handle((StatusRuntimeException) throwable);//To convert to SQLException if possible
+            } catch (SQLException e) {
+                error = e;
+            }
+        }
+        SettableFuture<OpResult> sfResult;
+        while ((sfResult = this.pendingResults.poll()) != null) {
+            sfResult.setException(error);
+        }
+        this.sfDone.setException(error);
+        this.signalReady();
+    }
+
+    @Override
+    public void onCompleted() {
+        this.sfDone.set(this.lastResult);
+        this.signalReady();
+    }
+
+    private void signalReady() {
+        synchronized (this.readyLock) {
+            this.readyLock.notifyAll();
+        }
+    }
+
+    private void awaitReady() throws SQLException {
+        synchronized (this.readyLock) {
+            while (!this.requestStream.isReady() && !this.sfDone.isDone()) {
+                try {
+                    this.readyLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.requestStream.cancel("Interrupted while pipelining updates", e);
+                    throw new SQLException("Interrupted while pipelining updates.", e);
+                }
+            }
+        }
+        if (this.sfDone.isDone()) {
+            //Stream ended by a failure of an update sent before, surfaces it.
+            await(this.sfDone);
+        }
+    }
+
+    /**
+     * Waits for a result of the pipeline, converting failures to SQLException.
+     */
+    public static OpResult await(Future<OpResult> sfResult) throws SQLException {
+        try {
+            return sfResult.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Unable to execute update: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for pipelined updates.", e);
+        }
+    }
+}
@@ -1,22 +1,14 @@
 package org.openjdbcproxy.jdbc;
 
-import com.openjdbcproxy.grpc.LobDataBlock;
 import com.openjdbcproxy.grpc.LobReference;
 import com.openjdbcproxy.grpc.LobType;
-import io.grpc.StatusRuntimeException;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.openjdbcproxy.grpc.client.StatementService;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.sql.SQLException;
-import java.util.Iterator;
-
-import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
 
 @Slf4j
 public class Blob extends Lob implements java.sql.Blob {
@@ -28,25 +20,13 @@ public class Blob extends Lob implements java.sql.Blob {
     @Override
     public byte[] getBytes(long pos, int length) throws SQLException {
         log.debug("getBytes: pos={}, length={}", pos, length);
-        try {
-            this.haveLobReferenceValidation();
-            Iterator<LobDataBlock> dataBlocks = this.statementService.readLob(this.lobReference.get(), pos, length);
-            InputStream is = this.lobService.parseReceivedBlocks(dataBlocks);
-            BufferedInputStream bis = new BufferedInputStream(is);
-            return bis.readAllBytes();
-        } catch (SQLException e) {
-            throw e;
-        } catch (StatusRuntimeException e) {
-            throw handle(e);
-        } catch (Exception e) {
-            throw new SQLException("Unable to read all bytes from LOB object: " + e.getMessage(), e);
-        }
+        return this.readRange(pos, length);
     }
 
     @Override
     public InputStream getBinaryStream() throws SQLException {
         log.debug("getBinaryStream called");
-        return super.getBinaryStream(1, Integer.MAX_VALUE);
+        return this.getCachedBinaryStream(1, Long.MAX_VALUE);
     }
 
     @Override
@@ -61,30 +41,21 @@ public class Blob extends Lob implements java.sql.Blob {
         return 0;
     }
 
-    @SneakyThrows
     @Override
     public int setBytes(long pos, byte[] bytes) throws SQLException {
         log.debug("setBytes: {}, <byte[]>", pos);
-        InputStream is = new ByteArrayInputStream(bytes);
-        OutputStream os = this.setBinaryStream(pos);
-        int byteRead;
-        int writtenCount = 0;
-        try {
-            while ((byteRead = is.read()) != -1) {
-                os.write(byteRead);
-                writtenCount++;
-            }
-            os.close();
-            return writtenCount;
-        } catch (IOException e) {
-            throw new SQLException("Unable to write bytes: " + e.getMessage(), e);
-        }
+        return this.setBytes(pos, bytes, 0, bytes.length);
     }
 
     @Override
     public int setBytes(long pos, byte[] bytes, int offset, int len) throws SQLException {
         log.debug("setBytes: {}, <byte[]>, {}, {}", pos, offset, len);
-        return 0;
+        try (OutputStream os = this.setBinaryStream(pos)) {
+            os.write(bytes, offset, len);
+            return len;
+        } catch (IOException e) {
+            throw new SQLException("Unable to write bytes: " + e.getMessage(), e);
+        }
     }
 
     @Override
@@ -101,11 +72,12 @@ public class Blob extends Lob implements java.sql.Blob {
     @Override
     public void free() throws SQLException {
         log.debug("free called");
+        this.invalidateCache();
     }
 
     @Override
     public InputStream getBinaryStream(long pos, long length) throws SQLException {
         log.debug("getBinaryStream: {}, {}", pos, length);
-        return super.getBinaryStream(pos, length);
+        return this.getCachedBinaryStream(pos, length);
     }
 }
\ No newline at end of file
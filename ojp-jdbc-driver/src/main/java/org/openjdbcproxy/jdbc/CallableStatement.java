@@ -7,8 +7,9 @@ import com.openjdbcproxy.grpc.CallType;
 import com.openjdbcproxy.grpc.ResourceType;
 import com.openjdbcproxy.grpc.TargetCall;
 import io.grpc.StatusRuntimeException;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.constants.CommonConstants;
 import org.openjdbcproxy.grpc.client.GrpcExceptionHandler;
 import org.openjdbcproxy.grpc.client.StatementService;
 
@@ -33,19 +34,32 @@ import java.sql.SQLWarning;
 import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 
+/**
+ * Callable statement backed by a statement held by the server. Parameter setters and OUT parameter registrations are
+ * deferred and sent along with the execution, the OUT parameters come back with the execution result and are read
+ * locally, so a typical call takes a single round trip.
+ */
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class CallableStatement implements java.sql.CallableStatement {
     private final org.openjdbcproxy.jdbc.Connection connection;
     private final StatementService statementService;
     private final String remoteCallableStatementUUID;
+    private final List<TargetCall> pendingCalls = new ArrayList<>();
+    private final Set<Object> outParameterKeys = new LinkedHashSet<>();
+    private Map<Object, Object> outParameters;
+    private Boolean lastOutWasNull;
 
     @Override
     public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException {
@@ -62,55 +76,58 @@ public class CallableStatement implements java.sql.CallableStatement {
     @Override
     public boolean wasNull() throws SQLException {
         log.debug("wasNull called");
+        if (this.lastOutWasNull != null) {
+            return this.lastOutWasNull;
+        }
         return this.callProxy(CallType.CALL_WAS, "Null", Boolean.class);
     }
 
     @Override
     public String getString(int parameterIndex) throws SQLException {
         log.debug("getString: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "String", String.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "String", String.class);
     }
 
     @Override
     public boolean getBoolean(int parameterIndex) throws SQLException {
         log.debug("getBoolean: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Boolean", Boolean.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Boolean", Boolean.class);
     }
 
     @Override
     public byte getByte(int parameterIndex) throws SQLException {
         log.debug("getByte: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Byte", Byte.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Byte", Byte.class);
     }
 
     @Override
     public short getShort(int parameterIndex) throws SQLException {
         log.debug("getShort: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Short", Short.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Short", Short.class);
     }
 
     @Override
     public int getInt(int parameterIndex) throws SQLException {
         log.debug("getInt: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Int", Integer.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Int", Integer.class);
     }
 
     @Override
     public long getLong(int parameterIndex) throws SQLException {
         log.debug("getLong: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Long", Long.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Long", Long.class);
     }
 
     @Override
     public float getFloat(int parameterIndex) throws SQLException {
         log.debug("getFloat: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Float", Float.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Float", Float.class);
     }
 
     @Override
     public double getDouble(int parameterIndex) throws SQLException {
         log.debug("getDouble: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Double", Double.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Double", Double.class);
     }
 
     @Override
@@ -122,37 +139,37 @@ public class CallableStatement implements java.sql.CallableStatement {
     @Override
     public byte[] getBytes(int parameterIndex) throws SQLException {
         log.debug("getBytes: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Bytes", byte[].class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Bytes", byte[].class);
     }
 
     @Override
     public Date getDate(int parameterIndex) throws SQLException {
         log.debug("getDate: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Date", Date.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Date", Date.class);
     }
 
     @Override
     public Time getTime(int parameterIndex) throws SQLException {
         log.debug("getTime: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Time", Time.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Time", Time.class);
     }
 
     @Override
     public Timestamp getTimestamp(int parameterIndex) throws SQLException {
         log.debug("getTimestamp: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Timestamp", Timestamp.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Timestamp", Timestamp.class);
     }
 
     @Override
     public Object getObject(int parameterIndex) throws SQLException {
         log.debug("getObject: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "Object", Object.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "Object", Object.class);
     }
 
     @Override
     public BigDecimal getBigDecimal(int parameterIndex) throws SQLException {
         log.debug("getBigDecimal: {}", parameterIndex);
-        return this.callProxy(CallType.CALL_GET, "BigDecimal", BigDecimal.class, List.of(parameterIndex));
+        return this.getOutParameter(parameterIndex, "BigDecimal", BigDecimal.class);
     }
 
     @Override
@@ -386,85 +403,85 @@ public class CallableStatement implements java.sql.CallableStatement {
     @Override
     public String getString(String parameterName) throws SQLException {
         log.debug("getString: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "String", String.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "String", String.class);
     }
 
     @Override
     public boolean getBoolean(String parameterName) throws SQLException {
         log.debug("getBoolean: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Boolean", Boolean.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Boolean", Boolean.class);
     }
 
     @Override
     public byte getByte(String parameterName) throws SQLException {
         log.debug("getByte: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Byte", Byte.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Byte", Byte.class);
     }
 
     @Override
     public short getShort(String parameterName) throws SQLException {
         log.debug("getShort: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Short", Short.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Short", Short.class);
     }
 
     @Override
     public int getInt(String parameterName) throws SQLException {
         log.debug("getInt: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Int", Integer.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Int", Integer.class);
     }
 
     @Override
     public long getLong(String parameterName) throws SQLException {
         log.debug("getLong: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Long", Long.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Long", Long.class);
     }
 
     @Override
     public float getFloat(String parameterName) throws SQLException {
         log.debug("getFloat: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Float", Float.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Float", Float.class);
     }
 
     @Override
     public double getDouble(String parameterName) throws SQLException {
         log.debug("getDouble: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Double", Double.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Double", Double.class);
     }
 
     @Override
     public byte[] getBytes(String parameterName) throws SQLException {
         log.debug("getBytes: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Bytes", byte[].class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Bytes", byte[].class);
     }
 
     @Override
     public Date getDate(String parameterName) throws SQLException {
         log.debug("getDate: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Date", Date.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Date", Date.class);
     }
 
     @Override
     public Time getTime(String parameterName) throws SQLException {
         log.debug("getTime: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Time", Time.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Time", Time.class);
     }
 
     @Override
     public Timestamp getTimestamp(String parameterName) throws SQLException {
         log.debug("getTimestamp: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Timestamp", Timestamp.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Timestamp", Timestamp.class);
     }
 
     @Override
     public Object getObject(String parameterName) throws SQLException {
         log.debug("getObject: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "Object", Object.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "Object", Object.class);
     }
 
     @Override
     public BigDecimal getBigDecimal(String parameterName) throws SQLException {
         log.debug("getBigDecimal: {}", parameterName);
-        return this.callProxy(CallType.CALL_GET, "BigDecimal", BigDecimal.class, List.of(parameterName));
+        return this.getOutParameter(parameterName, "BigDecimal", BigDecimal.class);
     }
 
     @Override
@@ -1071,7 +1088,7 @@ public class CallableStatement implements java.sql.CallableStatement {
     @Override
     public void close() throws SQLException {
         log.debug("close called");
-        this.callProxy(CallType.CALL_CLOSE, "", Void.class);
+        this.connection.releaseResource(ResourceType.RES_CALLABLE_STATEMENT, this.remoteCallableStatementUUID);
     }
 
     @Override
@@ -1328,6 +1345,95 @@ public class CallableStatement implements java.sql.CallableStatement {
                 .setResourceUUID(this.remoteCallableStatementUUID);
     }
 
+    /**
+     * Parameter setters and OUT parameter registrations need no answer from the server.
+     */
+    private boolean isDeferred(CallType callType, String targetName) {
+        return CallType.CALL_REGISTER.equals(callType) ||
+                (CallType.CALL_SET.equals(callType) && !"Poolable".equals(targetName)) ||
+                (CallType.CALL_CLEAR.equals(callType) && "Parameters".equals(targetName));
+    }
+
+    /**
+     * Reads an OUT parameter from the values returned by the last execution, goes to the server when the value did not
+     * come back with it (i.e. LOBs) or cannot be converted locally to the type requested.
+     */
+    private <T> T getOutParameter(Object key, String targetName, Class<T> returnType) throws SQLException {
+        if (this.outParameters != null && this.outParameters.containsKey(key)) {
+            Object value = this.outParameters.get(key);
+            if (value == null) {
+                this.lastOutWasNull = true;
+                return (T) nullValue(returnType);
+            }
+            Object converted = convert(value, returnType);
+            if (converted != null) {
+                this.lastOutWasNull = false;
+                return (T) converted;
+            }
+        }
+        return this.callProxy(CallType.CALL_GET, targetName, returnType, List.of(key));
+    }
+
+    private static Object nullValue(Class<?> returnType) {
+        if (Boolean.class.equals(returnType)) {
+            return false;
+        }
+        if (Byte.class.equals(returnType)) {
+            return (byte) 0;
+        }
+        if (Short.class.equals(returnType)) {
+            return (short) 0;
+        }
+        if (Integer.class.equals(returnType)) {
+            return 0;
+        }
+        if (Long.class.equals(returnType)) {
+            return 0L;
+        }
+        if (Float.class.equals(returnType)) {
+            return 0f;
+        }
+        if (Double.class.equals(returnType)) {
+            return 0d;
+        }
+        return null;
+    }
+
+    /**
+     * Converts between numeric types only, any other conversion is left to the database driver in the server.
+     */
+    private static Object convert(Object value, Class<?> returnType) {
+        if (returnType.isInstance(value)) {
+            return value;
+        }
+        if (!(value instanceof Number)) {
+            return null;
+        }
+        Number number = (Number) value;
+        if (Byte.class.equals(returnType)) {
+            return number.byteValue();
+        }
+        if (Short.class.equals(returnType)) {
+            return number.shortValue();
+        }
+        if (Integer.class.equals(returnType)) {
+            return number.intValue();
+        }
+        if (Long.class.equals(returnType)) {
+            return number.longValue();
+        }
+        if (Float.class.equals(returnType)) {
+            return number.floatValue();
+        }
+        if (Double.class.equals(returnType)) {
+            return number.doubleValue();
+        }
+        if (BigDecimal.class.equals(returnType)) {
+            return new BigDecimal(number.toString());
+        }
+        return null;
+    }
+
     private <T> T callProxy(CallType callType, String targetName, Class returnType) throws SQLException {
         log.debug("callProxy: {}, {}, {}", callType, targetName, returnType);
         return this.callProxy(callType, targetName, returnType, Constants.EMPTY_OBJECT_LIST);
@@ -1335,21 +1441,47 @@ public class CallableStatement implements java.sql.CallableStatement {
 
     private <T> T callProxy(CallType callType, String targetName, Class returnType, List<Object> params) throws SQLException {
         log.debug("callProxy: {}, {}, {}, <params>", callType, targetName, returnType);
+        TargetCall targetCall = TargetCall.newBuilder()
+                .setCallType(callType)
+                .setResourceName(targetName)
+                .setParams(serializeToByteString(params))
+                .build();
+        if (this.isDeferred(callType, targetName)) {
+            //Sent along with the next call that needs the server, usually the execution.
+            this.pendingCalls.add(targetCall);
+            if (CallType.CALL_REGISTER.equals(callType)) {
+                this.outParameterKeys.add(params.get(0));
+            }
+            return null;
+        }
         CallResourceRequest.Builder reqBuilder = this.newCallBuilder();
-        reqBuilder.setTarget(
-                TargetCall.newBuilder()
-                        .setCallType(callType)
-                        .setResourceName(targetName)
-                        .setParams(ByteString.copyFrom(serialize(params)))
-                        .build()
-        );
+        reqBuilder.setTarget(targetCall);
+        reqBuilder.addAllPendingCalls(this.pendingCalls);
+        this.pendingCalls.clear();
+        if (CallType.CALL_GET.equals(callType)) {
+            //Whether the value read by the server was null is only known by the server.
+            this.lastOutWasNull = null;
+        }
+        if (CallType.CALL_EXECUTE.equals(callType)) {
+            this.outParameters = null;
+            this.lastOutWasNull = null;
+            if (!this.outParameterKeys.isEmpty()) {
+                Map<String, Object> properties = new HashMap<>();
+                properties.put(CommonConstants.CALLABLE_STATEMENT_OUT_PARAMETERS_KEY,
+                        new ArrayList<>(this.outParameterKeys));
+                reqBuilder.setProperties(serializeToByteString(properties));
+            }
+        }
         try {
             CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
             this.connection.setSession(response.getSession());
+            if (CallType.CALL_EXECUTE.equals(callType) && !response.getOutParameters().isEmpty()) {
+                this.outParameters = deserialize(response.getOutParameters(), Map.class);
+            }
             if (Void.class.equals(returnType)) {
                 return null;
             }
-            return (T) deserialize(response.getValues().toByteArray(), returnType);
+            return (T) deserialize(response.getValues(), returnType);
         } catch (StatusRuntimeException sre) {
             throw GrpcExceptionHandler.handle(sre);
         }
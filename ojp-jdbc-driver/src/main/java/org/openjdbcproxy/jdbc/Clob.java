@@ -2,11 +2,9 @@ package org.openjdbcproxy.jdbc;
 
 import com.openjdbcproxy.grpc.LobReference;
 import com.openjdbcproxy.grpc.LobType;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.openjdbcproxy.grpc.client.StatementService;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -14,6 +12,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 
 @Slf4j
@@ -26,12 +25,7 @@ public class Clob extends Lob implements java.sql.Clob {
     @Override
     public String getSubString(long pos, int length) throws SQLException {
         log.debug("getSubString: {}, {}", pos, length);
-        BufferedInputStream bis = new BufferedInputStream(this.getBinaryStream(pos, length + 1));
-        try {
-            return new String(bis.readAllBytes());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return new String(this.readRange(pos, length), StandardCharsets.UTF_8);
     }
 
     @Override
@@ -64,18 +58,15 @@ public class Clob extends Lob implements java.sql.Clob {
         return this.setString(pos, str, 0, str.length());
     }
 
-    @SneakyThrows
     @Override
     public int setString(long pos, String str, int offset, int len) throws SQLException {
         log.debug("setString: {}, {}, {}, {}", pos, str, offset, len);
-        int writtenCount = 0;
         try (Writer writer = this.setCharacterStream(pos)) {
-            for (int i  = offset; i < len; i++) {
-                writer.write(str.charAt(i));
-                writtenCount++;
-            }
+            writer.write(str, offset, len);
+            return len;
+        } catch (IOException e) {
+            throw new SQLException("Unable to write characters: " + e.getMessage(), e);
         }
-        return writtenCount;
     }
 
     @Override
@@ -88,7 +79,8 @@ public class Clob extends Lob implements java.sql.Clob {
     public Writer setCharacterStream(long pos) throws SQLException {
         log.debug("setCharacterStream: {}", pos);
         OutputStream os = this.setBinaryStream(LobType.LT_CLOB, pos);
-        return new OutputStreamWriter(os);
+        //The server decodes the blocks of a Clob as UTF-8.
+        return new OutputStreamWriter(os, StandardCharsets.UTF_8);
     }
 
     @Override
@@ -99,11 +91,45 @@ public class Clob extends Lob implements java.sql.Clob {
     @Override
     public void free() throws SQLException {
         log.debug("free called");
+        this.invalidateCache();
     }
 
     @Override
     public Reader getCharacterStream(long pos, long length) throws SQLException {
         log.debug("getCharacterStream: {}, {}", pos, length);
-        return new InputStreamReader(super.getBinaryStream(pos, length));
+        return new InputStreamReader(this.getCachedBinaryStream(pos, length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Clob chunks hold UTF-8 bytes while positions are characters, characters outside the BMP count as two.
+     */
+    @Override
+    protected long positionCount(byte[] bytes, int from, int to) {
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            count += utf16Units(bytes[i]);
+        }
+        return count;
+    }
+
+    @Override
+    protected int byteOffset(byte[] bytes, int from, long positions) {
+        int offset = from;
+        long remaining = positions;
+        while (offset < bytes.length && remaining > 0) {
+            remaining -= utf16Units(bytes[offset++]);
+        }
+        //Continuation bytes belong to the last character counted.
+        while (offset < bytes.length && utf16Units(bytes[offset]) == 0) {
+            offset++;
+        }
+        return offset;
+    }
+
+    private static int utf16Units(byte b) {
+        if ((b & 0xC0) == 0x80) {
+            return 0;//Continuation byte
+        }
+        return (b & 0xF8) == 0xF0 ? 2 : 1;
     }
 }
\ No newline at end of file
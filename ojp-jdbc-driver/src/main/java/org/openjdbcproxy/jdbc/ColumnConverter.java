@@ -0,0 +1,118 @@
+package org.openjdbcproxy.jdbc;
+
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Conversion of the values of a column to the primitive types of the ResultSet getters, chosen once per column from
+ * the SQL type in the column metadata. Numeric columns are converted straight from the Number received, other columns
+ * check the class of the value and parse strings.
+ */
+enum ColumnConverter {
+
+    NUMBER {
+        @Override
+        int toInt(Object value) {
+            return value instanceof Number ? ((Number) value).intValue() : GENERIC.toInt(value);
+        }
+
+        @Override
+        long toLong(Object value) {
+            return value instanceof Number ? ((Number) value).longValue() : GENERIC.toLong(value);
+        }
+
+        @Override
+        float toFloat(Object value) {
+            return value instanceof Number ? ((Number) value).floatValue() : GENERIC.toFloat(value);
+        }
+
+        @Override
+        double toDouble(Object value) {
+            return value instanceof Number ? ((Number) value).doubleValue() : GENERIC.toDouble(value);
+        }
+    },
+    GENERIC {
+        @Override
+        int toInt(Object value) {
+            if (value instanceof Number) {
+                return ((Number) value).intValue();
+            } else if (value instanceof Date) {
+                Date dValue = (Date) value;
+                LocalDate ld = LocalDate.ofEpochDay(dValue.getTime());
+                if (ld.getDayOfMonth() > 0) {
+                    return ld.getDayOfMonth();
+                } else if (ld.getMonth().getValue() > 0) {
+                    return ld.getMonth().getValue();
+                } else if (ld.getYear() > 0) {
+                    return ld.getYear();
+                }
+                return (int) dValue.getTime();
+            }
+            return Integer.parseInt(value.toString());
+        }
+
+        @Override
+        long toLong(Object value) {
+            if (value instanceof Number) {
+                return ((Number) value).longValue();
+            }
+            return Long.parseLong(value.toString());
+        }
+
+        @Override
+        float toFloat(Object value) {
+            if (value instanceof Number) {
+                return ((Number) value).floatValue();
+            }
+            return Float.parseFloat(value.toString());
+        }
+
+        @Override
+        double toDouble(Object value) {
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+            return Double.parseDouble(value.toString());
+        }
+    };
+
+    abstract int toInt(Object value);
+
+    abstract long toLong(Object value);
+
+    abstract float toFloat(Object value);
+
+    abstract double toDouble(Object value);
+
+    static ColumnConverter forType(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return NUMBER;
+            default:
+                return GENERIC;
+        }
+    }
+
+    /**
+     * @return The converter of every column, all generic when the metadata was not sent.
+     */
+    static ColumnConverter[] forColumns(List<ColumnMetadata> columns, int columnCount) {
+        ColumnConverter[] converters = new ColumnConverter[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            converters[i] = columns != null && i < columns.size() ? forType(columns.get(i).getColumnType()) : GENERIC;
+        }
+        return converters;
+    }
+}
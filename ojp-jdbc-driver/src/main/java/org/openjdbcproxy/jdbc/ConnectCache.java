@@ -0,0 +1,76 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.DbName;
+import com.openjdbcproxy.grpc.SessionInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.openjdbcproxy.jdbc.Constants.SHA_256;
+
+/**
+ * Result of the connect call cached per url, user and credentials fingerprint, later connections with the same details
+ * are created without calling the server. The connection hash is validated by the server when the first statement
+ * runs, if the server does not know it anymore (i.e. after a restart) the entry is evicted and the connection calls
+ * connect again before retrying the statement.
+ */
+@Slf4j
+public class ConnectCache {
+
+    private static final Map<String, CachedConnect> CACHE = new ConcurrentHashMap<>();
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedConnect {
+        private final SessionInfo sessionInfo;
+        private final DbName dbName;
+    }
+
+    /**
+     * Builds the cache key, the password is only part of it as a digest of the credentials.
+     */
+    public static String key(String url, String user, String password) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(SHA_256);
+            byte[] digest = messageDigest.digest((user + "\u0000" + password).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(url).append('|').append(user).append('|');
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Unable to fingerprint credentials: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the cache key of a connection to one of the servers of a url listing several, each server is called the
+     * first time on its own.
+     */
+    public static String key(String url, String target, String user, String password) {
+        return key(url + '@' + target, user, password);
+    }
+
+    public static CachedConnect get(String key) {
+        return CACHE.get(key);
+    }
+
+    public static void put(String key, CachedConnect cachedConnect) {
+        CACHE.put(key, cachedConnect);
+    }
+
+    /**
+     * Forgets the connection hash cached for the key, called when the server reports it unknown.
+     */
+    public static void evict(String key) {
+        if (CACHE.remove(key) != null) {
+            log.debug("Evicted cached connection hash of {}", key);
+        }
+    }
+}
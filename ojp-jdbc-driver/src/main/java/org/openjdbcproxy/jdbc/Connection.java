@@ -5,6 +5,7 @@ import com.openjdbcproxy.grpc.CallResourceRequest;
 import com.openjdbcproxy.grpc.CallResourceResponse;
 import com.openjdbcproxy.grpc.CallType;
 import com.openjdbcproxy.grpc.DbName;
+import com.openjdbcproxy.grpc.ResourceRelease;
 import com.openjdbcproxy.grpc.ResourceType;
 import com.openjdbcproxy.grpc.SessionInfo;
 import com.openjdbcproxy.grpc.TargetCall;
@@ -15,7 +16,10 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.client.QueryHedger;
 import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.Parameter;
+import org.openjdbcproxy.grpc.client.UpdatePipeline;
 
 import java.sql.SQLClientInfoException;
 import java.sql.SQLException;
@@ -25,32 +29,100 @@ import java.sql.Struct;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+import static org.openjdbcproxy.grpc.dto.ParameterType.OBJECT;
 
 @Slf4j
 public class Connection implements java.sql.Connection {
 
     @Getter
-    @Setter
     private SessionInfo session;
     private final StatementService statementService;
     @Getter
     private final DbName dbName;
     private boolean autoCommit = true;
+    //Transaction begin deferred to the first statement executed after auto commit is switched off.
+    private boolean transactionBeginPending = false;
+    //Whether statements were executed in the current transaction, empty transactions end without calling the server.
+    private boolean transactionDirty = false;
+    //Updates within a transaction are sent without waiting for their results when enabled.
+    @Setter
+    private boolean pipelineUpdates = false;
+    //Blocks of a result set read and decoded in the background while the application processes the current one.
+    @Getter
+    @Setter
+    private int readAheadDepth = Constants.DEFAULT_READ_AHEAD_DEPTH;
+    @Getter
+    @Setter
+    private long readAheadMaxBytes = Constants.DEFAULT_READ_AHEAD_MAX_BYTES;
+    @Getter
+    @Setter
+    private long readAheadIdleTimeout = Constants.DEFAULT_READ_AHEAD_IDLE_TIMEOUT;
+    //Memory budget of the rows scrollable and updatable result sets keep locally, 0 scrolls them on the server.
+    @Getter
+    @Setter
+    private long localCursorMaxBytes = Constants.DEFAULT_LOCAL_CURSOR_MAX_BYTES;
+    //Result sets with row changes not yet sent to the server.
+    private final Set<ResultSet> resultSetsWithRowChanges = new LinkedHashSet<>();
+    @Getter
+    @Setter
+    private UpdatePipeline updatePipeline;
     private boolean readOnly = false;
+    //Hedges read-only queries to another server of the url, null unless enabled for a url listing several servers.
+    @Getter
+    @Setter
+    private QueryHedger queryHedger;
     private boolean closed;
+    @Getter
+    private LobCache lobCache = new LobCache(Constants.DEFAULT_LOB_CACHE_MAX_BYTES);
+
+    @Getter
+    private final DatabaseMetaDataCache databaseMetaDataCache;
+    //Setters applied by the server along with the next call instead of being called remotely one by one.
+    private final Map<String, Object> settings = new HashMap<>();
+    private final Map<String, Object> pendingSettings = new HashMap<>();
+    //Server resources closed by the client, released in batches or along with the next statement.
+    private final Queue<ResourceRelease> pendingReleases = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingReleasesCount = new AtomicInteger();
+    //Calls connect again, set by the driver as connections are opened from the connection hash it cached.
+    @Setter
+    private Reconnect reconnect;
+
+    public interface Reconnect {
+        SessionInfo connect() throws SQLException;
+    }
 
     public Connection(SessionInfo session, StatementService statementService, DbName dbName) {
+        this(session, statementService, dbName, 0, 0);
+    }
+
+    public Connection(SessionInfo session, StatementService statementService, DbName dbName, long catalogCacheTtl,
+                      long describeCacheTtl) {
         this.session = session;
         this.statementService = statementService;
         this.closed = false;
         this.dbName = dbName;
+        this.databaseMetaDataCache = DatabaseMetaDataCache.forConnHash(session.getConnHash(), catalogCacheTtl,
+                describeCacheTtl);
+    }
+
+    /**
+     * Bounds the bytes of LOB chunks cached by this connection, 0 disables caching them.
+     */
+    public void setLobCacheMaxBytes(long lobCacheMaxBytes) {
+        this.lobCache = new LobCache(lobCacheMaxBytes);
     }
 
     @Override
@@ -81,13 +153,17 @@ public class Connection implements java.sql.Connection {
     @Override
     public void setAutoCommit(boolean autoCommit) throws SQLException {
         log.debug("setAutoCommit: {}", autoCommit);
+        this.awaitPipelinedUpdates();
         //if switching on autocommit with active transaction, commit current transaction.
-        if (!this.autoCommit && autoCommit &&
-                TransactionStatus.TRX_ACTIVE.equals(session.getTransactionInfo().getTransactionStatus())) {
-            this.session = this.statementService.commitTransaction(this.session);
-            //If switching autocommit off, start a new transaction
+        if (!this.autoCommit && autoCommit) {
+            if (this.isTransactionStarted()) {
+                this.setSession(this.statementService.commitTransaction(this.session));
+            }
+            this.transactionBeginPending = false;
+            this.transactionDirty = false;
+            //If switching autocommit off, the transaction begins along with the first statement executed.
         } else if (this.autoCommit && !autoCommit) {
-            this.session = this.statementService.startTransaction(this.session);
+            this.transactionBeginPending = true;
         }
         this.autoCommit = autoCommit;
     }
@@ -101,16 +177,30 @@ public class Connection implements java.sql.Connection {
     @Override
     public void commit() throws SQLException {
         log.debug("commit called");
+        this.sendRowChanges();
+        this.awaitPipelinedUpdates();
         if (!this.autoCommit) {
-            this.session = this.statementService.commitTransaction(this.session);
+            if (this.isTransactionStarted()) {
+                this.setSession(this.statementService.commitTransaction(this.session));
+            } else {
+                log.debug("No statements executed in the transaction, nothing to commit");
+            }
+            this.transactionDirty = false;
         }
     }
 
     @Override
     public void rollback() throws SQLException {
         log.debug("rollback called");
+        this.discardRowChanges();
+        this.awaitPipelinedUpdates();
         if (!this.autoCommit) {
-            this.session = this.statementService.rollbackTransaction(this.session);
+            if (this.isTransactionStarted()) {
+                this.setSession(this.statementService.rollbackTransaction(this.session));
+            } else {
+                log.debug("No statements executed in the transaction, nothing to rollback");
+            }
+            this.transactionDirty = false;
         }
     }
 
@@ -124,10 +214,27 @@ public class Connection implements java.sql.Connection {
     @Override
     public void close() throws SQLException {
         log.debug("close called");
+        try {
+            if (this.autoCommit) {
+                this.sendRowChanges();
+            } else {
+                this.discardRowChanges();
+            }
+        } catch (SQLException e) {
+            log.warn("Result set row changes failed before closing the connection: {}", e.getMessage());
+        }
+        try {
+            this.awaitPipelinedUpdates();
+        } catch (SQLException e) {
+            log.warn("Pipelined update failed before closing the connection: {}", e.getMessage());
+        }
+        //Terminating the session releases every resource still queued.
+        this.takePendingReleases();
         if (StringUtils.isNotEmpty(this.session.getSessionUUID())) {
             this.statementService.terminateSession(this.session);
             this.session = null;
         }
+        this.lobCache.clear();
         this.closed = true;
     }
 
@@ -160,25 +267,32 @@ public class Connection implements java.sql.Connection {
     @Override
     public void setCatalog(String catalog) throws SQLException {
         log.debug("setCatalog: {}", catalog);
-        this.callProxy(CallType.CALL_SET, "Catalog", Void.class, Arrays.asList(catalog));
+        this.putSetting("Catalog", catalog);
     }
 
     @Override
     public String getCatalog() throws SQLException {
         log.debug("getCatalog called");
+        if (this.settings.containsKey("Catalog")) {
+            return (String) this.settings.get("Catalog");
+        }
         return this.callProxy(CallType.CALL_GET, "Catalog", String.class);
     }
 
     @Override
     public void setTransactionIsolation(int level) throws SQLException {
         log.debug("setTransactionIsolation: {}", level);
-        this.callProxy(CallType.CALL_SET, "TransactionIsolation", Void.class, Arrays.asList(level));
+        this.putSetting("TransactionIsolation", level);
     }
 
     @Override
     public int getTransactionIsolation() throws SQLException {
         log.debug("getTransactionIsolation called");
-        return this.callProxy(CallType.CALL_GET, "TransactionIsolation", Integer.class);
+        if (this.settings.containsKey("TransactionIsolation")) {
+            return (Integer) this.settings.get("TransactionIsolation");
+        }
+        //Connections are reset to the default isolation when returned to the pool.
+        return this.getMetaData().getDefaultTransactionIsolation();
     }
 
     @Override
@@ -246,12 +360,15 @@ public class Connection implements java.sql.Connection {
     @Override
     public void setHoldability(int holdability) throws SQLException {
         log.debug("setHoldability: {}", holdability);
-        this.callProxy(CallType.CALL_SET, "Holdability", Void.class, Arrays.asList(holdability));
+        this.putSetting("Holdability", holdability);
     }
 
     @Override
     public int getHoldability() throws SQLException {
         log.debug("getHoldability called");
+        if (this.settings.containsKey("Holdability")) {
+            return (Integer) this.settings.get("Holdability");
+        }
         return this.callProxy(CallType.CALL_GET, "Holdability", Integer.class);
     }
 
@@ -425,12 +542,15 @@ public class Connection implements java.sql.Connection {
     @Override
     public void setSchema(String schema) throws SQLException {
         log.debug("setSchema: {}", schema);
-        this.callProxy(CallType.CALL_SET, "Schema", Void.class, Arrays.asList(schema));
+        this.putSetting("Schema", schema);
     }
 
     @Override
     public String getSchema() throws SQLException {
         log.debug("getSchema called");
+        if (this.settings.containsKey("Schema")) {
+            return (String) this.settings.get("Schema");
+        }
         return this.callProxy(CallType.CALL_GET, "Schema", String.class);
     }
 
@@ -453,23 +573,231 @@ public class Connection implements java.sql.Connection {
         return this.callProxy(CallType.CALL_GET, "NetworkTimeout", Integer.class);
     }
 
+    /**
+     * Unwraps to the OJP connection itself, giving access to the methods beyond JDBC such as
+     * {@link #executeQueryReactive(String, List)}. The connection of the database is not reachable from the client.
+     */
     @Override
     public <T> T unwrap(Class<T> iface) throws SQLException {
         log.debug("unwrap: {}", iface);
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
         throw new SQLFeatureNotSupportedException("Cannot unwrap remote proxy object.");
     }
 
     @Override
     public boolean isWrapperFor(Class<?> iface) throws SQLException {
         log.debug("isWrapperFor: {}", iface);
-        return false;
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Publishes the rows of a query in batches as the subscriber requests them. The query is executed for every
+     * subscriber, the server reads the next rows from the database only once the subscriber requests more batches,
+     * so slow subscribers do not pile up rows in the memory of the client nor of the server.
+     *
+     * @param sql    Query to execute
+     * @param params Values of the parameters of the query in order, empty for queries without parameters
+     * @return Publisher of the batches of rows of the query
+     */
+    public Flow.Publisher<RowBatch> executeQueryReactive(String sql, List<Object> params) throws SQLException {
+        log.debug("executeQueryReactive: {}", sql);
+        if (this.closed) {
+            throw new SQLException("Connection is closed.");
+        }
+        List<Parameter> parameters = new ArrayList<>();
+        if (params != null) {
+            for (int i = 0; i < params.size(); i++) {
+                parameters.add(Parameter.builder()
+                        .type(OBJECT)
+                        .index(i + 1)
+                        .values(Arrays.asList(params.get(i)))
+                        .build());
+            }
+        }
+        return new QueryPublisher(this, this.statementService, sql, parameters);
+    }
+
+    /**
+     * Connects again when a call failed because the server does not know the connection hash anymore (i.e. after a
+     * restart), for the call to be retried once.
+     *
+     * @param e Failure of the call
+     * @return true if connected again. false if the call failed otherwise, or if the connection has a session, which
+     * the server lost along with the hash.
+     */
+    public boolean reconnectOnUnknownConnHash(SQLException e) throws SQLException {
+        if (this.reconnect == null || !CommonConstants.UNKNOWN_CONN_HASH_SQL_STATE.equals(e.getSQLState()) ||
+                StringUtils.isNotEmpty(this.session.getSessionUUID())) {
+            return false;
+        }
+        log.warn("Connection hash {} unknown by the server, connecting again", this.session.getConnHash());
+        this.setSession(this.reconnect.connect());
+        return true;
+    }
+
+    public void setSession(SessionInfo session) {
+        this.session = session;
+        //The server returns the transaction active once it begins the transaction deferred.
+        if (session != null && TransactionStatus.TRX_ACTIVE.equals(session.getTransactionInfo().getTransactionStatus())) {
+            this.transactionBeginPending = false;
+        }
+    }
+
+    /**
+     * Registers a statement being sent to the server as part of the current transaction.
+     *
+     * @return true if the transaction has not begun in the server yet and the statement has to begin it.
+     */
+    public boolean beginTransactionOnExecution() {
+        if (this.autoCommit) {
+            return false;
+        }
+        this.transactionDirty = true;
+        return this.transactionBeginPending;
+    }
+
+    /**
+     * Waits for the pipelined updates and begins the transaction deferred, for calls to the server that cannot carry
+     * the begin along.
+     */
+    public void startPendingTransaction() throws SQLException {
+        this.awaitPipelinedUpdates();
+        if (!this.autoCommit && this.transactionBeginPending) {
+            this.setSession(this.statementService.startTransaction(this.session));
+        }
+        if (!this.autoCommit) {
+            this.transactionDirty = true;
+        }
+    }
+
+    /**
+     * Marks the current transaction committed by a statement executed with the commit attached.
+     */
+    void transactionCommitted() {
+        this.transactionDirty = false;
+    }
+
+    /**
+     * Whether updates are sent over the update pipeline, only once the transaction has begun in the server as
+     * pipelined updates have to carry the session.
+     */
+    public boolean isPipeliningUpdates() {
+        return this.pipelineUpdates && !this.autoCommit && !this.transactionBeginPending && this.session != null &&
+                StringUtils.isNotEmpty(this.session.getSessionUUID());
+    }
+
+    /**
+     * Waits for the results of every pipelined update and sends the row changes held by updatable result sets, called
+     * before any call depending on them.
+     *
+     * @throws SQLException the first failure of the updates pipelined or of the row changes
+     */
+    public void awaitPipelinedUpdates() throws SQLException {
+        if (this.updatePipeline != null) {
+            UpdatePipeline pipeline = this.updatePipeline;
+            this.updatePipeline = null;
+            pipeline.drain();
+        }
+        if (!this.resultSetsWithRowChanges.isEmpty()) {
+            this.sendRowChanges();
+        }
+    }
+
+    /**
+     * Keeps track of a result set with row changes not yet sent, so they are sent before the next statement or the
+     * commit.
+     */
+    void addResultSetWithRowChanges(ResultSet resultSet) {
+        this.resultSetsWithRowChanges.add(resultSet);
+    }
+
+    void removeResultSetWithRowChanges(ResultSet resultSet) {
+        this.resultSetsWithRowChanges.remove(resultSet);
+    }
+
+    private void sendRowChanges() throws SQLException {
+        for (ResultSet resultSet : new ArrayList<>(this.resultSetsWithRowChanges)) {
+            resultSet.sendRowChanges();
+        }
+    }
+
+    private void discardRowChanges() throws SQLException {
+        for (ResultSet resultSet : new ArrayList<>(this.resultSetsWithRowChanges)) {
+            resultSet.discardRowChanges();
+        }
+    }
+
+    private boolean isTransactionStarted() {
+        return this.transactionDirty && !this.transactionBeginPending;
+    }
+
+    /**
+     * Returns the connection settings to be sent along with the next call and clears the pending ones. Without a
+     * session the call may run on any connection of the pool, so every setting is returned, otherwise the connection
+     * of the session already has the settings sent before and only the pending ones are returned.
+     *
+     * @return Map of setter name (i.e. TransactionIsolation) to value, empty if there is nothing to apply.
+     */
+    public Map<String, Object> takeSettings() {
+        Map<String, Object> toSend = this.session == null || StringUtils.isEmpty(this.session.getSessionUUID()) ?
+                new HashMap<>(this.settings) : new HashMap<>(this.pendingSettings);
+        this.pendingSettings.clear();
+        return toSend;
     }
 
-    private CallResourceRequest.Builder newCallBuilder() {
+    /**
+     * Queues the release of a server resource closed by the client. Releases travel along with the next statement
+     * executed or, once enough of them are queued, in a release call the client does not wait for.
+     */
+    public void releaseResource(ResourceType resourceType, String resourceUUID) {
+        if (this.closed || StringUtils.isEmpty(resourceUUID) || this.session == null ||
+                StringUtils.isEmpty(this.session.getSessionUUID())) {
+            //Without a session there is nothing held in the server, once closed the session releases everything.
+            return;
+        }
+        this.pendingReleases.add(ResourceRelease.newBuilder()
+                .setResourceType(resourceType)
+                .setResourceUUID(resourceUUID)
+                .build());
+        if (this.pendingReleasesCount.incrementAndGet() >= Constants.RELEASE_BATCH_SIZE) {
+            List<ResourceRelease> releases = this.takePendingReleases();
+            if (!releases.isEmpty()) {
+                this.statementService.releaseResources(this.session, releases);
+            }
+        }
+    }
+
+    /**
+     * Returns the releases queued and clears them, to be sent along with the next statement.
+     */
+    public List<ResourceRelease> takePendingReleases() {
+        List<ResourceRelease> releases = new ArrayList<>();
+        ResourceRelease release;
+        while ((release = this.pendingReleases.poll()) != null) {
+            this.pendingReleasesCount.decrementAndGet();
+            releases.add(release);
+        }
+        return releases;
+    }
+
+    private void putSetting(String name, Object value) {
+        this.settings.put(name, value);
+        this.pendingSettings.put(name, value);
+    }
+
+    private CallResourceRequest.Builder newCallBuilder() throws SQLException {
         log.debug("newCallBuilder called");
-        return CallResourceRequest.newBuilder()
+        this.startPendingTransaction();
+        CallResourceRequest.Builder builder = CallResourceRequest.newBuilder()
                 .setSession(this.session)
                 .setResourceType(ResourceType.RES_CONNECTION);
+        Map<String, Object> connectionSettings = this.takeSettings();
+        if (!connectionSettings.isEmpty()) {
+            builder.setConnectionSettings(serializeToByteString(connectionSettings));
+        }
+        return builder;
     }
 
     private <T> T callProxy(CallType callType, String targetName, Class returnType) throws SQLException {
@@ -484,7 +812,7 @@ public class Connection implements java.sql.Connection {
                 TargetCall.newBuilder()
                         .setCallType(callType)
                         .setResourceName(targetName)
-                        .setParams(ByteString.copyFrom(serialize(params)))
+                        .setParams(serializeToByteString(params))
                         .build()
         );
         try {
@@ -494,7 +822,7 @@ public class Connection implements java.sql.Connection {
             if (Void.class.equals(returnType)) {
                 return null;
             }
-            return (T) deserialize(response.getValues().toByteArray(), returnType);
+            return (T) deserialize(response.getValues(), returnType);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -17,5 +17,34 @@ public class Constants {
     public static final String EMPTY_STRING = "";
     public static final String H2_DRIVER_CLASS = "org.h2.Driver";
     public static final List<Object> EMPTY_OBJECT_LIST = new ArrayList<>();
+    public static final String LOB_CACHE_MAX_BYTES_KEY = "ojp.lob.cacheMaxBytes";//0 disables the cache of LOB chunks
+    public static final long DEFAULT_LOB_CACHE_MAX_BYTES = 16 * 1024 * 1024;//16MB of LOB chunks cached per connection
+    public static final int LOB_WRITE_CHUNK_SIZE = 64 * 1024;//64KB per block sent when writing a LOB
+    public static final int LOB_BATCH_THRESHOLD = 64 * 1024;//LOB parameters up to 64KB are created with the row
+    public static final String CATALOG_CACHE_TTL_KEY = "ojp.metadata.catalogCacheTtl";//Milliseconds, 0 disables it
+    public static final String DESCRIBE_CACHE_TTL_KEY = "ojp.metadata.describeCacheTtl";//Milliseconds, 0 disables it
+    public static final long DEFAULT_DESCRIBE_CACHE_TTL = 300000;//5 minutes, descriptions are also dropped on DDL
+    public static final int RELEASE_BATCH_SIZE = 32;//Closed resources queued before releasing them in a call of their own
+    public static final String READ_AHEAD_DEPTH_KEY = "ojp.resultSet.readAheadDepth";//Blocks decoded ahead, 0 disables it
+    public static final int DEFAULT_READ_AHEAD_DEPTH = 0;//Opt-in, it takes a thread per result set open
+    public static final String READ_AHEAD_MAX_BYTES_KEY = "ojp.resultSet.readAheadMaxBytes";//Memory budget per result set
+    public static final long DEFAULT_READ_AHEAD_MAX_BYTES = 8 * 1024 * 1024;//8MB of serialized blocks read ahead
+    public static final String READ_AHEAD_IDLE_TIMEOUT_KEY = "ojp.resultSet.readAheadIdleTimeout";//Milliseconds
+    public static final long DEFAULT_READ_AHEAD_IDLE_TIMEOUT = 600000;//10 minutes, as the server waits for a slow client
+    public static final String LOCAL_CURSOR_MAX_BYTES_KEY = "ojp.resultSet.localCursorMaxBytes";//0 scrolls on the server
+    public static final long DEFAULT_LOCAL_CURSOR_MAX_BYTES = 16 * 1024 * 1024;//16MB in memory, the rest spilled to a file
+    public static final String PIPELINE_UPDATES_KEY = "ojp.transaction.pipelineUpdates";//Updates within transactions are pipelined
+    public static final String CHANNELS_PER_TARGET_KEY = "ojp.grpc.channelsPerTarget";//HTTP/2 connections per OJP server
+    public static final int DEFAULT_CHANNELS_PER_TARGET = 1;
+    public static final String LOAD_BALANCING_POLICY_KEY = "ojp.loadBalancing.policy";//ROUND_ROBIN or LEAST_OUTSTANDING
+    public static final String EJECTION_MILLIS_KEY = "ojp.loadBalancing.ejectionMillis";//Unavailable servers left out
+    public static final long DEFAULT_EJECTION_MILLIS = 5000;
+    public static final String HEALTH_CHECK_MILLIS_KEY = "ojp.loadBalancing.healthCheckMillis";//0 disables the checks
+    public static final long DEFAULT_HEALTH_CHECK_MILLIS = 1000;
+    public static final String HEDGING_ENABLED_KEY = "ojp.hedging.enabled";//Read-only queries hedged across servers
+    public static final String HEDGING_BUDGET_PERCENT_KEY = "ojp.hedging.budgetPercent";//Hedges per hundred queries
+    public static final int DEFAULT_HEDGING_BUDGET_PERCENT = 5;
+    public static final String HEDGING_MIN_DELAY_MILLIS_KEY = "ojp.hedging.minDelayMillis";//Floor of the p95 delay
+    public static final long DEFAULT_HEDGING_MIN_DELAY_MILLIS = 5;
 
 }
@@ -4,11 +4,14 @@ import com.google.protobuf.ByteString;
 import com.openjdbcproxy.grpc.CallResourceRequest;
 import com.openjdbcproxy.grpc.CallResourceResponse;
 import com.openjdbcproxy.grpc.CallType;
+import com.openjdbcproxy.grpc.OpResult;
 import com.openjdbcproxy.grpc.ResourceType;
+import com.openjdbcproxy.grpc.ResultType;
 import com.openjdbcproxy.grpc.SessionInfo;
 import com.openjdbcproxy.grpc.TargetCall;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.constants.CommonConstants;
 import org.openjdbcproxy.grpc.client.StatementService;
 
 import java.sql.Connection;
@@ -16,10 +19,14 @@ import java.sql.ResultSet;
 import java.sql.RowIdLifetime;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 
 @Slf4j
 public class DatabaseMetaData implements java.sql.DatabaseMetaData {
@@ -27,6 +34,7 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     private final StatementService statementService;
     private final org.openjdbcproxy.jdbc.Connection connection;
     private final Statement statement;
+    private Map<String, Object> snapshot;
 
     public DatabaseMetaData(SessionInfo session, StatementService statementService,
                             org.openjdbcproxy.jdbc.Connection connection, Statement statement) {
@@ -771,134 +779,104 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     @Override
     public ResultSet getProcedures(String catalog, String schemaPattern, String procedureNamePattern) throws SQLException {
         log.debug("getProcedures: {}, {}, {}", catalog, schemaPattern, procedureNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Procedures", String.class,
-                Arrays.asList(catalog, schemaPattern, procedureNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Procedures", Arrays.asList(catalog, schemaPattern, procedureNamePattern));
     }
 
     @Override
     public ResultSet getProcedureColumns(String catalog, String schemaPattern, String procedureNamePattern, String columnNamePattern) throws SQLException {
         log.debug("getProcedureColumns: {}, {}, {}, {}", catalog, schemaPattern, procedureNamePattern, columnNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "ProcedureColumns", String.class,
-                Arrays.asList(catalog, schemaPattern, procedureNamePattern, columnNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("ProcedureColumns", Arrays.asList(catalog, schemaPattern, procedureNamePattern, columnNamePattern));
     }
 
     @Override
     public ResultSet getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
         log.debug("getTables: {}, {}, {}, <String[]>", catalog, schemaPattern, tableNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Tables", String.class,
-                Arrays.asList(catalog, schemaPattern, tableNamePattern, types));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Tables", Arrays.asList(catalog, schemaPattern, tableNamePattern, types));
     }
 
     @Override
     public ResultSet getSchemas() throws SQLException {
         log.debug("getSchemas called");
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Schemas", String.class);
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Schemas", Constants.EMPTY_OBJECT_LIST);
     }
 
     @Override
     public ResultSet getCatalogs() throws SQLException {
         log.debug("getCatalogs called");
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Catalogs", String.class);
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Catalogs", Constants.EMPTY_OBJECT_LIST);
     }
 
     @Override
     public ResultSet getTableTypes() throws SQLException {
         log.debug("getTableTypes called");
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "TableTypes", String.class);
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("TableTypes", Constants.EMPTY_OBJECT_LIST);
     }
 
     @Override
     public ResultSet getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
         log.debug("getColumns: {}, {}, {}, {}", catalog, schemaPattern, tableNamePattern, columnNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Columns", String.class,
-                Arrays.asList(catalog, schemaPattern, tableNamePattern, columnNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Columns", Arrays.asList(catalog, schemaPattern, tableNamePattern, columnNamePattern));
     }
 
     @Override
     public ResultSet getColumnPrivileges(String catalog, String schema, String table, String columnNamePattern) throws SQLException {
         log.debug("getColumnPrivileges: {}, {}, {}, {}", catalog, schema, table, columnNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "ColumnPrivileges", String.class,
-                Arrays.asList(catalog, schema, table, columnNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("ColumnPrivileges", Arrays.asList(catalog, schema, table, columnNamePattern));
     }
 
     @Override
     public ResultSet getTablePrivileges(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
         log.debug("getTablePrivileges: {}, {}, {}", catalog, schemaPattern, tableNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "TablePrivileges", String.class,
-                Arrays.asList(catalog, schemaPattern, tableNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("TablePrivileges", Arrays.asList(catalog, schemaPattern, tableNamePattern));
     }
 
     @Override
     public ResultSet getBestRowIdentifier(String catalog, String schema, String table, int scope, boolean nullable) throws SQLException {
         log.debug("getBestRowIdentifier: {}, {}, {}, {}, {}", catalog, schema, table, scope, nullable);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "BestRowIdentifier", String.class,
-                Arrays.asList(catalog, schema, table, scope, nullable));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("BestRowIdentifier", Arrays.asList(catalog, schema, table, scope, nullable));
     }
 
     @Override
     public ResultSet getVersionColumns(String catalog, String schema, String table) throws SQLException {
         log.debug("getVersionColumns: {}, {}, {}", catalog, schema, table);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "VersionColumns", String.class,
-                Arrays.asList(catalog, schema, table));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("VersionColumns", Arrays.asList(catalog, schema, table));
     }
 
     @Override
     public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
         log.debug("getPrimaryKeys: {}, {}, {}", catalog, schema, table);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "PrimaryKeys", String.class,
-                Arrays.asList(catalog, schema, table));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("PrimaryKeys", Arrays.asList(catalog, schema, table));
     }
 
     @Override
     public ResultSet getImportedKeys(String catalog, String schema, String table) throws SQLException {
         log.debug("getImportedKeys: {}, {}, {}", catalog, schema, table);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "ImportedKeys", String.class,
-                Arrays.asList(catalog, schema, table));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("ImportedKeys", Arrays.asList(catalog, schema, table));
     }
 
     @Override
     public ResultSet getExportedKeys(String catalog, String schema, String table) throws SQLException {
         log.debug("getExportedKeys: {}, {}, {}", catalog, schema, table);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "ExportedKeys", String.class,
-                Arrays.asList(catalog, schema, table));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("ExportedKeys", Arrays.asList(catalog, schema, table));
     }
 
     @Override
     public ResultSet getCrossReference(String parentCatalog, String parentSchema, String parentTable, String foreignCatalog,
                                        String foreignSchema, String foreignTable) throws SQLException {
         log.debug("getCrossReference: {}, {}, {}, {}, {}, {}", parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "CrossReference", String.class,
-                Arrays.asList(parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("CrossReference", Arrays.asList(parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable));
     }
 
     @Override
     public ResultSet getTypeInfo() throws SQLException {
         log.debug("getTypeInfo called");
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "TypeInfo", String.class);
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("TypeInfo", Constants.EMPTY_OBJECT_LIST);
     }
 
     @Override
     public ResultSet getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate) throws SQLException {
         log.debug("getIndexInfo: {}, {}, {}, {}, {}", catalog, schema, table, unique, approximate);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "IndexInfo", String.class,
-                Arrays.asList(catalog, schema, table, unique, approximate));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("IndexInfo", Arrays.asList(catalog, schema, table, unique, approximate));
     }
 
     @Override
@@ -987,9 +965,7 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     @Override
     public ResultSet getUDTs(String catalog, String schemaPattern, String typeNamePattern, int[] types) throws SQLException {
         log.debug("getUDTs: {}, {}, {}, <int[]>", catalog, schemaPattern, typeNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "UDTs", String.class,
-                Arrays.asList(catalog, schemaPattern, typeNamePattern, types));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("UDTs", Arrays.asList(catalog, schemaPattern, typeNamePattern, types));
     }
 
     @Override
@@ -1025,26 +1001,20 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     @Override
     public ResultSet getSuperTypes(String catalog, String schemaPattern, String typeNamePattern) throws SQLException {
         log.debug("getSuperTypes: {}, {}, {}", catalog, schemaPattern, typeNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "SuperTypes", String.class,
-                Arrays.asList(catalog, schemaPattern, typeNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("SuperTypes", Arrays.asList(catalog, schemaPattern, typeNamePattern));
     }
 
     @Override
     public ResultSet getSuperTables(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
         log.debug("getSuperTables: {}, {}, {}", catalog, schemaPattern, tableNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "SuperTables", String.class,
-                Arrays.asList(catalog, schemaPattern, tableNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("SuperTables", Arrays.asList(catalog, schemaPattern, tableNamePattern));
     }
 
     @Override
     public ResultSet getAttributes(String catalog, String schemaPattern, String typeNamePattern, String attributeNamePattern)
             throws SQLException {
         log.debug("getAttributes: {}, {}, {}, {}", catalog, schemaPattern, typeNamePattern, attributeNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Attributes", String.class,
-                Arrays.asList(catalog, schemaPattern, typeNamePattern, attributeNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Attributes", Arrays.asList(catalog, schemaPattern, typeNamePattern, attributeNamePattern));
     }
 
     @Override
@@ -1111,9 +1081,7 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     @Override
     public ResultSet getSchemas(String catalog, String schemaPattern) throws SQLException {
         log.debug("getSchemas: {}, {}", catalog, schemaPattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Schemas", String.class,
-                Arrays.asList(catalog, schemaPattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Schemas", Arrays.asList(catalog, schemaPattern));
     }
 
     @Override
@@ -1131,32 +1099,25 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     @Override
     public ResultSet getClientInfoProperties() throws SQLException {
         log.debug("getClientInfoProperties called");
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "ClientInfoProperties", String.class);
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("ClientInfoProperties", Constants.EMPTY_OBJECT_LIST);
     }
 
     @Override
     public ResultSet getFunctions(String catalog, String schemaPattern, String functionNamePattern) throws SQLException {
         log.debug("getFunctions: {}, {}, {}", catalog, schemaPattern, functionNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "Functions", String.class,
-                Arrays.asList(catalog, schemaPattern, functionNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("Functions", Arrays.asList(catalog, schemaPattern, functionNamePattern));
     }
 
     @Override
     public ResultSet getFunctionColumns(String catalog, String schemaPattern, String functionNamePattern, String columnNamePattern) throws SQLException {
         log.debug("getFunctionColumns: {}, {}, {}, {}", catalog, schemaPattern, functionNamePattern, columnNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "FunctionColumns", String.class,
-                Arrays.asList(catalog, schemaPattern, functionNamePattern, columnNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("FunctionColumns", Arrays.asList(catalog, schemaPattern, functionNamePattern, columnNamePattern));
     }
 
     @Override
     public ResultSet getPseudoColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
         log.debug("getPseudoColumns: {}, {}, {}, {}", catalog, schemaPattern, tableNamePattern, columnNamePattern);
-        String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, "PseudoColumns", String.class,
-                Arrays.asList(catalog, schemaPattern, tableNamePattern, columnNamePattern));
-        return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        return this.catalogResultSet("PseudoColumns", Arrays.asList(catalog, schemaPattern, tableNamePattern, columnNamePattern));
     }
 
     @Override
@@ -1184,13 +1145,85 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
     }
     private <T> T retrieveMetadataAttribute(CallType callType, String attrName, Class returnType) throws SQLException {
         log.debug("retrieveMetadataAttribute: {}, {}", callType, attrName);
+        Map<String, Object> snapshot = this.snapshot();
+        //Same method name the server resolves, lower cased as the server matches it ignoring case.
+        String methodName = (callType.name().substring("CALL_".length()) + attrName).toLowerCase(Locale.ROOT);
+        if (snapshot.containsKey(methodName)) {
+            return (T) snapshot.get(methodName);
+        }
         return this.retrieveMetadataAttribute(callType, attrName, returnType, Constants.EMPTY_OBJECT_LIST);
     }
 
     private <T> T retrieveMetadataAttribute(CallType callType, String attrName, Class returnType, List<Object> params) throws SQLException {
         log.debug("retrieveMetadataAttribute: {}, {}, <params>", callType, attrName);
+        CallResourceResponse response = this.callMetaData(callType, attrName, params, ByteString.EMPTY);
+        return (T) deserialize(response.getValues(), returnType);
+    }
+
+    /**
+     * Gets the snapshot of all scalar attributes, taken by the server in a single call the first time any connection
+     * with the same connection hash asks for one.
+     */
+    private Map<String, Object> snapshot() throws SQLException {
+        if (this.snapshot != null) {
+            return this.snapshot;
+        }
+        DatabaseMetaDataCache cache = this.connection.getDatabaseMetaDataCache();
+        this.snapshot = cache.getSnapshot();
+        if (this.snapshot == null) {
+            try {
+                CallResourceRequest.Builder reqBuilder = this.newCallBuilder();
+                reqBuilder.setTarget(TargetCall.newBuilder()
+                        .setCallType(CallType.CALL_GET)
+                        .setResourceName(CommonConstants.DATABASE_METADATA_SNAPSHOT)
+                        .build());
+                CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
+                this.connection.setSession(response.getSession());
+                this.snapshot = deserialize(response.getValues(), Map.class);
+                cache.setSnapshot(this.snapshot);
+            } catch (SQLException e) {
+                log.warn("Unable to retrieve database metadata snapshot, attributes are requested one by one: {}",
+                        e.getMessage());
+                this.snapshot = Collections.emptyMap();
+            }
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * Result set of a catalog query. When the catalog cache is enabled the server reads the rows fully and they are
+     * kept for the configured time to live, otherwise the result set is read remotely.
+     */
+    private ResultSet catalogResultSet(String attrName, List<Object> params) throws SQLException {
+        DatabaseMetaDataCache cache = this.connection.getDatabaseMetaDataCache();
+        if (!cache.isCatalogCacheEnabled()) {
+            String resultSetUUID = this.retrieveMetadataAttribute(CallType.CALL_GET, attrName, String.class, params);
+            return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this.statement);
+        }
+        String key = attrName + Arrays.deepToString(params.toArray());
+        ByteString rows = cache.getCatalog(key);
+        if (rows == null) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put(CommonConstants.MATERIALIZE_RESULT_SET_FLAG, Boolean.TRUE);
+            rows = this.callMetaData(CallType.CALL_GET, attrName, params, serializeToByteString(properties)).getValues();
+            cache.putCatalog(key, rows);
+        } else {
+            log.debug("Catalog query {} served from cache", key);
+        }
+        OpResult opResult = OpResult.newBuilder()
+                .setSession(this.connection.getSession())
+                .setType(ResultType.RESULT_SET_DATA)
+                .setValue(rows)
+                .build();
+        return new org.openjdbcproxy.jdbc.ResultSet(List.of(opResult).iterator(), this.statementService,
+                this.statement != null ? this.statement : new Statement(this.connection, this.statementService));
+    }
+
+    private CallResourceResponse callMetaData(CallType callType, String attrName, List<Object> params,
+                                              ByteString properties) throws SQLException {
         CallResourceRequest.Builder reqBuilder = this.newCallBuilder();
         reqBuilder
+            .setProperties(properties)
             .setTarget(
                 TargetCall.newBuilder()
                         .setCallType(CallType.CALL_GET)
@@ -1198,13 +1231,12 @@ public class DatabaseMetaData implements java.sql.DatabaseMetaData {
                         .setNextCall(TargetCall.newBuilder()
                                 .setCallType(callType)
                                 .setResourceName(attrName)
-                                .setParams(ByteString.copyFrom(serialize(params)))
+                                .setParams(serializeToByteString(params))
                                 .build())
                         .build()
         );
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
         this.connection.setSession(response.getSession());
-
-        return (T) deserialize(response.getValues().toByteArray(), returnType);
+        return response;
     }
-}
\ No newline at end of file
+}
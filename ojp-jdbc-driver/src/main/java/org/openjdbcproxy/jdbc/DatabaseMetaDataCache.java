@@ -0,0 +1,113 @@
+package org.openjdbcproxy.jdbc;
+
+import com.google.protobuf.ByteString;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdbcproxy.grpc.dto.StatementDescription;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DatabaseMetaData cached per connection hash, shared by every connection to the same database with the same
+ * credentials. Holds the snapshot of the scalar attributes taken by the server and, when a time to live is configured,
+ * the rows of catalog queries such as getTables or getColumns and the descriptions of prepared statements. Statement
+ * descriptions are also dropped when a DDL statement is executed through any connection of the connection hash.
+ */
+public class DatabaseMetaDataCache {
+
+    private static final Map<String, DatabaseMetaDataCache> CACHES = new ConcurrentHashMap<>();
+
+    @Getter
+    @Setter
+    private volatile Map<String, Object> snapshot;
+    private final long catalogTtlMillis;
+    private final long describeTtlMillis;
+    private final Map<String, Entry<ByteString>> catalogs = new ConcurrentHashMap<>();
+    private final Map<String, Entry<StatementDescription>> descriptions = new ConcurrentHashMap<>();
+
+    private DatabaseMetaDataCache(long catalogTtlMillis, long describeTtlMillis) {
+        this.catalogTtlMillis = catalogTtlMillis;
+        this.describeTtlMillis = describeTtlMillis;
+    }
+
+    /**
+     * Gets the cache of a connection hash. Its times to live are those of the first connection opened with the
+     * connection hash, they come from the driver properties read once, so the connections opened later do not change
+     * them for the connections already using the cache.
+     *
+     * @param connHash          Connection hash
+     * @param catalogTtlMillis  Time to live of catalog query rows, 0 disables the catalog cache
+     * @param describeTtlMillis Time to live of statement descriptions, 0 disables the describe cache
+     */
+    public static DatabaseMetaDataCache forConnHash(String connHash, long catalogTtlMillis, long describeTtlMillis) {
+        return CACHES.computeIfAbsent(connHash, k -> new DatabaseMetaDataCache(catalogTtlMillis, describeTtlMillis));
+    }
+
+    public boolean isCatalogCacheEnabled() {
+        return this.catalogTtlMillis > 0;
+    }
+
+    /**
+     * @return Serialized rows of the catalog query or null if not cached or expired.
+     */
+    public ByteString getCatalog(String key) {
+        return get(this.catalogs, key, this.catalogTtlMillis);
+    }
+
+    public void putCatalog(String key, ByteString rows) {
+        put(this.catalogs, key, rows, this.catalogTtlMillis);
+    }
+
+    public boolean isDescribeCacheEnabled() {
+        return this.describeTtlMillis > 0;
+    }
+
+    /**
+     * @return Description of the prepared statement SQL or null if not cached or expired.
+     */
+    public StatementDescription getDescription(String sql) {
+        return get(this.descriptions, sql, this.describeTtlMillis);
+    }
+
+    public void putDescription(String sql, StatementDescription description) {
+        put(this.descriptions, sql, description, this.describeTtlMillis);
+    }
+
+    /**
+     * Drops every statement description, called when a DDL statement is executed.
+     */
+    public void invalidateDescriptions() {
+        this.descriptions.clear();
+    }
+
+    private static <T> T get(Map<String, Entry<T>> entries, String key, long ttlMillis) {
+        Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(ttlMillis)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    private static <T> void put(Map<String, Entry<T>> entries, String key, T value, long ttlMillis) {
+        entries.values().removeIf(entry -> entry.isExpired(ttlMillis));
+        entries.put(key, new Entry<>(value));
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final long createdAt = System.nanoTime();
+
+        Entry(T value) {
+            this.value = value;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.nanoTime() - this.createdAt > ttlMillis * 1_000_000L;
+        }
+    }
+}
@@ -6,6 +6,11 @@ import com.openjdbcproxy.grpc.SessionInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.openjdbcproxy.database.DatabaseUtils;
 import org.openjdbcproxy.grpc.SerializationHandler;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.openjdbcproxy.grpc.client.ChannelRegistry;
+import org.openjdbcproxy.grpc.client.LoadBalancer;
+import org.openjdbcproxy.grpc.client.QueryHedger;
 import org.openjdbcproxy.grpc.client.StatementService;
 import org.openjdbcproxy.grpc.client.StatementServiceGrpcClient;
 
@@ -15,8 +20,38 @@ import java.sql.DriverManager;
 import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static org.openjdbcproxy.jdbc.Constants.CATALOG_CACHE_TTL_KEY;
+import static org.openjdbcproxy.jdbc.Constants.CHANNELS_PER_TARGET_KEY;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_CHANNELS_PER_TARGET;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_EJECTION_MILLIS;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_HEALTH_CHECK_MILLIS;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_HEDGING_BUDGET_PERCENT;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_HEDGING_MIN_DELAY_MILLIS;
+import static org.openjdbcproxy.jdbc.Constants.EJECTION_MILLIS_KEY;
+import static org.openjdbcproxy.jdbc.Constants.HEALTH_CHECK_MILLIS_KEY;
+import static org.openjdbcproxy.jdbc.Constants.HEDGING_BUDGET_PERCENT_KEY;
+import static org.openjdbcproxy.jdbc.Constants.HEDGING_ENABLED_KEY;
+import static org.openjdbcproxy.jdbc.Constants.HEDGING_MIN_DELAY_MILLIS_KEY;
+import static org.openjdbcproxy.jdbc.Constants.LOAD_BALANCING_POLICY_KEY;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_DESCRIBE_CACHE_TTL;
+import static org.openjdbcproxy.jdbc.Constants.DESCRIBE_CACHE_TTL_KEY;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_LOCAL_CURSOR_MAX_BYTES;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_LOB_CACHE_MAX_BYTES;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_READ_AHEAD_DEPTH;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_READ_AHEAD_IDLE_TIMEOUT;
+import static org.openjdbcproxy.jdbc.Constants.DEFAULT_READ_AHEAD_MAX_BYTES;
+import static org.openjdbcproxy.jdbc.Constants.PIPELINE_UPDATES_KEY;
+import static org.openjdbcproxy.jdbc.Constants.LOCAL_CURSOR_MAX_BYTES_KEY;
+import static org.openjdbcproxy.jdbc.Constants.READ_AHEAD_DEPTH_KEY;
+import static org.openjdbcproxy.jdbc.Constants.READ_AHEAD_IDLE_TIMEOUT_KEY;
+import static org.openjdbcproxy.jdbc.Constants.READ_AHEAD_MAX_BYTES_KEY;
+import static org.openjdbcproxy.jdbc.Constants.LOB_CACHE_MAX_BYTES_KEY;
 import static org.openjdbcproxy.jdbc.Constants.PASSWORD;
 import static org.openjdbcproxy.jdbc.Constants.USER;
 
@@ -32,52 +67,181 @@ public class Driver implements java.sql.Driver {
         }
     }
 
-    private static StatementService statementService;
+    //One client per OJP server target, so each url goes to the server it names.
+    private static final Map<String, StatementService> statementServices = new ConcurrentHashMap<>();
+    //One load balancer per list of OJP servers.
+    private static final Map<String, LoadBalancer> loadBalancers = new ConcurrentHashMap<>();
+    //One query hedger per list of OJP servers, when hedging is enabled.
+    private static final Map<String, QueryHedger> queryHedgers = new ConcurrentHashMap<>();
+
+    /**
+     * ojp.properties is read from the classpath once, the first time a connection is opened.
+     */
+    private static class OjpPropertiesHolder {
+        private static final Properties PROPERTIES = loadOjpProperties();
+        private static final ByteString BYTES = (PROPERTIES != null && !PROPERTIES.isEmpty()) ?
+                SerializationHandler.serializeToByteString(PROPERTIES) : ByteString.EMPTY;
+    }
+
+    /**
+     * Channels are opened once per target with the number of channels and the ejection time set in ojp.properties.
+     */
+    private static class ChannelRegistryHolder {
+        private static final ChannelRegistry REGISTRY = new ChannelRegistry(
+                (int) longProperty(OjpPropertiesHolder.PROPERTIES, CHANNELS_PER_TARGET_KEY, DEFAULT_CHANNELS_PER_TARGET),
+                longProperty(OjpPropertiesHolder.PROPERTIES, EJECTION_MILLIS_KEY, DEFAULT_EJECTION_MILLIS));
+    }
 
     public Driver() {
-        if (statementService == null) {
-            synchronized (Driver.class) {
-                if (statementService == null) {
-                    log.debug("Initializing StatementServiceGrpcClient");
-                    statementService = new StatementServiceGrpcClient();
-                }
+    }
+
+    private static StatementService statementService(String target) {
+        return statementServices.computeIfAbsent(target, t -> {
+            log.debug("Initializing StatementServiceGrpcClient for {}", t);
+            return new StatementServiceGrpcClient(ChannelRegistryHolder.REGISTRY.channels(t));
+        });
+    }
+
+    /**
+     * @return Load balancer of the servers of a url listing several, shared by every url listing the same servers.
+     */
+    private static LoadBalancer loadBalancer(List<String> targets) {
+        return loadBalancers.computeIfAbsent(String.join(",", targets), key -> {
+            List<ChannelRegistry.TargetChannels> targetChannels = new ArrayList<>();
+            for (String target : targets) {
+                targetChannels.add(ChannelRegistryHolder.REGISTRY.channels(target));
             }
+            Properties ojpProperties = OjpPropertiesHolder.PROPERTIES;
+            return new LoadBalancer(targetChannels, loadBalancingPolicy(ojpProperties))
+                    .startHealthChecks(longProperty(ojpProperties, HEALTH_CHECK_MILLIS_KEY, DEFAULT_HEALTH_CHECK_MILLIS));
+        });
+    }
+
+    private static QueryHedger queryHedger(List<String> targets) {
+        return queryHedgers.computeIfAbsent(String.join(",", targets), key -> {
+            Properties ojpProperties = OjpPropertiesHolder.PROPERTIES;
+            return new QueryHedger(loadBalancer(targets),
+                    (int) longProperty(ojpProperties, HEDGING_BUDGET_PERCENT_KEY, DEFAULT_HEDGING_BUDGET_PERCENT),
+                    longProperty(ojpProperties, HEDGING_MIN_DELAY_MILLIS_KEY, DEFAULT_HEDGING_MIN_DELAY_MILLIS));
+        });
+    }
+
+    private static LoadBalancer.Policy loadBalancingPolicy(Properties ojpProperties) {
+        if (ojpProperties == null || !ojpProperties.containsKey(LOAD_BALANCING_POLICY_KEY)) {
+            return LoadBalancer.Policy.ROUND_ROBIN;
+        }
+        try {
+            return LoadBalancer.Policy.valueOf(ojpProperties.getProperty(LOAD_BALANCING_POLICY_KEY).trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid {} value, using {}: {}", LOAD_BALANCING_POLICY_KEY, LoadBalancer.Policy.ROUND_ROBIN,
+                    e.getMessage());
+            return LoadBalancer.Policy.ROUND_ROBIN;
         }
     }
 
     @Override
     public java.sql.Connection connect(String url, Properties info) throws SQLException {
         log.debug("connect: url={}, info={}", url, info);
-        
-        // Load ojp.properties file if it exists
-        Properties ojpProperties = loadOjpProperties();
-        ByteString propertiesBytes = ByteString.EMPTY;
-        if (ojpProperties != null && !ojpProperties.isEmpty()) {
-            propertiesBytes = ByteString.copyFrom(SerializationHandler.serialize(ojpProperties));
-            log.debug("Loaded ojp.properties with {} properties", ojpProperties.size());
+        //DriverManager asks every registered driver, urls of other drivers are not ours to fail.
+        if (!this.acceptsURL(url)) {
+            return null;
+        }
+        Properties ojpProperties = OjpPropertiesHolder.PROPERTIES;
+        String user = (String) ((info.get(USER) != null)? info.get(USER) : "");
+        String password = (String) ((info.get(PASSWORD) != null) ? info.get(PASSWORD) : "");
+
+        //Urls listing several servers get the server of each new connection from the load balancer, the connection
+        //stays on it. If the server is unavailable the connect fails over to the next one.
+        List<String> targets = ChannelRegistry.targets(url);
+        String target = targets.size() == 1 ? targets.get(0) : loadBalancer(targets).select().getTarget();
+        StatementService statementService;
+        String connectKey;
+        ConnectCache.CachedConnect cachedConnect;
+        for (int attempt = 1; ; attempt++) {
+            statementService = statementService(target);
+            connectKey = targets.size() == 1 ?
+                    ConnectCache.key(url, user, password) : ConnectCache.key(url, target, user, password);
+            try {
+                cachedConnect = this.connect(statementService, connectKey, url, user, password);
+                break;
+            } catch (StatusRuntimeException e) {
+                if (attempt >= targets.size() || !Status.Code.UNAVAILABLE.equals(e.getStatus().getCode())) {
+                    throw e;
+                }
+                log.warn("OJP server {} unavailable, failing over: {}", target, e.getMessage());
+                target = loadBalancer(targets).select().getTarget();
+            }
+        }
+        log.debug("Returning new Connection with sessionInfo: {}", cachedConnect.getSessionInfo());
+        Connection connection = new Connection(cachedConnect.getSessionInfo(), statementService,
+                cachedConnect.getDbName(), longProperty(ojpProperties, CATALOG_CACHE_TTL_KEY, 0),
+                longProperty(ojpProperties, DESCRIBE_CACHE_TTL_KEY, DEFAULT_DESCRIBE_CACHE_TTL));
+        //The server may not know the cached hash anymore, the connection then connects again on its own.
+        StatementService connectedService = statementService;
+        String connectedKey = connectKey;
+        connection.setReconnect(() -> {
+            ConnectCache.evict(connectedKey);
+            return this.connect(connectedService, connectedKey, url, user, password).getSessionInfo();
+        });
+        connection.setPipelineUpdates(ojpProperties != null &&
+                Boolean.parseBoolean(ojpProperties.getProperty(PIPELINE_UPDATES_KEY, "false").trim()));
+        connection.setReadAheadDepth((int) longProperty(ojpProperties, READ_AHEAD_DEPTH_KEY, DEFAULT_READ_AHEAD_DEPTH));
+        connection.setReadAheadMaxBytes(longProperty(ojpProperties, READ_AHEAD_MAX_BYTES_KEY,
+                DEFAULT_READ_AHEAD_MAX_BYTES));
+        connection.setReadAheadIdleTimeout(longProperty(ojpProperties, READ_AHEAD_IDLE_TIMEOUT_KEY,
+                DEFAULT_READ_AHEAD_IDLE_TIMEOUT));
+        connection.setLocalCursorMaxBytes(longProperty(ojpProperties, LOCAL_CURSOR_MAX_BYTES_KEY,
+                DEFAULT_LOCAL_CURSOR_MAX_BYTES));
+        connection.setLobCacheMaxBytes(longProperty(ojpProperties, LOB_CACHE_MAX_BYTES_KEY, DEFAULT_LOB_CACHE_MAX_BYTES));
+        if (targets.size() > 1 && ojpProperties != null &&
+                Boolean.parseBoolean(ojpProperties.getProperty(HEDGING_ENABLED_KEY, "false").trim())) {
+            connection.setQueryHedger(queryHedger(targets));
+        }
+        return connection;
+    }
+
+    /**
+     * Same url and credentials always get the same connection hash, the server is only called the first time.
+     */
+    private ConnectCache.CachedConnect connect(StatementService statementService, String connectKey, String url,
+                                               String user, String password) throws SQLException {
+        ConnectCache.CachedConnect cachedConnect = ConnectCache.get(connectKey);
+        if (cachedConnect == null) {
+            SessionInfo sessionInfo = statementService
+                    .connect(ConnectionDetails.newBuilder()
+                            .setUrl(url)
+                            .setUser(user)
+                            .setPassword(password)
+                            .setClientUUID(ClientUUID.getUUID())
+                            .setProperties(OjpPropertiesHolder.BYTES)
+                            .build()
+                    );
+            cachedConnect = new ConnectCache.CachedConnect(sessionInfo, DatabaseUtils.resolveDbName(url));
+            ConnectCache.put(connectKey, cachedConnect);
+        }
+        return cachedConnect;
+    }
+
+    private static long longProperty(Properties ojpProperties, String key, long defaultValue) {
+        if (ojpProperties == null || !ojpProperties.containsKey(key)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(ojpProperties.getProperty(key).trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid {} value, using {}: {}", key, defaultValue, e.getMessage());
+            return defaultValue;
         }
-        
-        SessionInfo sessionInfo = statementService
-                .connect(ConnectionDetails.newBuilder()
-                        .setUrl(url)
-                        .setUser((String) ((info.get(USER) != null)? info.get(USER) : ""))
-                        .setPassword((String) ((info.get(PASSWORD) != null) ? info.get(PASSWORD) : ""))
-                        .setClientUUID(ClientUUID.getUUID())
-                        .setProperties(propertiesBytes)
-                        .build()
-                );
-        log.debug("Returning new Connection with sessionInfo: {}", sessionInfo);
-        return new Connection(sessionInfo, statementService, DatabaseUtils.resolveDbName(url));
     }
     
-    private Properties loadOjpProperties() {
+    private static Properties loadOjpProperties() {
         Properties properties = new Properties();
         
         // Only try to load from resources/ojp.properties in the classpath
         try (InputStream is = Driver.class.getClassLoader().getResourceAsStream("ojp.properties")) {
             if (is != null) {
                 properties.load(is);
-                log.debug("Loaded ojp.properties from resources folder");
+                log.debug("Loaded ojp.properties from resources folder with {} properties", properties.size());
                 return properties;
             }
         } catch (IOException e) {
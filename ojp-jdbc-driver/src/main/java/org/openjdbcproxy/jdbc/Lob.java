@@ -19,23 +19,26 @@ import org.openjdbcproxy.grpc.client.StatementService;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static org.openjdbcproxy.constants.CommonConstants.MAX_LOB_DATA_BLOCK_SIZE;
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
 
 @Slf4j
 public class Lob {
 
+    //Lobs are cached and read in chunks of this amount of positions (bytes for Blobs, characters for Clobs).
+    protected static final int LOB_CHUNK_SIZE = 2 * MAX_LOB_DATA_BLOCK_SIZE;
+    private static final int MAX_CHUNKS_PER_READ = 32;
+    private static final byte[] EMPTY_CHUNK = new byte[0];
+
     protected final Connection connection;
     protected final LobService lobService;
     protected final StatementService statementService;
@@ -60,54 +63,20 @@ public class Lob {
 
     public long length() throws SQLException {
         log.debug("length called");
-        return this.callProxy(CallType.CALL_LENGTH, "", Long.class);
+        LobCache lobCache = this.connection.getLobCache();
+        Long length = lobCache.getLength(this.getUUID());
+        if (length == null) {
+            length = this.callProxy(CallType.CALL_LENGTH, "", Long.class);
+            lobCache.putLength(this.getUUID(), length);
+        }
+        return length;
     }
 
-    protected OutputStream setBinaryStream(LobType lobType, long pos) {
+    protected OutputStream setBinaryStream(LobType lobType, long pos) throws SQLException {
         log.debug("setBinaryStream called: {}, {}", lobType, pos);
-        try {
-            //connect the pipes. Makes the OutputStream written by the caller feed into the InputStream read by the sender.
-            PipedInputStream in = new PipedInputStream();
-            PipedOutputStream out = new PipedOutputStream(in);
-
-            CompletableFuture.supplyAsync(() -> {
-                try {
-                    this.lobReference.set(this.lobService.sendBytes(lobType, pos, in));
-                } catch (SQLException e) {
-                    log.error("SQLException in setBinaryStream async - sendBytes", e);
-                    // Set the exception on the future to ensure it's propagated
-                    this.lobReference.setException(e);
-                    throw new RuntimeException(e);
-                } catch (Exception e) {
-                    log.error("Unexpected exception in setBinaryStream async - sendBytes", e);
-                    // Set the exception on the future to ensure it's propagated
-                    this.lobReference.setException(e);
-                    throw new RuntimeException(e);
-                }
-                //Refresh Session object.
-                try {
-                    this.connection.setSession(this.lobReference.get().getSession());
-                } catch (InterruptedException e) {
-                    log.error("InterruptedException in setBinaryStream async - setSession", e);
-                    this.lobReference.setException(e);
-                    throw new RuntimeException(e);
-                } catch (ExecutionException e) {
-                    log.error("ExecutionException in setBinaryStream async - setSession", e);
-                    this.lobReference.setException(e);
-                    throw new RuntimeException(e);
-                } catch (Exception e) {
-                    log.error("Unexpected exception in setBinaryStream async - setSession", e);
-                    this.lobReference.setException(e);
-                    throw new RuntimeException(e);
-                }
-                return null;
-            });
-
-            return out;
-        } catch (Exception e) {
-            log.error("Exception in setBinaryStream", e);
-            throw new RuntimeException(e);
-        }
+        this.invalidateCache();
+        //Bytes are sent by the thread writing them, the reference is set once the stream is closed.
+        return this.lobService.openOutputStream(lobType, pos, this.lobReference);
     }
 
     protected LobReference sendBinaryStream(LobType lobType, InputStream inputStream, Map<Integer, Object> metadata) {
@@ -202,6 +171,167 @@ public class Lob {
         }
     }
 
+    /**
+     * Reads a range of the LOB through the connection LobCache.
+     *
+     * @param pos    1-based position of the first byte (Blob) or character (Clob)
+     * @param length number of positions to read, ranges past the end of the LOB are cut short
+     * @return bytes of the range, Clob characters are UTF-8 encoded
+     */
+    protected byte[] readRange(long pos, long length) throws SQLException {
+        try {
+            return this.getCachedBinaryStream(pos, length).readAllBytes();
+        } catch (IOException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Unable to read all bytes from LOB object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams a range of the LOB through the connection LobCache, chunks already cached are not read again from the
+     * server.
+     *
+     * @param pos    1-based position of the first byte (Blob) or character (Clob)
+     * @param length number of positions to read, ranges past the end of the LOB are cut short
+     */
+    protected InputStream getCachedBinaryStream(long pos, long length) throws SQLException {
+        log.debug("getCachedBinaryStream called: {}, {}", pos, length);
+        this.haveLobReferenceValidation();
+        if (pos < 1) {
+            throw new SQLException("Invalid LOB position " + pos);
+        }
+        return new InputStream() {
+            private long nextChunkIndex = (pos - 1) / LOB_CHUNK_SIZE;
+            private long skipPositions = (pos - 1) % LOB_CHUNK_SIZE;
+            private long remainingPositions = Math.max(length, 0);
+            private boolean lastChunkRead = false;
+            private byte[] chunk = EMPTY_CHUNK;
+            private int offset = 0;
+            private int end = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (!this.fill()) {
+                    return -1;
+                }
+                return this.chunk[this.offset++] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!this.fill()) {
+                    return -1;
+                }
+                int count = Math.min(len, this.end - this.offset);
+                System.arraycopy(this.chunk, this.offset, b, off, count);
+                this.offset += count;
+                return count;
+            }
+
+            private boolean fill() throws IOException {
+                while (this.offset >= this.end) {
+                    if (this.lastChunkRead || this.remainingPositions <= 0) {
+                        return false;
+                    }
+                    try {
+                        this.chunk = readChunk(this.nextChunkIndex, this.remainingPositions / LOB_CHUNK_SIZE + 1);
+                    } catch (SQLException e) {
+                        throw new IOException(e.getMessage(), e);
+                    }
+                    this.nextChunkIndex++;
+                    //A chunk not fully filled is the end of the LOB.
+                    this.lastChunkRead = positionCount(this.chunk, 0, this.chunk.length) < LOB_CHUNK_SIZE;
+                    this.offset = byteOffset(this.chunk, 0, this.skipPositions);
+                    this.skipPositions = 0;
+                    this.end = byteOffset(this.chunk, this.offset, this.remainingPositions);
+                    this.remainingPositions -= positionCount(this.chunk, this.offset, this.end);
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a chunk of the LOB from the connection LobCache, reading it from the server if not cached. When the LOB
+     * is being read sequentially the next chunk is read ahead in the same round trip.
+     *
+     * @param chunkIndex   0-based index of the chunk
+     * @param chunksWanted how many consecutive chunks the caller is about to read
+     */
+    protected byte[] readChunk(long chunkIndex, long chunksWanted) throws SQLException {
+        LobCache lobCache = this.connection.getLobCache();
+        String lobUUID = this.getUUID();
+        boolean sequential = lobCache.recordRead(lobUUID, chunkIndex);
+        byte[] chunk = lobCache.getChunk(lobUUID, chunkIndex);
+        if (chunk != null) {
+            return chunk;
+        }
+        int chunkCount = (int) Math.min(MAX_CHUNKS_PER_READ, Math.max(chunksWanted, sequential ? 2 : 1));
+        byte[] bytes = this.readFromServer(chunkIndex * LOB_CHUNK_SIZE + 1, chunkCount * LOB_CHUNK_SIZE);
+        int from = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            int to = this.byteOffset(bytes, from, LOB_CHUNK_SIZE);
+            byte[] nextChunk = (from == 0 && to == bytes.length) ? bytes : Arrays.copyOfRange(bytes, from, to);
+            lobCache.putChunk(lobUUID, chunkIndex + i, nextChunk);
+            if (i == 0) {
+                chunk = nextChunk;
+            }
+            if (to == bytes.length) {
+                break;
+            }
+            from = to;
+        }
+        return chunk;
+    }
+
+    private byte[] readFromServer(long pos, int length) throws SQLException {
+        log.debug("readFromServer called: {}, {}", pos, length);
+        try {
+            Iterator<LobDataBlock> dataBlocks = this.statementService.readLob(this.lobReference.get(), pos, length);
+            InputStream is = this.lobService.parseReceivedBlocks(dataBlocks);
+            return is != null ? is.readAllBytes() : EMPTY_CHUNK;
+        } catch (SQLException e) {
+            throw e;
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
+        } catch (Exception e) {
+            throw new SQLException("Unable to read all bytes from LOB object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Number of positions held by a range of bytes of a chunk, positions are bytes unless overridden.
+     */
+    protected long positionCount(byte[] bytes, int from, int to) {
+        return to - from;
+    }
+
+    /**
+     * Offset of the byte reached after advancing a number of positions from a given offset of a chunk.
+     */
+    protected int byteOffset(byte[] bytes, int from, long positions) {
+        return (int) Math.min(bytes.length, from + positions);
+    }
+
+    /**
+     * Drops the cached chunks and length of this LOB, if it already has a reference.
+     */
+    protected void invalidateCache() {
+        if (!this.lobReference.isDone()) {
+            return;
+        }
+        try {
+            this.connection.getLobCache().invalidate(this.lobReference.get().getUuid());
+        } catch (InterruptedException | ExecutionException e) {
+            log.debug("No LOB reference to invalidate: {}", e.getMessage());
+        }
+    }
+
     private CallResourceRequest.Builder newCallBuilder() throws SQLException {
         log.debug("newCallBuilder called");
         return CallResourceRequest.newBuilder()
@@ -232,7 +362,7 @@ public class Lob {
                 TargetCall.newBuilder()
                         .setCallType(callType)
                         .setResourceName(target)
-                        .setParams(ByteString.copyFrom(serialize(params)))
+                        .setParams(serializeToByteString(params))
                         .build()
         );
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
@@ -240,6 +370,6 @@ public class Lob {
         if (Void.class.equals(returnType)) {
             return null;
         }
-        return (T) deserialize(response.getValues().toByteArray(), returnType);
+        return (T) deserialize(response.getValues(), returnType);
     }
 }
\ No newline at end of file
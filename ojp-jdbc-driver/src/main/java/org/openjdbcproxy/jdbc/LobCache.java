@@ -0,0 +1,119 @@
+package org.openjdbcproxy.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per connection LRU cache of LOB chunks read from the server and of LOB lengths. Chunks are identified by the LOB
+ * UUID and the chunk index, the total amount of bytes held is bounded, least recently used chunks are evicted first.
+ * Entries of a LOB are invalidated when it is written and the whole cache is cleared when the session terminates.
+ */
+@Slf4j
+public class LobCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<ChunkKey, byte[]> chunks = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> lengths = new HashMap<>();
+    private final Map<String, Long> lastChunkRead = new HashMap<>();
+    private long cachedBytes = 0;
+
+    public LobCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized byte[] getChunk(String lobUUID, long chunkIndex) {
+        return this.chunks.get(new ChunkKey(lobUUID, chunkIndex));
+    }
+
+    public synchronized void putChunk(String lobUUID, long chunkIndex, byte[] chunk) {
+        if (chunk.length > this.maxBytes) {
+            return;
+        }
+        byte[] previous = this.chunks.put(new ChunkKey(lobUUID, chunkIndex), chunk);
+        this.cachedBytes += chunk.length - (previous != null ? previous.length : 0);
+        Iterator<byte[]> it = this.chunks.values().iterator();
+        while (this.cachedBytes > this.maxBytes && it.hasNext()) {
+            this.cachedBytes -= it.next().length;
+            it.remove();
+        }
+    }
+
+    public synchronized Long getLength(String lobUUID) {
+        return this.lengths.get(lobUUID);
+    }
+
+    public synchronized void putLength(String lobUUID, long length) {
+        this.lengths.put(lobUUID, length);
+    }
+
+    /**
+     * Records a chunk read by the application.
+     *
+     * @return true if the chunk immediately follows the last chunk read of the same LOB, meaning it is being read
+     * sequentially and the next chunk is worth reading ahead.
+     */
+    public synchronized boolean recordRead(String lobUUID, long chunkIndex) {
+        Long previous = this.lastChunkRead.put(lobUUID, chunkIndex);
+        return previous != null && previous == chunkIndex - 1;
+    }
+
+    /**
+     * Drops every chunk and the length of a LOB, called when the LOB is written or freed.
+     */
+    public synchronized void invalidate(String lobUUID) {
+        log.debug("Invalidating cached LOB {}", lobUUID);
+        Iterator<Map.Entry<ChunkKey, byte[]>> it = this.chunks.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<ChunkKey, byte[]> entry = it.next();
+            if (entry.getKey().lobUUID.equals(lobUUID)) {
+                this.cachedBytes -= entry.getValue().length;
+                it.remove();
+            }
+        }
+        this.lengths.remove(lobUUID);
+        this.lastChunkRead.remove(lobUUID);
+    }
+
+    public synchronized void clear() {
+        this.chunks.clear();
+        this.lengths.clear();
+        this.lastChunkRead.clear();
+        this.cachedBytes = 0;
+    }
+
+    public synchronized long getCachedBytes() {
+        return this.cachedBytes;
+    }
+
+    private static class ChunkKey {
+        private final String lobUUID;
+        private final long chunkIndex;
+
+        ChunkKey(String lobUUID, long chunkIndex) {
+            this.lobUUID = lobUUID;
+            this.chunkIndex = chunkIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChunkKey)) {
+                return false;
+            }
+            ChunkKey chunkKey = (ChunkKey) o;
+            return this.chunkIndex == chunkKey.chunkIndex && this.lobUUID.equals(chunkKey.lobUUID);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.lobUUID, this.chunkIndex);
+        }
+    }
+}
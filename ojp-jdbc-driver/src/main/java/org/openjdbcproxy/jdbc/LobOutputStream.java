@@ -0,0 +1,161 @@
+package org.openjdbcproxy.jdbc;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import com.openjdbcproxy.grpc.DbName;
+import com.openjdbcproxy.grpc.LobDataBlock;
+import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobType;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.client.LobUploadStream;
+import org.openjdbcproxy.grpc.client.StatementService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+import static org.openjdbcproxy.jdbc.Constants.LOB_WRITE_CHUNK_SIZE;
+
+/**
+ * OutputStream writing a LOB to the server from the caller thread. Bytes are buffered into chunks, each chunk is sent
+ * as one LobDataBlock of the createLob stream. Closing the stream waits for the server to finish writing the LOB and
+ * sets its reference.
+ */
+@Slf4j
+public class LobOutputStream extends OutputStream {
+
+    private final Connection connection;
+    private final StatementService statementService;
+    private final LobType lobType;
+    private final SettableFuture<LobReference> lobReference;
+    //H2 does not support multiple writes to the same LOB, all bytes are sent in a single block on close.
+    private final boolean singleBlock;
+    private final ByteString.Output singleBlockOutput;
+    private byte[] chunk = new byte[LOB_WRITE_CHUNK_SIZE];
+    private int chunkSize = 0;
+    private long position;
+    private LobUploadStream lobUploadStream;
+    private boolean blockSent = false;
+    private boolean closed = false;
+
+    public LobOutputStream(Connection connection, StatementService statementService, LobType lobType, long pos,
+                           SettableFuture<LobReference> lobReference) {
+        this.connection = connection;
+        this.statementService = statementService;
+        this.lobType = lobType;
+        this.position = pos;
+        this.lobReference = lobReference;
+        this.singleBlock = DbName.H2.equals(connection.getDbName());
+        this.singleBlockOutput = this.singleBlock ? ByteString.newOutput(LOB_WRITE_CHUNK_SIZE) : null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.ensureOpen();
+        if (this.singleBlock) {
+            this.singleBlockOutput.write(b);
+            return;
+        }
+        this.chunk[this.chunkSize++] = (byte) b;
+        if (this.chunkSize == this.chunk.length) {
+            this.sendChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.ensureOpen();
+        if (this.singleBlock) {
+            this.singleBlockOutput.write(b, off, len);
+            return;
+        }
+        int written = 0;
+        while (written < len) {
+            int count = Math.min(len - written, this.chunk.length - this.chunkSize);
+            System.arraycopy(b, off + written, this.chunk, this.chunkSize, count);
+            this.chunkSize += count;
+            written += count;
+            if (this.chunkSize == this.chunk.length) {
+                this.sendChunk();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+        if (!this.singleBlock && this.chunkSize > 0) {
+            this.sendChunk();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        try {
+            if (this.singleBlock) {
+                this.send(this.singleBlockOutput.toByteString());
+            } else if (this.chunkSize > 0 || !this.blockSent) {
+                //An empty block is still sent for cases where an empty array is set.
+                this.sendChunk();
+            }
+            LobReference finalLobReference = this.lobUploadStream.complete();
+            this.closed = true;
+            //Refresh Session object.
+            this.connection.setSession(finalLobReference.getSession());
+            this.lobReference.set(finalLobReference);
+            //Chunks read before the bytes were written are stale.
+            this.connection.getLobCache().invalidate(finalLobReference.getUuid());
+        } catch (SQLException e) {
+            throw this.failed(e);
+        }
+    }
+
+    private void sendChunk() throws IOException {
+        //The chunk array is never written again after being sent, it is wrapped instead of copied.
+        ByteString data = UnsafeByteOperations.unsafeWrap(this.chunk, 0, this.chunkSize);
+        this.chunk = new byte[LOB_WRITE_CHUNK_SIZE];
+        this.chunkSize = 0;
+        try {
+            this.send(data);
+        } catch (SQLException e) {
+            throw this.failed(e);
+        }
+    }
+
+    private void send(ByteString data) throws SQLException {
+        if (this.lobUploadStream == null) {
+            //LOBs are written within the transaction, it cannot wait for the statement to begin it.
+            this.connection.startPendingTransaction();
+            this.lobUploadStream = this.statementService.createLobStream(this.connection);
+        }
+        log.debug("Sending block of {} bytes at position {}", data.size(), this.position);
+        this.lobUploadStream.send(LobDataBlock.newBuilder()
+                .setLobType(this.lobType)
+                .setSession(this.connection.getSession())
+                .setPosition(this.position)
+                .setData(data)
+                .build());
+        this.position += data.size();
+        this.blockSent = true;
+    }
+
+    private IOException failed(SQLException e) {
+        log.error("Unable to write LOB", e);
+        this.closed = true;
+        if (this.lobUploadStream != null) {
+            this.lobUploadStream.cancel("LOB write failed", e);
+        }
+        this.lobReference.setException(e);
+        return new IOException("Unable to write LOB: " + e.getMessage(), e);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("LOB stream already closed.");
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package org.openjdbcproxy.jdbc;
 
+import com.google.common.util.concurrent.SettableFuture;
 import com.openjdbcproxy.grpc.LobDataBlock;
 import com.openjdbcproxy.grpc.LobReference;
 import com.openjdbcproxy.grpc.LobType;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.Map;
@@ -12,5 +14,6 @@ import java.util.Map;
 public interface LobService {
     LobReference sendBytes(LobType lobType, long pos, InputStream is) throws SQLException;
     LobReference sendBytes(LobType lobType, long pos, InputStream is, Map<Integer, Object> metadata) throws SQLException;
+    OutputStream openOutputStream(LobType lobType, long pos, SettableFuture<LobReference> lobReference) throws SQLException;
     InputStream parseReceivedBlocks(Iterator<LobDataBlock> itBlocks);
 }
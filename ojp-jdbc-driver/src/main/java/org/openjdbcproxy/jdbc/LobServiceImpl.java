@@ -1,7 +1,8 @@
 package org.openjdbcproxy.jdbc;
 
-import com.google.common.primitives.Bytes;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.openjdbcproxy.grpc.DbName;
 import com.openjdbcproxy.grpc.LobDataBlock;
 import com.openjdbcproxy.grpc.LobReference;
@@ -14,6 +15,8 @@ import org.openjdbcproxy.grpc.client.StatementService;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -23,7 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.openjdbcproxy.constants.CommonConstants.MAX_LOB_DATA_BLOCK_SIZE;
 import static org.openjdbcproxy.constants.CommonConstants.PREPARED_STATEMENT_BINARY_STREAM_LENGTH;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 
 @Slf4j
 @AllArgsConstructor
@@ -46,11 +49,12 @@ public class LobServiceImpl implements LobService {
         AtomicInteger transferredBytes = new AtomicInteger(0);
         long length = metadata.get(PREPARED_STATEMENT_BINARY_STREAM_LENGTH) != null ?
                 (Long) metadata.get(PREPARED_STATEMENT_BINARY_STREAM_LENGTH) : -1l;
-        byte[] metadataBytes = (metadata == null) ? new byte[]{} : serialize(metadata);
+        //Serialized once and shared by every block.
+        ByteString metadataBytes = (metadata == null) ? ByteString.EMPTY : serializeToByteString(metadata);
 
         Iterator<LobDataBlock> itLobDataBlocks = new Iterator<LobDataBlock>() {
 
-            byte[] nextBytes = new byte[]{};
+            int nextByte = -1;
             boolean startBlockSent = false;
 
             @SneakyThrows
@@ -63,8 +67,8 @@ public class LobServiceImpl implements LobService {
                     return  true;
                 }
                 //Read one next byte to know if the stream of bytes finished.
-                nextBytes = bis.readNBytes(1);
-                return nextBytes.length > 0;
+                nextByte = bis.read();
+                return nextByte != -1;
             }
 
             @SneakyThrows
@@ -80,73 +84,119 @@ public class LobServiceImpl implements LobService {
                             .setLobType(lobType)
                             .setSession(connection.getSession())
                             .setPosition(1)
-                            .setData(ByteString.copyFrom(new byte[0]))
-                            .setMetadata(ByteString.copyFrom(metadataBytes))
+                            .setData(ByteString.EMPTY)
+                            .setMetadata(metadataBytes)
                             .build();
                 }
-                byte[] bytesRead;
-                if (nextBytes.length > 0) {
-                    //H2 does not support multiple writes to the same blob. All is written at once. H2 error = Feature not supported: "Allocate a new object to set its value." [50100-232]
-                    if (DbName.H2.equals(connection.getDbName())) {
-                        bytesRead = Bytes.concat(nextBytes, bis.readAllBytes());
-                    } else {
-                        //Concatenate the one byte already read in the hasNext method
-                        bytesRead = Bytes.concat(nextBytes, bis.readNBytes(MAX_LOB_DATA_BLOCK_SIZE - 1));
-                    }
+                ByteString bytesRead;
+                //H2 does not support multiple writes to the same blob. All is written at once. H2 error = Feature not supported: "Allocate a new object to set its value." [50100-232]
+                if (DbName.H2.equals(connection.getDbName())) {
+                    //readFrom collects the stream in chunks which are concatenated without being copied again.
+                    ByteString remaining = ByteString.readFrom(bis);
+                    bytesRead = nextByte != -1 ? ByteString.copyFrom(new byte[]{(byte) nextByte}).concat(remaining) :
+                            remaining;
                 } else {
-                    bytesRead = bis.readNBytes(MAX_LOB_DATA_BLOCK_SIZE);
+                    //Block is filled in place, starting with the one byte already read in the hasNext method.
+                    int capacity = this.blockCapacity();
+                    byte[] block = new byte[capacity];
+                    int blockSize = 0;
+                    if (nextByte != -1) {
+                        block[blockSize++] = (byte) nextByte;
+                    }
+                    blockSize += bis.readNBytes(block, blockSize, capacity - blockSize);
+                    if (length == -1 && blockSize == capacity && capacity < MAX_LOB_DATA_BLOCK_SIZE) {
+                        //The stream had more bytes than it reported available, every block but the last must be full.
+                        block = Arrays.copyOf(block, MAX_LOB_DATA_BLOCK_SIZE);
+                        blockSize += bis.readNBytes(block, blockSize, MAX_LOB_DATA_BLOCK_SIZE - blockSize);
+                    }
+                    //The block array is never reused, it can be wrapped instead of copied.
+                    bytesRead = UnsafeByteOperations.unsafeWrap(block, 0, blockSize);
                 }
+                nextByte = -1;
                 transferredBytes.set(transferredBytes.get() + (MAX_LOB_DATA_BLOCK_SIZE));
                 long updatedPosition = (transferredBytes.get() + pos) - MAX_LOB_DATA_BLOCK_SIZE;
                 log.debug("Sending the next block of bytes updatedPosition: {}", updatedPosition);
 
-                bytesRead = this.maxLengthTrim(bytesRead, length, (updatedPosition + bytesRead.length - 1));
+                bytesRead = this.maxLengthTrim(bytesRead, length, (updatedPosition + bytesRead.size() - 1));
 
                 return LobDataBlock.newBuilder()
                         .setLobType(lobType)
                         .setSession(connection.getSession())
                         .setPosition(updatedPosition)
-                        .setData(ByteString.copyFrom(bytesRead))
-                        .setMetadata(ByteString.copyFrom(metadataBytes))
+                        .setData(bytesRead)
+                        .setMetadata(metadataBytes)
                         .build();
             }
 
-            private byte[] maxLengthTrim(byte[] bytesRead, long length, long bytesSendCount) {
+            /**
+             * Size of the next block, the bytes still to be sent when known, otherwise the bytes the stream has
+             * available, so that small LOBs and last chunks do not allocate a full block.
+             */
+            private int blockCapacity() throws IOException {
+                long remaining = length != -1 ? length - transferredBytes.get() : bis.available() + 1L;
+                return (int) Math.max(1, Math.min(remaining, MAX_LOB_DATA_BLOCK_SIZE));
+            }
+
+            private ByteString maxLengthTrim(ByteString bytesRead, long length, long bytesSendCount) {
                 if (length == -1 || bytesSendCount <= length) {
                     return bytesRead;
                 }
                 int diff = (int) (bytesSendCount - length);
-                int currentSize = bytesRead.length;
-                return Arrays.copyOfRange(bytesRead, 0, (currentSize - diff));
+                int currentSize = bytesRead.size();
+                return bytesRead.substring(0, (currentSize - diff));
             }
         };
 
+        //LOBs are written within the transaction, it cannot wait for the statement to begin it.
+        this.connection.startPendingTransaction();
         return this.statementService.createLob(this.connection, itLobDataBlocks);
     }
 
+    @Override
+    public OutputStream openOutputStream(LobType lobType, long pos, SettableFuture<LobReference> lobReference) {
+        return new LobOutputStream(this.connection, this.statementService, lobType, pos, lobReference);
+    }
+
     @Override
     public InputStream parseReceivedBlocks(Iterator<LobDataBlock> itBlocks) {
         LobDataBlock lobDataBlock = itBlocks.next();
-        if (lobDataBlock.getPosition() == -1 && lobDataBlock.getData().toByteArray().length < 1) {
+        if (lobDataBlock.getPosition() == -1 && lobDataBlock.getData().isEmpty()) {
             return null;
         }
 
+        //Blocks are read through read only views of the received ByteStrings, no byte arrays are copied.
         return new InputStream() {
-            private int currentPos = -1;
-
-            private byte[] currentBlock = lobDataBlock.getData().toByteArray();
+            private ByteBuffer currentBlock = lobDataBlock.getData().asReadOnlyByteBuffer();
 
             @Override
             public int read() throws IOException {
-                if (currentPos >= (currentBlock.length - 1)) {
+                if (!this.nextBlockAvailable()) {
+                    return -1;// -1 means end of the stream.
+                }
+                return currentBlock.get() & 0xFF;// Need to return unsigned byte (& 0xFF) to not incorrectly cause EOF if int representation of byte is -1
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!this.nextBlockAvailable()) {
+                    return -1;
+                }
+                int count = Math.min(len, currentBlock.remaining());
+                currentBlock.get(b, off, count);
+                return count;
+            }
+
+            private boolean nextBlockAvailable() {
+                while (!currentBlock.hasRemaining()) {
                     if (!itBlocks.hasNext()) {
-                        return -1;// -1 means end of the stream.
+                        return false;
                     }
-                    currentBlock = itBlocks.next().getData().toByteArray();
-                    currentPos = -1;
+                    currentBlock = itBlocks.next().getData().asReadOnlyByteBuffer();
                 }
-                int currentByte = currentBlock[++currentPos];
-                return currentByte & 0xFF;// Need to return unsigned byte (& 0xFF) to not incorrectly cause EOF if int representation of byte is -1
+                return true;
             }
         };
     }
@@ -0,0 +1,401 @@
+package org.openjdbcproxy.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.dto.RowChange;
+import org.openjdbcproxy.grpc.dto.RowChangeType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+
+/**
+ * Rows of a scrollable or updatable result set kept by the driver so the cursor can be moved without calling the
+ * server. Blocks are fetched only as far as the cursor moves, kept in memory up to the budget configured and written
+ * to a temporary file beyond it. Changes to the rows are kept until sent to the server all at once, rows updated show
+ * their new values and rows deleted stay in place, reported by rowDeleted.
+ */
+@Slf4j
+public class LocalCursor {
+
+    /**
+     * Source of the blocks of the result set, in order.
+     */
+    public interface BlockSource {
+        /**
+         * @return The next block or null if the result set ended.
+         */
+        ResultBlockReadAhead.DecodedBlock nextBlock() throws SQLException;
+    }
+
+    private final BlockSource source;
+    private final int columnCount;
+    private final long maxBytes;
+    //Blocks kept in memory by block number, null if spilled to the file.
+    private final List<List<Object[]>> blocks = new ArrayList<>();
+    //Number of the first row of each block, 1-based.
+    private final List<Integer> blockFirstRows = new ArrayList<>();
+    //Offset and length in the spill file of each block spilled, by block number.
+    private final Map<Integer, long[]> spilledBlocks = new HashMap<>();
+    private long memoryBytes;
+    private File spillFile;
+    private RandomAccessFile spill;
+    private int lastSpilledBlockRead = -1;
+    private List<Object[]> lastSpilledBlock;
+    private int rowCount;
+    private boolean finished;
+
+    private int position;//0 before the first row, rowCount + 1 after the last
+    private Object[] currentRow;
+    private boolean onInsertRow;
+    private Map<Integer, Object> insertValues = new LinkedHashMap<>();
+    private final Map<Integer, Object> pendingValues = new LinkedHashMap<>();
+    private final Map<Integer, Object[]> updatedRows = new HashMap<>();
+    private final Set<Integer> deletedRows = new HashSet<>();
+    private final Map<Integer, RowChange> rowChanges = new LinkedHashMap<>();
+    private final List<RowChange> inserts = new ArrayList<>();
+
+    /**
+     * @param firstBlock  First block of the result set, already fetched
+     * @param source      Source of the remaining blocks
+     * @param columnCount Number of columns of the result set
+     * @param maxBytes    Serialized size of the blocks kept in memory above which blocks are spilled to a file
+     */
+    public LocalCursor(ResultBlockReadAhead.DecodedBlock firstBlock, BlockSource source, int columnCount,
+                       long maxBytes) throws SQLException {
+        this.source = source;
+        this.columnCount = columnCount;
+        this.maxBytes = maxBytes;
+        this.addBlock(firstBlock);
+    }
+
+    private void addBlock(ResultBlockReadAhead.DecodedBlock block) throws SQLException {
+        List<Object[]> rows = block.getRows() != null ? block.getRows() : List.of();
+        if (rows.isEmpty()) {
+            return;
+        }
+        int blockNumber = this.blocks.size();
+        this.blockFirstRows.add(this.rowCount + 1);
+        if (this.memoryBytes + block.getSize() <= this.maxBytes || blockNumber == 0) {
+            this.blocks.add(rows);
+            this.memoryBytes += block.getSize();
+        } else {
+            this.blocks.add(null);
+            this.spillBlock(blockNumber, rows);
+        }
+        this.rowCount += rows.size();
+    }
+
+    private void spillBlock(int blockNumber, List<Object[]> rows) throws SQLException {
+        try {
+            if (this.spill == null) {
+                this.spillFile = File.createTempFile("ojp-cursor-", ".spill");
+                this.spillFile.deleteOnExit();
+                this.spill = new RandomAccessFile(this.spillFile, "rw");
+                log.debug("Result set spilled to {}", this.spillFile);
+            }
+            byte[] bytes = serialize(new ArrayList<>(rows));
+            long offset = this.spill.length();
+            this.spill.seek(offset);
+            this.spill.write(bytes);
+            this.spilledBlocks.put(blockNumber, new long[]{offset, bytes.length});
+        } catch (IOException e) {
+            throw new SQLException("Unable to spill result set rows to a temporary file: " + e.getMessage(), e);
+        }
+    }
+
+    private List<Object[]> block(int blockNumber) throws SQLException {
+        List<Object[]> rows = this.blocks.get(blockNumber);
+        if (rows != null) {
+            return rows;
+        }
+        if (this.lastSpilledBlockRead == blockNumber) {
+            return this.lastSpilledBlock;
+        }
+        long[] location = this.spilledBlocks.get(blockNumber);
+        try {
+            byte[] bytes = new byte[(int) location[1]];
+            this.spill.seek(location[0]);
+            this.spill.readFully(bytes);
+            this.lastSpilledBlock = deserialize(bytes, List.class);
+            this.lastSpilledBlockRead = blockNumber;
+            return this.lastSpilledBlock;
+        } catch (IOException e) {
+            throw new SQLException("Unable to read result set rows from the temporary file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fetches blocks until the row given is loaded or the result set ends.
+     *
+     * @return Whether the row exists.
+     */
+    private boolean load(int row) throws SQLException {
+        while (this.rowCount < row && !this.finished) {
+            ResultBlockReadAhead.DecodedBlock block = this.source.nextBlock();
+            if (block == null) {
+                this.finished = true;
+            } else {
+                this.addBlock(block);
+            }
+        }
+        return row <= this.rowCount;
+    }
+
+    private void loadAll() throws SQLException {
+        this.load(Integer.MAX_VALUE);
+    }
+
+    private Object[] readRow(int row) throws SQLException {
+        Object[] updated = this.updatedRows.get(row);
+        if (updated != null) {
+            return updated;
+        }
+        int low = 0;
+        int high = this.blockFirstRows.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (this.blockFirstRows.get(mid) <= row) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return this.block(low).get(row - this.blockFirstRows.get(low));
+    }
+
+    private boolean moveTo(int row) throws SQLException {
+        this.onInsertRow = false;
+        this.pendingValues.clear();
+        if (row <= 0) {
+            this.position = 0;
+            this.currentRow = null;
+            return false;
+        }
+        if (!this.load(row)) {
+            this.position = this.rowCount + 1;
+            this.currentRow = null;
+            return false;
+        }
+        this.position = row;
+        this.currentRow = this.readRow(row);
+        return true;
+    }
+
+    public boolean next() throws SQLException {
+        if (this.position > this.rowCount && this.finished) {
+            return false;
+        }
+        return this.moveTo(this.position + 1);
+    }
+
+    public boolean previous() throws SQLException {
+        return this.moveTo(Math.min(this.position, this.rowCount + 1) - 1);
+    }
+
+    public boolean first() throws SQLException {
+        return this.moveTo(1);
+    }
+
+    public boolean last() throws SQLException {
+        this.loadAll();
+        return this.moveTo(this.rowCount);
+    }
+
+    public void beforeFirst() throws SQLException {
+        this.moveTo(0);
+    }
+
+    public void afterLast() throws SQLException {
+        this.loadAll();
+        this.moveTo(this.rowCount + 1);
+    }
+
+    public boolean absolute(int row) throws SQLException {
+        if (row < 0) {
+            this.loadAll();
+            return this.moveTo(this.rowCount + row + 1);
+        }
+        return this.moveTo(row);
+    }
+
+    public boolean relative(int rows) throws SQLException {
+        return this.moveTo(this.position + rows);
+    }
+
+    public boolean isBeforeFirst() throws SQLException {
+        return this.position == 0 && this.load(1);
+    }
+
+    public boolean isAfterLast() throws SQLException {
+        return this.position > this.rowCount && this.rowCount > 0;
+    }
+
+    public boolean isFirst() {
+        return this.position == 1;
+    }
+
+    public boolean isLast() throws SQLException {
+        return this.position > 0 && this.position <= this.rowCount && !this.load(this.position + 1);
+    }
+
+    public int getRow() {
+        return this.position > 0 && this.position <= this.rowCount ? this.position : 0;
+    }
+
+    /**
+     * @return The values of the current row, or of the insert row when on it.
+     */
+    public Object[] current() throws SQLException {
+        if (this.onInsertRow) {
+            Object[] values = new Object[this.columnCount];
+            this.insertValues.forEach((column, value) -> values[column - 1] = value);
+            return values;
+        }
+        if (this.currentRow == null) {
+            throw new SQLException("Cursor is not positioned on a row.");
+        }
+        return this.currentRow;
+    }
+
+    public void update(int columnIndex, Object value) throws SQLException {
+        if (columnIndex < 1 || columnIndex > this.columnCount) {
+            throw new SQLException("Invalid column index: " + columnIndex);
+        }
+        if (this.onInsertRow) {
+            this.insertValues.put(columnIndex, value);
+            return;
+        }
+        this.checkOnRow();
+        this.pendingValues.put(columnIndex, value);
+    }
+
+    public void updateRow() throws SQLException {
+        this.checkOnRow();
+        if (this.deletedRows.contains(this.position)) {
+            throw new SQLException("Row " + this.position + " was deleted.");
+        }
+        if (this.pendingValues.isEmpty()) {
+            return;
+        }
+        Object[] row = this.currentRow.clone();
+        this.pendingValues.forEach((column, value) -> row[column - 1] = value);
+        RowChange previous = this.rowChanges.get(this.position);
+        Map<Integer, Object> values = previous != null ? previous.getValues() : new LinkedHashMap<>();
+        values.putAll(this.pendingValues);
+        this.rowChanges.put(this.position, RowChange.builder()
+                .type(RowChangeType.UPDATE)
+                .row(this.position)
+                .values(values)
+                .build());
+        this.updatedRows.put(this.position, row);
+        this.currentRow = row;
+        this.pendingValues.clear();
+    }
+
+    public void deleteRow() throws SQLException {
+        this.checkOnRow();
+        this.rowChanges.put(this.position, RowChange.builder()
+                .type(RowChangeType.DELETE)
+                .row(this.position)
+                .build());
+        this.deletedRows.add(this.position);
+        this.pendingValues.clear();
+    }
+
+    public void insertRow() throws SQLException {
+        if (!this.onInsertRow) {
+            throw new SQLException("Cursor is not on the insert row.");
+        }
+        this.inserts.add(RowChange.builder()
+                .type(RowChangeType.INSERT)
+                .values(this.insertValues)
+                .build());
+        this.insertValues = new LinkedHashMap<>();
+    }
+
+    public void cancelRowUpdates() throws SQLException {
+        if (this.onInsertRow) {
+            throw new SQLException("Cursor is on the insert row.");
+        }
+        this.pendingValues.clear();
+    }
+
+    public void moveToInsertRow() {
+        this.onInsertRow = true;
+        this.insertValues = new LinkedHashMap<>();
+    }
+
+    public void moveToCurrentRow() {
+        this.onInsertRow = false;
+    }
+
+    public boolean rowUpdated() throws SQLException {
+        this.checkOnRow();
+        return this.updatedRows.containsKey(this.position);
+    }
+
+    public boolean rowDeleted() throws SQLException {
+        this.checkOnRow();
+        return this.deletedRows.contains(this.position);
+    }
+
+    private void checkOnRow() throws SQLException {
+        if (this.onInsertRow || this.currentRow == null) {
+            throw new SQLException("Cursor is not positioned on a row.");
+        }
+    }
+
+    public boolean hasChanges() {
+        return !this.rowChanges.isEmpty() || !this.inserts.isEmpty();
+    }
+
+    /**
+     * @return The changes kept, which are no longer kept after this call.
+     */
+    public List<RowChange> takeChanges() {
+        List<RowChange> changes = new ArrayList<>(this.rowChanges.values());
+        changes.addAll(this.inserts);
+        this.rowChanges.clear();
+        this.inserts.clear();
+        return changes;
+    }
+
+    /**
+     * Drops the changes kept, the rows keep showing the values changed.
+     */
+    public void discardChanges() {
+        this.rowChanges.clear();
+        this.inserts.clear();
+    }
+
+    /**
+     * Drops the rows kept and deletes the spill file.
+     */
+    public void close() {
+        this.blocks.clear();
+        this.lastSpilledBlock = null;
+        this.currentRow = null;
+        if (this.spill != null) {
+            try {
+                this.spill.close();
+            } catch (IOException e) {
+                log.warn("Unable to close result set spill file: {}", e.getMessage());
+            }
+            if (!this.spillFile.delete()) {
+                log.warn("Unable to delete result set spill file {}", this.spillFile);
+            }
+            this.spill = null;
+        }
+    }
+}
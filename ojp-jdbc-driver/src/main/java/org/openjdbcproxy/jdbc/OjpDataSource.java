@@ -0,0 +1,87 @@
+package org.openjdbcproxy.jdbc;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+
+import static org.openjdbcproxy.jdbc.Constants.PASSWORD;
+import static org.openjdbcproxy.jdbc.Constants.USER;
+
+/**
+ * DataSource handing out OJP connections, to be used by frameworks in place of a client side connection pool. The pool
+ * lives in the OJP server, the connections handed out are logical: opening one does not call the server once the url
+ * and credentials were seen, the server session and its database connection are only taken when a transaction or a
+ * resource needs them, and closing one ends the session in a release sent along with the sessions of other connections
+ * closed meanwhile, without waiting for the server.
+ */
+@Slf4j
+@Getter
+@Setter
+public class OjpDataSource implements DataSource {
+
+    private static final Driver DRIVER = new Driver();
+
+    private String url;
+    private String username;
+    private String password;
+    private int loginTimeout;
+    private PrintWriter logWriter;
+
+    public OjpDataSource() {
+    }
+
+    public OjpDataSource(String url, String username, String password) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public java.sql.Connection getConnection() throws SQLException {
+        return this.getConnection(this.username, this.password);
+    }
+
+    @Override
+    public java.sql.Connection getConnection(String username, String password) throws SQLException {
+        log.debug("getConnection: url={}", this.url);
+        if (this.url == null) {
+            throw new SQLException("OjpDataSource url is not set.");
+        }
+        Properties info = new Properties();
+        if (username != null) {
+            info.setProperty(USER, username);
+        }
+        if (password != null) {
+            info.setProperty(PASSWORD, password);
+        }
+        java.sql.Connection connection = DRIVER.connect(this.url, info);
+        if (connection == null) {
+            throw new SQLException("OjpDataSource url not accepted by the OJP driver: " + this.url);
+        }
+        return connection;
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("getParentLogger not supported.");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("OjpDataSource is not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
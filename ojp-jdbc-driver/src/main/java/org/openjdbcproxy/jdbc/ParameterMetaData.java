@@ -1,65 +1,76 @@
 package org.openjdbcproxy.jdbc;
 
 import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.dto.ParameterMetadata;
 
 import java.sql.SQLException;
+import java.util.List;
 
-//TODO implement methods
+/**
+ * ParameterMetaData answered from the parameters of the statement description, without calling the server. Databases
+ * that cannot describe the parameters of a statement report no parameters.
+ */
 @Slf4j
 public class ParameterMetaData implements java.sql.ParameterMetaData {
 
+    private final List<ParameterMetadata> parameters;
+
+    public ParameterMetaData(List<ParameterMetadata> parameters) {
+        this.parameters = parameters != null ? parameters : List.of();
+    }
+
     @Override
     public int getParameterCount() throws SQLException {
         log.debug("getParameterCount called");
-        return 0;
+        return this.parameters.size();
     }
 
     @Override
     public int isNullable(int param) throws SQLException {
         log.debug("isNullable: {}", param);
-        return 0;
+        return this.parameter(param).getNullable();
     }
 
     @Override
     public boolean isSigned(int param) throws SQLException {
         log.debug("isSigned: {}", param);
-        return false;
+        return this.parameter(param).isSigned();
     }
 
     @Override
     public int getPrecision(int param) throws SQLException {
         log.debug("getPrecision: {}", param);
-        return 0;
+        return this.parameter(param).getPrecision();
     }
 
     @Override
     public int getScale(int param) throws SQLException {
         log.debug("getScale: {}", param);
-        return 0;
+        return this.parameter(param).getScale();
     }
 
     @Override
     public int getParameterType(int param) throws SQLException {
         log.debug("getParameterType: {}", param);
-        return 0;
+        return this.parameter(param).getParameterType();
     }
 
     @Override
     public String getParameterTypeName(int param) throws SQLException {
         log.debug("getParameterTypeName: {}", param);
-        return "";
+        return this.parameter(param).getParameterTypeName();
     }
 
     @Override
     public String getParameterClassName(int param) throws SQLException {
         log.debug("getParameterClassName: {}", param);
-        return "";
+        return this.parameter(param).getParameterClassName();
     }
 
     @Override
     public int getParameterMode(int param) throws SQLException {
         log.debug("getParameterMode: {}", param);
-        return 0;
+        return this.parameter(param).getParameterMode();
     }
 
     @Override
@@ -73,4 +84,11 @@ public class ParameterMetaData implements java.sql.ParameterMetaData {
         log.debug("isWrapperFor: {}", iface);
         return false;
     }
-}
\ No newline at end of file
+
+    private ParameterMetadata parameter(int param) throws SQLException {
+        if (param < 1 || param > this.parameters.size()) {
+            throw new SQLException("Invalid parameter index: " + param);
+        }
+        return this.parameters.get(param - 1);
+    }
+}
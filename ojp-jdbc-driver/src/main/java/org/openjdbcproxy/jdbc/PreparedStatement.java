@@ -1,27 +1,35 @@
 package org.openjdbcproxy.jdbc;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.openjdbcproxy.grpc.CallResourceRequest;
 import com.openjdbcproxy.grpc.CallResourceResponse;
 import com.openjdbcproxy.grpc.CallType;
 import com.openjdbcproxy.grpc.DbName;
+import com.openjdbcproxy.grpc.LobDataBlock;
 import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobReferences;
 import com.openjdbcproxy.grpc.LobType;
 import com.openjdbcproxy.grpc.OpResult;
 import com.openjdbcproxy.grpc.ResourceType;
 import com.openjdbcproxy.grpc.ResultType;
 import com.openjdbcproxy.grpc.TargetCall;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.openjdbcproxy.constants.CommonConstants;
 import org.openjdbcproxy.grpc.client.StatementService;
 import org.openjdbcproxy.grpc.dto.Parameter;
+import org.openjdbcproxy.grpc.dto.ParameterType;
+import org.openjdbcproxy.grpc.dto.StatementDescription;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Array;
@@ -48,7 +56,7 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 import static org.openjdbcproxy.grpc.dto.ParameterType.ARRAY;
 import static org.openjdbcproxy.grpc.dto.ParameterType.ASCII_STREAM;
 import static org.openjdbcproxy.grpc.dto.ParameterType.BIG_DECIMAL;
@@ -78,6 +86,8 @@ import static org.openjdbcproxy.grpc.dto.ParameterType.TIME;
 import static org.openjdbcproxy.grpc.dto.ParameterType.TIMESTAMP;
 import static org.openjdbcproxy.grpc.dto.ParameterType.UNICODE_STREAM;
 import static org.openjdbcproxy.grpc.dto.ParameterType.URL;
+import static org.openjdbcproxy.jdbc.Constants.LOB_BATCH_THRESHOLD;
+import static org.openjdbcproxy.jdbc.Constants.LOB_WRITE_CHUNK_SIZE;
 
 @Slf4j
 public class PreparedStatement extends Statement implements java.sql.PreparedStatement {
@@ -86,6 +96,8 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     private SortedMap<Integer, Parameter> paramsMap;
     private Map<String, Object> properties;
     private StatementService statementService;
+    //Small LOBs set on the current row, created together right before the row is executed.
+    private final SortedMap<Integer, PendingLob> pendingLobs = new TreeMap<>();
 
     public PreparedStatement(Connection connection, String sql, StatementService statementService) {
         super(connection, statementService, null, ResourceType.RES_PREPARED_STATEMENT);
@@ -113,8 +125,12 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
         log.debug("executeQuery called");
         this.checkClosed();
         log.info("Executing query for -> {}", this.sql);
+        this.pipelinedUpdate = null;
+        this.generatedKeys = ByteString.EMPTY;
+        this.sendPendingLobs();
         Iterator<OpResult> itOpResult = this.statementService
-                .executeQuery(this.connection.getSession(), this.sql, new ArrayList<>(this.paramsMap.values()), this.properties);
+                .executeQuery(this.connection, this.sql, new ArrayList<>(this.paramsMap.values()), "",
+                        this.properties, this.settings);
         return new ResultSet(itOpResult, this.statementService, this);
     }
 
@@ -122,14 +138,43 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     public int executeUpdate() throws SQLException {
         log.debug("executeUpdate called");
         this.checkClosed();
+        return this.executeUpdate(false);
+    }
+
+    /**
+     * Executes the update and commits the current transaction in the same call to the server, saving the commit round
+     * trip when the update is the last statement of the transaction. Same as executeUpdate when auto commit is on.
+     *
+     * @return Number of rows updated
+     * @throws SQLException if the update or the commit fails
+     */
+    public int executeUpdateAndCommit() throws SQLException {
+        log.debug("executeUpdateAndCommit called");
+        this.checkClosed();
+        return this.executeUpdate(!this.connection.getAutoCommit());
+    }
+
+    private int executeUpdate(boolean commitTransaction) throws SQLException {
         log.info("Executing update for -> {}", this.sql);
-        OpResult result = this.statementService.executeUpdate(this.connection.getSession(), this.sql,
-                new ArrayList<>(this.paramsMap.values()), this.getStatementUUID(), this.properties);
+        this.invalidateDescriptionsOnDdl(this.sql);
+        this.sendPendingLobs();
+        this.pipelinedUpdate = null;
+        this.generatedKeys = ByteString.EMPTY;
+        //Updates returning generated keys are not pipelined as the keys come back with the result.
+        if (!commitTransaction && this.connection.isPipeliningUpdates() && !this.returnsGeneratedKeys()) {
+            this.pipelinedUpdate = this.statementService.executeUpdatePipelined(this.connection, this.sql,
+                    new ArrayList<>(this.paramsMap.values()), this.getStatementUUID(), this.properties, this.settings);
+            return SUCCESS_NO_INFO;
+        }
+        OpResult result = this.statementService.executeUpdate(this.connection, this.sql,
+                new ArrayList<>(this.paramsMap.values()), this.getStatementUUID(), this.properties, this.settings,
+                commitTransaction);
         this.connection.setSession(result.getSession());
-        if (StringUtils.isNotBlank(result.getUuid())) {
-            this.setStatementUUID(result.getUuid());
+        if (commitTransaction) {
+            this.connection.transactionCommitted();
         }
-        return deserialize(result.getValue().toByteArray(), Integer.class);
+        this.generatedKeys = result.getGeneratedKeys();
+        return deserialize(result.getValue(), Integer.class);
     }
 
     @Override
@@ -137,14 +182,19 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
         log.debug("addBatch called");
         this.checkClosed();
         log.info("Executing add batch for -> {}", this.sql);
+        this.sendPendingLobs();
         Map<String, Object> properties = new HashMap<>();
+        if (this.returnsGeneratedKeys()) {
+            //The statement batched has to be created returning the keys for executeBatch to send them back.
+            properties.putAll(this.properties);
+        }
         properties.put(CommonConstants.PREPARED_STATEMENT_ADD_BATCH_FLAG, Boolean.TRUE);
-        OpResult result = this.statementService.executeUpdate(this.connection.getSession(), this.sql,
-                new ArrayList<>(this.paramsMap.values()), this.getStatementUUID(), properties);
+        OpResult result = this.statementService.executeUpdate(this.connection, this.sql,
+                new ArrayList<>(this.paramsMap.values()), this.getStatementUUID(), properties, this.settings, false);
         this.connection.setSession(result.getSession());
         if (StringUtils.isBlank(this.getStatementUUID()) && ResultType.UUID_STRING.equals(result.getType()) &&
                 !result.getValue().isEmpty()) {
-            String psUUID = deserialize(result.getValue().toByteArray(), String.class);
+            String psUUID = deserialize(result.getValue(), String.class);
             this.setStatementUUID(psUUID);
         }
         this.paramsMap = new TreeMap<>();
@@ -354,6 +404,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
         log.debug("clearParameters called");
         this.checkClosed();
         this.paramsMap = new TreeMap<>();
+        this.pendingLobs.clear();
     }
 
     @Override
@@ -469,7 +520,11 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     public ResultSetMetaData getMetaData() throws SQLException {
         log.debug("getMetaData called");
         this.checkClosed();
-        return new org.openjdbcproxy.jdbc.ResultSetMetaData(this, this.statementService);
+        StatementDescription description = this.describe();
+        if (description.getColumns() == null) {
+            return null;
+        }
+        return new org.openjdbcproxy.jdbc.ResultSetMetaData(null, this.statementService, description.getColumns());
     }
 
     @Override
@@ -539,7 +594,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     public ParameterMetaData getParameterMetaData() throws SQLException {
         log.debug("getParameterMetaData called");
         this.checkClosed();
-        return new org.openjdbcproxy.jdbc.ParameterMetaData();
+        return new org.openjdbcproxy.jdbc.ParameterMetaData(this.describe().getParameters());
     }
 
     @Override
@@ -599,16 +654,22 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
         log.debug("setClob: {}, <Reader>, {}", parameterIndex, length);
         this.checkClosed();
         try {
+            char[] head = readChars(reader, (int) Math.min(Math.max(length, 0), LOB_BATCH_THRESHOLD + 1));
+            if (head.length <= LOB_BATCH_THRESHOLD) {
+                this.addPendingLob(parameterIndex, CLOB, LobType.LT_CLOB, ByteString.copyFromUtf8(new String(head)));
+                return;
+            }
             org.openjdbcproxy.jdbc.Clob clob = (org.openjdbcproxy.jdbc.Clob) this.getConnection().createClob();
-            OutputStream os = clob.setAsciiStream(1);
-            int byteRead = reader.read();
-            int writtenLength = 0;
-            while (byteRead != -1 && length > writtenLength) {
-                os.write(byteRead);
-                writtenLength++;
-                byteRead = reader.read();
+            try (Writer writer = clob.setCharacterStream(1)) {
+                writer.write(head);
+                char[] buffer = new char[LOB_WRITE_CHUNK_SIZE];
+                long remaining = length - head.length;
+                int read;
+                while (remaining > 0 && (read = reader.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                    writer.write(buffer, 0, read);
+                    remaining -= read;
+                }
             }
-            os.close();
             this.paramsMap.put(parameterIndex,
                     Parameter.builder()
                             .type(CLOB)
@@ -626,16 +687,22 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
         log.debug("setBlob: {}, <InputStream>, {}", parameterIndex, length);
         this.checkClosed();
         try {
+            byte[] head = inputStream.readNBytes((int) Math.min(Math.max(length, 0), LOB_BATCH_THRESHOLD + 1));
+            if (head.length <= LOB_BATCH_THRESHOLD) {
+                this.addPendingLob(parameterIndex, BLOB, LobType.LT_BLOB, UnsafeByteOperations.unsafeWrap(head));
+                return;
+            }
             org.openjdbcproxy.jdbc.Blob blob = this.getConnection().createBlob();
-            OutputStream os = blob.setBinaryStream(1);
-            int byteRead = inputStream.read();
-            int writtenLength = 0;
-            while (byteRead != -1 && length > writtenLength) {
-                os.write(byteRead);
-                writtenLength++;
-                byteRead = inputStream.read();
+            try (OutputStream os = blob.setBinaryStream(1)) {
+                os.write(head);
+                byte[] buffer = new byte[LOB_WRITE_CHUNK_SIZE];
+                long remaining = length - head.length;
+                int read;
+                while (remaining > 0 && (read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                    os.write(buffer, 0, read);
+                    remaining -= read;
+                }
             }
-            os.close();
             this.paramsMap.put(parameterIndex,
                     Parameter.builder()
                             .type(BLOB)
@@ -806,24 +873,13 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     public RemoteProxyResultSet getGeneratedKeys() throws SQLException {
         log.debug("getGeneratedKeys called");
         checkClosed();
+        if (!this.generatedKeys.isEmpty()) {
+            return this.localGeneratedKeys();
+        }
         String resultSetUUID = this.callProxy(CallType.CALL_GET, "GeneratedKeys", String.class);
         return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this);
     }
 
-    /**
-     * Has to override the Statement implementation because PreparedStatement has to send extra properties like the SQL
-     * being executed, which Statement does not.
-     *
-     * @return int Query Timeout.
-     * @throws SQLException
-     */
-    @Override
-    public int getQueryTimeout() throws SQLException {
-        log.debug("getQueryTimeout called");
-        checkClosed();
-        return this.callProxy(CallType.CALL_GET, "QueryTimeout", Integer.class);
-    }
-
     /**
      * Has to override the Statement implementation because PreparedStatement has to send extra properties like the SQL
      * being executed, which Statement does not.
@@ -854,14 +910,13 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
      * Has to override the Statement implementation because PreparedStatement has to send extra properties like the SQL
      * being executed, which Statement does not.
      *
-     * @return int max field size
      * @throws SQLException
      */
     @Override
-    public int getMaxFieldSize() throws SQLException {
-        log.debug("getMaxFieldSize called");
+    public void setCursorName(String name) throws SQLException {
+        log.debug("setCursorName: {}", name);
         checkClosed();
-        return this.callProxy(CallType.CALL_GET, "MaxFieldSize", Integer.class);
+        this.callProxy(CallType.CALL_SET, "CursorName", Void.class, Arrays.asList(name));
     }
 
     /**
@@ -889,11 +944,47 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
             builder.setResourceUUID(this.getStatementUUID());
         }
         if (this.properties != null) {
-            builder.setProperties(ByteString.copyFrom(serialize(this.properties)));
+            builder.setProperties(serializeToByteString(this.properties));
+        }
+        Map<String, Object> connectionSettings = this.connection.takeSettings();
+        if (!connectionSettings.isEmpty()) {
+            builder.setConnectionSettings(serializeToByteString(connectionSettings));
+        }
+        if (!this.settings.isEmpty()) {
+            builder.setStatementSettings(serializeToByteString(this.settings));
         }
         return builder;
     }
 
+    /**
+     * Gets the description of the statement, from the cache of the connection hash when enabled. The server prepares
+     * the statement only if it does not have the description cached either, no session is started for it.
+     */
+    private StatementDescription describe() throws SQLException {
+        DatabaseMetaDataCache cache = this.connection.getDatabaseMetaDataCache();
+        StatementDescription description = cache.isDescribeCacheEnabled() ? cache.getDescription(this.sql) : null;
+        if (description != null) {
+            return description;
+        }
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(CommonConstants.PREPARED_STATEMENT_SQL_KEY, this.sql);
+        CallResourceResponse response = this.statementService.callResource(CallResourceRequest.newBuilder()
+                .setSession(this.connection.getSession())
+                .setResourceType(ResourceType.RES_PREPARED_STATEMENT)
+                .setProperties(serializeToByteString(properties))
+                .setTarget(TargetCall.newBuilder()
+                        .setCallType(CallType.CALL_GET)
+                        .setResourceName(CommonConstants.STATEMENT_DESCRIPTION)
+                        .build())
+                .build());
+        this.connection.setSession(response.getSession());
+        description = deserialize(response.getValues(), StatementDescription.class);
+        if (cache.isDescribeCacheEnabled()) {
+            cache.putDescription(this.sql, description);
+        }
+        return description;
+    }
+
     private <T> T callProxy(CallType callType, String targetName, Class<?> returnType) throws SQLException {
         log.debug("callProxy: {}, {}, {}", callType, targetName, returnType);
         return this.callProxy(callType, targetName, returnType, Constants.EMPTY_OBJECT_LIST);
@@ -906,17 +997,97 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
                 TargetCall.newBuilder()
                         .setCallType(callType)
                         .setResourceName(targetName)
-                        .setParams(ByteString.copyFrom(serialize(params)))
+                        .setParams(serializeToByteString(params))
                         .build()
         );
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
         this.connection.setSession(response.getSession());
+        if (CallType.CALL_EXECUTE.equals(callType)) {
+            this.generatedKeys = response.getGeneratedKeys();
+        }
         if (this.getStatementUUID() == null && StringUtils.isNotBlank(response.getResourceUUID())) {
             this.setStatementUUID(response.getResourceUUID());
         }
         if (Void.class.equals(returnType)) {
             return null;
         }
-        return (T) deserialize(response.getValues().toByteArray(), returnType);
+        return (T) deserialize(response.getValues(), returnType);
+    }
+
+    /**
+     * Holds a LOB small enough to travel with the other LOBs of the row, the placeholder parameter is replaced by the
+     * LOB UUID once the LOBs are created right before the statement is executed.
+     */
+    private void addPendingLob(int parameterIndex, ParameterType parameterType, LobType lobType, ByteString data) {
+        Parameter placeholder = Parameter.builder()
+                .type(parameterType)
+                .index(parameterIndex)
+                .values(Arrays.asList((Object) null))
+                .build();
+        this.paramsMap.put(parameterIndex, placeholder);
+        this.pendingLobs.put(parameterIndex, new PendingLob(placeholder, LobDataBlock.newBuilder()
+                .setLobType(lobType)
+                .setLobIndex(parameterIndex)
+                .setPosition(1)
+                .setData(data)));
+    }
+
+    private boolean returnsGeneratedKeys() {
+        return this.properties != null && (this.properties.containsKey(CommonConstants.STATEMENT_AUTO_GENERATED_KEYS_KEY)
+                || this.properties.containsKey(CommonConstants.STATEMENT_COLUMN_INDEXES_KEY)
+                || this.properties.containsKey(CommonConstants.STATEMENT_COLUMN_NAMES_KEY));
+    }
+
+    /**
+     * Creates all the LOBs pending for the row in a single createLobs call.
+     */
+    private void sendPendingLobs() throws SQLException {
+        List<Integer> parameterIndexes = new ArrayList<>();
+        for (Map.Entry<Integer, PendingLob> entry : this.pendingLobs.entrySet()) {
+            //LOBs whose parameter was set again with another value are not sent.
+            if (this.paramsMap.get(entry.getKey()) == entry.getValue().getPlaceholder()) {
+                parameterIndexes.add(entry.getKey());
+            }
+        }
+        if (parameterIndexes.isEmpty()) {
+            this.pendingLobs.clear();
+            return;
+        }
+        //LOBs are written within the transaction, it cannot wait for the statement to begin it.
+        this.connection.startPendingTransaction();
+        List<LobDataBlock> blocks = new ArrayList<>();
+        for (Integer parameterIndex : parameterIndexes) {
+            blocks.add(this.pendingLobs.get(parameterIndex).getBlock().setSession(this.connection.getSession()).build());
+        }
+        this.pendingLobs.clear();
+        log.debug("Creating {} pending LOBs", blocks.size());
+        LobReferences lobReferences = this.statementService.createLobs(this.connection, blocks);
+        for (int i = 0; i < parameterIndexes.size(); i++) {
+            Integer parameterIndex = parameterIndexes.get(i);
+            this.paramsMap.put(parameterIndex,
+                    Parameter.builder()
+                            .type(this.paramsMap.get(parameterIndex).getType())
+                            .index(parameterIndex)
+                            .values(Arrays.asList(lobReferences.getLobReferences(i).getUuid()))
+                            .build()
+            );
+        }
+    }
+
+    private static char[] readChars(Reader reader, int maxChars) throws IOException {
+        char[] chars = new char[maxChars];
+        int count = 0;
+        int read;
+        while (count < maxChars && (read = reader.read(chars, count, maxChars - count)) != -1) {
+            count += read;
+        }
+        return count == maxChars ? chars : Arrays.copyOf(chars, count);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PendingLob {
+        private final Parameter placeholder;
+        private final LobDataBlock.Builder block;
     }
-}
\ No newline at end of file
+}
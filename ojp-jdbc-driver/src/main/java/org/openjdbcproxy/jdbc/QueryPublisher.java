@@ -0,0 +1,208 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.ResourceType;
+import com.openjdbcproxy.grpc.StatementRequest;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+import org.openjdbcproxy.grpc.dto.Parameter;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
+
+/**
+ * Publishes the rows of a query in batches, one per block of rows sent by the server. The query is executed once for
+ * every subscriber, the demand of the subscriber is passed on as the messages requested from the gRPC call, so the
+ * server reads the next rows from the database only as fast as the subscriber consumes them.
+ */
+@Slf4j
+class QueryPublisher implements Flow.Publisher<RowBatch> {
+
+    private final Connection connection;
+    private final StatementService statementService;
+    private final String sql;
+    private final List<Parameter> params;
+
+    QueryPublisher(Connection connection, StatementService statementService, String sql, List<Parameter> params) {
+        this.connection = connection;
+        this.statementService = statementService;
+        this.sql = sql;
+        this.params = params;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super RowBatch> subscriber) {
+        RowSubscription subscription = new RowSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            this.statementService.executeQueryAsync(this.connection, this.sql, this.params, null, subscription);
+        } catch (SQLException e) {
+            subscription.onError(e);
+            return;
+        }
+        subscription.started();
+    }
+
+    /**
+     * Subscription to the rows of one execution of the query, receiving the blocks of the gRPC call.
+     */
+    private class RowSubscription implements Flow.Subscription, ClientResponseObserver<StatementRequest, OpResult> {
+
+        private final Flow.Subscriber<? super RowBatch> subscriber;
+        //Signals to the subscriber come from the gRPC thread and from request, they are sent one at a time holding it.
+        private final Object signalLock = new Object();
+        private ClientCallStreamObserver<StatementRequest> call;
+        private long pendingDemand;//Demand received before the call started
+        private boolean callStarted;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private List<String> labels;
+        private String resultSetUUID;
+
+        RowSubscription(Flow.Subscriber<? super RowBatch> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<StatementRequest> requestStream) {
+            this.call = requestStream;
+            this.call.disableAutoRequestWithInitial(0);
+        }
+
+        /**
+         * Passes on the demand received while the call was being started, or cancels it if the subscriber cancelled
+         * in the meantime.
+         */
+        synchronized void started() {
+            this.callStarted = true;
+            if (this.cancelled) {
+                this.call.cancel("Subscription cancelled", null);
+            } else if (this.pendingDemand > 0) {
+                this.call.request(toMessages(this.pendingDemand));
+                this.pendingDemand = 0;
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (!this.done && !this.cancelled) {
+                    //Signalled without holding the subscription, onNext may be waiting for it holding the signal lock.
+                    this.cancel();
+                    this.signalError(new IllegalArgumentException("Demand must be positive but was " + n));
+                }
+                return;
+            }
+            synchronized (this) {
+                if (this.done || this.cancelled) {
+                    return;
+                }
+                if (this.callStarted) {
+                    this.call.request(toMessages(n));
+                } else {
+                    this.pendingDemand = Math.min(Long.MAX_VALUE - n, this.pendingDemand) + n;
+                }
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            if (this.cancelled) {
+                return;
+            }
+            this.cancelled = true;
+            if (this.callStarted && !this.done) {
+                this.call.cancel("Subscription cancelled", null);
+            }
+            this.releaseResultSet();
+        }
+
+        @Override
+        public void onNext(OpResult opResult) {
+            synchronized (this.signalLock) {
+                if (this.done || this.cancelled) {
+                    return;
+                }
+                connection.setSession(opResult.getSession());
+                OpQueryResult opQueryResult = deserialize(opResult.getValue(), OpQueryResult.class);
+                if (this.labels == null) {
+                    this.labels = opQueryResult.getLabels();
+                    this.resultSetUUID = opQueryResult.getResultSetUUID();
+                }
+                if (CommonConstants.RESULT_SET_ROW_BY_ROW_MODE.equalsIgnoreCase(opResult.getFlag())) {
+                    //The rows are kept in the server to read their large objects, they can not be published in batches.
+                    this.cancel();
+                    this.signalError(new SQLFeatureNotSupportedException(
+                            "Queries returning large objects can not be published reactively."));
+                    return;
+                }
+                if (opQueryResult.getRows().isEmpty()) {
+                    this.call.request(1);//Replaces the demand taken by the empty block
+                    return;
+                }
+                this.subscriber.onNext(new RowBatch(this.labels, opQueryResult.getRows()));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (this.cancelled) {
+                log.debug("Query call ended after the subscription was cancelled: {}", throwable.getMessage());
+                return;
+            }
+            Throwable error = throwable;
+            if (throwable instanceof StatusRuntimeException) {
+                try {
+                    error = handle((StatusRuntimeException) throwable);//To convert to SQLException if possible
+                } catch (SQLException e) {
+                    error = e;
+                }
+            }
+            this.releaseResultSet();
+            this.signalError(error);
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this.signalLock) {
+                if (this.done) {
+                    return;
+                }
+                this.done = true;
+                this.releaseResultSet();
+                this.subscriber.onComplete();
+            }
+        }
+
+        private void signalError(Throwable error) {
+            synchronized (this.signalLock) {
+                if (this.done) {
+                    return;
+                }
+                this.done = true;
+                this.subscriber.onError(error);
+            }
+        }
+
+        private synchronized void releaseResultSet() {
+            if (this.resultSetUUID != null) {
+                connection.releaseResource(ResourceType.RES_RESULT_SET, this.resultSetUUID);
+                this.resultSetUUID = null;
+            }
+        }
+
+        private int toMessages(long demand) {
+            return (int) Math.min(demand, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -13,7 +13,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.constants.CommonConstants;
 import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.RowChange;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -42,7 +44,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 
 /**
  * ResultSet linked to a remote instance of ResultSet in OJP server, it delegates all calls to server instance.
@@ -91,7 +93,10 @@ public class RemoteProxyResultSet implements java.sql.ResultSet {
     @Override
     public void close() throws SQLException {
         log.debug("close called");
-        this.callProxy(CallType.CALL_CLOSE, "", Void.class);
+        Connection connection = this.getConnection();
+        if (connection != null) {
+            connection.releaseResource(ResourceType.RES_RESULT_SET, this.resultSetUUID);
+        }
     }
 
     @Override
@@ -1248,6 +1253,21 @@ public class RemoteProxyResultSet implements java.sql.ResultSet {
                 .setResourceUUID(this.resultSetUUID);
     }
 
+    /**
+     * Sends the row changes kept locally to the linked remote result set, applied all in one call. Changes made
+     * within a transaction not yet begun in the server begin it first, so a rollback discards them.
+     *
+     * @param changes - Changes in the order they were made.
+     * @return - Number of rows changed.
+     * @throws SQLException - In case any of the changes fails.
+     */
+    protected int sendRowChanges(List<RowChange> changes) throws SQLException {
+        log.debug("sendRowChanges: {} changes", changes.size());
+        this.getConnection().startPendingTransaction();
+        return this.callProxy(CallType.CALL_UPDATE, CommonConstants.RESULT_SET_ROW_CHANGES, Integer.class,
+                List.of(changes));
+    }
+
     private <T> T callProxy(CallType callType, String target, Class returnType) throws SQLException {
         log.debug("callProxy: {}, {}, {}", callType, target, returnType);
         return this.callProxy(callType, target, returnType, Constants.EMPTY_OBJECT_LIST);
@@ -1270,7 +1290,7 @@ public class RemoteProxyResultSet implements java.sql.ResultSet {
                         TargetCall.newBuilder()
                                 .setCallType(callType)
                                 .setResourceName(target)
-                                .setParams(ByteString.copyFrom(serialize(params)))
+                                .setParams(serializeToByteString(params))
                                 .build()
                 );
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
@@ -1278,7 +1298,7 @@ public class RemoteProxyResultSet implements java.sql.ResultSet {
         if (Void.class.equals(returnType)) {
             return null;
         }
-        return (T) deserialize(response.getValues().toByteArray(), returnType);
+        return (T) deserialize(response.getValues(), returnType);
     }
 
     private Reader retrieveReader(CallType callType, String attrName, LobType lobType, List<Object> params)
@@ -1305,12 +1325,12 @@ public class RemoteProxyResultSet implements java.sql.ResultSet {
                 TargetCall.newBuilder()
                         .setCallType(callType)
                         .setResourceName(attrName)
-                        .setParams(ByteString.copyFrom(serialize(params)))
+                        .setParams(serializeToByteString(params))
                         .build()
         );
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
         this.getConnection().setSession(response.getSession());
-        String lobRefUUID = deserialize(response.getValues().toByteArray(), String.class);
+        String lobRefUUID = deserialize(response.getValues(), String.class);
         BinaryStream binaryStream = new BinaryStream(
                 this.presentConnection(),
                 new LobServiceImpl(this.presentConnection(), this.getStatementService()),
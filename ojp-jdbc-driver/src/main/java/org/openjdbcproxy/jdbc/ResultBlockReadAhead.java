@@ -0,0 +1,197 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.OpResult;
+import io.grpc.StatusRuntimeException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
+
+/**
+ * Reads and decodes the next blocks of a result set in the background while the application processes the current
+ * one. At most the configured number of blocks are kept decoded and, once the serialized size of the blocks kept
+ * reaches the memory budget, no more are read until the application takes one. Closing it cancels the call if a block
+ * is being read. It is given up once no block is taken for the idle timeout, the result set then reads the remaining
+ * blocks itself.
+ */
+@Slf4j
+public class ResultBlockReadAhead {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ojp-result-read-ahead-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Getter
+    @AllArgsConstructor
+    public static class DecodedBlock {
+        private final OpResult opResult;
+        private final List<Object[]> rows;
+        private final int size;
+    }
+
+    private final Iterator<OpResult> itResults;
+    private final int depth;
+    private final long maxBytes;
+    private final long idleTimeoutNanos;
+    private final Deque<DecodedBlock> blocks = new ArrayDeque<>();
+    private long queuedBytes;
+    private boolean finished;
+    private RuntimeException failure;
+    private boolean givenUp;
+    private volatile boolean cancelled;
+    private Future<?> task;
+    private long lastTakenNanos = System.nanoTime();
+
+    private ResultBlockReadAhead(Iterator<OpResult> itResults, int depth, long maxBytes, long idleTimeoutMillis) {
+        this.itResults = itResults;
+        this.depth = depth;
+        this.maxBytes = maxBytes;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+    }
+
+    /**
+     * Starts reading ahead the blocks remaining in the iterator.
+     *
+     * @param itResults Iterator of the blocks, its first block already taken
+     * @param depth     Maximum number of blocks kept decoded
+     * @param maxBytes          Serialized size of the blocks kept decoded above which no more are read
+     * @param idleTimeoutMillis Time waited for the application to take a block before giving up the read ahead, the
+     *                          blocks not read ahead are left in the iterator
+     */
+    public static ResultBlockReadAhead start(Iterator<OpResult> itResults, int depth, long maxBytes,
+                                             long idleTimeoutMillis) {
+        ResultBlockReadAhead readAhead = new ResultBlockReadAhead(itResults, depth, maxBytes, idleTimeoutMillis);
+        readAhead.task = EXECUTOR.submit(readAhead::read);
+        return readAhead;
+    }
+
+    private void read() {
+        try {
+            while (this.awaitRoom() && this.itResults.hasNext()) {
+                OpResult result = this.itResults.next();
+                OpQueryResult opQueryResult = deserialize(result.getValue(), OpQueryResult.class);
+                synchronized (this) {
+                    if (this.cancelled) {
+                        return;
+                    }
+                    this.blocks.add(new DecodedBlock(result, opQueryResult.getRows(), result.getValue().size()));
+                    this.queuedBytes += result.getValue().size();
+                    this.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            if (!this.cancelled) {
+                log.debug("Read ahead of result blocks failed: {}", e.getMessage());
+                synchronized (this) {
+                    this.failure = e;
+                }
+            }
+        } finally {
+            synchronized (this) {
+                this.finished = true;
+                this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until a block can be read without exceeding the depth or the memory budget. A result set processed
+     * slowly or left open without being read is given up once no block was taken for the idle timeout, so it does not
+     * hold the thread for good. The blocks not read yet stay in the iterator for the result set to read them itself.
+     *
+     * @return false if cancelled or given up while waiting
+     */
+    private synchronized boolean awaitRoom() throws InterruptedException {
+        while (!this.cancelled && (this.blocks.size() >= this.depth ||
+                (!this.blocks.isEmpty() && this.queuedBytes >= this.maxBytes))) {
+            long remainingNanos = this.lastTakenNanos + this.idleTimeoutNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                log.debug("Read ahead of result blocks given up, no block taken for {}ms",
+                        TimeUnit.NANOSECONDS.toMillis(this.idleTimeoutNanos));
+                this.givenUp = true;
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        return !this.cancelled;
+    }
+
+    /**
+     * Waits until the next block is decoded or the result set ends.
+     */
+    public synchronized boolean hasNext() throws SQLException {
+        try {
+            while (this.blocks.isEmpty() && !this.finished) {
+                this.wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the next block of the result set.", e);
+        }
+        if (this.blocks.isEmpty() && this.failure != null) {
+            if (this.failure instanceof StatusRuntimeException) {
+                throw handle((StatusRuntimeException) this.failure);
+            }
+            throw new SQLException("Unable to read the next block of the result set: " + this.failure.getMessage(),
+                    this.failure);
+        }
+        return !this.blocks.isEmpty();
+    }
+
+    /**
+     * @return true if the read ahead was given up after the idle timeout and all the blocks it read were taken, the
+     * next blocks are to be read from the iterator.
+     */
+    public synchronized boolean isGivenUp() {
+        return this.givenUp && this.finished && this.blocks.isEmpty();
+    }
+
+    /**
+     * @return The next block decoded or null if the result set ended or the read ahead was given up.
+     */
+    public synchronized DecodedBlock next() throws SQLException {
+        if (!this.hasNext()) {
+            return null;
+        }
+        DecodedBlock block = this.blocks.poll();
+        this.queuedBytes -= block.getSize();
+        this.lastTakenNanos = System.nanoTime();
+        this.notifyAll();
+        return block;
+    }
+
+    /**
+     * Stops reading ahead and drops the blocks decoded, a block being read has its call cancelled.
+     */
+    public void close() {
+        this.cancelled = true;
+        if (this.task != null) {
+            this.task.cancel(true);
+        }
+        synchronized (this) {
+            this.blocks.clear();
+            this.queuedBytes = 0;
+            this.finished = true;
+            this.notifyAll();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.openjdbcproxy.constants.CommonConstants;
 import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
 import org.openjdbcproxy.grpc.dto.OpQueryResult;
 import org.openjdbcproxy.jdbc.sqlserver.HydratedBlob;
 
@@ -17,7 +18,6 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.net.URL;
 import java.sql.Array;
 import java.sql.Blob;
@@ -31,13 +31,11 @@ import java.sql.SQLWarning;
 import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
-import java.time.LocalDate;
 import java.util.Calendar;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.TreeMap;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
 import static org.openjdbcproxy.grpc.client.GrpcExceptionHandler.handle;
@@ -49,16 +47,20 @@ public class ResultSet extends RemoteProxyResultSet {
     private final Map<String, Integer> labelsMap;
 
     private Iterator<OpResult> itResults;//Iterator of blocks of data
+    private ResultBlockReadAhead readAhead;//Reads the next blocks in the background when enabled
     private List<Object[]> currentDataBlock;//Current block of data being processed.
-    private AtomicInteger blockIdx = new AtomicInteger(-1);//Current block index
-    private AtomicInteger blockCount = new AtomicInteger(1);//Current block count
+    private int blockIdx = -1;//Current block index
+    private int blockCount = 1;//Current block count
     private java.sql.ResultSetMetaData resultSetMetadata;
+    private List<ColumnMetadata> columnsMetadata;
     private boolean inProxyMode;
     private boolean closed;
-    private AtomicInteger currentIdx = new AtomicInteger(0);
+    private int currentIdx;
     private boolean inRowByRowMode;
 
     private Object lastValueRead;
+    private ColumnConverter[] converters;//Conversion of each column chosen from its SQL type
+    private LocalCursor cursor;//Scrolls and updates scrollable or updatable result sets without calling the server
 
     public ResultSet(Iterator<OpResult> itOpResult, StatementService statementService, java.sql.Statement statement) throws SQLException {
         this.itResults = itOpResult;
@@ -67,15 +69,27 @@ public class ResultSet extends RemoteProxyResultSet {
         try {
             this.statement = statement;
             OpResult result = nextWithSessionUpdate(itOpResult.next());
-            OpQueryResult opQueryResult = deserialize(result.getValue().toByteArray(), OpQueryResult.class);
+            OpQueryResult opQueryResult = deserialize(result.getValue(), OpQueryResult.class);
             this.inRowByRowMode = CommonConstants.RESULT_SET_ROW_BY_ROW_MODE.equalsIgnoreCase(result.getFlag());
             this.setStatementService(statementService);
             this.setResultSetUUID(opQueryResult.getResultSetUUID());
             this.currentDataBlock = opQueryResult.getRows();
-            this.labelsMap = new HashMap<>();
+            this.columnsMetadata = opQueryResult.getColumns();
+            //Case-insensitive lookup without upper casing the label on every call, the first column of a label wins.
+            this.labelsMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
             List<String> labels = opQueryResult.getLabels();
             for (int i = 0; i < labels.size(); i++) {
-                labelsMap.put(labels.get(i).toUpperCase(), i);
+                labelsMap.putIfAbsent(labels.get(i), i);
+            }
+            this.converters = ColumnConverter.forColumns(this.columnsMetadata, labels.size());
+            Connection connection = (Connection) statement.getConnection();
+            if (!this.inRowByRowMode && connection.getReadAheadDepth() > 0) {
+                this.readAhead = ResultBlockReadAhead.start(itOpResult, connection.getReadAheadDepth(),
+                        connection.getReadAheadMaxBytes(), connection.getReadAheadIdleTimeout());
+            }
+            if (!this.inRowByRowMode && connection.getLocalCursorMaxBytes() > 0 && this.isScrollableOrUpdatable()) {
+                this.cursor = new LocalCursor(new ResultBlockReadAhead.DecodedBlock(result, this.currentDataBlock,
+                        result.getValue().size()), this::nextBlock, labels.size(), connection.getLocalCursorMaxBytes());
             }
         } catch (StatusRuntimeException e) {
             throw handle(e);
@@ -88,9 +102,12 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.next();
         }
-        this.currentIdx.incrementAndGet();
-        blockIdx.incrementAndGet();
-        if (this.inRowByRowMode && blockIdx.get() > 0) {
+        if (this.cursor != null) {
+            return this.cursor.next();
+        }
+        this.currentIdx++;
+        this.blockIdx++;
+        if (this.inRowByRowMode && blockIdx > 0) {
             try {
                 // Row by row mode is used in SQL Server and DB2 only when working with LOBs as per moving the cursor earlier
                 // would invalidate the LOB object(s) and therefore for SQL Server and DB2 the read is only done when asked
@@ -103,21 +120,122 @@ public class ResultSet extends RemoteProxyResultSet {
                 throw handle(e);
             }
         }
-        if (!this.inRowByRowMode && blockIdx.get() >= currentDataBlock.size() && itResults.hasNext()) {
-            try {
-                this.setNextOpResult(this.nextWithSessionUpdate(itResults.next()));
-            } catch (StatusRuntimeException e) {
-                throw handle(e);
+        if (!this.inRowByRowMode && blockIdx >= currentDataBlock.size()) {
+            ResultBlockReadAhead.DecodedBlock block = this.nextBlock();
+            if (block != null) {
+                this.setNextDataBlock(block.getRows());
+            }
+        }
+        return blockIdx < currentDataBlock.size();
+    }
+
+    /**
+     * @return The next block of the result set, taken from the read ahead when enabled, or null if it ended.
+     */
+    private ResultBlockReadAhead.DecodedBlock nextBlock() throws SQLException {
+        if (!this.hasNextBlock()) {
+            return null;
+        }
+        if (this.readAhead != null) {
+            ResultBlockReadAhead.DecodedBlock block = this.readAhead.next();
+            this.nextWithSessionUpdate(block.getOpResult());
+            return block;
+        }
+        try {
+            OpResult result = this.nextWithSessionUpdate(this.itResults.next());
+            return new ResultBlockReadAhead.DecodedBlock(result,
+                    deserialize(result.getValue(), OpQueryResult.class).getRows(), result.getValue().size());
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
+        }
+    }
+
+    private boolean isScrollableOrUpdatable() {
+        if (!(this.statement instanceof Statement)) {
+            return false;
+        }
+        Statement stmt = (Statement) this.statement;
+        return stmt.requestedResultSetType() != TYPE_FORWARD_ONLY ||
+                stmt.requestedResultSetConcurrency() == CONCUR_UPDATABLE;
+    }
+
+    /**
+     * Sends the row changes kept by the local cursor to the server, all in one call.
+     */
+    void sendRowChanges() throws SQLException {
+        ((Connection) this.statement.getConnection()).removeResultSetWithRowChanges(this);
+        if (this.cursor != null && this.cursor.hasChanges()) {
+            this.sendRowChanges(this.cursor.takeChanges());
+        }
+    }
+
+    void discardRowChanges() throws SQLException {
+        if (this.cursor != null) {
+            this.cursor.discardChanges();
+        }
+        ((Connection) this.statement.getConnection()).removeResultSetWithRowChanges(this);
+    }
+
+    /**
+     * In auto commit every row change is sent right away, as a statement executed next has to see it. Within a
+     * transaction changes are held and sent together before the next call to the server or the commit.
+     */
+    private void rowChanged() throws SQLException {
+        Connection connection = (Connection) this.statement.getConnection();
+        if (connection.getAutoCommit()) {
+            this.sendRowChanges();
+        } else {
+            connection.addResultSetWithRowChanges(this);
+        }
+    }
+
+    private boolean hasNextBlock() throws SQLException {
+        if (this.readAhead != null) {
+            boolean hasNext = this.readAhead.hasNext();
+            if (hasNext || !this.readAhead.isGivenUp()) {
+                return hasNext;
             }
+            //Given up after the idle timeout, the remaining blocks are read directly.
+            this.readAhead.close();
+            this.readAhead = null;
+        }
+        try {
+            return this.itResults.hasNext();
+        } catch (StatusRuntimeException e) {
+            throw handle(e);
         }
-        return blockIdx.get() < currentDataBlock.size();
     }
 
     private void setNextOpResult(OpResult result) {
-        OpQueryResult opQueryResult = deserialize(result.getValue().toByteArray(), OpQueryResult.class);
-        this.currentDataBlock = opQueryResult.getRows();
-        this.blockCount.incrementAndGet();
-        this.blockIdx.set(0);
+        OpQueryResult opQueryResult = deserialize(result.getValue(), OpQueryResult.class);
+        this.setNextDataBlock(opQueryResult.getRows());
+    }
+
+    private void setNextDataBlock(List<Object[]> rows) {
+        this.currentDataBlock = rows;
+        this.blockCount++;
+        this.blockIdx = 0;
+    }
+
+    /**
+     * @return The value of the column in the current row.
+     */
+    private Object value(int columnIndex) throws SQLException {
+        if (this.cursor != null) {
+            return this.cursor.current()[columnIndex - 1];
+        }
+        return this.currentDataBlock.get(this.blockIdx)[columnIndex - 1];
+    }
+
+    /**
+     * @return The 1-based index of the first column with the label given, ignoring case.
+     */
+    private int columnIndex(String columnLabel) throws SQLException {
+        Integer idx = this.labelsMap.get(columnLabel);
+        if (idx == null) {
+            throw new SQLException("Column not found: " + columnLabel);
+        }
+        return idx + 1;
     }
 
     private OpResult nextWithSessionUpdate(OpResult next) throws SQLException {
@@ -130,11 +248,23 @@ public class ResultSet extends RemoteProxyResultSet {
     public void close() throws SQLException {
         log.debug("close called");
         this.closed = true;
-        this.blockIdx = null;
+        if (this.cursor != null) {
+            try {
+                this.sendRowChanges();
+            } finally {
+                this.cursor.close();
+                this.cursor = null;
+            }
+        }
+        if (this.readAhead != null) {
+            this.readAhead.close();
+            this.readAhead = null;
+        }
         this.itResults = null;
         this.currentDataBlock = null;
         //If the parent statement is closed the result set is closed already, attempting to close it again would produce an error.
-        if (this.statement == null || !this.statement.isClosed()) {
+        //Result sets read fully by the server, such as cached catalog queries, have no remote counterpart.
+        if (this.getResultSetUUID() != null && (this.statement == null || !this.statement.isClosed())) {
             super.close();
         }
     }
@@ -154,11 +284,11 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getString(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
-        if (String.valueOf(lastValueRead).startsWith(CommonConstants.OJP_CLOB_PREFIX)) {
+        if (lastValueRead instanceof String && ((String) lastValueRead).startsWith(CommonConstants.OJP_CLOB_PREFIX)) {
             Clob clob = this.getClob(columnIndex);
             if (clob.length() > Integer.MAX_VALUE) {
                 throw new SQLException("Attempt to read large CLOB (>2MB) via getString not allowed due to memory overflow danger.");
@@ -175,7 +305,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBoolean(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return false;
         }
@@ -188,15 +318,13 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getByte(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return 0;
         } else if (lastValueRead instanceof byte[]) {
             return ((byte[]) lastValueRead)[0];
-        } else if (lastValueRead instanceof Short) {
-            return (byte)(short) lastValueRead;
         }
-        return (byte) lastValueRead;
+        return (byte) this.converters[columnIndex - 1].toInt(lastValueRead);
     }
 
     @Override
@@ -205,11 +333,11 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getShort(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return 0;
         }
-        return (short) lastValueRead;
+        return (short) this.converters[columnIndex - 1].toInt(lastValueRead);
     }
 
     @Override
@@ -218,33 +346,11 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getInt(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return 0;
         }
-        Object value = lastValueRead;
-        if (value instanceof Integer) {
-            return (int) value;
-        } else if (value instanceof Long) {
-            Long lValue = (Long) value;
-            return lValue.intValue();
-        } else if (value instanceof Short) {
-            Short sValue = (Short) value;
-            return sValue.intValue();
-        } else if (value instanceof Date) {
-            Date dValue = (Date) value;
-            LocalDate ld = LocalDate.ofEpochDay(dValue.getTime());
-            if (ld.getDayOfMonth() > 0) {
-                return ld.getDayOfMonth();
-            } else if (ld.getMonth().getValue() > 0) {
-                return ld.getMonth().getValue();
-            } else if (ld.getYear() > 0) {
-                return ld.getYear();
-            }
-            return (int) dValue.getTime();
-        } else {
-            return Integer.parseInt("" + value);
-        }
+        return this.converters[columnIndex - 1].toInt(lastValueRead);
     }
 
     @Override
@@ -253,20 +359,11 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getLong(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return 0;
         }
-        if (lastValueRead instanceof BigInteger) {
-            return ((BigInteger) lastValueRead).longValue();
-        }
-        if (lastValueRead instanceof Integer) {
-            return ((Integer) lastValueRead).longValue();
-        }
-        if (lastValueRead instanceof BigDecimal) {
-            return ((BigDecimal) lastValueRead).longValue();
-        }
-        return (long) lastValueRead;
+        return this.converters[columnIndex - 1].toLong(lastValueRead);
     }
 
     @Override
@@ -275,16 +372,11 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getFloat(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return 0;
         }
-        Object value = lastValueRead;
-        if (value instanceof BigDecimal) {
-            BigDecimal bdValue = (BigDecimal) value;
-            return bdValue.floatValue();
-        }
-        return (float) value;
+        return this.converters[columnIndex - 1].toFloat(lastValueRead);
     }
 
     @Override
@@ -293,16 +385,11 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getDouble(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return 0d;
         }
-        Object value = lastValueRead;
-        if (value instanceof BigDecimal) {
-            BigDecimal bdValue = (BigDecimal) value;
-            return bdValue.doubleValue();
-        }
-        return (double) value;
+        return this.converters[columnIndex - 1].toDouble(lastValueRead);
     }
 
     @Override
@@ -311,7 +398,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBigDecimal(columnIndex, scale);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -325,7 +412,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBytes(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead instanceof String) {// Means the server is treating it as a binary stream
             InputStream is = this.getBinaryStream(columnIndex);
             return is.readAllBytes();
@@ -339,7 +426,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getDate(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -357,7 +444,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getTime(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -370,7 +457,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getTimestamp(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -403,7 +490,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBinaryStream(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         } else if (lastValueRead instanceof byte[]) {// Only used by SQL server
@@ -436,7 +523,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getString(columnLabel);
         }
-        return this.getString(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getString(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -445,7 +532,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBoolean(columnLabel);
         }
-        return this.getBoolean(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getBoolean(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -454,7 +541,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getByte(columnLabel);
         }
-        return this.getByte(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getByte(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -463,7 +550,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getShort(columnLabel);
         }
-        return this.getShort(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getShort(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -472,7 +559,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getInt(columnLabel);
         }
-        return this.getInt(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getInt(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -481,7 +568,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getLong(columnLabel);
         }
-        return this.getLong(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getLong(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -490,7 +577,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getFloat(columnLabel);
         }
-        return this.getFloat(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getFloat(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -499,7 +586,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getDouble(columnLabel);
         }
-        return this.getDouble(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getDouble(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -508,7 +595,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBigDecimal(columnLabel);
         }
-        return this.getBigDecimal(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getBigDecimal(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -517,7 +604,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBytes(columnLabel);
         }
-        return this.getBytes(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getBytes(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -526,7 +613,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getDate(columnLabel);
         }
-        return this.getDate(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getDate(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -535,7 +622,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getTime(columnLabel);
         }
-        return this.getTime(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getTime(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -544,7 +631,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getTimestamp(columnLabel);
         }
-        return this.getTimestamp(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getTimestamp(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -553,7 +640,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getObject(columnLabel);
         }
-        return this.getObject(this.labelsMap.get(columnLabel.toUpperCase()) + 1);
+        return this.getObject(this.columnIndex(columnLabel));
     }
 
     @Override
@@ -562,7 +649,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBigDecimal(columnLabel, scale);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[this.labelsMap.get(columnLabel.toUpperCase())];
+        lastValueRead = this.value(this.columnIndex(columnLabel));
         if (lastValueRead == null) {
             return null;
         }
@@ -595,8 +682,8 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBinaryStream(columnLabel);
         }
-        int colIdx = this.labelsMap.get(columnLabel.toUpperCase()) + 1;
-        lastValueRead = currentDataBlock.get(blockIdx.get())[colIdx - 1];
+        int colIdx = this.columnIndex(columnLabel);
+        lastValueRead = this.value(colIdx);
         if (lastValueRead == null) {
             return null;
         }
@@ -632,11 +719,11 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getMetaData();
         }
-        if (this.getResultSetUUID() == null) {
+        if (this.getResultSetUUID() == null && this.columnsMetadata == null) {
             throw new SQLException("No result set reference found.");
         }
         if (this.resultSetMetadata == null) {
-            this.resultSetMetadata = new ResultSetMetaData(this, this.getStatementService());
+            this.resultSetMetadata = new ResultSetMetaData(this, this.getStatementService(), this.columnsMetadata);
         }
         return this.resultSetMetadata;
     }
@@ -647,7 +734,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getObject(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         return lastValueRead;
     }
 
@@ -657,7 +744,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.findColumn(columnLabel);
         }
-        return this.labelsMap.get(columnLabel);
+        return this.columnIndex(columnLabel);
     }
 
     @Override
@@ -686,7 +773,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBigDecimal(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -696,15 +783,21 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean isBeforeFirst() throws SQLException {
         log.debug("isBeforeFirst called");
+        if (this.cursor != null) {
+            return this.cursor.isBeforeFirst();
+        }
         if (this.inProxyMode) {
             return super.isBeforeFirst();
         }
-        return blockIdx.get() == -1;
+        return blockIdx == -1;
     }
 
     @Override
     public boolean first() throws SQLException {
         log.debug("first called");
+        if (this.cursor != null) {
+            return this.cursor.first();
+        }
         this.inProxyMode = true;
         return super.first();
     }
@@ -712,33 +805,46 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean isAfterLast() throws SQLException {
         log.debug("isAfterLast called");
+        if (this.cursor != null) {
+            return this.cursor.isAfterLast();
+        }
         if (this.inProxyMode) {
             return super.isAfterLast();
         }
-        return !itResults.hasNext() && blockIdx.get() >= currentDataBlock.size();
+        return !this.hasNextBlock() && blockIdx >= currentDataBlock.size();
     }
 
     @Override
     public synchronized boolean isFirst() throws SQLException {
         log.debug("isFirst called");
+        if (this.cursor != null) {
+            return this.cursor.isFirst();
+        }
         if (this.inProxyMode) {
             return super.isFirst();
         }
-        return this.blockCount.get() == 1 && this.blockIdx.get() == 0;
+        return this.blockCount == 1 && this.blockIdx == 0;
     }
 
     @Override
     public boolean isLast() throws SQLException {
         log.debug("isLast called");
+        if (this.cursor != null) {
+            return this.cursor.isLast();
+        }
         if (this.inProxyMode) {
             return super.isLast();
         }
-        return !itResults.hasNext() && blockIdx.get() == (currentDataBlock.size() - 1);
+        return !this.hasNextBlock() && blockIdx == (currentDataBlock.size() - 1);
     }
 
     @Override
     public void beforeFirst() throws SQLException {
         log.debug("beforeFirst called");
+        if (this.cursor != null) {
+            this.cursor.beforeFirst();
+            return;
+        }
         this.inProxyMode = true;
         super.beforeFirst();
     }
@@ -746,6 +852,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void afterLast() throws SQLException {
         log.debug("afterLast called");
+        if (this.cursor != null) {
+            this.cursor.afterLast();
+            return;
+        }
         this.inProxyMode = true;
         super.afterLast();
     }
@@ -753,6 +863,9 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean last() throws SQLException {
         log.debug("last called");
+        if (this.cursor != null) {
+            return this.cursor.last();
+        }
         this.inProxyMode = true;
         return super.last();
     }
@@ -760,15 +873,21 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public int getRow() throws SQLException {
         log.debug("getRow called");
+        if (this.cursor != null) {
+            return this.cursor.getRow();
+        }
         if (this.inProxyMode) {
             return super.getRow();
         }
-        return ((this.blockCount.get() - 1) * CommonConstants.ROWS_PER_RESULT_SET_DATA_BLOCK) + this.blockIdx.get() + 1;
+        return ((this.blockCount - 1) * CommonConstants.ROWS_PER_RESULT_SET_DATA_BLOCK) + this.blockIdx + 1;
     }
 
     @Override
     public boolean absolute(int row) throws SQLException {
         log.debug("absolute: {}", row);
+        if (this.cursor != null) {
+            return this.cursor.absolute(row);
+        }
         this.inProxyMode = true;
         return super.absolute(row);
     }
@@ -776,6 +895,9 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean relative(int rows) throws SQLException {
         log.debug("relative: {}", rows);
+        if (this.cursor != null) {
+            return this.cursor.relative(rows);
+        }
         this.inProxyMode = true;
         return super.relative(rows);
     }
@@ -783,16 +905,22 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean previous() throws SQLException {
         log.debug("previous called");
+        if (this.cursor != null) {
+            return this.cursor.previous();
+        }
         if (this.inProxyMode) {
             return super.previous();
         }
         this.inProxyMode = true;
-        return super.absolute(this.currentIdx.get() - 1);// Will reposition the cursor in the current row being processed.
+        return super.absolute(this.currentIdx - 1);// Will reposition the cursor in the current row being processed.
     }
 
     @Override
     public void setFetchDirection(int direction) throws SQLException {
         log.debug("setFetchDirection: {}", direction);
+        if (this.cursor != null) {
+            return;
+        }
         super.setFetchDirection(direction);
         this.inProxyMode = true;
     }
@@ -824,6 +952,9 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public int getType() throws SQLException {
         log.debug("getType called");
+        if (this.cursor != null) {
+            return ((Statement) this.statement).requestedResultSetType();
+        }
         if (this.inProxyMode) {
             return super.getType();
         }
@@ -833,6 +964,9 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public int getConcurrency() throws SQLException {
         log.debug("getConcurrency called");
+        if (this.cursor != null) {
+            return ((Statement) this.statement).requestedResultSetConcurrency();
+        }
         if (this.inProxyMode) {
             return super.getConcurrency();
         }
@@ -842,6 +976,9 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean rowUpdated() throws SQLException {
         log.debug("rowUpdated called");
+        if (this.cursor != null) {
+            return this.cursor.rowUpdated();
+        }
         if (this.inProxyMode) {
             return super.rowUpdated();
         }
@@ -851,6 +988,9 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean rowInserted() throws SQLException {
         log.debug("rowInserted called");
+        if (this.cursor != null) {
+            return false;
+        }
         if (this.inProxyMode) {
             return super.rowInserted();
         }
@@ -860,6 +1000,9 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public boolean rowDeleted() throws SQLException {
         log.debug("rowDeleted called");
+        if (this.cursor != null) {
+            return this.cursor.rowDeleted();
+        }
         if (this.inProxyMode) {
             return super.rowDeleted();
         }
@@ -869,22 +1012,34 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateNull(int columnIndex) throws SQLException {
         log.debug("updateNull: {}", columnIndex);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, null);
+            return;
+        }
         this.inProxyMode = true;
-        super.absolute(this.currentIdx.get());
+        super.absolute(this.currentIdx);
         super.updateNull(columnIndex);
     }
 
     @Override
     public void updateBoolean(int columnIndex, boolean x) throws SQLException {
         log.debug("updateBoolean: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         this.inProxyMode = true;
-        super.absolute(this.currentIdx.get());
+        super.absolute(this.currentIdx);
         super.updateBoolean(columnIndex, x);
     }
 
     @Override
     public void updateByte(int columnIndex, byte x) throws SQLException {
         log.debug("updateByte: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateByte(columnIndex, x);
             return;
@@ -895,6 +1050,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateShort(int columnIndex, short x) throws SQLException {
         log.debug("updateShort: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateShort(columnIndex, x);
             return;
@@ -905,6 +1064,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateInt(int columnIndex, int x) throws SQLException {
         log.debug("updateInt: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateInt(columnIndex, x);
             return;
@@ -915,6 +1078,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateLong(int columnIndex, long x) throws SQLException {
         log.debug("updateLong: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateLong(columnIndex, x);
             return;
@@ -925,6 +1092,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateFloat(int columnIndex, float x) throws SQLException {
         log.debug("updateFloat: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateFloat(columnIndex, x);
             return;
@@ -935,6 +1106,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateDouble(int columnIndex, double x) throws SQLException {
         log.debug("updateDouble: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateDouble(columnIndex, x);
             return;
@@ -945,6 +1120,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
         log.debug("updateBigDecimal: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateBigDecimal(columnIndex, x);
             return;
@@ -955,6 +1134,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateString(int columnIndex, String x) throws SQLException {
         log.debug("updateString: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateString(columnIndex, x);
             return;
@@ -965,6 +1148,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateBytes(int columnIndex, byte[] x) throws SQLException {
         log.debug("updateBytes: {}, <byte[]>", columnIndex);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateBytes(columnIndex, x);
             return;
@@ -975,6 +1162,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateDate(int columnIndex, Date x) throws SQLException {
         log.debug("updateDate: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateDate(columnIndex, x);
             return;
@@ -985,6 +1176,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateTime(int columnIndex, Time x) throws SQLException {
         log.debug("updateTime: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateTime(columnIndex, x);
             return;
@@ -995,6 +1190,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
         log.debug("updateTimestamp: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateTimestamp(columnIndex, x);
             return;
@@ -1035,6 +1234,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
         log.debug("updateObject: {}, {}, {}", columnIndex, x, scaleOrLength);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateObject(columnIndex, x, scaleOrLength);
             return;
@@ -1045,6 +1248,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateObject(int columnIndex, Object x) throws SQLException {
         log.debug("updateObject: {}, {}", columnIndex, x);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateObject(columnIndex, x);
             return;
@@ -1055,6 +1262,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateNull(String columnLabel) throws SQLException {
         log.debug("updateNull: {}", columnLabel);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), null);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateNull(columnLabel);
             return;
@@ -1065,6 +1276,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateBoolean(String columnLabel, boolean x) throws SQLException {
         log.debug("updateBoolean: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateBoolean(columnLabel, x);
             return;
@@ -1075,6 +1290,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateByte(String columnLabel, byte x) throws SQLException {
         log.debug("updateByte: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateByte(columnLabel, x);
             return;
@@ -1085,6 +1304,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateShort(String columnLabel, short x) throws SQLException {
         log.debug("updateShort: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateShort(columnLabel, x);
             return;
@@ -1095,6 +1318,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateInt(String columnLabel, int x) throws SQLException {
         log.debug("updateInt: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateInt(columnLabel, x);
             return;
@@ -1105,6 +1332,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateLong(String columnLabel, long x) throws SQLException {
         log.debug("updateLong: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateLong(columnLabel, x);
             return;
@@ -1115,6 +1346,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateFloat(String columnLabel, float x) throws SQLException {
         log.debug("updateFloat: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateFloat(columnLabel, x);
             return;
@@ -1125,6 +1360,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateDouble(String columnLabel, double x) throws SQLException {
         log.debug("updateDouble: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateDouble(columnLabel, x);
             return;
@@ -1135,6 +1374,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
         log.debug("updateBigDecimal: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateBigDecimal(columnLabel, x);
             return;
@@ -1145,6 +1388,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateString(String columnLabel, String x) throws SQLException {
         log.debug("updateString: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateString(columnLabel, x);
             return;
@@ -1155,6 +1402,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateBytes(String columnLabel, byte[] x) throws SQLException {
         log.debug("updateBytes: {}, <byte[]>", columnLabel);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateBytes(columnLabel, x);
             return;
@@ -1165,6 +1416,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateDate(String columnLabel, Date x) throws SQLException {
         log.debug("updateDate: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateDate(columnLabel, x);
             return;
@@ -1175,6 +1430,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateTime(String columnLabel, Time x) throws SQLException {
         log.debug("updateTime: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateTime(columnLabel, x);
             return;
@@ -1185,6 +1444,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
         log.debug("updateTimestamp: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateTimestamp(columnLabel, x);
             return;
@@ -1225,6 +1488,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
         log.debug("updateObject: {}, {}, {}", columnLabel, x, scaleOrLength);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateObject(columnLabel, x, scaleOrLength);
             return;
@@ -1235,6 +1502,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateObject(String columnLabel, Object x) throws SQLException {
         log.debug("updateObject: {}, {}", columnLabel, x);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), x);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateObject(columnLabel, x);
             return;
@@ -1245,6 +1516,11 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void insertRow() throws SQLException {
         log.debug("insertRow called");
+        if (this.cursor != null) {
+            this.cursor.insertRow();
+            this.rowChanged();
+            return;
+        }
         if (this.inProxyMode) {
             super.insertRow();
             return;
@@ -1255,6 +1531,11 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateRow() throws SQLException {
         log.debug("updateRow called");
+        if (this.cursor != null) {
+            this.cursor.updateRow();
+            this.rowChanged();
+            return;
+        }
         if (this.inProxyMode) {
             super.updateRow();
             return;
@@ -1265,6 +1546,11 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void deleteRow() throws SQLException {
         log.debug("deleteRow called");
+        if (this.cursor != null) {
+            this.cursor.deleteRow();
+            this.rowChanged();
+            return;
+        }
         if (this.inProxyMode) {
             super.deleteRow();
             return;
@@ -1285,6 +1571,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void cancelRowUpdates() throws SQLException {
         log.debug("cancelRowUpdates called");
+        if (this.cursor != null) {
+            this.cursor.cancelRowUpdates();
+            return;
+        }
         if (this.inProxyMode) {
             super.cancelRowUpdates();
             return;
@@ -1295,6 +1585,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void moveToInsertRow() throws SQLException {
         log.debug("moveToInsertRow called");
+        if (this.cursor != null) {
+            this.cursor.moveToInsertRow();
+            return;
+        }
         super.moveToInsertRow();
         this.inProxyMode = true;
     }
@@ -1302,6 +1596,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void moveToCurrentRow() throws SQLException {
         log.debug("moveToCurrentRow called");
+        if (this.cursor != null) {
+            this.cursor.moveToCurrentRow();
+            return;
+        }
         super.moveToCurrentRow();
         this.inProxyMode = true;
     }
@@ -1341,7 +1639,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBlob(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         } else if (lastValueRead instanceof byte[]) { //Only for SQL server
@@ -1371,7 +1669,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getClob(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -1426,7 +1724,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getBlob(columnLabel);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[this.labelsMap.get(columnLabel.toUpperCase())];
+        lastValueRead = this.value(this.columnIndex(columnLabel));
         //For databases where LOBs get invalidated once cursor moves (SQL Server and DB2) must eagerly hydrate LOBs.
         if (lastValueRead instanceof byte[]){
             return new HydratedBlob((byte[]) lastValueRead);
@@ -1528,7 +1826,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getURL(columnIndex);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -1541,7 +1839,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getURL(columnLabel);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[this.labelsMap.get(columnLabel.toUpperCase())];
+        lastValueRead = this.value(this.columnIndex(columnLabel));
         if (lastValueRead == null) {
             return null;
         }
@@ -1689,6 +1987,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateNString(int columnIndex, String nString) throws SQLException {
         log.debug("updateNString: {}, {}", columnIndex, nString);
+        if (this.cursor != null) {
+            this.cursor.update(columnIndex, nString);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateNString(columnIndex, nString);
             return;
@@ -1699,6 +2001,10 @@ public class ResultSet extends RemoteProxyResultSet {
     @Override
     public void updateNString(String columnLabel, String nString) throws SQLException {
         log.debug("updateNString: {}, {}", columnLabel, nString);
+        if (this.cursor != null) {
+            this.cursor.update(this.columnIndex(columnLabel), nString);
+            return;
+        }
         if (this.inProxyMode) {
             super.updateNString(columnLabel, nString);
             return;
@@ -2113,7 +2419,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getObject(columnIndex, type);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[columnIndex - 1];
+        lastValueRead = this.value(columnIndex);
         if (lastValueRead == null) {
             return null;
         }
@@ -2126,7 +2432,7 @@ public class ResultSet extends RemoteProxyResultSet {
         if (this.inProxyMode) {
             return super.getObject(columnLabel, type);
         }
-        lastValueRead = currentDataBlock.get(blockIdx.get())[this.labelsMap.get(columnLabel.toUpperCase())];
+        lastValueRead = this.value(this.columnIndex(columnLabel));
         if (lastValueRead == null) {
             return null;
         }
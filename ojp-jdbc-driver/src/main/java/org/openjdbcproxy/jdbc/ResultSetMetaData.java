@@ -7,38 +7,41 @@ import com.openjdbcproxy.grpc.CallType;
 import com.openjdbcproxy.grpc.ResourceType;
 import com.openjdbcproxy.grpc.TargetCall;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
 
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 
 @Slf4j
 public class ResultSetMetaData implements java.sql.ResultSetMetaData {
 
     private final StatementService statementService;
     private final RemoteProxyResultSet resultSet;
-    private final PreparedStatement ps;
+    //Metadata received with the first block of the result set, when present every attribute is answered locally.
+    private final List<ColumnMetadata> columns;
 
     public ResultSetMetaData(RemoteProxyResultSet resultSet, StatementService statementService) {
-        this.resultSet = resultSet;
-        this.statementService = statementService;
-        this.ps = null;
+        this(resultSet, statementService, null);
     }
 
-    public ResultSetMetaData(PreparedStatement ps, StatementService statementService) {
-        this.ps = ps;
+    public ResultSetMetaData(RemoteProxyResultSet resultSet, StatementService statementService,
+                             List<ColumnMetadata> columns) {
+        this.resultSet = resultSet;
         this.statementService = statementService;
-        this.resultSet = null;
+        this.columns = columns;
     }
 
     @Override
     public int getColumnCount() throws SQLException {
         log.debug("getColumnCount called");
+        if (this.columns != null) {
+            return this.columns.size();
+        }
         if (resultSet instanceof org.openjdbcproxy.jdbc.ResultSet) {
             org.openjdbcproxy.jdbc.ResultSet rs = (org.openjdbcproxy.jdbc.ResultSet) resultSet;
             return rs.getLabelsMap().size();
@@ -54,136 +57,187 @@ public class ResultSetMetaData implements java.sql.ResultSetMetaData {
                     .setSession(this.resultSet.getConnection().getSession())
                     .setResourceType(ResourceType.RES_RESULT_SET)
                     .setResourceUUID(this.resultSet.getResultSetUUID());
-        } else if (this.ps != null) {
-            CallResourceRequest.Builder builder = CallResourceRequest.newBuilder()
-                    .setSession(this.ps.getConnection().getSession())
-                    .setResourceType(ResourceType.RES_PREPARED_STATEMENT)
-                    .setProperties(ByteString.copyFrom(serialize(this.ps.getProperties())));
-            if (StringUtils.isNotBlank(this.ps.getStatementUUID())) {
-                builder.setResourceUUID(this.ps.getStatementUUID());
-            }
-            return builder;
         }
-        throw new RuntimeException("A result set or a prepared statement reference is required.");
+        throw new RuntimeException("A result set reference is required.");
     }
 
     @Override
     public boolean isAutoIncrement(int column) throws SQLException {
         log.debug("isAutoIncrement: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isAutoIncrement();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "AutoIncrement", column, Boolean.class);
     }
 
     @Override
     public boolean isCaseSensitive(int column) throws SQLException {
         log.debug("isCaseSensitive: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isCaseSensitive();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "CaseSensitive", column, Boolean.class);
     }
 
     @Override
     public boolean isSearchable(int column) throws SQLException {
         log.debug("isSearchable: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isSearchable();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "Searchable", column, Boolean.class);
     }
 
     @Override
     public boolean isCurrency(int column) throws SQLException {
         log.debug("isCurrency: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isCurrency();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "Currency", column, Boolean.class);
     }
 
     @Override
     public int isNullable(int column) throws SQLException {
         log.debug("isNullable: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getNullable();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "Nullable", column, Integer.class);
     }
 
     @Override
     public boolean isSigned(int column) throws SQLException {
         log.debug("isSigned: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isSigned();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "Signed", column, Boolean.class);
     }
 
     @Override
     public int getColumnDisplaySize(int column) throws SQLException {
         log.debug("getColumnDisplaySize: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getColumnDisplaySize();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "ColumnDisplaySize", column, Integer.class);
     }
 
     @Override
     public String getColumnLabel(int column) throws SQLException {
         log.debug("getColumnLabel: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getColumnLabel();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "ColumnLabel", column, String.class);
     }
 
     @Override
     public String getColumnName(int column) throws SQLException {
         log.debug("getColumnName: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getColumnName();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "ColumnName", column, String.class);
     }
 
     @Override
     public String getSchemaName(int column) throws SQLException {
         log.debug("getSchemaName: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getSchemaName();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "SchemaName", column, String.class);
     }
 
     @Override
     public int getPrecision(int column) throws SQLException {
         log.debug("getPrecision: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getPrecision();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "Precision", column, Integer.class);
     }
 
     @Override
     public int getScale(int column) throws SQLException {
         log.debug("getScale: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getScale();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "Scale", column, Integer.class);
     }
 
     @Override
     public String getTableName(int column) throws SQLException {
         log.debug("getTableName: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getTableName();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "TableName", column, String.class);
     }
 
     @Override
     public String getCatalogName(int column) throws SQLException {
         log.debug("getCatalogName: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getCatalogName();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "CatalogName", column, String.class);
     }
 
     @Override
     public int getColumnType(int column) throws SQLException {
         log.debug("getColumnType: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getColumnType();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "ColumnType", column, Integer.class);
     }
 
     @Override
     public String getColumnTypeName(int column) throws SQLException {
         log.debug("getColumnTypeName: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getColumnTypeName();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "ColumnTypeName", column, String.class);
     }
 
     @Override
     public boolean isReadOnly(int column) throws SQLException {
         log.debug("isReadOnly: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isReadOnly();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "ReadOnly", column, Boolean.class);
     }
 
     @Override
     public boolean isWritable(int column) throws SQLException {
         log.debug("isWritable: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isWritable();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "Writable", column, Boolean.class);
     }
 
     @Override
     public boolean isDefinitelyWritable(int column) throws SQLException {
         log.debug("isDefinitelyWritable: {}", column);
+        if (this.columns != null) {
+            return this.column(column).isDefinitelyWritable();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_IS, "DefinitelyWritable", column, Boolean.class);
     }
 
     @Override
     public String getColumnClassName(int column) throws SQLException {
         log.debug("getColumnClassName: {}", column);
+        if (this.columns != null) {
+            return this.column(column).getColumnClassName();
+        }
         return this.retrieveMetadataAttribute(CallType.CALL_GET, "ColumnClassName", column, String.class);
     }
 
@@ -199,6 +253,13 @@ public class ResultSetMetaData implements java.sql.ResultSetMetaData {
         throw new SQLException("isWrappedFor not supported.");
     }
 
+    private ColumnMetadata column(int column) throws SQLException {
+        if (column < 1 || column > this.columns.size()) {
+            throw new SQLException("Invalid column index: " + column);
+        }
+        return this.columns.get(column - 1);
+    }
+
     private <T> T retrieveMetadataAttribute(CallType callType, String attrName, Integer column,  Class returnType) throws SQLException {
         log.debug("retrieveMetadataAttribute: {}, {}, {}, {}", callType, attrName, column, returnType);
         CallResourceRequest.Builder reqBuilder = this.newCallBuilder();
@@ -213,16 +274,14 @@ public class ResultSetMetaData implements java.sql.ResultSetMetaData {
                         .setNextCall(TargetCall.newBuilder()
                                 .setCallType(callType)
                                 .setResourceName(attrName)
-                                .setParams(ByteString.copyFrom(serialize(params)))
+                                .setParams(serializeToByteString(params))
                                 .build())
                         .build()
         );
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
         if (this.resultSet !=null) {
             this.resultSet.getConnection().setSession(response.getSession());
-        } else if (this.ps != null) {
-            this.ps.getConnection().setSession(response.getSession());
         }
-        return (T) deserialize(response.getValues().toByteArray(), returnType);
+        return (T) deserialize(response.getValues(), returnType);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package org.openjdbcproxy.jdbc;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Block of rows of a query published reactively, in the order the server read them from the database.
+ */
+@Getter
+@AllArgsConstructor
+public class RowBatch {
+    private final List<String> labels;//Labels of the columns, the same in every batch of a query
+    private final List<Object[]> rows;
+}
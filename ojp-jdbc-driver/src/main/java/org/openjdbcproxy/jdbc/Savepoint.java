@@ -55,6 +55,6 @@ public class Savepoint implements java.sql.Savepoint {
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
         this.connection.setSession(response.getSession());
 
-        return (T) deserialize(response.getValues().toByteArray(), returnType);
+        return (T) deserialize(response.getValues(), returnType);
     }
 }
\ No newline at end of file
@@ -6,22 +6,28 @@ import com.openjdbcproxy.grpc.CallResourceResponse;
 import com.openjdbcproxy.grpc.CallType;
 import com.openjdbcproxy.grpc.OpResult;
 import com.openjdbcproxy.grpc.ResourceType;
+import com.openjdbcproxy.grpc.ResultType;
 import com.openjdbcproxy.grpc.TargetCall;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.database.DatabaseUtils;
 import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.client.UpdatePipeline;
 
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLWarning;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 import static org.openjdbcproxy.jdbc.Constants.EMPTY_PARAMETERS_LIST;
 
 @Slf4j
@@ -33,12 +39,18 @@ public class Statement implements java.sql.Statement {
     @Setter
     @Getter
     private String statementUUID;
-    private int maxRows;
     private ResourceType resourceType;
 
+    //Setters applied by the server right before each execution instead of being called remotely one by one. Getters
+    //answer from here, falling back to the JDBC defaults.
+    protected final Map<String, Object> settings = new HashMap<>();
     protected boolean closed;
     protected ResultSet lastResultSet;
     protected int lastUpdateCount;
+    //Result of the last update while it is pipelined, resolved when the update count is asked for.
+    protected Future<OpResult> pipelinedUpdate;
+    //Serialized OpQueryResult with the keys generated by the last execution, sent back along with its result.
+    protected ByteString generatedKeys = ByteString.EMPTY;
 
     public Statement(Connection connection, StatementService statementService) {
         this(connection, statementService, null);
@@ -58,6 +70,23 @@ public class Statement implements java.sql.Statement {
         this.closed = false;
     }
 
+    /**
+     * @return Type of the result sets of this statement, as requested when it was created.
+     */
+    int requestedResultSetType() {
+        Object type = this.properties != null ? this.properties.get(CommonConstants.STATEMENT_RESULT_SET_TYPE_KEY) : null;
+        return type != null ? (Integer) type : java.sql.ResultSet.TYPE_FORWARD_ONLY;
+    }
+
+    /**
+     * @return Concurrency of the result sets of this statement, as requested when it was created.
+     */
+    int requestedResultSetConcurrency() {
+        Object concurrency = this.properties != null ?
+                this.properties.get(CommonConstants.STATEMENT_RESULT_SET_CONCURRENCY_KEY) : null;
+        return concurrency != null ? (Integer) concurrency : java.sql.ResultSet.CONCUR_READ_ONLY;
+    }
+
     protected void checkClosed() throws SQLException {
         if (this.closed) {
             throw new SQLException("Statement is closed.");
@@ -68,8 +97,10 @@ public class Statement implements java.sql.Statement {
     public ResultSet executeQuery(String sql) throws SQLException {
         log.debug("executeQuery: {}", sql);
         checkClosed();
-        Iterator<OpResult> itResults = this.statementService.executeQuery(this.connection.getSession(), sql,
-                EMPTY_PARAMETERS_LIST, this.statementUUID, this.properties);
+        this.pipelinedUpdate = null;
+        this.generatedKeys = ByteString.EMPTY;
+        Iterator<OpResult> itResults = this.statementService.executeQuery(this.connection, sql, EMPTY_PARAMETERS_LIST,
+                this.statementUUID, this.properties, this.settings);
         return new ResultSet(itResults, this.statementService, this);
     }
 
@@ -77,10 +108,39 @@ public class Statement implements java.sql.Statement {
     public int executeUpdate(String sql) throws SQLException {
         log.debug("executeUpdate: {}", sql);
         checkClosed();
-        OpResult result = this.statementService.executeUpdate(this.connection.getSession(), sql, EMPTY_PARAMETERS_LIST,
-                this.statementUUID, this.properties);
+        return this.executeUpdate(sql, false);
+    }
+
+    /**
+     * Executes the update and commits the current transaction in the same call to the server, saving the commit round
+     * trip when the update is the last statement of the transaction. Same as executeUpdate when auto commit is on.
+     *
+     * @param sql SQL update to execute
+     * @return Number of rows updated
+     * @throws SQLException if the update or the commit fails
+     */
+    public int executeUpdateAndCommit(String sql) throws SQLException {
+        log.debug("executeUpdateAndCommit: {}", sql);
+        checkClosed();
+        return this.executeUpdate(sql, !this.connection.getAutoCommit());
+    }
+
+    private int executeUpdate(String sql, boolean commitTransaction) throws SQLException {
+        this.invalidateDescriptionsOnDdl(sql);
+        this.pipelinedUpdate = null;
+        this.generatedKeys = ByteString.EMPTY;
+        if (!commitTransaction && this.connection.isPipeliningUpdates()) {
+            this.pipelinedUpdate = this.statementService.executeUpdatePipelined(this.connection, sql,
+                    EMPTY_PARAMETERS_LIST, this.statementUUID, this.properties, this.settings);
+            return SUCCESS_NO_INFO;
+        }
+        OpResult result = this.statementService.executeUpdate(this.connection, sql, EMPTY_PARAMETERS_LIST,
+                this.statementUUID, this.properties, this.settings, commitTransaction);
         this.connection.setSession(result.getSession());//TODO see if can do this in one place instead of updating session everywhere
-        return deserialize(result.getValue().toByteArray(), Integer.class);
+        if (commitTransaction) {
+            this.connection.transactionCommitted();
+        }
+        return deserialize(result.getValue(), Integer.class);
     }
 
     @Override
@@ -88,7 +148,7 @@ public class Statement implements java.sql.Statement {
         log.debug("close called");
         this.closed = true;
         if (this.getStatementUUID() != null) {
-            this.callProxy(CallType.CALL_CLOSE, "", Void.class);
+            this.connection.releaseResource(this.resourceType, this.getStatementUUID());
         }
     }
 
@@ -96,50 +156,52 @@ public class Statement implements java.sql.Statement {
     public int getMaxFieldSize() throws SQLException {
         log.debug("getMaxFieldSize called");
         checkClosed();
-        return this.callProxy(CallType.CALL_GET, "MaxFieldSize", Integer.class);
+        return (Integer) this.settings.getOrDefault("MaxFieldSize", 0);
     }
 
     @Override
     public void setMaxFieldSize(int max) throws SQLException {
         log.debug("setMaxFieldSize: {}", max);
         checkClosed();
-        this.callProxy(CallType.CALL_SET, "MaxFieldSize", Void.class, Arrays.asList(max));
+        checkNotNegative("MaxFieldSize", max);
+        this.putSetting("MaxFieldSize", max);
     }
 
     @Override
     public int getMaxRows() throws SQLException {
         log.debug("getMaxRows called");
         checkClosed();
-        return this.maxRows;
+        return (Integer) this.settings.getOrDefault("MaxRows", 0);
     }
 
     @Override
     public void setMaxRows(int max) throws SQLException {
         log.debug("setMaxRows: {}", max);
         checkClosed();
-        this.callProxy(CallType.CALL_SET, "MaxRows", Void.class, Arrays.asList(max));
-        this.maxRows = max;
+        checkNotNegative("MaxRows", max);
+        this.putSetting("MaxRows", max);
     }
 
     @Override
     public void setEscapeProcessing(boolean enable) throws SQLException {
         log.debug("setEscapeProcessing: {}", enable);
         checkClosed();
-        this.callProxy(CallType.CALL_SET, "EscapeProcessing", Void.class, Arrays.asList(enable));
+        this.putSetting("EscapeProcessing", enable);
     }
 
     @Override
     public int getQueryTimeout() throws SQLException {
         log.debug("getQueryTimeout called");
         checkClosed();
-        return this.callProxy(CallType.CALL_GET, "QueryTimeout", Integer.class);
+        return (Integer) this.settings.getOrDefault("QueryTimeout", 0);
     }
 
     @Override
     public void setQueryTimeout(int seconds) throws SQLException {
         log.debug("setQueryTimeout: {}", seconds);
         checkClosed();
-        this.callProxy(CallType.CALL_SET, "QueryTimeout", Void.class, Arrays.asList(seconds));
+        checkNotNegative("QueryTimeout", seconds);
+        this.putSetting("QueryTimeout", seconds);
     }
 
     @Override
@@ -200,6 +262,12 @@ public class Statement implements java.sql.Statement {
     public int getUpdateCount() throws SQLException {
         log.debug("getUpdateCount called");
         checkClosed();
+        if (this.pipelinedUpdate != null) {
+            this.connection.awaitPipelinedUpdates();
+            OpResult result = UpdatePipeline.await(this.pipelinedUpdate);
+            this.pipelinedUpdate = null;
+            this.lastUpdateCount = deserialize(result.getValue(), Integer.class);
+        }
         return this.lastUpdateCount;
     }
 
@@ -214,28 +282,38 @@ public class Statement implements java.sql.Statement {
     public void setFetchDirection(int direction) throws SQLException {
         log.debug("setFetchDirection: {}", direction);
         checkClosed();
-        this.callProxy(CallType.CALL_SET, "FetchDirection", Void.class, Arrays.asList(direction));
+        if (direction != java.sql.ResultSet.FETCH_FORWARD && direction != java.sql.ResultSet.FETCH_REVERSE &&
+                direction != java.sql.ResultSet.FETCH_UNKNOWN) {
+            throw new SQLException("Invalid fetch direction: " + direction);
+        }
+        this.putSetting("FetchDirection", direction);
     }
 
     @Override
     public int getFetchDirection() throws SQLException {
         log.debug("getFetchDirection called");
         checkClosed();
-        return this.callProxy(CallType.CALL_GET, "FetchDirection", Integer.class);
+        return (Integer) this.settings.getOrDefault("FetchDirection", java.sql.ResultSet.FETCH_FORWARD);
     }
 
     @Override
     public void setFetchSize(int rows) throws SQLException {
         log.debug("setFetchSize: {}", rows);
         checkClosed();
-        this.callProxy(CallType.CALL_SET, "FetchSize", Void.class, Arrays.asList(rows));
+        checkNotNegative("FetchSize", rows);
+        //Checked here as databases such as H2 reject it, otherwise the next call would fail when the server applies it.
+        int maxRows = this.getMaxRows();
+        if (maxRows > 0 && rows > maxRows) {
+            throw new SQLException("FetchSize must be <= MaxRows " + maxRows + ", was " + rows);
+        }
+        this.putSetting("FetchSize", rows);
     }
 
     @Override
     public int getFetchSize() throws SQLException {
         log.debug("getFetchSize called");
         checkClosed();
-        return this.callProxy(CallType.CALL_GET, "FetchSize", Integer.class);
+        return (Integer) this.settings.getOrDefault("FetchSize", 0);
     }
 
     @Override
@@ -291,6 +369,9 @@ public class Statement implements java.sql.Statement {
     public RemoteProxyResultSet getGeneratedKeys() throws SQLException {
         log.debug("getGeneratedKeys called");
         checkClosed();
+        if (!this.generatedKeys.isEmpty()) {
+            return this.localGeneratedKeys();
+        }
         String resultSetUUID = this.callProxy(CallType.CALL_GET, "GeneratedKeys", String.class);
         return new RemoteProxyResultSet(resultSetUUID, this.statementService, this.connection, this);
     }
@@ -411,7 +492,7 @@ public class Statement implements java.sql.Statement {
     public long getLargeUpdateCount() throws SQLException {
         log.debug("getLargeUpdateCount called");
         checkClosed();
-        return this.callProxy(CallType.CALL_GET, "LargeUpdateCount", Long.class);
+        return this.getUpdateCount();
     }
 
     @Override
@@ -466,8 +547,22 @@ public class Statement implements java.sql.Statement {
                 Arrays.asList(sql, columnNames));
     }
 
-    private CallResourceRequest.Builder newCallBuilder() {
+    /**
+     * Keeps a setter to be applied by the server along with the next call, no call is made to the server for it.
+     */
+    private void putSetting(String name, Object value) {
+        this.settings.put(name, value);
+    }
+
+    private static void checkNotNegative(String name, int value) throws SQLException {
+        if (value < 0) {
+            throw new SQLException(name + " must be >= 0, was " + value);
+        }
+    }
+
+    private CallResourceRequest.Builder newCallBuilder() throws SQLException {
         log.debug("newCallBuilder called");
+        this.connection.startPendingTransaction();
         CallResourceRequest.Builder builder = CallResourceRequest.newBuilder()
                 .setSession(this.connection.getSession())
                 .setResourceType(this.resourceType);
@@ -475,11 +570,40 @@ public class Statement implements java.sql.Statement {
             builder.setResourceUUID(this.statementUUID);
         }
         if (this.properties != null) {
-            builder.setProperties(ByteString.copyFrom(serialize(this.properties)));
+            builder.setProperties(serializeToByteString(this.properties));
+        }
+        Map<String, Object> connectionSettings = this.connection.takeSettings();
+        if (!connectionSettings.isEmpty()) {
+            builder.setConnectionSettings(serializeToByteString(connectionSettings));
+        }
+        if (!this.settings.isEmpty()) {
+            builder.setStatementSettings(serializeToByteString(this.settings));
         }
         return builder;
     }
 
+    /**
+     * Builds a local result set from the generated keys returned with the last execution, reading them does not call
+     * the server.
+     */
+    protected ResultSet localGeneratedKeys() throws SQLException {
+        OpResult opResult = OpResult.newBuilder()
+                .setSession(this.connection.getSession())
+                .setType(ResultType.RESULT_SET_DATA)
+                .setValue(this.generatedKeys)
+                .build();
+        return new ResultSet(List.of(opResult).iterator(), this.statementService, this);
+    }
+
+    /**
+     * Statement descriptions cached for the connection hash are dropped when the schema changes.
+     */
+    protected void invalidateDescriptionsOnDdl(String sql) {
+        if (DatabaseUtils.isDdl(sql)) {
+            this.connection.getDatabaseMetaDataCache().invalidateDescriptions();
+        }
+    }
+
     private <T> T callProxy(CallType callType, String targetName, Class<?> returnType) throws SQLException {
         log.debug("callProxy: {}, {}, {}", callType, targetName, returnType);
         return this.callProxy(callType, targetName, returnType, Constants.EMPTY_OBJECT_LIST);
@@ -487,22 +611,29 @@ public class Statement implements java.sql.Statement {
 
     private <T> T callProxy(CallType callType, String targetName, Class<?> returnType, List<Object> params) throws SQLException {
         log.debug("callProxy: {}, {}, {}, params.size={}", callType, targetName, returnType, params != null ? params.size() : 0);
+        if (CallType.CALL_EXECUTE.equals(callType) && params != null && !params.isEmpty() &&
+                params.get(0) instanceof String) {
+            this.invalidateDescriptionsOnDdl((String) params.get(0));
+        }
         CallResourceRequest.Builder reqBuilder = this.newCallBuilder();
         reqBuilder.setTarget(
                 TargetCall.newBuilder()
                         .setCallType(callType)
                         .setResourceName(targetName)
-                        .setParams(ByteString.copyFrom(serialize(params)))
+                        .setParams(serializeToByteString(params))
                         .build()
         );
         CallResourceResponse response = this.statementService.callResource(reqBuilder.build());
         this.connection.setSession(response.getSession());
+        if (CallType.CALL_EXECUTE.equals(callType)) {
+            this.generatedKeys = response.getGeneratedKeys();
+        }
         if (this.statementUUID == null && !response.getResourceUUID().isBlank()) {
             this.statementUUID = response.getResourceUUID();
         }
         if (Void.class.equals(returnType)) {
             return null;
         }
-        return (T) deserialize(response.getValues().toByteArray(), returnType);
+        return (T) deserialize(response.getValues(), returnType);
     }
 }
\ No newline at end of file
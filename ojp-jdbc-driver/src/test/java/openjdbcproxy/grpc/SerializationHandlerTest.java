@@ -1,11 +1,16 @@
 package openjdbcproxy.grpc;
 
+import com.google.protobuf.ByteString;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
 import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 
 public class SerializationHandlerTest {
     @Test
@@ -27,4 +32,21 @@ public class SerializationHandlerTest {
         }
         assertNotEquals(eOriginal, eDeserialized);
     }
+
+    @Test
+    public void serializeDeserializeByteStringSuccessful() {
+        //FOR
+        List<Object> original = Arrays.asList("value", 1, 2L, new byte[]{1, 2, 3});
+
+        //WHEN
+        ByteString byteString = serializeToByteString(original);
+        List<Object> deserialized = deserialize(byteString, List.class);
+
+        //THEN
+        assertEquals(serialize(original).length, byteString.size());
+        assertEquals(original.get(0), deserialized.get(0));
+        assertEquals(original.get(1), deserialized.get(1));
+        assertEquals(original.get(2), deserialized.get(2));
+        assertEquals(3, ((byte[]) deserialized.get(3)).length);
+    }
 }
@@ -0,0 +1,75 @@
+package openjdbcproxy.jdbc;
+
+import openjdbcproxy.jdbc.testutil.TestDBUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class H2CallableStatementTests {
+
+    private Connection connection;
+    private CallableStatement callableStatement;
+
+    public void setUp(String driverClass, String url, String user, String password) throws Exception {
+        connection = DriverManager.getConnection(url, user, password);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        TestDBUtils.closeQuietly(callableStatement, connection);
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testOutParameter(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        callableStatement = connection.prepareCall("{? = CALL ABS(?)}");
+        callableStatement.registerOutParameter(1, Types.INTEGER);
+        callableStatement.setInt(2, -5);
+        callableStatement.execute();
+
+        assertEquals(5, callableStatement.getInt(1));
+        assertFalse(callableStatement.wasNull());
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testNullOutParameter(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        callableStatement = connection.prepareCall("{? = CALL NULLIF(?, ?)}");
+        callableStatement.registerOutParameter(1, Types.INTEGER);
+        callableStatement.setInt(2, 3);
+        callableStatement.setInt(3, 3);
+        callableStatement.execute();
+
+        assertEquals(0, callableStatement.getInt(1));
+        assertTrue(callableStatement.wasNull());
+        assertNull(callableStatement.getObject(1));
+        assertTrue(callableStatement.wasNull());
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testExecutedAgainWithOtherParameters(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        callableStatement = connection.prepareCall("{? = CALL ABS(?)}");
+        callableStatement.registerOutParameter(1, Types.INTEGER);
+        callableStatement.setInt(2, -5);
+        callableStatement.execute();
+        assertEquals(5, callableStatement.getInt(1));
+
+        callableStatement.setInt(2, -8);
+        callableStatement.execute();
+        assertEquals(8, callableStatement.getInt(1));
+    }
+}
@@ -92,6 +92,23 @@ public class H2ConnectionExtensiveTests {
         assertEquals(true, rs.next());
     }
 
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testRollbackAfterFailedFirstStatement(String driverClass, String url, String user, String password) throws SQLException {
+        this.setUp(driverClass, url, user, password);
+        TestDBUtils.createBasicTestTable(connection, "h2_connection_test", TestDBUtils.SqlSyntax.H2, true);
+        connection.setAutoCommit(false);
+
+        assertThrows(SQLException.class, () ->
+                connection.createStatement().execute("INSERT INTO h2_missing_table (id) VALUES (1)"));
+        connection.createStatement().execute("INSERT INTO h2_connection_test (id, name) VALUES (3, 'Charlie')");
+        connection.rollback();
+
+        ResultSet rs = connection.createStatement().executeQuery("SELECT * FROM h2_connection_test WHERE id = 3");
+        assertEquals(false, rs.next());
+        connection.setAutoCommit(true);
+    }
+
     @ParameterizedTest
     @CsvFileSource(resources = "/h2_connection.csv")
     public void testSavepoints(String driverClass, String url, String user, String password) throws SQLException {
@@ -185,6 +185,30 @@ public class H2PreparedStatementExtensiveTests {
         assertNull(ps.getWarnings());
     }
 
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testMetaDataDescribedAgainAfterDdl(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        String sql = "SELECT * FROM h2_prepared_stmt_test WHERE id = ?";
+
+        ps = connection.prepareStatement(sql);
+        assertEquals(6, ps.getMetaData().getColumnCount());
+        assertEquals(1, ps.getParameterMetaData().getParameterCount());
+        ps.close();
+        ps = connection.prepareStatement(sql);
+        assertEquals(6, ps.getMetaData().getColumnCount());
+        ps.close();
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE h2_prepared_stmt_test ADD COLUMN extra VARCHAR(10)");
+        }
+
+        ps = connection.prepareStatement(sql);
+        ResultSetMetaData resultSetMetaData = ps.getMetaData();
+        assertEquals(7, resultSetMetaData.getColumnCount());
+        assertEquals("EXTRA", resultSetMetaData.getColumnLabel(7));
+    }
+
     @ParameterizedTest
     @CsvFileSource(resources = "/h2_connection.csv")
     public void testStatementCommonMethods(String driverClass, String url, String user, String password) throws Exception {
@@ -194,7 +218,7 @@ public class H2PreparedStatementExtensiveTests {
         // Field size and max rows
         assertEquals(0, ps.getMaxFieldSize());
         ps.setMaxFieldSize(128);
-        assertEquals(0, ps.getMaxFieldSize());
+        assertEquals(128, ps.getMaxFieldSize());
 
         assertEquals(0, ps.getMaxRows());
         ps.setMaxRows(10);
@@ -209,7 +233,7 @@ public class H2PreparedStatementExtensiveTests {
         ps.setFetchDirection(ResultSet.FETCH_FORWARD);
         assertEquals(ResultSet.FETCH_FORWARD, ps.getFetchDirection());
         assertThrows(Exception.class, () -> { ps.setFetchSize(50); });
-        assertEquals(100, ps.getFetchSize());
+        assertEquals(0, ps.getFetchSize());
 
         assertTrue(ps.getResultSetConcurrency() >= 0);
         assertTrue(ps.getResultSetType() >= 0);
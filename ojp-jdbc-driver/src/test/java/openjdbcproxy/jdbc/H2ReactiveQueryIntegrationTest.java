@@ -0,0 +1,124 @@
+package openjdbcproxy.jdbc;
+
+import openjdbcproxy.jdbc.testutil.TestDBUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+import org.openjdbcproxy.jdbc.RowBatch;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class H2ReactiveQueryIntegrationTest {
+
+    private static final int TOTAL_RECORDS = 250;
+
+    private Connection connection;
+
+    public void setUp(String driverClass, String url, String user, String password) throws Exception {
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS h2_reactive_test");
+            statement.execute("CREATE TABLE h2_reactive_test (id INT PRIMARY KEY, name VARCHAR(50))");
+            for (int i = 0; i < TOTAL_RECORDS; i++) {
+                statement.executeUpdate("INSERT INTO h2_reactive_test (id, name) VALUES (" + i + ", 'NAME_" + i + "')");
+            }
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        TestDBUtils.closeQuietly(connection);
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testRowsPublishedInBatches(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        connection.unwrap(org.openjdbcproxy.jdbc.Connection.class)
+                .executeQueryReactive("SELECT id, name FROM h2_reactive_test ORDER BY id", null)
+                .subscribe(subscriber);
+
+        assertTrue(subscriber.done.await(30, TimeUnit.SECONDS));
+        assertNull(subscriber.failure);
+        assertTrue(subscriber.batches.size() > 1);
+        assertEquals(Arrays.asList("ID", "NAME"), subscriber.batches.get(0).getLabels());
+        List<Object[]> rows = subscriber.rows();
+        assertEquals(TOTAL_RECORDS, rows.size());
+        for (int i = 0; i < TOTAL_RECORDS; i++) {
+            assertEquals(i, rows.get(i)[0]);
+            assertEquals("NAME_" + i, rows.get(i)[1]);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testRowsPublishedWithParameters(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+
+        connection.unwrap(org.openjdbcproxy.jdbc.Connection.class)
+                .executeQueryReactive("SELECT id FROM h2_reactive_test WHERE id >= ? ORDER BY id", Arrays.asList(200))
+                .subscribe(subscriber);
+
+        assertTrue(subscriber.done.await(30, TimeUnit.SECONDS));
+        assertNull(subscriber.failure);
+        List<Object[]> rows = subscriber.rows();
+        assertEquals(TOTAL_RECORDS - 200, rows.size());
+        assertEquals(200, rows.get(0)[0]);
+    }
+
+    /**
+     * Requests one batch at a time, the next one once the previous one is received.
+     */
+    private static class CollectingSubscriber implements Flow.Subscriber<RowBatch> {
+        private final List<RowBatch> batches = new ArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Throwable failure;
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(RowBatch batch) {
+            batches.add(batch);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        private List<Object[]> rows() {
+            List<Object[]> rows = new ArrayList<>();
+            for (RowBatch batch : batches) {
+                rows.addAll(batch.getRows());
+            }
+            return rows;
+        }
+    }
+}
@@ -74,7 +74,24 @@ public class H2StatementExtensiveTests {
         this.setUp(driverClass, url, user, password);
         int orig = statement.getMaxFieldSize();
         statement.setMaxFieldSize(orig + 1);
-        assertEquals(0, statement.getMaxFieldSize());
+        assertEquals(orig + 1, statement.getMaxFieldSize());
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testStatementsClosedWithResultSetsNotRead(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        for (int i = 0; i < 50; i++) {
+            Statement otherStatement = connection.createStatement();
+            ResultSet rs = otherStatement.executeQuery("SELECT * FROM h2_statement_test");
+            assertTrue(rs.next());
+            otherStatement.close();
+        }
+
+        ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM h2_statement_test");
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+        rs.close();
     }
 
     @ParameterizedTest
@@ -99,6 +116,33 @@ public class H2StatementExtensiveTests {
         rs.close();
     }
 
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testMaxRowsSetAfterExecution(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        ResultSet rs = statement.executeQuery("SELECT * FROM h2_statement_test");
+        assertTrue(rs.next());
+        assertTrue(rs.next());
+        rs.close();
+
+        statement.setMaxRows(1);
+        assertEquals(1, statement.getMaxRows());
+        rs = statement.executeQuery("SELECT * FROM h2_statement_test");
+        assertTrue(rs.next());
+        assertFalse(rs.next());
+        rs.close();
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_connection.csv")
+    public void testQueryTimeoutSetAfterExecution(String driverClass, String url, String user, String password) throws Exception {
+        this.setUp(driverClass, url, user, password);
+        statement.executeQuery("SELECT * FROM h2_statement_test").close();
+
+        statement.setQueryTimeout(7);
+        assertEquals(7, statement.getQueryTimeout());
+    }
+
     @ParameterizedTest
     @CsvFileSource(resources = "/h2_connection.csv")
     public void testEscapeProcessing(String driverClass, String url, String user, String password) throws Exception {
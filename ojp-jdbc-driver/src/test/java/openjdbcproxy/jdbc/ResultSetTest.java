@@ -144,6 +144,50 @@ public class ResultSetTest {
         assertEquals("David", resultSet.getString("name"));
     }
 
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_postgres_connections.csv")
+    public void testUpdateAndDeleteRowSeenRightAwayInAutoCommit(String driverClass, String url, String user, String pwd) throws SQLException {
+        setUp(driverClass, url, user, pwd);
+        assertTrue(resultSet.absolute(2));
+        resultSet.updateString("name", "Robert");
+        resultSet.updateRow();
+        assertTrue(resultSet.absolute(3));
+        resultSet.deleteRow();
+
+        try (Statement otherStatement = connection.createStatement();
+             ResultSet rs = otherStatement.executeQuery("SELECT id, name FROM resultset_test_table ORDER BY id")) {
+            assertTrue(rs.next());
+            assertEquals("Alice", rs.getString("name"));
+            assertTrue(rs.next());
+            assertEquals("Robert", rs.getString("name"));
+            assertFalse(rs.next());
+        }
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_postgres_connections.csv")
+    public void testRowChangesOfTransactionSeenBeforeNextStatement(String driverClass, String url, String user, String pwd) throws SQLException {
+        setUp(driverClass, url, user, pwd);
+        connection.setAutoCommit(false);
+        assertTrue(resultSet.first());
+        resultSet.updateInt("age", 31);
+        resultSet.updateRow();
+
+        try (Statement otherStatement = connection.createStatement();
+             ResultSet rs = otherStatement.executeQuery("SELECT age FROM resultset_test_table WHERE id = 1")) {
+            assertTrue(rs.next());
+            assertEquals(31, rs.getInt("age"));
+        }
+        connection.rollback();
+
+        try (Statement otherStatement = connection.createStatement();
+             ResultSet rs = otherStatement.executeQuery("SELECT age FROM resultset_test_table WHERE id = 1")) {
+            assertTrue(rs.next());
+            assertEquals(30, rs.getInt("age"));
+        }
+        connection.setAutoCommit(true);
+    }
+
     @ParameterizedTest
     @CsvFileSource(resources = "/h2_postgres_connections.csv")
     public void testCursorPositionMethods(String driverClass, String url, String user, String pwd) throws SQLException {
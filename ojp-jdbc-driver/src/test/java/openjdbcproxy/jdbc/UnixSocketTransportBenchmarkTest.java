@@ -0,0 +1,94 @@
+package openjdbcproxy.jdbc;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Compares the latency and the client CPU of small queries sent over TCP loopback and over a unix domain socket to the
+ * same OJP server. Requires the server started with -Dojp.server.unixSocketPath=/tmp/ojp.sock in Linux.
+ */
+public class UnixSocketTransportBenchmarkTest {
+    private static final int WARMUP_QUERIES = 2000;
+    private static final int MEASURED_QUERIES = 20000;
+
+    private static boolean isTestDisabled;
+
+    @BeforeAll
+    public static void checkTestConfiguration() {
+        isTestDisabled = !Boolean.parseBoolean(System.getProperty("enableUnixSocketTests", "false"));
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @CsvFileSource(resources = "/h2_unix_socket_connection.csv")
+    public void compareTransports(String driverClass, String tcpUrl, String unixSocketUrl, String user,
+                                  String password) {
+        assumeFalse(isTestDisabled, "Unix socket tests are disabled");
+
+        Result tcp = this.run(tcpUrl, user, password);
+        Result unixSocket = this.run(unixSocketUrl, user, password);
+
+        System.out.println("\n=== TRANSPORT REPORT (" + MEASURED_QUERIES + " queries) ===");
+        System.out.println("Transport    | p50 (us) | p99 (us) | client CPU per query (us)");
+        System.out.printf("TCP loopback | %8.1f | %8.1f | %8.1f\n", tcp.p50Micros, tcp.p99Micros, tcp.cpuMicros);
+        System.out.printf("Unix socket  | %8.1f | %8.1f | %8.1f\n", unixSocket.p50Micros, unixSocket.p99Micros,
+                unixSocket.cpuMicros);
+        assertTrue(unixSocket.p50Micros > 0);
+    }
+
+    private Result run(String url, String user, String password) throws Exception {
+        try (Connection conn = DriverManager.getConnection(url, user, password);
+             PreparedStatement ps = conn.prepareStatement("SELECT ?")) {
+            for (int i = 0; i < WARMUP_QUERIES; i++) {
+                this.query(ps, i);
+            }
+            com.sun.management.OperatingSystemMXBean os =
+                    (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+            long[] durations = new long[MEASURED_QUERIES];
+            long cpuStart = os.getProcessCpuTime();
+            for (int i = 0; i < MEASURED_QUERIES; i++) {
+                long start = System.nanoTime();
+                this.query(ps, i);
+                durations[i] = System.nanoTime() - start;
+            }
+            long cpuNanos = os.getProcessCpuTime() - cpuStart;
+            Arrays.sort(durations);
+            return new Result(durations[MEASURED_QUERIES / 2] / 1000.0,
+                    durations[(int) (MEASURED_QUERIES * 0.99)] / 1000.0,
+                    cpuNanos / 1000.0 / MEASURED_QUERIES);
+        }
+    }
+
+    private void query(PreparedStatement ps, int value) throws Exception {
+        ps.setInt(1, value);
+        try (ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+            assertEquals(value, rs.getInt(1));
+        }
+    }
+
+    private static class Result {
+        private final double p50Micros;
+        private final double p99Micros;
+        private final double cpuMicros;
+
+        Result(double p50Micros, double p99Micros, double cpuMicros) {
+            this.p50Micros = p50Micros;
+            this.p99Micros = p99Micros;
+            this.cpuMicros = cpuMicros;
+        }
+    }
+}
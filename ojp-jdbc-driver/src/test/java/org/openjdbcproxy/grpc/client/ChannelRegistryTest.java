@@ -0,0 +1,46 @@
+package org.openjdbcproxy.grpc.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests that the channels are opened once per target and that calls are spread over the channels of a target.
+ */
+public class ChannelRegistryTest {
+
+    @Test
+    public void testTargetParsedFromUrl() {
+        assertEquals("dns:///db-proxy:1060", ChannelRegistry.target("jdbc:ojp[db-proxy:1060]_h2:~/test"));
+        assertEquals("dns:///localhost:1059", ChannelRegistry.target("jdbc:ojp[localhost]_postgresql://db/test"));
+        assertThrows(RuntimeException.class, () -> ChannelRegistry.target("jdbc:h2:~/test"));
+        assertEquals(Arrays.asList("dns:///h1:1059", "dns:///h2:1060", "dns:///h3:1059"),
+                ChannelRegistry.targets("jdbc:ojp[h1:1059, h2:1060,h3]_h2:~/test"));
+        assertEquals("unix:/var/run/ojp.sock", ChannelRegistry.target("jdbc:ojp[unix:/var/run/ojp.sock]_h2:~/test"));
+        assertEquals("inprocess:ojp", ChannelRegistry.target("jdbc:ojp[inprocess:ojp]_h2:mem:test"));
+    }
+
+    @Test
+    public void testChannelsSharedPerTarget() {
+        ChannelRegistry registry = new ChannelRegistry(3);
+        ChannelRegistry.TargetChannels first = registry.channels("dns:///first:1059");
+        ChannelRegistry.TargetChannels second = registry.channels("dns:///second:1059");
+
+        assertSame(first, registry.channels("dns:///first:1059"));
+        assertFalse(first == second);
+        assertEquals("dns:///second:1059", second.getTarget());
+
+        Set<Object> stubs = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            stubs.add(first.blockingStub());
+        }
+        assertEquals(3, stubs.size());
+    }
+}
@@ -0,0 +1,104 @@
+package org.openjdbcproxy.grpc.client;
+
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.services.HealthStatusManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the choice of the server of new connections among the servers of a url.
+ */
+public class LoadBalancerTest {
+
+    @Test
+    public void testRoundRobinSkipsEjectedServers() {
+        ChannelRegistry registry = new ChannelRegistry(1, 60000);
+        ChannelRegistry.TargetChannels h1 = registry.channels("dns:///h1:1059");
+        ChannelRegistry.TargetChannels h2 = registry.channels("dns:///h2:1059");
+        ChannelRegistry.TargetChannels h3 = registry.channels("dns:///h3:1059");
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(h1, h2, h3), LoadBalancer.Policy.ROUND_ROBIN);
+
+        assertSame(h1, loadBalancer.select());
+        assertSame(h2, loadBalancer.select());
+        assertSame(h3, loadBalancer.select());
+
+        h2.callStarted();
+        h2.callClosed(Status.UNAVAILABLE);
+        assertFalse(h2.isAvailable());
+        for (int i = 0; i < 4; i++) {
+            assertFalse(h2 == loadBalancer.select());
+        }
+    }
+
+    @Test
+    public void testLeastOutstandingServerSelected() {
+        ChannelRegistry registry = new ChannelRegistry(1, 60000);
+        ChannelRegistry.TargetChannels h1 = registry.channels("dns:///h1:1059");
+        ChannelRegistry.TargetChannels h2 = registry.channels("dns:///h2:1059");
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(h1, h2), LoadBalancer.Policy.LEAST_OUTSTANDING);
+
+        h1.callStarted();
+        h1.callStarted();
+        h2.callStarted();
+        assertSame(h2, loadBalancer.select());
+        assertSame(h2, loadBalancer.select());
+
+        h1.callClosed(Status.OK);
+        h1.callClosed(Status.OK);
+        assertEquals(0, h1.getOutstandingCalls());
+        assertSame(h1, loadBalancer.select());
+    }
+
+    @Test
+    public void testEveryServerEjectedStillSelected() {
+        ChannelRegistry registry = new ChannelRegistry(1, 60000);
+        ChannelRegistry.TargetChannels h1 = registry.channels("dns:///h1:1059");
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(h1), LoadBalancer.Policy.ROUND_ROBIN);
+
+        h1.eject();
+
+        assertFalse(h1.isAvailable());
+        assertSame(h1, loadBalancer.select());
+        assertTrue(new ChannelRegistry(1, 0).channels("dns:///h2:1059").isAvailable());
+    }
+
+    @Test
+    public void testServerNotServingEjected() throws Exception {
+        String name = "load-balancer-" + UUID.randomUUID();
+        HealthStatusManager health = new HealthStatusManager();
+        Server server = InProcessServerBuilder.forName(name)
+                .addService(health.getHealthService())
+                .build()
+                .start();
+        try {
+            ChannelRegistry.TargetChannels target = new ChannelRegistry(1, 60000).channels("inprocess:" + name);
+            health.setStatus("", HealthCheckResponse.ServingStatus.SERVING);
+            target.checkHealth();
+            assertTrue(target.isAvailable());
+
+            health.setStatus("", HealthCheckResponse.ServingStatus.NOT_SERVING);
+            //The first check may find the channel still connecting.
+            for (int i = 0; i < 100 && target.isAvailable(); i++) {
+                target.checkHealth();
+                Thread.sleep(10);
+            }
+            assertFalse(target.isAvailable());
+
+            health.setStatus("", HealthCheckResponse.ServingStatus.SERVING);
+            target.checkHealth();
+            assertTrue(target.isAvailable());
+        } finally {
+            server.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.openjdbcproxy.grpc.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the delay before hedging a query and the budget limiting the hedges.
+ */
+public class QueryHedgerTest {
+
+    @Test
+    public void testDelayIsThe95thPercentile() {
+        QueryHedger hedger = new QueryHedger(null, 5, 0);
+        for (int i = 1; i < 20; i++) {
+            hedger.recordLatency(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(-1, hedger.hedgeDelayNanos());
+
+        hedger.recordLatency(TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(19), hedger.hedgeDelayNanos());
+    }
+
+    @Test
+    public void testDelayIsAtLeastTheMinimum() {
+        QueryHedger hedger = new QueryHedger(null, 5, 10);
+        for (int i = 0; i < 20; i++) {
+            hedger.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), hedger.hedgeDelayNanos());
+    }
+
+    @Test
+    public void testBudgetLimitsHedges() {
+        QueryHedger hedger = new QueryHedger(null, 50, 0);
+        assertFalse(hedger.takeBudget());
+        hedger.addBudget();
+        assertFalse(hedger.takeBudget());
+        hedger.addBudget();
+        assertTrue(hedger.takeBudget());
+        assertFalse(hedger.takeBudget());
+    }
+}
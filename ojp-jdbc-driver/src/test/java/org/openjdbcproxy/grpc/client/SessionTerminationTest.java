@@ -0,0 +1,119 @@
+package org.openjdbcproxy.grpc.client;
+
+import com.openjdbcproxy.grpc.ReleaseResourcesRequest;
+import com.openjdbcproxy.grpc.ReleaseResourcesResponse;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.StatementServiceGrpc;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests the sessions of closed connections are terminated in batches, one release in flight at a time.
+ */
+public class SessionTerminationTest {
+
+    private final BlockingQueue<Release> releases = new LinkedBlockingQueue<>();
+    private Server server;
+    private StatementServiceGrpcClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        String name = "session-termination-" + UUID.randomUUID();
+        this.server = InProcessServerBuilder.forName(name)
+                .addService(new StatementServiceGrpc.StatementServiceImplBase() {
+                    @Override
+                    public void releaseResources(ReleaseResourcesRequest request,
+                                                 StreamObserver<ReleaseResourcesResponse> responseObserver) {
+                        releases.add(new Release(request, responseObserver));
+                    }
+                })
+                .build()
+                .start();
+        this.client = new StatementServiceGrpcClient(new ChannelRegistry(1).channels("inprocess:" + name));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.shutdownNow();
+    }
+
+    @Test
+    public void testSessionsClosedMeanwhileGoInTheNextRelease() throws Exception {
+        this.client.terminateSession(session("s1"));
+        Release first = this.nextRelease();
+        assertEquals(List.of("s1"), first.sessionUUIDs());
+
+        this.client.terminateSession(session("s2"));
+        this.client.terminateSession(session("s3"));
+        assertNull(this.releases.poll(200, TimeUnit.MILLISECONDS));
+
+        first.complete();
+        Release second = this.nextRelease();
+        assertEquals(List.of("s2", "s3"), second.sessionUUIDs());
+
+        second.complete();
+        this.client.terminateSession(session("s4"));
+        assertEquals(List.of("s4"), this.nextRelease().sessionUUIDs());
+    }
+
+    @Test
+    public void testFailedReleaseDoesNotHoldBackTheNextOne() throws Exception {
+        this.client.terminateSession(session("s1"));
+        Release first = this.nextRelease();
+        this.client.terminateSession(session("s2"));
+
+        first.fail();
+        assertEquals(List.of("s2"), this.nextRelease().sessionUUIDs());
+    }
+
+    private Release nextRelease() throws InterruptedException {
+        Release release = this.releases.poll(5, TimeUnit.SECONDS);
+        assertNotNull(release);
+        return release;
+    }
+
+    private static SessionInfo session(String sessionUUID) {
+        return SessionInfo.newBuilder().setSessionUUID(sessionUUID).build();
+    }
+
+    private static class Release {
+        private final ReleaseResourcesRequest request;
+        private final StreamObserver<ReleaseResourcesResponse> responseObserver;
+
+        Release(ReleaseResourcesRequest request, StreamObserver<ReleaseResourcesResponse> responseObserver) {
+            this.request = request;
+            this.responseObserver = responseObserver;
+        }
+
+        List<String> sessionUUIDs() {
+            return this.request.getTerminatedSessionsList().stream()
+                    .map(SessionInfo::getSessionUUID)
+                    .collect(Collectors.toList());
+        }
+
+        void complete() {
+            this.responseObserver.onNext(ReleaseResourcesResponse.getDefaultInstance());
+            this.responseObserver.onCompleted();
+        }
+
+        void fail() {
+            this.responseObserver.onError(Status.INTERNAL.withDescription("release failed").asRuntimeException());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.CallResourceRequest;
+import com.openjdbcproxy.grpc.CallResourceResponse;
+import com.openjdbcproxy.grpc.CallType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.client.StatementService;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests that a callable statement sends its parameters along with the execution and reads the OUT parameters returned
+ * with it without calling the server again.
+ */
+public class CallableStatementTest {
+
+    @Test
+    public void testSingleCallExecution() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        Map<Object, Object> outParameters = new HashMap<>();
+        outParameters.put(2, 42L);
+        outParameters.put(3, null);
+        StatementService statementService = fakeService(calls, outParameters);
+        Connection connection = new Connection(newSession(), statementService, null);
+        CallableStatement cs = new CallableStatement(connection, statementService, "cs-1");
+
+        cs.setString(1, "in");
+        cs.registerOutParameter(2, Types.BIGINT);
+        cs.registerOutParameter(3, Types.VARCHAR);
+        assertTrue(calls.isEmpty());
+
+        assertEquals(0, cs.executeUpdate());
+        assertEquals(42, cs.getInt(2));
+        assertFalse(cs.wasNull());
+        assertNull(cs.getString(3));
+        assertTrue(cs.wasNull());
+
+        assertEquals(1, calls.size());
+        CallResourceRequest execute = calls.get(0);
+        assertEquals(CallType.CALL_EXECUTE, execute.getTarget().getCallType());
+        assertEquals(3, execute.getPendingCallsCount());
+        assertEquals(CallType.CALL_SET, execute.getPendingCalls(0).getCallType());
+        Map<String, Object> properties = deserialize(execute.getProperties(), Map.class);
+        assertEquals(List.of(2, 3), properties.get(CommonConstants.CALLABLE_STATEMENT_OUT_PARAMETERS_KEY));
+    }
+
+    @Test
+    public void testOutParameterNotReturnedReadFromServer() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        StatementService statementService = fakeService(calls, new HashMap<>());
+        Connection connection = new Connection(newSession(), statementService, null);
+        CallableStatement cs = new CallableStatement(connection, statementService, "cs-1");
+
+        cs.registerOutParameter(1, Types.CLOB);
+        cs.execute();
+        assertEquals("remote", cs.getString(1));
+
+        assertEquals(2, calls.size());
+        assertEquals(CallType.CALL_GET, calls.get(1).getTarget().getCallType());
+        assertEquals(0, calls.get(1).getPendingCallsCount());
+    }
+
+    @Test
+    public void testWasNullAskedToServerAfterRemoteGet() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        Map<Object, Object> outParameters = new HashMap<>();
+        outParameters.put(1, null);
+        outParameters.put(2, "local");
+        StatementService statementService = fakeService(calls, outParameters);
+        Connection connection = new Connection(newSession(), statementService, null);
+        CallableStatement cs = new CallableStatement(connection, statementService, "cs-1");
+
+        cs.registerOutParameter(1, Types.VARCHAR);
+        cs.registerOutParameter(2, Types.NVARCHAR);
+        cs.execute();
+        assertNull(cs.getString(1));
+        assertTrue(cs.wasNull());
+
+        //Read by the server, the null flag of the previous local read no longer applies.
+        assertEquals("remote", cs.getNString(2));
+        assertFalse(cs.wasNull());
+
+        assertEquals(3, calls.size());
+        assertEquals(CallType.CALL_GET, calls.get(1).getTarget().getCallType());
+        assertEquals(CallType.CALL_WAS, calls.get(2).getTarget().getCallType());
+    }
+
+    private static SessionInfo newSession() {
+        return SessionInfo.newBuilder().setConnHash("callable-hash").setSessionUUID("session-1").build();
+    }
+
+    /**
+     * Answers executions with the OUT parameters given, wasNull with false and any other call with the string "remote".
+     */
+    private static StatementService fakeService(List<CallResourceRequest> calls, Map<Object, Object> outParameters) {
+        return new FakeStatementService()
+                .onCallResource(request -> {
+                    calls.add(request);
+                    if (CallType.CALL_EXECUTE.equals(request.getTarget().getCallType())) {
+                        CallResourceResponse response = FakeStatementService.response(request,
+                                "Update".equals(request.getTarget().getResourceName()) ? (Object) 0 : false);
+                        if (outParameters.isEmpty()) {
+                            return response;
+                        }
+                        return response.toBuilder()
+                                .setOutParameters(serializeToByteString(outParameters))
+                                .build();
+                    }
+                    if (CallType.CALL_WAS.equals(request.getTarget().getCallType())) {
+                        return FakeStatementService.response(request, false);
+                    }
+                    return FakeStatementService.response(request, "remote");
+                })
+                .build();
+    }
+}
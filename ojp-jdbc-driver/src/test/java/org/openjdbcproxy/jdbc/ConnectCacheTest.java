@@ -0,0 +1,108 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.ConnectionDetails;
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.SqlErrorResponse;
+import com.openjdbcproxy.grpc.StatementRequest;
+import com.openjdbcproxy.grpc.StatementServiceGrpc;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests the cache of connection hashes used to open connections without calling the server.
+ */
+public class ConnectCacheTest {
+
+    private static final String URL = "jdbc:ojp[localhost:1059]_h2:mem:test";
+
+    @Test
+    public void testKeyFingerprintsCredentials() {
+        String key = ConnectCache.key(URL, "sa", "secret");
+        assertEquals(key, ConnectCache.key(URL, "sa", "secret"));
+        assertFalse(key.equals(ConnectCache.key(URL, "sa", "other")));
+        assertFalse(key.contains("secret"));
+    }
+
+    @Test
+    public void testUnknownConnHashConnectsAgainAndRetries() throws Exception {
+        String name = "connect-cache-" + UUID.randomUUID();
+        Set<String> knownHashes = ConcurrentHashMap.newKeySet();
+        AtomicInteger connects = new AtomicInteger();
+        List<String> updateHashes = new CopyOnWriteArrayList<>();
+        Server server = InProcessServerBuilder.forName(name)
+                .addService(new StatementServiceGrpc.StatementServiceImplBase() {
+                    @Override
+                    public void connect(ConnectionDetails request, StreamObserver<SessionInfo> responseObserver) {
+                        String connHash = "hash-" + connects.incrementAndGet();
+                        knownHashes.add(connHash);
+                        responseObserver.onNext(SessionInfo.newBuilder()
+                                .setConnHash(connHash)
+                                .setClientUUID(request.getClientUUID())
+                                .build());
+                        responseObserver.onCompleted();
+                    }
+
+                    @Override
+                    public void executeUpdate(StatementRequest request, StreamObserver<OpResult> responseObserver) {
+                        updateHashes.add(request.getSession().getConnHash());
+                        if (!knownHashes.contains(request.getSession().getConnHash())) {
+                            Metadata metadata = new Metadata();
+                            metadata.put(ProtoUtils.keyForProto(SqlErrorResponse.getDefaultInstance()),
+                                    SqlErrorResponse.newBuilder()
+                                            .setReason("No datasource found for connection hash")
+                                            .setSqlState(CommonConstants.UNKNOWN_CONN_HASH_SQL_STATE)
+                                            .build());
+                            responseObserver.onError(Status.INTERNAL.asRuntimeException(metadata));
+                            return;
+                        }
+                        responseObserver.onNext(OpResult.newBuilder()
+                                .setSession(request.getSession())
+                                .setValue(serializeToByteString(1))
+                                .build());
+                        responseObserver.onCompleted();
+                    }
+                })
+                .build()
+                .start();
+        try {
+            String url = "jdbc:ojp[inprocess:" + name + "]_h2:mem:test";
+            Properties info = new Properties();
+            info.put("user", "sa");
+            Driver driver = new Driver();
+            driver.connect(url, info).createStatement().executeUpdate("UPDATE t SET c = 1");
+            //Server restarted, it does not know the hash cached anymore.
+            knownHashes.clear();
+
+            java.sql.Connection connection = driver.connect(url, info);
+            assertEquals(1, connects.get());
+            assertEquals(1, connection.createStatement().executeUpdate("UPDATE t SET c = 2"));
+
+            assertEquals(2, connects.get());
+            assertEquals(List.of("hash-1", "hash-1", "hash-2"), updateHashes);
+            assertEquals("hash-2", ConnectCache.get(ConnectCache.key(url, "sa", "")).getSessionInfo().getConnHash());
+            connection.createStatement().executeUpdate("UPDATE t SET c = 3");
+            assertEquals("hash-2", updateHashes.get(3));
+        } finally {
+            server.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.openjdbcproxy.jdbc;
+
+import com.google.protobuf.ByteString;
+import com.openjdbcproxy.grpc.CallResourceRequest;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the DatabaseMetaData snapshot and catalog caches shared by connections with the same connection hash.
+ */
+public class DatabaseMetaDataCacheTest {
+
+    @Test
+    public void testCacheIsSharedPerConnHash() {
+        DatabaseMetaDataCache cache = DatabaseMetaDataCache.forConnHash("shared-hash", 0, 0);
+
+        assertSame(cache, DatabaseMetaDataCache.forConnHash("shared-hash", 0, 0));
+        assertFalse(cache.isCatalogCacheEnabled());
+        assertFalse(DatabaseMetaDataCache.forConnHash("shared-hash", 1000, 0).isCatalogCacheEnabled());
+    }
+
+    @Test
+    public void testCatalogEntriesExpire() throws InterruptedException {
+        DatabaseMetaDataCache cache = DatabaseMetaDataCache.forConnHash("expiring-hash", 50, 0);
+        cache.putCatalog("Tables[null, null, %, null]", ByteString.copyFromUtf8("rows"));
+
+        assertEquals(ByteString.copyFromUtf8("rows"), cache.getCatalog("Tables[null, null, %, null]"));
+        Thread.sleep(100);
+        assertNull(cache.getCatalog("Tables[null, null, %, null]"));
+    }
+
+    @Test
+    public void testScalarAttributesServedFromSnapshot() throws Exception {
+        List<CallResourceRequest> requests = new ArrayList<>();
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("getdatabaseproductname", "H2");
+        snapshot.put("supportsbatchupdates", Boolean.TRUE);
+        snapshot.put("getidentifierquotestring", "\"");
+        StatementService statementService = new FakeStatementService()
+                .onCallResource(request -> {
+                    requests.add(request);
+                    return FakeStatementService.response(request, CommonConstants.DATABASE_METADATA_SNAPSHOT.equals(
+                            request.getTarget().getResourceName()) ? snapshot : 42);
+                })
+                .build();
+        SessionInfo session = SessionInfo.newBuilder().setConnHash("snapshot-hash").build();
+
+        for (int i = 0; i < 2; i++) {
+            java.sql.DatabaseMetaData metaData = new Connection(session, statementService, null).getMetaData();
+            assertEquals("H2", metaData.getDatabaseProductName());
+            assertTrue(metaData.supportsBatchUpdates());
+            assertEquals("\"", metaData.getIdentifierQuoteString());
+        }
+        assertEquals(1, requests.size());
+
+        java.sql.DatabaseMetaData metaData = new Connection(session, statementService, null).getMetaData();
+        assertEquals(42, metaData.getMaxColumnsInTable());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testCatalogRowsServedFromCache() throws Exception {
+        List<CallResourceRequest> requests = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"PUBLIC", "ITEMS"});
+        OpQueryResult tables = OpQueryResult.builder()
+                .labels(Arrays.asList("TABLE_SCHEM", "TABLE_NAME"))
+                .rows(rows)
+                .build();
+        StatementService statementService = new FakeStatementService()
+                .onCallResource(request -> {
+                    requests.add(request);
+                    return FakeStatementService.response(request, tables);
+                })
+                .build();
+        SessionInfo session = SessionInfo.newBuilder().setConnHash("catalog-hash").build();
+
+        for (int i = 0; i < 2; i++) {
+            java.sql.ResultSet rs = new Connection(session, statementService, null, 60000, 0).getMetaData()
+                    .getTables(null, "PUBLIC", "%", null);
+            assertTrue(rs.next());
+            assertEquals("ITEMS", rs.getString("TABLE_NAME"));
+            assertFalse(rs.next());
+            rs.close();
+        }
+        assertEquals(1, requests.size());
+    }
+}
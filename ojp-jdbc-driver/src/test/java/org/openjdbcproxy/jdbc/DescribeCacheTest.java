@@ -0,0 +1,69 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
+import org.openjdbcproxy.grpc.dto.ParameterMetadata;
+import org.openjdbcproxy.grpc.dto.StatementDescription;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that prepared statement descriptions are fetched once per SQL and dropped when a DDL statement is executed.
+ */
+public class DescribeCacheTest {
+
+    private static final String SQL = "select id from items where id = ?";
+
+    @Test
+    public void testDescriptionCachedUntilDdl() throws Exception {
+        AtomicInteger describeCalls = new AtomicInteger();
+        StatementService statementService = fakeService(describeCalls);
+        SessionInfo session = SessionInfo.newBuilder().setConnHash("describe-hash").build();
+        Connection connection = new Connection(session, statementService, null, 0, 60000);
+
+        java.sql.ResultSetMetaData metaData = connection.prepareStatement(SQL).getMetaData();
+        assertEquals(1, metaData.getColumnCount());
+        assertEquals("ID", metaData.getColumnLabel(1));
+        java.sql.ParameterMetaData parameterMetaData = new Connection(session, statementService, null, 0, 60000)
+                .prepareStatement(SQL).getParameterMetaData();
+        assertEquals(1, parameterMetaData.getParameterCount());
+        assertEquals(Types.INTEGER, parameterMetaData.getParameterType(1));
+        assertEquals(1, describeCalls.get());
+
+        connection.createStatement().executeUpdate("ALTER TABLE items ADD name VARCHAR(20)");
+        connection.prepareStatement(SQL).getMetaData();
+        assertEquals(2, describeCalls.get());
+    }
+
+    /**
+     * Answers statement descriptions, counting them, and updates.
+     */
+    private static StatementService fakeService(AtomicInteger describeCalls) {
+        StatementDescription description = StatementDescription.builder()
+                .columns(Arrays.asList(ColumnMetadata.builder()
+                        .columnType(Types.INTEGER)
+                        .columnLabel("ID")
+                        .columnName("ID")
+                        .build()))
+                .parameters(Arrays.asList(ParameterMetadata.builder()
+                        .parameterType(Types.INTEGER)
+                        .parameterTypeName("INTEGER")
+                        .build()))
+                .build();
+        return new FakeStatementService()
+                .onUpdate((connection, args) -> FakeStatementService.updated(connection.getSession(), 0))
+                .onCallResource(request -> {
+                    assertEquals(CommonConstants.STATEMENT_DESCRIPTION, request.getTarget().getResourceName());
+                    describeCalls.incrementAndGet();
+                    return FakeStatementService.response(request, description);
+                })
+                .build();
+    }
+}
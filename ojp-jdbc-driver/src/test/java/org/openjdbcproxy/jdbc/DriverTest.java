@@ -0,0 +1,28 @@
+package org.openjdbcproxy.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the driver leaves the urls of other drivers to them, as DriverManager asks every registered driver.
+ */
+public class DriverTest {
+
+    @Test
+    public void testConnectReturnsNullForUrlsOfOtherDrivers() throws SQLException {
+        Driver driver = new Driver();
+        assertFalse(driver.acceptsURL("jdbc:h2:mem:test"));
+        assertNull(driver.connect("jdbc:h2:mem:test", new Properties()));
+    }
+
+    @Test
+    public void testAcceptsOjpUrls() throws SQLException {
+        assertTrue(new Driver().acceptsURL("jdbc:ojp[localhost:1059]_h2:mem:test"));
+    }
+}
@@ -0,0 +1,90 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.CallResourceRequest;
+import com.openjdbcproxy.grpc.CallResourceResponse;
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.openjdbcproxy.grpc.client.StatementService;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * StatementService standing in for the server in the tests of the driver. Only the methods given an answer are
+ * expected, any other call fails with an UnsupportedOperationException naming the method.
+ */
+class FakeStatementService {
+
+    @FunctionalInterface
+    interface Answer {
+        Object answer(Object[] args) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface CallAnswer {
+        CallResourceResponse answer(CallResourceRequest request) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface UpdateAnswer {
+        OpResult answer(Connection connection, Object[] args) throws Exception;
+    }
+
+    private final Map<String, Answer> answers = new HashMap<>();
+
+    FakeStatementService on(String methodName, Answer answer) {
+        this.answers.put(methodName, answer);
+        return this;
+    }
+
+    FakeStatementService onCallResource(CallAnswer answer) {
+        return this.on("callResource", args -> answer.answer((CallResourceRequest) args[0]));
+    }
+
+    /**
+     * Answers the executeUpdate taking the connection, the one statements call.
+     */
+    FakeStatementService onUpdate(UpdateAnswer answer) {
+        return this.on("executeUpdate", args -> {
+            if (!(args[0] instanceof Connection)) {
+                throw new UnsupportedOperationException("executeUpdate");
+            }
+            return answer.answer((Connection) args[0], args);
+        });
+    }
+
+    StatementService build() {
+        return (StatementService) Proxy.newProxyInstance(
+                StatementService.class.getClassLoader(), new Class<?>[]{StatementService.class},
+                (proxy, method, args) -> {
+                    Answer answer = this.answers.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return answer.answer(args);
+                });
+    }
+
+    /**
+     * Response to a resource call carrying the value given, in the session of the request.
+     */
+    static CallResourceResponse response(CallResourceRequest request, Object value) {
+        return CallResourceResponse.newBuilder()
+                .setSession(request.getSession())
+                .setValues(serializeToByteString(value))
+                .build();
+    }
+
+    /**
+     * Result of an update of the count of rows given.
+     */
+    static OpResult updated(SessionInfo session, int count) {
+        return OpResult.newBuilder()
+                .setSession(session)
+                .setValue(serializeToByteString(count))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests that the keys generated by an update come back with its result and are read without calling the server again.
+ */
+public class GeneratedKeysTest {
+
+    @Test
+    public void testGeneratedKeysServedLocally() throws Exception {
+        List<Map<String, Object>> calls = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{7L});
+        OpQueryResult keys = OpQueryResult.builder()
+                .labels(Arrays.asList("ID"))
+                .rows(rows)
+                .build();
+        StatementService statementService = new FakeStatementService()
+                .onUpdate((connection, args) -> {
+                    calls.add((Map<String, Object>) args[4]);
+                    return FakeStatementService.updated(connection.getSession(), 1).toBuilder()
+                            .setGeneratedKeys(serializeToByteString(keys))
+                            .build();
+                })
+                .build();
+        SessionInfo session = SessionInfo.newBuilder().setConnHash("keys-hash").build();
+        Connection connection = new Connection(session, statementService, null);
+
+        java.sql.PreparedStatement ps = connection.prepareStatement("insert into t (c) values (?)",
+                java.sql.Statement.RETURN_GENERATED_KEYS);
+        ps.setInt(1, 1);
+        assertEquals(1, ps.executeUpdate());
+        java.sql.ResultSet rs = ps.getGeneratedKeys();
+        assertTrue(rs.next());
+        assertEquals(7L, rs.getLong("ID"));
+        assertFalse(rs.next());
+
+        assertEquals(1, calls.size());
+        assertEquals(java.sql.Statement.RETURN_GENERATED_KEYS,
+                calls.get(0).get(CommonConstants.STATEMENT_AUTO_GENERATED_KEYS_KEY));
+    }
+}
@@ -0,0 +1,82 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the eviction, invalidation and sequential read detection of LobCache.
+ */
+public class LobCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedChunkIsEvicted() {
+        LobCache lobCache = new LobCache(30);
+        lobCache.putChunk("lob-1", 0, new byte[10]);
+        lobCache.putChunk("lob-1", 1, new byte[10]);
+        lobCache.putChunk("lob-2", 0, new byte[10]);
+        lobCache.getChunk("lob-1", 0);
+
+        lobCache.putChunk("lob-2", 1, new byte[10]);
+
+        assertEquals(30, lobCache.getCachedBytes());
+        assertArrayEquals(new byte[10], lobCache.getChunk("lob-1", 0));
+        assertNull(lobCache.getChunk("lob-1", 1));
+    }
+
+    @Test
+    public void testChunkBiggerThanCacheIsNotCached() {
+        LobCache lobCache = new LobCache(5);
+        lobCache.putChunk("lob-1", 0, new byte[10]);
+
+        assertNull(lobCache.getChunk("lob-1", 0));
+        assertEquals(0, lobCache.getCachedBytes());
+    }
+
+    @Test
+    public void testInvalidateDropsOnlyTheLob() {
+        LobCache lobCache = new LobCache(100);
+        lobCache.putChunk("lob-1", 0, new byte[10]);
+        lobCache.putChunk("lob-2", 0, new byte[10]);
+        lobCache.putLength("lob-1", 10L);
+
+        lobCache.invalidate("lob-1");
+
+        assertNull(lobCache.getChunk("lob-1", 0));
+        assertNull(lobCache.getLength("lob-1"));
+        assertArrayEquals(new byte[10], lobCache.getChunk("lob-2", 0));
+        assertEquals(10, lobCache.getCachedBytes());
+
+        lobCache.clear();
+
+        assertNull(lobCache.getChunk("lob-2", 0));
+        assertEquals(0, lobCache.getCachedBytes());
+    }
+
+    @Test
+    public void testSequentialReadDetection() {
+        LobCache lobCache = new LobCache(100);
+
+        assertFalse(lobCache.recordRead("lob-1", 0));
+        assertTrue(lobCache.recordRead("lob-1", 1));
+        assertFalse(lobCache.recordRead("lob-1", 5));
+        assertFalse(lobCache.recordRead("lob-2", 6));
+    }
+
+    @Test
+    public void testCacheSizeConfiguredPerConnection() {
+        Connection connection = new Connection(SessionInfo.newBuilder().setConnHash("lob-cache-hash").build(), null,
+                null);
+        connection.setLobCacheMaxBytes(0);
+
+        connection.getLobCache().putChunk("lob-1", 0, new byte[1]);
+
+        assertNull(connection.getLobCache().getChunk("lob-1", 0));
+        assertEquals(0, connection.getLobCache().getCachedBytes());
+    }
+}
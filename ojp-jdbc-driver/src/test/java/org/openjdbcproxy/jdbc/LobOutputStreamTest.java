@@ -0,0 +1,137 @@
+package org.openjdbcproxy.jdbc;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.openjdbcproxy.grpc.DbName;
+import com.openjdbcproxy.grpc.LobDataBlock;
+import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.StatementServiceGrpc;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.client.ChannelRegistry;
+import org.openjdbcproxy.grpc.client.StatementServiceGrpcClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a LOB written through its output stream goes to the server in chunks of a single createLob stream, and
+ * that a failure of the server fails the writes and the LOB reference.
+ */
+public class LobOutputStreamTest {
+
+    private final List<LobDataBlock> blocksReceived = new CopyOnWriteArrayList<>();
+    private volatile boolean failAfterFirstBlock;
+    private Server server;
+    private StatementServiceGrpcClient statementService;
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        String name = "lob-output-stream-" + UUID.randomUUID();
+        this.server = InProcessServerBuilder.forName(name)
+                .addService(new StatementServiceGrpc.StatementServiceImplBase() {
+                    @Override
+                    public StreamObserver<LobDataBlock> createLob(StreamObserver<LobReference> responseObserver) {
+                        return new StreamObserver<>() {
+                            @Override
+                            public void onNext(LobDataBlock lobDataBlock) {
+                                blocksReceived.add(lobDataBlock);
+                                if (blocksReceived.size() > 1) {
+                                    return;
+                                }
+                                if (failAfterFirstBlock) {
+                                    responseObserver.onError(Status.INTERNAL
+                                            .withDescription("LOB write failed").asRuntimeException());
+                                    return;
+                                }
+                                responseObserver.onNext(LobReference.newBuilder()
+                                        .setSession(lobDataBlock.getSession().toBuilder().setSessionUUID("session-1"))
+                                        .setUuid("lob-1")
+                                        .build());
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {
+                            }
+
+                            @Override
+                            public void onCompleted() {
+                                responseObserver.onCompleted();
+                            }
+                        };
+                    }
+                })
+                .build()
+                .start();
+        this.statementService = new StatementServiceGrpcClient(new ChannelRegistry(1).channels("inprocess:" + name));
+        this.connection = new Connection(SessionInfo.newBuilder().setConnHash("lob-stream-hash").build(),
+                this.statementService, DbName.POSTGRES);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.shutdownNow();
+    }
+
+    @Test
+    public void testLobWrittenInChunks() throws Exception {
+        SettableFuture<LobReference> lobReference = SettableFuture.create();
+        byte[] bytes = new byte[Constants.LOB_WRITE_CHUNK_SIZE * 2 + 10];
+        bytes[bytes.length - 1] = 7;
+
+        try (OutputStream os = new LobOutputStream(this.connection, this.statementService,
+                LobType.LT_BLOB, 1, lobReference)) {
+            os.write(bytes);
+        }
+
+        assertEquals("lob-1", lobReference.get().getUuid());
+        assertEquals("session-1", this.connection.getSession().getSessionUUID());
+        assertEquals(3, this.blocksReceived.size());
+        assertEquals(1, this.blocksReceived.get(0).getPosition());
+        assertEquals(Constants.LOB_WRITE_CHUNK_SIZE + 1, this.blocksReceived.get(1).getPosition());
+        assertEquals(Constants.LOB_WRITE_CHUNK_SIZE * 2 + 1, this.blocksReceived.get(2).getPosition());
+        assertEquals(10, this.blocksReceived.get(2).getData().size());
+        assertEquals(7, this.blocksReceived.get(2).getData().byteAt(9));
+    }
+
+    @Test
+    public void testEmptyLobSentAsOneEmptyBlock() throws Exception {
+        SettableFuture<LobReference> lobReference = SettableFuture.create();
+
+        new LobOutputStream(this.connection, this.statementService, LobType.LT_BLOB, 1,
+                lobReference).close();
+
+        assertEquals("lob-1", lobReference.get().getUuid());
+        assertEquals(1, this.blocksReceived.size());
+        assertEquals(0, this.blocksReceived.get(0).getData().size());
+    }
+
+    @Test
+    public void testServerFailureFailsTheWrite() {
+        this.failAfterFirstBlock = true;
+        SettableFuture<LobReference> lobReference = SettableFuture.create();
+        OutputStream os = new LobOutputStream(this.connection, this.statementService,
+                LobType.LT_BLOB, 1, lobReference);
+
+        IOException e = assertThrows(IOException.class, () -> os.write(new byte[Constants.LOB_WRITE_CHUNK_SIZE]));
+
+        assertTrue(e.getMessage().contains("LOB write failed"));
+        assertThrows(ExecutionException.class, lobReference::get);
+        assertThrows(IOException.class, () -> os.write(1));
+    }
+}
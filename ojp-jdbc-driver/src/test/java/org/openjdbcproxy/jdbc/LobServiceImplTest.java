@@ -0,0 +1,96 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.DbName;
+import com.openjdbcproxy.grpc.LobDataBlock;
+import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.openjdbcproxy.constants.CommonConstants.MAX_LOB_DATA_BLOCK_SIZE;
+import static org.openjdbcproxy.constants.CommonConstants.PREPARED_STATEMENT_BINARY_STREAM_LENGTH;
+
+/**
+ * Tests that the bytes of a LOB are sent in full blocks positioned one after the other, whether the length of the
+ * stream is known or not.
+ */
+public class LobServiceImplTest {
+
+    private final List<LobDataBlock> blocksSent = new ArrayList<>();
+
+    private LobServiceImpl lobService() {
+        Connection connection = new Connection(SessionInfo.newBuilder().setConnHash("lob-service-hash").build(),
+                null, DbName.POSTGRES);
+        return new LobServiceImpl(connection, new FakeStatementService()
+                .on("createLob", args -> {
+                    Iterator<LobDataBlock> blocks = (Iterator<LobDataBlock>) args[1];
+                    while (blocks.hasNext()) {
+                        this.blocksSent.add(blocks.next());
+                    }
+                    return LobReference.newBuilder().setUuid("lob-1").build();
+                })
+                .build());
+    }
+
+    @Test
+    public void testLengthGiven() throws Exception {
+        byte[] bytes = bytes(MAX_LOB_DATA_BLOCK_SIZE + 10);
+        Map<Integer, Object> metadata = new HashMap<>();
+        metadata.put(PREPARED_STATEMENT_BINARY_STREAM_LENGTH, (long) bytes.length);
+
+        this.lobService().sendBytes(LobType.LT_BLOB, 1, new ByteArrayInputStream(bytes), metadata);
+
+        assertEquals(3, this.blocksSent.size());
+        assertEquals(0, this.blocksSent.get(0).getData().size());
+        assertEquals(1, this.blocksSent.get(1).getPosition());
+        assertEquals(MAX_LOB_DATA_BLOCK_SIZE, this.blocksSent.get(1).getData().size());
+        assertEquals(MAX_LOB_DATA_BLOCK_SIZE + 1, this.blocksSent.get(2).getPosition());
+        assertEquals(10, this.blocksSent.get(2).getData().size());
+        assertEquals((byte) (bytes.length - 1), this.blocksSent.get(2).getData().byteAt(9));
+    }
+
+    @Test
+    public void testLengthUnknownAndNothingReportedAvailable() throws Exception {
+        byte[] bytes = bytes(MAX_LOB_DATA_BLOCK_SIZE + 3);
+        InputStream is = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int available() {
+                return 0;
+            }
+        };
+
+        this.lobService().sendBytes(LobType.LT_BLOB, 1, is);
+
+        assertEquals(3, this.blocksSent.size());
+        assertEquals(MAX_LOB_DATA_BLOCK_SIZE, this.blocksSent.get(1).getData().size());
+        assertEquals((byte) 1, this.blocksSent.get(1).getData().byteAt(1));
+        assertEquals(MAX_LOB_DATA_BLOCK_SIZE + 1, this.blocksSent.get(2).getPosition());
+        assertEquals(3, this.blocksSent.get(2).getData().size());
+    }
+
+    @Test
+    public void testSmallLob() throws Exception {
+        this.lobService().sendBytes(LobType.LT_BLOB, 1, new ByteArrayInputStream(bytes(5)));
+
+        assertEquals(2, this.blocksSent.size());
+        assertEquals(5, this.blocksSent.get(1).getData().size());
+        assertEquals((byte) 4, this.blocksSent.get(1).getData().byteAt(4));
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,225 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.CallResourceRequest;
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.ResultType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.TransactionInfo;
+import com.openjdbcproxy.grpc.TransactionStatus;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+import org.openjdbcproxy.grpc.dto.RowChange;
+import org.openjdbcproxy.grpc.dto.RowChangeType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests that scrollable and updatable result sets are scrolled without calling the server, spilling rows beyond the
+ * memory budget, and that their row changes are sent right away in auto commit and in a single call within a
+ * transaction, begun first.
+ */
+public class LocalCursorTest {
+
+    private static final SessionInfo SESSION = SessionInfo.newBuilder()
+            .setConnHash("cursor-hash")
+            .setSessionUUID("cursor-session")
+            .build();
+
+    @Test
+    public void testScrolledLocallyWithSpill() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        StatementService statementService = fakeService(calls);
+        java.sql.ResultSet rs = scrollableResultSet(statementService, 5, 1);
+
+        assertTrue(rs.last());
+        assertEquals(15, rs.getRow());
+        assertEquals(14, rs.getInt(1));
+        assertTrue(rs.isLast());
+        assertTrue(rs.absolute(-15));
+        assertTrue(rs.isFirst());
+        assertEquals(0, rs.getInt("id"));
+        assertTrue(rs.relative(7));
+        assertEquals(7, rs.getInt(1));
+        assertTrue(rs.previous());
+        assertEquals(6, rs.getInt(1));
+        assertFalse(rs.absolute(16));
+        assertTrue(rs.isAfterLast());
+        assertTrue(rs.previous());
+        assertEquals(14, rs.getInt(1));
+        rs.beforeFirst();
+        assertTrue(rs.isBeforeFirst());
+        assertTrue(rs.next());
+        assertEquals(0, rs.getInt(1));
+        assertEquals(java.sql.ResultSet.TYPE_SCROLL_INSENSITIVE, rs.getType());
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    public void testRowChangesSentRightAwayInAutoCommit() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        StatementService statementService = fakeService(calls);
+        java.sql.ResultSet rs = scrollableResultSet(statementService, 3, Long.MAX_VALUE);
+
+        assertTrue(rs.absolute(2));
+        rs.updateInt(1, 99);
+        rs.updateRow();
+        assertEquals(1, calls.size());
+        assertEquals(99, rs.getInt(1));
+        assertTrue(rs.absolute(3));
+        rs.deleteRow();
+        assertEquals(2, calls.size());
+        rs.moveToInsertRow();
+        rs.updateInt("ID", 100);
+        rs.insertRow();
+        rs.moveToCurrentRow();
+        assertEquals(3, calls.size());
+
+        assertEquals(RowChangeType.UPDATE, sentChanges(calls.get(0)).get(0).getType());
+        assertEquals(RowChangeType.DELETE, sentChanges(calls.get(1)).get(0).getType());
+        assertEquals(RowChangeType.INSERT, sentChanges(calls.get(2)).get(0).getType());
+
+        rs.close();
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    public void testRowChangesSentInOneCallWithinTransaction() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        List<SessionInfo> begun = new ArrayList<>();
+        StatementService statementService = fakeService(calls, begun);
+        java.sql.ResultSet rs = scrollableResultSet(statementService, 3, Long.MAX_VALUE);
+        rs.getStatement().getConnection().setAutoCommit(false);
+
+        assertTrue(rs.absolute(2));
+        rs.updateInt(1, 99);
+        rs.updateRow();
+        assertEquals(99, rs.getInt(1));
+        assertTrue(rs.rowUpdated());
+        assertTrue(rs.absolute(3));
+        rs.deleteRow();
+        assertTrue(rs.rowDeleted());
+        rs.moveToInsertRow();
+        rs.updateInt("ID", 100);
+        rs.insertRow();
+        rs.moveToCurrentRow();
+        assertTrue(calls.isEmpty());
+
+        rs.getStatement().getConnection().commit();
+
+        assertEquals(1, begun.size());
+        assertEquals(1, calls.size());
+        assertEquals(TransactionStatus.TRX_ACTIVE,
+                calls.get(0).getSession().getTransactionInfo().getTransactionStatus());
+        assertEquals(CommonConstants.RESULT_SET_ROW_CHANGES, calls.get(0).getTarget().getResourceName());
+        List<RowChange> changes = sentChanges(calls.get(0));
+        assertEquals(3, changes.size());
+        assertEquals(RowChangeType.UPDATE, changes.get(0).getType());
+        assertEquals(2, changes.get(0).getRow());
+        assertEquals(99, changes.get(0).getValues().get(1));
+        assertEquals(RowChangeType.DELETE, changes.get(1).getType());
+        assertEquals(3, changes.get(1).getRow());
+        assertEquals(RowChangeType.INSERT, changes.get(2).getType());
+        assertEquals(100, changes.get(2).getValues().get(1));
+
+        rs.close();
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    public void testRowChangesSentBeforeNextStatement() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        List<SessionInfo> begun = new ArrayList<>();
+        StatementService statementService = fakeService(calls, begun);
+        java.sql.ResultSet rs = scrollableResultSet(statementService, 3, Long.MAX_VALUE);
+        Connection connection = (Connection) rs.getStatement().getConnection();
+        connection.setAutoCommit(false);
+
+        assertTrue(rs.absolute(1));
+        rs.deleteRow();
+        assertTrue(calls.isEmpty());
+
+        //Called before every statement executed on the connection.
+        connection.awaitPipelinedUpdates();
+
+        assertEquals(1, begun.size());
+        assertEquals(1, calls.size());
+        assertEquals(RowChangeType.DELETE, sentChanges(calls.get(0)).get(0).getType());
+    }
+
+    private static List<RowChange> sentChanges(CallResourceRequest call) {
+        List<Object> params = deserialize(call.getTarget().getParams(), List.class);
+        return (List<RowChange>) params.get(0);
+    }
+
+    private static java.sql.ResultSet scrollableResultSet(StatementService statementService, int blockCount,
+                                                          long localCursorMaxBytes) throws Exception {
+        Connection connection = new Connection(SESSION, statementService, null);
+        connection.setReadAheadDepth(0);
+        connection.setLocalCursorMaxBytes(localCursorMaxBytes);
+        java.sql.Statement statement = connection.createStatement(java.sql.ResultSet.TYPE_SCROLL_INSENSITIVE,
+                java.sql.ResultSet.CONCUR_UPDATABLE);
+        return new ResultSet(blocks(blockCount), statementService, statement);
+    }
+
+    /**
+     * Blocks of three rows each, the first column numbering the rows from 0.
+     */
+    private static Iterator<OpResult> blocks(int count) {
+        List<OpResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                rows.add(new Object[]{i * 3 + j, "row " + (i * 3 + j)});
+            }
+            results.add(OpResult.newBuilder()
+                    .setSession(SESSION)
+                    .setType(ResultType.RESULT_SET_DATA)
+                    .setValue(serializeToByteString(OpQueryResult.builder()
+                            .resultSetUUID("cursor-rs")
+                            .labels(Arrays.asList("ID", "NAME"))
+                            .rows(rows)
+                            .build()))
+                    .build());
+        }
+        return results.iterator();
+    }
+
+    /**
+     * Records the resource calls, answering each with the number of rows changed.
+     */
+    private static StatementService fakeService(List<CallResourceRequest> calls) {
+        return fakeService(calls, new ArrayList<>());
+    }
+
+    /**
+     * Records the resource calls, answering each with the number of rows changed, and the transactions begun.
+     */
+    private static StatementService fakeService(List<CallResourceRequest> calls, List<SessionInfo> begun) {
+        return new FakeStatementService()
+                .onCallResource(request -> {
+                    calls.add(request);
+                    return FakeStatementService.response(request, 3);
+                })
+                .on("startTransaction", args -> {
+                    SessionInfo session = (SessionInfo) args[0];
+                    begun.add(session);
+                    return session.toBuilder()
+                            .setTransactionInfo(TransactionInfo.newBuilder()
+                                    .setTransactionStatus(TransactionStatus.TRX_ACTIVE))
+                            .build();
+                })
+                .on("commitTransaction", args -> args[0])
+                .build();
+    }
+}
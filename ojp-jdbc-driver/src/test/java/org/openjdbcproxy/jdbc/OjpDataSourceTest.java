@@ -0,0 +1,53 @@
+package org.openjdbcproxy.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the configuration of the OJP DataSource as frameworks bind it.
+ */
+public class OjpDataSourceTest {
+
+    @Test
+    public void testPropertiesBound() {
+        OjpDataSource dataSource = new OjpDataSource();
+        dataSource.setUrl("jdbc:ojp[localhost:1059]_h2:~/test");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("secret");
+
+        assertEquals("jdbc:ojp[localhost:1059]_h2:~/test", dataSource.getUrl());
+        assertEquals("sa", dataSource.getUsername());
+        assertEquals("secret", dataSource.getPassword());
+    }
+
+    @Test
+    public void testConnectionWithoutUrlFails() {
+        OjpDataSource dataSource = new OjpDataSource();
+        SQLException e = assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals("OjpDataSource url is not set.", e.getMessage());
+    }
+
+    @Test
+    public void testConnectionWithUrlOfAnotherDriverFails() {
+        OjpDataSource dataSource = new OjpDataSource("jdbc:h2:mem:test", "sa", "");
+        SQLException e = assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals("OjpDataSource url not accepted by the OJP driver: jdbc:h2:mem:test", e.getMessage());
+    }
+
+    @Test
+    public void testUnwrap()throws SQLException {
+        OjpDataSource dataSource = new OjpDataSource("jdbc:ojp[localhost:1059]_h2:~/test", "sa", "");
+        assertTrue(dataSource.isWrapperFor(DataSource.class));
+        assertSame(dataSource, dataSource.unwrap(OjpDataSource.class));
+        assertFalse(dataSource.isWrapperFor(String.class));
+        assertThrows(SQLException.class, () -> dataSource.unwrap(String.class));
+    }
+}
@@ -0,0 +1,89 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.LobDataBlock;
+import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobReferences;
+import com.openjdbcproxy.grpc.LobType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.dto.Parameter;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the small LOBs of a row are created together in a single call right before the row is executed.
+ */
+public class PendingLobsTest {
+
+    @Test
+    public void testLobsOfTheRowCreatedInOneCall() throws Exception {
+        List<List<LobDataBlock>> createLobsCalls = new ArrayList<>();
+        List<List<Parameter>> executions = new ArrayList<>();
+        Connection connection = new Connection(SessionInfo.newBuilder().setConnHash("pending-lobs-hash").build(),
+                new FakeStatementService()
+                        .on("createLobs", args -> {
+                            List<LobDataBlock> blocks = (List<LobDataBlock>) args[1];
+                            createLobsCalls.add(blocks);
+                            LobReferences.Builder lobReferences = LobReferences.newBuilder()
+                                    .setSession(((Connection) args[0]).getSession());
+                            for (LobDataBlock block : blocks) {
+                                lobReferences.addLobReferences(LobReference.newBuilder()
+                                        .setUuid("lob-" + block.getLobIndex())
+                                        .build());
+                            }
+                            return lobReferences.build();
+                        })
+                        .onUpdate((updateConnection, args) -> {
+                            executions.add((List<Parameter>) args[2]);
+                            return FakeStatementService.updated(updateConnection.getSession(), 1);
+                        })
+                        .build(),
+                null);
+
+        java.sql.PreparedStatement ps = connection.prepareStatement("insert into t (b, c, n) values (?, ?, ?)");
+        ps.setBlob(1, new ByteArrayInputStream(new byte[]{1, 2, 3}), 3);
+        ps.setClob(2, new StringReader("text"), 4);
+        ps.setInt(3, 7);
+        assertEquals(1, ps.executeUpdate());
+
+        assertEquals(1, createLobsCalls.size());
+        List<LobDataBlock> blocks = createLobsCalls.get(0);
+        assertEquals(2, blocks.size());
+        assertEquals(LobType.LT_BLOB, blocks.get(0).getLobType());
+        assertEquals(1, blocks.get(0).getLobIndex());
+        assertEquals(LobType.LT_CLOB, blocks.get(1).getLobType());
+        assertEquals("text", blocks.get(1).getData().toStringUtf8());
+
+        assertEquals(1, executions.size());
+        assertEquals("lob-1", executions.get(0).get(0).getValues().get(0));
+        assertEquals("lob-2", executions.get(0).get(1).getValues().get(0));
+        assertEquals(7, executions.get(0).get(2).getValues().get(0));
+    }
+
+    @Test
+    public void testLobSetAgainWithAnotherValueNotCreated() throws Exception {
+        List<List<LobDataBlock>> createLobsCalls = new ArrayList<>();
+        Connection connection = new Connection(SessionInfo.newBuilder().setConnHash("pending-lobs-hash").build(),
+                new FakeStatementService()
+                        .on("createLobs", args -> {
+                            createLobsCalls.add((List<LobDataBlock>) args[1]);
+                            return LobReferences.getDefaultInstance();
+                        })
+                        .onUpdate((updateConnection, args) ->
+                                FakeStatementService.updated(updateConnection.getSession(), 1))
+                        .build(),
+                null);
+
+        java.sql.PreparedStatement ps = connection.prepareStatement("insert into t (b) values (?)");
+        ps.setBlob(1, new ByteArrayInputStream(new byte[]{1}), 1);
+        ps.setNull(1, java.sql.Types.BLOB);
+        ps.executeUpdate();
+
+        assertEquals(0, createLobsCalls.size());
+    }
+}
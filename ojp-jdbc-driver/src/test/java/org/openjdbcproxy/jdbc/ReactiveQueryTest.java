@@ -0,0 +1,198 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.ResultType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.StatementRequest;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.client.StatementService;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+import org.openjdbcproxy.grpc.dto.Parameter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests that the rows of a query are published as the subscriber requests them, passing its demand on to the call.
+ */
+public class ReactiveQueryTest {
+
+    private static final SessionInfo SESSION = SessionInfo.newBuilder()
+            .setConnHash("reactive-hash")
+            .setSessionUUID("reactive-session")
+            .build();
+
+    @Test
+    public void testDemandPassedOnToCall() throws Exception {
+        FakeCall call = new FakeCall();
+        List<ClientResponseObserver<StatementRequest, OpResult>> observers = new ArrayList<>();
+        List<List<Parameter>> params = new ArrayList<>();
+        Connection connection = new Connection(SESSION, fakeService(call, observers, params), null);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        Flow.Publisher<RowBatch> publisher = connection.unwrap(Connection.class)
+                .executeQueryReactive("select * from t where id > ?", Arrays.asList(10));
+        assertTrue(call.requested.isEmpty());
+        publisher.subscribe(subscriber);
+
+        assertEquals(Arrays.asList(0, 1), call.requested);
+        assertEquals(Integer.valueOf(1), params.get(0).get(0).getIndex());
+        assertEquals(10, params.get(0).get(0).getValues().get(0));
+        ClientResponseObserver<StatementRequest, OpResult> observer = observers.get(0);
+        observer.onNext(block(0, 2));
+        assertEquals(1, subscriber.batches.size());
+        assertEquals(Arrays.asList("ID", "NAME"), subscriber.batches.get(0).getLabels());
+        assertEquals(2, subscriber.batches.get(0).getRows().size());
+
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList(0, 1, 2), call.requested);
+        observer.onNext(block(2, 1));
+        observer.onNext(block(3, 0));
+        assertEquals(Arrays.asList(0, 1, 2, 1), call.requested);
+        observer.onCompleted();
+
+        assertEquals(2, subscriber.batches.size());
+        assertEquals(2, subscriber.batches.get(1).getRows().get(0)[0]);
+        assertTrue(subscriber.completed);
+        assertFalse(call.cancelled);
+    }
+
+    @Test
+    public void testCancelCancelsCall() throws Exception {
+        FakeCall call = new FakeCall();
+        List<ClientResponseObserver<StatementRequest, OpResult>> observers = new ArrayList<>();
+        Connection connection = new Connection(SESSION, fakeService(call, observers, new ArrayList<>()), null);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        connection.executeQueryReactive("select * from t", null).subscribe(subscriber);
+        observers.get(0).onNext(block(0, 2));
+        subscriber.subscription.cancel();
+
+        assertTrue(call.cancelled);
+        observers.get(0).onNext(block(2, 2));
+        assertEquals(1, subscriber.batches.size());
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    private static OpResult block(int firstId, int rowCount) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = firstId; i < firstId + rowCount; i++) {
+            rows.add(new Object[]{i, "row " + i});
+        }
+        return OpResult.newBuilder()
+                .setSession(SESSION)
+                .setType(ResultType.RESULT_SET_DATA)
+                .setValue(serializeToByteString(OpQueryResult.builder()
+                        .resultSetUUID("reactive-rs")
+                        .labels(Arrays.asList("ID", "NAME"))
+                        .rows(rows)
+                        .build()))
+                .build();
+    }
+
+    /**
+     * Starts the call on executeQueryAsync and keeps the observer for the test to feed the blocks.
+     */
+    private static StatementService fakeService(FakeCall call,
+                                                List<ClientResponseObserver<StatementRequest, OpResult>> observers,
+                                                List<List<Parameter>> params) {
+        return new FakeStatementService()
+                .on("executeQueryAsync", args -> {
+                    params.add((List<Parameter>) args[2]);
+                    ClientResponseObserver<StatementRequest, OpResult> observer =
+                            (ClientResponseObserver<StatementRequest, OpResult>) args[4];
+                    observer.beforeStart(call);
+                    observers.add(observer);
+                    return null;
+                })
+                .build();
+    }
+
+    private static class FakeCall extends ClientCallStreamObserver<StatementRequest> {
+        private final List<Integer> requested = new ArrayList<>();
+        private boolean cancelled;
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+            this.cancelled = true;
+        }
+
+        @Override
+        public void disableAutoRequestWithInitial(int request) {
+            this.requested.add(request);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+            this.requested.add(count);
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void onNext(StatementRequest value) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<RowBatch> {
+        private final List<RowBatch> batches = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(RowBatch item) {
+            this.batches.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.ResourceRelease;
+import com.openjdbcproxy.grpc.ResourceType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.client.StatementService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that closing server resources does not wait for the server, releases are sent along with the next statement
+ * or in batches.
+ */
+public class ResourceReleaseTest {
+
+    @Test
+    public void testReleasesSentWithNextStatement() throws Exception {
+        List<String> calls = new ArrayList<>();
+        List<ResourceRelease> released = new ArrayList<>();
+        Connection connection = new Connection(newSession(), fakeService(calls, released), null);
+
+        Statement statement = (Statement) connection.createStatement();
+        statement.setStatementUUID("stmt-1");
+        statement.close();
+        assertTrue(calls.isEmpty());
+
+        connection.createStatement().executeUpdate("update t set c = 1");
+
+        assertEquals(List.of("executeUpdate"), calls);
+        assertEquals(1, released.size());
+        assertEquals(ResourceType.RES_STATEMENT, released.get(0).getResourceType());
+        assertEquals("stmt-1", released.get(0).getResourceUUID());
+    }
+
+    @Test
+    public void testReleasesFlushedInBatches() throws Exception {
+        List<String> calls = new ArrayList<>();
+        List<ResourceRelease> released = new ArrayList<>();
+        Connection connection = new Connection(newSession(), fakeService(calls, released), null);
+
+        for (int i = 0; i < Constants.RELEASE_BATCH_SIZE; i++) {
+            new RemoteProxyResultSet("rs-" + i, null, connection, null).close();
+        }
+
+        assertEquals(List.of("releaseResources"), calls);
+        assertEquals(Constants.RELEASE_BATCH_SIZE, released.size());
+        assertTrue(connection.takePendingReleases().isEmpty());
+    }
+
+    private static SessionInfo newSession() {
+        return SessionInfo.newBuilder().setConnHash("release-hash").setSessionUUID("session-1").build();
+    }
+
+    /**
+     * Records the calls made and the resources released, either piggybacked on updates or in release calls.
+     */
+    private static StatementService fakeService(List<String> calls, List<ResourceRelease> released) {
+        return new FakeStatementService()
+                .on("releaseResources", args -> {
+                    calls.add("releaseResources");
+                    released.addAll((List<ResourceRelease>) args[1]);
+                    return null;
+                })
+                .onUpdate((connection, args) -> {
+                    calls.add("executeUpdate");
+                    released.addAll(connection.takePendingReleases());
+                    return FakeStatementService.updated(connection.getSession(), 1);
+                })
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.ResultType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests that the blocks of a result set are read ahead in the background when enabled, in order and never more than
+ * the depth configured, and that a result set whose read ahead is given up reads its remaining blocks itself.
+ */
+public class ResultBlockReadAheadTest {
+
+    private static final SessionInfo SESSION = SessionInfo.newBuilder().setConnHash("read-ahead-hash").build();
+
+    @Test
+    public void testBlocksReadAheadInOrder() throws Exception {
+        AtomicInteger blocksRead = new AtomicInteger();
+        Connection connection = new Connection(SESSION, null, null);
+        connection.setReadAheadDepth(2);
+        java.sql.ResultSet rs = new ResultSet(blocks(6, blocksRead, -1), null, connection.createStatement());
+
+        awaitBlocksRead(blocksRead, 3);
+        Thread.sleep(50);
+        assertEquals(3, blocksRead.get());
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(rs.next());
+            assertEquals(i, rs.getInt(1));
+        }
+        assertFalse(rs.next());
+        assertEquals(6, blocksRead.get());
+    }
+
+    @Test
+    public void testCloseStopsReadingAhead() throws Exception {
+        AtomicInteger blocksRead = new AtomicInteger();
+        Connection connection = new Connection(SESSION, null, null);
+        connection.setReadAheadDepth(1);
+        java.sql.ResultSet rs = new ResultSet(blocks(10, blocksRead, -1), null, connection.createStatement());
+
+        awaitBlocksRead(blocksRead, 2);
+        rs.close();
+        Thread.sleep(50);
+        assertEquals(2, blocksRead.get());
+    }
+
+    @Test
+    public void testFailureThrownWhenBlockReached() throws Exception {
+        Connection connection = new Connection(SESSION, null, null);
+        connection.setReadAheadDepth(2);
+        java.sql.ResultSet rs = new ResultSet(blocks(4, new AtomicInteger(), 2), null, connection.createStatement());
+
+        assertTrue(rs.next());
+        assertTrue(rs.next());
+        assertThrows(SQLException.class, rs::next);
+    }
+
+    @Test
+    public void testIdleResultSetGivenUp() throws Exception {
+        AtomicInteger blocksRead = new AtomicInteger();
+        Connection connection = new Connection(SESSION, null, null);
+        connection.setReadAheadDepth(1);
+        connection.setReadAheadIdleTimeout(100);
+        java.sql.ResultSet rs = new ResultSet(blocks(10, blocksRead, -1), null, connection.createStatement());
+
+        awaitBlocksRead(blocksRead, 2);
+        Thread.sleep(300);
+        assertEquals(2, blocksRead.get());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rs.next());
+            assertEquals(i, rs.getInt(1));
+        }
+        assertFalse(rs.next());
+        assertEquals(10, blocksRead.get());
+    }
+
+    @Test
+    public void testNotReadAheadByDefault() throws Exception {
+        AtomicInteger blocksRead = new AtomicInteger();
+        Connection connection = new Connection(SESSION, null, null);
+        java.sql.ResultSet rs = new ResultSet(blocks(3, blocksRead, -1), null, connection.createStatement());
+
+        Thread.sleep(50);
+        assertEquals(1, blocksRead.get());
+        assertTrue(rs.next());
+        assertTrue(rs.next());
+        assertEquals(2, blocksRead.get());
+    }
+
+    private static void awaitBlocksRead(AtomicInteger blocksRead, int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && blocksRead.get() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, blocksRead.get());
+    }
+
+    /**
+     * Iterator of blocks of one row each, counting the blocks taken and failing at the index given if not negative.
+     */
+    private static Iterator<OpResult> blocks(int count, AtomicInteger blocksRead, int failAt) {
+        List<OpResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{i});
+            results.add(OpResult.newBuilder()
+                    .setSession(SESSION)
+                    .setType(ResultType.RESULT_SET_DATA)
+                    .setValue(serializeToByteString(OpQueryResult.builder()
+                            .labels(Arrays.asList("ID"))
+                            .rows(rows)
+                            .build()))
+                    .build());
+        }
+        Iterator<OpResult> it = results.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public OpResult next() {
+                if (blocksRead.get() == failAt) {
+                    throw new IllegalStateException("Stream failed");
+                }
+                blocksRead.incrementAndGet();
+                return it.next();
+            }
+        };
+    }
+}
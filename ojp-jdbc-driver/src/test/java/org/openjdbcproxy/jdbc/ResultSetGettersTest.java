@@ -0,0 +1,103 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.ResultType;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests the conversions of the column getters and the lookup of columns by label.
+ */
+public class ResultSetGettersTest {
+
+    private static final SessionInfo SESSION = SessionInfo.newBuilder().setConnHash("getters-hash").build();
+
+    @Test
+    public void testNumericColumnsConvertedFromNumber() throws Exception {
+        java.sql.ResultSet rs = resultSet(Arrays.asList(
+                column("ID", Types.NUMERIC), column("AMOUNT", Types.DOUBLE), column("CODE", Types.VARCHAR)),
+                new Object[]{new BigDecimal("42"), 1.5d, "17"});
+
+        assertTrue(rs.next());
+        assertEquals(42, rs.getInt(1));
+        assertEquals(42L, rs.getLong(1));
+        assertEquals((short) 42, rs.getShort(1));
+        assertEquals(42d, rs.getDouble(1));
+        assertEquals(1, rs.getInt(2));
+        assertEquals(1.5f, rs.getFloat(2));
+        assertEquals(17, rs.getInt(3));
+        assertEquals(17L, rs.getLong(3));
+        assertFalse(rs.wasNull());
+        assertFalse(rs.next());
+    }
+
+    @Test
+    public void testColumnsWithoutMetadataConvertedByValue() throws Exception {
+        java.sql.ResultSet rs = resultSet(null, new Object[]{7L, "8", null});
+
+        assertTrue(rs.next());
+        assertEquals(7, rs.getInt(1));
+        assertEquals(8L, rs.getLong(2));
+        assertEquals(0, rs.getInt(3));
+        assertTrue(rs.wasNull());
+        assertNull(rs.getString(3));
+    }
+
+    @Test
+    public void testLabelsLookedUpIgnoringCase() throws Exception {
+        java.sql.ResultSet rs = resultSet(Arrays.asList(
+                column("Id", Types.INTEGER), column("name", Types.VARCHAR), column("ID", Types.INTEGER)),
+                new Object[]{1, "first", 2});
+
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt("id"));
+        assertEquals(1, rs.getInt("ID"));
+        assertEquals("first", rs.getString("NAME"));
+        assertEquals(2, rs.findColumn("Name"));
+        assertThrows(SQLException.class, () -> rs.getInt("missing"));
+    }
+
+    private static ColumnMetadata column(String label, int type) {
+        return ColumnMetadata.builder()
+                .columnLabel(label)
+                .columnName(label)
+                .columnType(type)
+                .build();
+    }
+
+    private static java.sql.ResultSet resultSet(List<ColumnMetadata> columns, Object[] row) throws SQLException {
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < row.length; i++) {
+            labels.add(columns != null ? columns.get(i).getColumnLabel() : "C" + i);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row);
+        OpResult result = OpResult.newBuilder()
+                .setSession(SESSION)
+                .setType(ResultType.RESULT_SET_DATA)
+                .setValue(serializeToByteString(OpQueryResult.builder()
+                        .labels(labels)
+                        .columns(columns)
+                        .rows(rows)
+                        .build()))
+                .build();
+        Connection connection = new Connection(SESSION, null, null);
+        return new ResultSet(List.of(result).iterator(), null, connection.createStatement());
+    }
+}
@@ -0,0 +1,67 @@
+package org.openjdbcproxy.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that ResultSetMetaData answers from the column metadata received with the first block without calling the
+ * server.
+ */
+public class ResultSetMetaDataTest {
+
+    @Test
+    public void testAttributesAnsweredLocally() throws SQLException {
+        ResultSetMetaData metaData = new ResultSetMetaData(null, null, Arrays.asList(
+                ColumnMetadata.builder()
+                        .columnType(Types.INTEGER)
+                        .columnTypeName("INTEGER")
+                        .columnLabel("ID")
+                        .columnName("ID")
+                        .tableName("ITEMS")
+                        .precision(10)
+                        .nullable(java.sql.ResultSetMetaData.columnNoNulls)
+                        .autoIncrement(true)
+                        .signed(true)
+                        .columnClassName("java.lang.Integer")
+                        .build(),
+                ColumnMetadata.builder()
+                        .columnType(Types.VARCHAR)
+                        .columnTypeName("VARCHAR")
+                        .columnLabel("NAME")
+                        .columnName("NAME")
+                        .columnDisplaySize(255)
+                        .nullable(java.sql.ResultSetMetaData.columnNullable)
+                        .caseSensitive(true)
+                        .build()));
+
+        assertEquals(2, metaData.getColumnCount());
+        assertEquals(Types.INTEGER, metaData.getColumnType(1));
+        assertEquals("ITEMS", metaData.getTableName(1));
+        assertEquals(10, metaData.getPrecision(1));
+        assertEquals(java.sql.ResultSetMetaData.columnNoNulls, metaData.isNullable(1));
+        assertTrue(metaData.isAutoIncrement(1));
+        assertEquals("java.lang.Integer", metaData.getColumnClassName(1));
+        assertEquals("NAME", metaData.getColumnLabel(2));
+        assertEquals(255, metaData.getColumnDisplaySize(2));
+        assertTrue(metaData.isCaseSensitive(2));
+        assertFalse(metaData.isAutoIncrement(2));
+    }
+
+    @Test
+    public void testInvalidColumnIndex() {
+        ResultSetMetaData metaData = new ResultSetMetaData(null, null, Arrays.asList(
+                ColumnMetadata.builder().columnName("ID").build()));
+
+        assertThrows(SQLException.class, () -> metaData.getColumnName(2));
+        assertThrows(SQLException.class, () -> metaData.getColumnName(0));
+    }
+}
@@ -0,0 +1,143 @@
+package org.openjdbcproxy.jdbc;
+
+import com.openjdbcproxy.grpc.CallResourceRequest;
+import com.openjdbcproxy.grpc.SessionInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.client.StatementService;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that Connection and Statement setters are kept in the client and sent along with the executions, and that
+ * getters answer without calling the server.
+ */
+public class SettingsTest {
+
+    @Test
+    public void testSettersAreSentWithExecution() throws Exception {
+        List<Object[]> executions = new ArrayList<>();
+        SessionInfo sessionInfo = SessionInfo.newBuilder().setConnHash("settings-hash").build();
+        Connection connection = new Connection(sessionInfo, fakeService(executions, "session-1"), null);
+
+        connection.setTransactionIsolation(java.sql.Connection.TRANSACTION_SERIALIZABLE);
+        java.sql.Statement statement = connection.createStatement();
+        statement.setQueryTimeout(5);
+        statement.setFetchSize(100);
+
+        assertEquals(java.sql.Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+        assertEquals(5, statement.getQueryTimeout());
+        assertEquals(100, statement.getFetchSize());
+        assertEquals(0, statement.getMaxRows());
+        assertTrue(executions.isEmpty());
+
+        statement.executeUpdate("update t set c = 1");
+        statement.executeUpdate("update t set c = 2");
+
+        assertEquals(2, executions.size());
+        Map<String, Object> connectionSettings = (Map<String, Object>) executions.get(0)[0];
+        assertEquals(java.sql.Connection.TRANSACTION_SERIALIZABLE, connectionSettings.get("TransactionIsolation"));
+        assertEquals(5, ((Map<String, Object>) executions.get(0)[1]).get("QueryTimeout"));
+        //Session was created by the first execution which already applied the connection settings.
+        assertTrue(((Map<String, Object>) executions.get(1)[0]).isEmpty());
+        assertEquals(100, ((Map<String, Object>) executions.get(1)[1]).get("FetchSize"));
+    }
+
+    @Test
+    public void testAllConnectionSettingsSentWithoutSession() throws Exception {
+        List<Object[]> executions = new ArrayList<>();
+        SessionInfo sessionInfo = SessionInfo.newBuilder().setConnHash("settings-hash").build();
+        Connection connection = new Connection(sessionInfo, fakeService(executions, ""), null);
+
+        connection.setSchema("reports");
+        java.sql.Statement statement = connection.createStatement();
+        statement.executeUpdate("update t set c = 1");
+        statement.executeUpdate("update t set c = 2");
+
+        assertEquals("reports", ((Map<String, Object>) executions.get(0)[0]).get("Schema"));
+        //Without a session each execution may run on a different pooled connection.
+        assertEquals("reports", ((Map<String, Object>) executions.get(1)[0]).get("Schema"));
+    }
+
+    @Test
+    public void testGettersAnsweredWithoutServer() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        SessionInfo sessionInfo = SessionInfo.newBuilder().setConnHash("settings-hash").build();
+        Connection connection = new Connection(sessionInfo, fakeResourceService(calls, new ArrayList<>()), null);
+        java.sql.Statement statement = connection.createStatement();
+
+        assertEquals(0, statement.getQueryTimeout());
+        assertEquals(0, statement.getFetchSize());
+        assertEquals(0, statement.getMaxFieldSize());
+        assertEquals(java.sql.ResultSet.FETCH_FORWARD, statement.getFetchDirection());
+        statement.setMaxFieldSize(128);
+        statement.setFetchDirection(java.sql.ResultSet.FETCH_REVERSE);
+        assertEquals(128, statement.getMaxFieldSize());
+        assertEquals(java.sql.ResultSet.FETCH_REVERSE, statement.getFetchDirection());
+
+        //No statement nor session was created in the server.
+        assertTrue(calls.isEmpty());
+        assertEquals("", connection.getSession().getSessionUUID());
+        assertThrows(SQLException.class, () -> statement.setQueryTimeout(-1));
+    }
+
+    @Test
+    public void testSettersOfStatementInServerSentWithNextExecution() throws Exception {
+        List<CallResourceRequest> calls = new ArrayList<>();
+        List<Object[]> executions = new ArrayList<>();
+        SessionInfo sessionInfo = SessionInfo.newBuilder().setConnHash("settings-hash").build();
+        Connection connection = new Connection(sessionInfo, fakeResourceService(calls, executions), null);
+        java.sql.Statement statement = connection.createStatement();
+        statement.clearWarnings();
+
+        statement.setQueryTimeout(9);
+        statement.setFetchSize(50);
+
+        assertEquals(1, calls.size());
+        assertEquals(9, statement.getQueryTimeout());
+        statement.executeUpdate("update t set c = 1");
+        assertEquals(1, calls.size());
+        Map<String, Object> settings = (Map<String, Object>) executions.get(0)[1];
+        assertEquals(9, settings.get("QueryTimeout"));
+        assertEquals(50, settings.get("FetchSize"));
+    }
+
+    /**
+     * Answers every resource call with no value, registering the statement on the first call, and records the updates
+     * as fakeService does.
+     */
+    private static StatementService fakeResourceService(List<CallResourceRequest> calls, List<Object[]> executions) {
+        return new FakeStatementService()
+                .onCallResource(request -> {
+                    calls.add(request);
+                    return FakeStatementService.response(request, null).toBuilder()
+                            .setResourceUUID("statement-1")
+                            .build();
+                })
+                .onUpdate((connection, args) -> {
+                    executions.add(new Object[]{connection.takeSettings(), args[5]});
+                    return FakeStatementService.updated(
+                            connection.getSession().toBuilder().setSessionUUID("session-1").build(), 1);
+                })
+                .build();
+    }
+
+    /**
+     * Records, for each update, the connection settings and the statement settings sent.
+     */
+    private static StatementService fakeService(List<Object[]> executions, String sessionUUID) {
+        return new FakeStatementService()
+                .onUpdate((connection, args) -> {
+                    executions.add(new Object[]{connection.takeSettings(), args[5]});
+                    return FakeStatementService.updated(
+                            connection.getSession().toBuilder().setSessionUUID(sessionUUID).build(), 1);
+                })
+                .build();
+    }
+}
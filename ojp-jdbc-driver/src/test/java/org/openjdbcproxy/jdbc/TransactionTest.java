@@ -0,0 +1,121 @@
+package org.openjdbcproxy.jdbc;
+
+import com.google.common.util.concurrent.Futures;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.TransactionInfo;
+import com.openjdbcproxy.grpc.TransactionStatus;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.client.StatementService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the transaction begin and commit are sent along with the statements and that empty transactions do not
+ * call the server.
+ */
+public class TransactionTest {
+
+    @Test
+    public void testBeginIsSentWithFirstStatement() throws Exception {
+        List<String> calls = new ArrayList<>();
+        Connection connection = new Connection(newSession(), fakeService(calls), null);
+
+        connection.setAutoCommit(false);
+        assertEquals(0, calls.size());
+
+        java.sql.Statement statement = connection.createStatement();
+        statement.executeUpdate("update t set c = 1");
+        statement.executeUpdate("update t set c = 2");
+        connection.commit();
+
+        assertEquals(List.of("executeUpdate begin=true commit=false", "executeUpdate begin=false commit=false",
+                "commitTransaction"), calls);
+    }
+
+    @Test
+    public void testEmptyTransactionEndsLocally() throws Exception {
+        List<String> calls = new ArrayList<>();
+        Connection connection = new Connection(newSession(), fakeService(calls), null);
+
+        connection.setAutoCommit(false);
+        connection.commit();
+        connection.rollback();
+        connection.setAutoCommit(true);
+
+        assertEquals(0, calls.size());
+    }
+
+    @Test
+    public void testCommitAttachedToLastStatement() throws Exception {
+        List<String> calls = new ArrayList<>();
+        Connection connection = new Connection(newSession(), fakeService(calls), null);
+
+        connection.setAutoCommit(false);
+        Statement statement = (Statement) connection.createStatement();
+        statement.executeUpdate("update t set c = 1");
+        statement.executeUpdateAndCommit("update t set c = 2");
+        connection.commit();
+
+        assertEquals(List.of("executeUpdate begin=true commit=false", "executeUpdate begin=false commit=true"), calls);
+    }
+
+    @Test
+    public void testUpdatesPipelinedOnceTransactionBegan() throws Exception {
+        List<String> calls = new ArrayList<>();
+        Connection connection = new Connection(newSession(), fakeService(calls), null);
+        connection.setPipelineUpdates(true);
+
+        connection.setAutoCommit(false);
+        java.sql.Statement statement = connection.createStatement();
+        assertEquals(1, statement.executeUpdate("update t set c = 1"));
+        assertEquals(java.sql.Statement.SUCCESS_NO_INFO, statement.executeUpdate("update t set c = 2"));
+        assertEquals(1, statement.getUpdateCount());
+        connection.commit();
+
+        assertEquals(List.of("executeUpdate begin=true commit=false", "executeUpdatePipelined",
+                "commitTransaction"), calls);
+    }
+
+    private static SessionInfo newSession() {
+        return SessionInfo.newBuilder().setConnHash("transaction-hash").build();
+    }
+
+    /**
+     * Records the calls made, beginning and committing the transaction as the server would.
+     */
+    private static StatementService fakeService(List<String> calls) {
+        return new FakeStatementService()
+                .on("commitTransaction", args -> {
+                    calls.add("commitTransaction");
+                    return withStatus((SessionInfo) args[0], TransactionStatus.TRX_COMMITED);
+                })
+                .on("executeUpdatePipelined", args -> {
+                    calls.add("executeUpdatePipelined");
+                    return Futures.immediateFuture(
+                            FakeStatementService.updated(((Connection) args[0]).getSession(), 1));
+                })
+                .onUpdate((connection, args) -> {
+                    boolean begin = connection.beginTransactionOnExecution();
+                    boolean commit = (Boolean) args[6];
+                    calls.add("executeUpdate begin=" + begin + " commit=" + commit);
+                    SessionInfo session = connection.getSession().toBuilder().setSessionUUID("session-1").build();
+                    if (begin) {
+                        session = withStatus(session, TransactionStatus.TRX_ACTIVE);
+                    }
+                    if (commit) {
+                        session = withStatus(session, TransactionStatus.TRX_COMMITED);
+                    }
+                    return FakeStatementService.updated(session, 1);
+                })
+                .build();
+    }
+
+    private static SessionInfo withStatus(SessionInfo session, TransactionStatus status) {
+        return session.toBuilder()
+                .setTransactionInfo(TransactionInfo.newBuilder().setTransactionStatus(status).build())
+                .build();
+    }
+}
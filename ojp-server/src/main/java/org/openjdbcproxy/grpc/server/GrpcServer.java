@@ -1,14 +1,21 @@
 package org.openjdbcproxy.grpc.server;
 
 import io.grpc.Server;
-import io.grpc.ServerBuilder;
 import io.grpc.health.v1.HealthCheckResponse;
 import io.grpc.netty.NettyServerBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.opentelemetry.instrumentation.grpc.v1_6.GrpcTelemetry;
+import org.openjdbcproxy.grpc.server.lob.LobStagingStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
@@ -44,31 +51,43 @@ public class GrpcServer {
             grpcTelemetry = ojpServerTelemetry.createNoOpGrpcTelemetry();
         }
 
-        // Build server with configuration
-        ServerBuilder<?> serverBuilder = NettyServerBuilder
-                .forPort(config.getServerPort())
-                .executor(Executors.newFixedThreadPool(config.getThreadPoolSize()))
-                .maxInboundMessageSize(config.getMaxRequestSize())
-                .keepAliveTime(config.getConnectionIdleTimeout(), TimeUnit.MILLISECONDS)
-                .addService(new StatementServiceImpl(
-                        new SessionManagerImpl(),
-                        new CircuitBreaker(config.getCircuitBreakerTimeout(), config.getCircuitBreakerThreshold())
-                ))
-                .addService(OjpHealthManager.getHealthStatusManager().getHealthService())
-                .intercept(grpcTelemetry.newServerInterceptor());
+        // Single service instance shared by the TCP port and the unix domain socket
+        StatementServiceImpl statementService = createStatementService(config);
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreadPoolSize());
 
-        Server server = serverBuilder.build();
+        // Build server with configuration
+        Server server = configure(NettyServerBuilder.forPort(config.getServerPort()), config, executor,
+                statementService, grpcTelemetry).build();
 
         logger.info("Starting OJP gRPC Server on port {}", config.getServerPort());
         logger.info("Server configuration applied successfully");
         
         server.start();
+
+        Server unixSocketServer = null;
+        EventLoopGroup unixSocketBossGroup = null;
+        EventLoopGroup unixSocketWorkerGroup = null;
+        if (!config.getUnixSocketPath().isEmpty()) {
+            unixSocketBossGroup = new EpollEventLoopGroup(1);
+            unixSocketWorkerGroup = new EpollEventLoopGroup();
+            unixSocketServer = startUnixSocketServer(config, executor, statementService, grpcTelemetry,
+                    unixSocketBossGroup, unixSocketWorkerGroup);
+        }
+        Server finalUnixSocketServer = unixSocketServer;
+        EventLoopGroup finalUnixSocketBossGroup = unixSocketBossGroup;
+        EventLoopGroup finalUnixSocketWorkerGroup = unixSocketWorkerGroup;
         OjpHealthManager.setServiceStatus(OjpHealthManager.Services.OJP_SERVER,
                 HealthCheckResponse.ServingStatus.SERVING);
         
         // Add shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("Shutting down OJP gRPC Server...");
+            // Drivers checking the health of the server stop sending it new connections
+            OjpHealthManager.setServiceStatus(OjpHealthManager.Services.OJP_SERVER,
+                    HealthCheckResponse.ServingStatus.NOT_SERVING);
+            if (finalUnixSocketServer != null) {
+                finalUnixSocketServer.shutdown();
+            }
             server.shutdown();
 
             try {
@@ -81,10 +100,73 @@ public class GrpcServer {
                 server.shutdownNow();
                 Thread.currentThread().interrupt();
             }
+            if (finalUnixSocketServer != null) {
+                // The event loops given to the unix socket server are not shut down along with it
+                try {
+                    if (!finalUnixSocketServer.awaitTermination(5, TimeUnit.SECONDS)) {
+                        finalUnixSocketServer.shutdownNow();
+                    }
+                } catch (InterruptedException e) {
+                    finalUnixSocketServer.shutdownNow();
+                    Thread.currentThread().interrupt();
+                }
+                finalUnixSocketBossGroup.shutdownGracefully();
+                finalUnixSocketWorkerGroup.shutdownGracefully();
+            }
+            statementService.close();
             logger.info("OJP gRPC Server shutdown complete");
         }));
 
         logger.info("OJP gRPC Server started successfully and awaiting termination");
         server.awaitTermination();
     }
+
+    /**
+     * Creates the statement service with its session manager, circuit breaker and caches as configured.
+     */
+    static StatementServiceImpl createStatementService(ServerConfiguration config) {
+        return new StatementServiceImpl(
+                new SessionManagerImpl(new LobStagingStore(
+                        config.getLobHeapThreshold(),
+                        config.getLobSessionQuota(),
+                        config.getLobGlobalQuota(),
+                        config.getLobSpillDirectory())),
+                new CircuitBreaker(config.getCircuitBreakerTimeout(), config.getCircuitBreakerThreshold()),
+                new StatementDescriptionCache(config.getDescribeCacheTtl()),
+                config.getFlowControlTimeout()
+        );
+    }
+
+    private static NettyServerBuilder configure(NettyServerBuilder serverBuilder, ServerConfiguration config,
+                                                ExecutorService executor, StatementServiceImpl statementService,
+                                                GrpcTelemetry grpcTelemetry) {
+        return serverBuilder
+                .executor(executor)
+                .maxInboundMessageSize(config.getMaxRequestSize())
+                .keepAliveTime(config.getConnectionIdleTimeout(), TimeUnit.MILLISECONDS)
+                .addService(statementService)
+                .addService(OjpHealthManager.getHealthStatusManager().getHealthService())
+                .intercept(grpcTelemetry.newServerInterceptor());
+    }
+
+    /**
+     * Listens on a unix domain socket as well, for drivers running in the same host (i.e. a sidecar). A socket file
+     * left behind by a previous run is replaced. The event loops are the caller's to shut down once the server
+     * terminated.
+     */
+    private static Server startUnixSocketServer(ServerConfiguration config, ExecutorService executor,
+                                                StatementServiceImpl statementService, GrpcTelemetry grpcTelemetry,
+                                                EventLoopGroup bossGroup, EventLoopGroup workerGroup)
+            throws IOException {
+        Path socketPath = Path.of(config.getUnixSocketPath());
+        Files.deleteIfExists(socketPath);
+        Server unixSocketServer = configure(NettyServerBuilder.forAddress(new DomainSocketAddress(socketPath.toFile()))
+                        .channelType(EpollServerDomainSocketChannel.class)
+                        .bossEventLoopGroup(bossGroup)
+                        .workerEventLoopGroup(workerGroup),
+                config, executor, statementService, grpcTelemetry).build();
+        logger.info("Starting OJP gRPC Server on unix socket {}", socketPath);
+        unixSocketServer.start();
+        return unixSocketServer;
+    }
 }
@@ -1,5 +1,8 @@
 package org.openjdbcproxy.grpc.server;
 
+import lombok.Getter;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
+
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -13,65 +16,44 @@ import java.util.List;
  * which may become invalid or closed, especially when working with JDBC drivers that
  * aggressively clean up metadata.
  *
- * Only used by DB2 at the moment as per DB2 is the most aggressive to close ResultSets causing situations
- * where the ResultSet is closed before close method is called and errors in OJP.
+ * The columns are sent to the driver with the first block of every query so ResultSetMetaData calls are answered
+ * locally. DB2 also keeps it as a session attribute as per DB2 is the most aggressive to close ResultSets causing
+ * situations where the ResultSet is closed before close method is called and errors in OJP.
  */
 public class HydratedResultSetMetadata implements ResultSetMetaData {
 
-    private static class ColumnMeta {
-        int columnType;
-        String columnTypeName;
-        String columnLabel;
-        String columnName;
-        String schemaName;
-        String tableName;
-        String catalogName;
-        int columnDisplaySize;
-        int precision;
-        int scale;
-        int nullable;
-        boolean autoIncrement;
-        boolean caseSensitive;
-        boolean searchable;
-        boolean currency;
-        boolean signed;
-        boolean readOnly;
-        boolean writable;
-        boolean definitelyWritable;
-        String columnClassName;
-    }
-
-    private final List<ColumnMeta> columns = new ArrayList<>();
+    @Getter
+    private final List<ColumnMetadata> columns = new ArrayList<>();
 
     public HydratedResultSetMetadata(ResultSetMetaData original) throws SQLException {
         int count = original.getColumnCount();
         for (int i = 1; i <= count; i++) {
-            ColumnMeta col = new ColumnMeta();
-            col.columnType = original.getColumnType(i);
-            col.columnTypeName = original.getColumnTypeName(i);
-            col.columnLabel = original.getColumnLabel(i);
-            col.columnName = original.getColumnName(i);
-            col.schemaName = original.getSchemaName(i);
-            col.tableName = original.getTableName(i);
-            col.catalogName = original.getCatalogName(i);
-            col.columnDisplaySize = original.getColumnDisplaySize(i);
-            col.precision = original.getPrecision(i);
-            col.scale = original.getScale(i);
-            col.nullable = original.isNullable(i);
-            col.autoIncrement = original.isAutoIncrement(i);
-            col.caseSensitive = original.isCaseSensitive(i);
-            col.searchable = original.isSearchable(i);
-            col.currency = original.isCurrency(i);
-            col.signed = original.isSigned(i);
-            col.readOnly = original.isReadOnly(i);
-            col.writable = original.isWritable(i);
-            col.definitelyWritable = original.isDefinitelyWritable(i);
-            col.columnClassName = original.getColumnClassName(i);
-            columns.add(col);
+            columns.add(ColumnMetadata.builder()
+                    .columnType(original.getColumnType(i))
+                    .columnTypeName(original.getColumnTypeName(i))
+                    .columnLabel(original.getColumnLabel(i))
+                    .columnName(original.getColumnName(i))
+                    .schemaName(original.getSchemaName(i))
+                    .tableName(original.getTableName(i))
+                    .catalogName(original.getCatalogName(i))
+                    .columnDisplaySize(original.getColumnDisplaySize(i))
+                    .precision(original.getPrecision(i))
+                    .scale(original.getScale(i))
+                    .nullable(original.isNullable(i))
+                    .autoIncrement(original.isAutoIncrement(i))
+                    .caseSensitive(original.isCaseSensitive(i))
+                    .searchable(original.isSearchable(i))
+                    .currency(original.isCurrency(i))
+                    .signed(original.isSigned(i))
+                    .readOnly(original.isReadOnly(i))
+                    .writable(original.isWritable(i))
+                    .definitelyWritable(original.isDefinitelyWritable(i))
+                    .columnClassName(original.getColumnClassName(i))
+                    .build());
         }
     }
 
-    private ColumnMeta get(int column) throws SQLException {
+    private ColumnMetadata get(int column) throws SQLException {
         if (column < 1 || column > columns.size()) {
             throw new SQLException("Invalid column index: " + column);
         }
@@ -79,26 +61,26 @@ public class HydratedResultSetMetadata implements ResultSetMetaData {
     }
 
     @Override public int getColumnCount() { return columns.size(); }
-    @Override public boolean isAutoIncrement(int column) throws SQLException { return get(column).autoIncrement; }
-    @Override public boolean isCaseSensitive(int column) throws SQLException { return get(column).caseSensitive; }
-    @Override public boolean isSearchable(int column) throws SQLException { return get(column).searchable; }
-    @Override public boolean isCurrency(int column) throws SQLException { return get(column).currency; }
-    @Override public int isNullable(int column) throws SQLException { return get(column).nullable; }
-    @Override public boolean isSigned(int column) throws SQLException { return get(column).signed; }
-    @Override public int getColumnDisplaySize(int column) throws SQLException { return get(column).columnDisplaySize; }
-    @Override public String getColumnLabel(int column) throws SQLException { return get(column).columnLabel; }
-    @Override public String getColumnName(int column) throws SQLException { return get(column).columnName; }
-    @Override public String getSchemaName(int column) throws SQLException { return get(column).schemaName; }
-    @Override public int getPrecision(int column) throws SQLException { return get(column).precision; }
-    @Override public int getScale(int column) throws SQLException { return get(column).scale; }
-    @Override public String getTableName(int column) throws SQLException { return get(column).tableName; }
-    @Override public String getCatalogName(int column) throws SQLException { return get(column).catalogName; }
-    @Override public int getColumnType(int column) throws SQLException { return get(column).columnType; }
-    @Override public String getColumnTypeName(int column) throws SQLException { return get(column).columnTypeName; }
-    @Override public boolean isReadOnly(int column) throws SQLException { return get(column).readOnly; }
-    @Override public boolean isWritable(int column) throws SQLException { return get(column).writable; }
-    @Override public boolean isDefinitelyWritable(int column) throws SQLException { return get(column).definitelyWritable; }
-    @Override public String getColumnClassName(int column) throws SQLException { return get(column).columnClassName; }
+    @Override public boolean isAutoIncrement(int column) throws SQLException { return get(column).isAutoIncrement(); }
+    @Override public boolean isCaseSensitive(int column) throws SQLException { return get(column).isCaseSensitive(); }
+    @Override public boolean isSearchable(int column) throws SQLException { return get(column).isSearchable(); }
+    @Override public boolean isCurrency(int column) throws SQLException { return get(column).isCurrency(); }
+    @Override public int isNullable(int column) throws SQLException { return get(column).getNullable(); }
+    @Override public boolean isSigned(int column) throws SQLException { return get(column).isSigned(); }
+    @Override public int getColumnDisplaySize(int column) throws SQLException { return get(column).getColumnDisplaySize(); }
+    @Override public String getColumnLabel(int column) throws SQLException { return get(column).getColumnLabel(); }
+    @Override public String getColumnName(int column) throws SQLException { return get(column).getColumnName(); }
+    @Override public String getSchemaName(int column) throws SQLException { return get(column).getSchemaName(); }
+    @Override public int getPrecision(int column) throws SQLException { return get(column).getPrecision(); }
+    @Override public int getScale(int column) throws SQLException { return get(column).getScale(); }
+    @Override public String getTableName(int column) throws SQLException { return get(column).getTableName(); }
+    @Override public String getCatalogName(int column) throws SQLException { return get(column).getCatalogName(); }
+    @Override public int getColumnType(int column) throws SQLException { return get(column).getColumnType(); }
+    @Override public String getColumnTypeName(int column) throws SQLException { return get(column).getColumnTypeName(); }
+    @Override public boolean isReadOnly(int column) throws SQLException { return get(column).isReadOnly(); }
+    @Override public boolean isWritable(int column) throws SQLException { return get(column).isWritable(); }
+    @Override public boolean isDefinitelyWritable(int column) throws SQLException { return get(column).isDefinitelyWritable(); }
+    @Override public String getColumnClassName(int column) throws SQLException { return get(column).getColumnClassName(); }
     @Override public <T> T unwrap(Class<T> iface) throws SQLException { throw new SQLException("unwrap not supported"); }
     @Override public boolean isWrapperFor(Class<?> iface) { return false; }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -16,7 +17,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Accumulates LobDataBlocks and provide an implementation of InputStream interface, specially resolving the problem of
- * waiting for new blocks while feeding the InputStream at the same time.
+ * waiting for new blocks while feeding the InputStream at the same time. Blocks are read through read only views of
+ * their ByteString data, so no byte array copies are made.
  */
 @Slf4j
 public class LobDataBlocksInputStream extends InputStream {
@@ -24,8 +26,7 @@ public class LobDataBlocksInputStream extends InputStream {
     private final String uuid;
     private final List<LobDataBlock> blocksReceived;
     private final AtomicBoolean atomicFinished;
-    private byte[] currentBlock;
-    private int currentIdx;
+    private ByteBuffer currentBlock;
     private SettableFuture<Boolean> blockArrived;
     @Getter
     private AtomicBoolean fullyConsumed;
@@ -34,19 +35,43 @@ public class LobDataBlocksInputStream extends InputStream {
         this.uuid = UUID.randomUUID().toString();
         this.fullyConsumed = new AtomicBoolean(false);
         this.blocksReceived = new ArrayList<>();
-        this.currentBlock = firstBlock.getData().toByteArray();
+        this.currentBlock = firstBlock.getData().asReadOnlyByteBuffer();
         this.atomicFinished = new AtomicBoolean(false);
         this.blockArrived = SettableFuture.create();
-        this.currentIdx = -1;
         this.blockArrived.set(true);
         log.info("{} lob created", this.uuid);
     }
 
-    @SneakyThrows
     @Override
     public int read() {
         log.debug("Reading lob {}", this.uuid);
-        if (this.currentIdx >= this.currentBlock.length - 1) {
+        if (!this.nextBlockAvailable()) {
+            return -1;//End of stream.
+        }
+        return this.currentBlock.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!this.nextBlockAvailable()) {
+            return -1;//End of stream.
+        }
+        int count = Math.min(len, this.currentBlock.remaining());
+        this.currentBlock.get(b, off, count);
+        return count;
+    }
+
+    /**
+     * Positions the next block with bytes to be read, waiting for it to arrive if required.
+     *
+     * @return false if the stream finished and all blocks were consumed.
+     */
+    @SneakyThrows
+    private boolean nextBlockAvailable() {
+        while (!this.currentBlock.hasRemaining()) {
             log.debug("Current block has no bytes to read.");
             if (this.blocksReceived.isEmpty()) {
                 log.debug("No new blocks received, will wait for block to arrive if stream not finished");
@@ -54,7 +79,7 @@ public class LobDataBlocksInputStream extends InputStream {
                 if (this.atomicFinished.get()) {
                     log.debug("All blocks exhausted, finishing byte stream. lob {}", this.uuid);
                     this.fullyConsumed.set(true);
-                    return -1;//End of stream.
+                    return false;
                 }
                 try {
                     this.blockArrived.get(5, TimeUnit.SECONDS); //Wait for next block to arrive
@@ -62,7 +87,7 @@ public class LobDataBlocksInputStream extends InputStream {
                     if (this.atomicFinished.get()) {
                         log.debug("All blocks exhausted, timed out waiting for new block, finishing byte stream. lob {}", this.uuid);
                         this.fullyConsumed.set(true);
-                        return -1;//End of stream.
+                        return false;
                     }
                 }
                 log.debug("New block arrived");
@@ -71,15 +96,15 @@ public class LobDataBlocksInputStream extends InputStream {
                 }
             }
             synchronized (this) {
+                if (this.blocksReceived.isEmpty()) {
+                    continue;//Timed out waiting but stream not finished, keep waiting.
+                }
                 LobDataBlock nextBlock = this.blocksReceived.remove(0);
-                this.currentBlock = nextBlock.getData().toByteArray();
+                this.currentBlock = nextBlock.getData().asReadOnlyByteBuffer();
             }
-            this.currentIdx = -1;
             log.debug("Nex block positioned for reading");
         }
-
-        int ret = this.currentBlock[++currentIdx];
-        return ret & 0xFF;
+        return true;
     }
 
     public void addBlock(LobDataBlock lobDataBlock) {
@@ -0,0 +1,86 @@
+package org.openjdbcproxy.grpc.server;
+
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OJP server running inside the application JVM, i.e. in batch jobs or benchmarks. The driver reaches it through the
+ * gRPC in-process transport with urls such as jdbc:ojp[inprocess:name]_h2:mem:test, calls are handed over in memory
+ * without sockets nor HTTP/2 framing. Everything else, sessions, connection pools and caches, works as in a standalone
+ * server.
+ */
+public class OjpEmbeddedServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(OjpEmbeddedServer.class);
+
+    private final String name;
+    private final Server server;
+    private final ExecutorService executor;
+    private final StatementServiceImpl statementService;
+
+    private OjpEmbeddedServer(String name, Server server, ExecutorService executor,
+                              StatementServiceImpl statementService) {
+        this.name = name;
+        this.server = server;
+        this.executor = executor;
+        this.statementService = statementService;
+    }
+
+    /**
+     * Starts an embedded server configured from the JVM properties and environment variables, as a standalone server.
+     *
+     * @param name Name the driver urls refer to, unique within the JVM.
+     */
+    public static OjpEmbeddedServer start(String name) throws IOException {
+        return start(name, new ServerConfiguration());
+    }
+
+    public static OjpEmbeddedServer start(String name, ServerConfiguration config) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreadPoolSize());
+        StatementServiceImpl statementService = GrpcServer.createStatementService(config);
+        Server server = InProcessServerBuilder.forName(name)
+                .executor(executor)
+                .maxInboundMessageSize(config.getMaxRequestSize())
+                .addService(statementService)
+                .build();
+        logger.info("Starting embedded OJP server {}", name);
+        try {
+            server.start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            statementService.close();
+            throw e;
+        }
+        return new OjpEmbeddedServer(name, server, executor, statementService);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public void close() {
+        logger.info("Shutting down embedded OJP server {}", this.name);
+        this.server.shutdown();
+        try {
+            if (!this.server.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Embedded server did not terminate gracefully, forcing shutdown");
+                this.server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while waiting for embedded server shutdown");
+            this.server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            this.executor.shutdownNow();
+            //Sessions left open by the application are terminated and the connection pools closed.
+            this.statementService.close();
+        }
+    }
+}
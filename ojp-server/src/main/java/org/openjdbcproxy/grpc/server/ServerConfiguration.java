@@ -29,6 +29,13 @@ public class ServerConfiguration {
     private static final String PROMETHEUS_ALLOWED_IPS_KEY = "ojp.prometheus.allowedIps";
     private static final String CIRCUIT_BREAKER_TIMEOUT_KEY = "ojp.server.circuitBreakerTimeout";
     private static final String CIRCUIT_BREAKER_THRESHOLD_KEY = "ojp.server.circuitBreakerThreshold";
+    private static final String LOB_HEAP_THRESHOLD_KEY = "ojp.server.lobHeapThreshold";
+    private static final String LOB_SESSION_QUOTA_KEY = "ojp.server.lobSessionQuota";
+    private static final String LOB_GLOBAL_QUOTA_KEY = "ojp.server.lobGlobalQuota";
+    private static final String LOB_SPILL_DIRECTORY_KEY = "ojp.server.lobSpillDirectory";
+    private static final String DESCRIBE_CACHE_TTL_KEY = "ojp.server.describeCacheTtl";
+    private static final String UNIX_SOCKET_PATH_KEY = "ojp.server.unixSocketPath";
+    private static final String FLOW_CONTROL_TIMEOUT_KEY = "ojp.server.flowControlTimeout";
 
     // Default values
     public static final int DEFAULT_SERVER_PORT = CommonConstants.DEFAULT_PORT_NUMBER;
@@ -44,6 +51,13 @@ public class ServerConfiguration {
     public static final List<String> DEFAULT_PROMETHEUS_ALLOWED_IPS = List.of(IpWhitelistValidator.ALLOW_ALL_IPS); // Allow all by default
     public static final long DEFAULT_CIRCUIT_BREAKER_TIMEOUT = 60000; // 60 seconds
     public static final int DEFAULT_CIRCUIT_BREAKER_THRESHOLD = 3; // 3 failures before opening the circuit breaker.
+    public static final int DEFAULT_LOB_HEAP_THRESHOLD = 1024 * 1024; // 1MB, bigger hydrated LOBs spill to disk
+    public static final long DEFAULT_LOB_SESSION_QUOTA = 512L * 1024 * 1024; // 512MB
+    public static final long DEFAULT_LOB_GLOBAL_QUOTA = 8L * 1024 * 1024 * 1024; // 8GB
+    public static final String DEFAULT_LOB_SPILL_DIRECTORY = ""; // empty = java.io.tmpdir
+    public static final long DEFAULT_DESCRIBE_CACHE_TTL = 300000; // 5 minutes, 0 disables the statement describe cache
+    public static final String DEFAULT_UNIX_SOCKET_PATH = ""; // empty = TCP port only
+    public static final long DEFAULT_FLOW_CONTROL_TIMEOUT = 600000; // 10 minutes waiting for a client to read more rows
 
     // Configuration values
     private final int serverPort;
@@ -59,6 +73,13 @@ public class ServerConfiguration {
     private final List<String> prometheusAllowedIps;
     private final long circuitBreakerTimeout;
     private final int circuitBreakerThreshold;
+    private final int lobHeapThreshold;
+    private final long lobSessionQuota;
+    private final long lobGlobalQuota;
+    private final String lobSpillDirectory;
+    private final long describeCacheTtl;
+    private final String unixSocketPath;
+    private final long flowControlTimeout;
 
     public ServerConfiguration() {
         this.serverPort = getIntProperty(SERVER_PORT_KEY, DEFAULT_SERVER_PORT);
@@ -74,6 +95,13 @@ public class ServerConfiguration {
         this.prometheusAllowedIps = getListProperty(PROMETHEUS_ALLOWED_IPS_KEY, DEFAULT_PROMETHEUS_ALLOWED_IPS);
         this.circuitBreakerTimeout = getLongProperty(CIRCUIT_BREAKER_TIMEOUT_KEY, DEFAULT_CIRCUIT_BREAKER_TIMEOUT);
         this.circuitBreakerThreshold = getIntProperty(CIRCUIT_BREAKER_THRESHOLD_KEY, DEFAULT_CIRCUIT_BREAKER_THRESHOLD);
+        this.lobHeapThreshold = getIntProperty(LOB_HEAP_THRESHOLD_KEY, DEFAULT_LOB_HEAP_THRESHOLD);
+        this.lobSessionQuota = getLongProperty(LOB_SESSION_QUOTA_KEY, DEFAULT_LOB_SESSION_QUOTA);
+        this.lobGlobalQuota = getLongProperty(LOB_GLOBAL_QUOTA_KEY, DEFAULT_LOB_GLOBAL_QUOTA);
+        this.lobSpillDirectory = getStringProperty(LOB_SPILL_DIRECTORY_KEY, DEFAULT_LOB_SPILL_DIRECTORY);
+        this.describeCacheTtl = getLongProperty(DESCRIBE_CACHE_TTL_KEY, DEFAULT_DESCRIBE_CACHE_TTL);
+        this.unixSocketPath = getStringProperty(UNIX_SOCKET_PATH_KEY, DEFAULT_UNIX_SOCKET_PATH);
+        this.flowControlTimeout = getLongProperty(FLOW_CONTROL_TIMEOUT_KEY, DEFAULT_FLOW_CONTROL_TIMEOUT);
 
 
         logConfigurationSummary();
@@ -168,6 +196,13 @@ public class ServerConfiguration {
         logger.info("  Prometheus Allowed IPs: {}", prometheusAllowedIps);
         logger.info("  Circuit Breaker Timeout: {} ms", circuitBreakerTimeout);
         logger.info("  Circuit Breaker Threshold: {} ", circuitBreakerThreshold);
+        logger.info("  LOB Heap Threshold: {} bytes", lobHeapThreshold);
+        logger.info("  LOB Session Quota: {} bytes", lobSessionQuota);
+        logger.info("  LOB Global Quota: {} bytes", lobGlobalQuota);
+        logger.info("  LOB Spill Directory: {}", lobSpillDirectory.isEmpty() ? "default" : lobSpillDirectory);
+        logger.info("  Describe Cache TTL: {} ms", describeCacheTtl);
+        logger.info("  Unix Socket Path: {}", unixSocketPath.isEmpty() ? "disabled" : unixSocketPath);
+        logger.info("  Flow Control Timeout: {} ms", flowControlTimeout);
     }
 
     // Getters
@@ -222,4 +257,32 @@ public class ServerConfiguration {
     public int getCircuitBreakerThreshold() {
         return circuitBreakerThreshold;
     }
+
+    public int getLobHeapThreshold() {
+        return lobHeapThreshold;
+    }
+
+    public long getLobSessionQuota() {
+        return lobSessionQuota;
+    }
+
+    public long getLobGlobalQuota() {
+        return lobGlobalQuota;
+    }
+
+    public String getLobSpillDirectory() {
+        return lobSpillDirectory;
+    }
+
+    public long getDescribeCacheTtl() {
+        return describeCacheTtl;
+    }
+
+    public String getUnixSocketPath() {
+        return unixSocketPath;
+    }
+
+    public long getFlowControlTimeout() {
+        return flowControlTimeout;
+    }
 }
\ No newline at end of file
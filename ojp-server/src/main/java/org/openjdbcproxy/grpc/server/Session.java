@@ -1,8 +1,10 @@
 package org.openjdbcproxy.grpc.server;
 
+import com.openjdbcproxy.grpc.ResourceType;
 import com.openjdbcproxy.grpc.SessionInfo;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.server.lob.StagedLob;
 
 import java.sql.CallableStatement;
 import java.sql.Connection;
@@ -121,6 +123,44 @@ public class Session {
         return (T) this.lobMap.get(uuid);
     }
 
+    /**
+     * Removes a result set or statement from the session so it can be closed, other resource types are kept until the
+     * session terminates. The result sets of a statement are removed along with it, as closing it closes them.
+     *
+     * @return Resource removed or null if not found.
+     */
+    public AutoCloseable removeResource(ResourceType resourceType, String uuid) {
+        this.notClosed();
+        switch (resourceType) {
+            case RES_RESULT_SET:
+                return this.resultSetMap.remove(uuid);
+            case RES_STATEMENT:
+                return this.removeResultSetsOf(this.statementMap.remove(uuid));
+            case RES_PREPARED_STATEMENT:
+                return this.removeResultSetsOf(this.preparedStatementMap.remove(uuid));
+            case RES_CALLABLE_STATEMENT:
+                return this.removeResultSetsOf(this.callableStatementMap.remove(uuid));
+            default:
+                return null;
+        }
+    }
+
+    private <T extends Statement> T removeResultSetsOf(T statement) {
+        if (statement != null) {
+            this.resultSetMap.values().removeIf(resultSet -> isResultSetOf(resultSet, statement));
+        }
+        return statement;
+    }
+
+    private static boolean isResultSetOf(ResultSet resultSet, Statement statement) {
+        try {
+            return resultSet.getStatement() == statement;
+        } catch (SQLException e) {
+            log.debug("Unable to get the statement of a result set: {}", e.getMessage());
+            return false;
+        }
+    }
+
     private void notClosed() {
         if (this.closed) {
             throw new RuntimeException("Session is closed.");
@@ -137,6 +177,13 @@ public class Session {
         // reset the connection state before returning it to the pool.
         this.connection.close();
 
+        //Staged LOBs hold spill files and quota outside of the heap, they must be released explicitly.
+        for (Object lob : this.lobMap.values()) {
+            if (lob instanceof StagedLob) {
+                ((StagedLob) lob).free();
+            }
+        }
+
         //Clear session internal objects to free memory
         this.closed = true;
         this.lobMap = null;
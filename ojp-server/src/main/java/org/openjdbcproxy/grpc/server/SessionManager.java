@@ -1,7 +1,10 @@
 package org.openjdbcproxy.grpc.server;
 
+import com.openjdbcproxy.grpc.ResourceRelease;
 import com.openjdbcproxy.grpc.SessionInfo;
+import org.openjdbcproxy.grpc.server.lob.StagedLob;
 
+import java.io.InputStream;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -9,6 +12,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Manages sessions established with clients
@@ -28,9 +32,12 @@ public interface SessionManager {
     void registerLob(SessionInfo sessionInfo, Object o, String lobUuid);
     <T> T getLob(SessionInfo sessionInfo, String uuid);
     Collection<Object> getLobs(SessionInfo sessionInfo);
+    StagedLob stageLob(SessionInfo sessionInfo, InputStream inputStream) throws SQLException;
     void terminateSession(SessionInfo sessionInfo) throws SQLException;
     void waitLobStreamsConsumption(SessionInfo sessionInfo);
     void registerAttr(SessionInfo sessionInfo, String key, Object value);
     Object getAttr(SessionInfo sessionInfo, String key);
+    int releaseResources(SessionInfo sessionInfo, List<ResourceRelease> resources);
+    void close();
 
 }
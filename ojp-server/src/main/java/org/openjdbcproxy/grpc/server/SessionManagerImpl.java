@@ -1,10 +1,14 @@
 package org.openjdbcproxy.grpc.server;
 
+import com.openjdbcproxy.grpc.ResourceRelease;
 import com.openjdbcproxy.grpc.SessionInfo;
 import com.openjdbcproxy.grpc.TransactionStatus;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.server.lob.LobStagingStore;
+import org.openjdbcproxy.grpc.server.lob.StagedLob;
 
+import java.io.InputStream;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -22,6 +26,15 @@ public class SessionManagerImpl implements SessionManager {
 
     private Map<String, String> connectionHashMap = new ConcurrentHashMap<>();
     private Map<String, Session> sessionMap = new ConcurrentHashMap<>();
+    private final LobStagingStore lobStagingStore;
+
+    public SessionManagerImpl() {
+        this(new LobStagingStore());
+    }
+
+    public SessionManagerImpl(LobStagingStore lobStagingStore) {
+        this.lobStagingStore = lobStagingStore;
+    }
 
     @Override
     public void registerClientUUID(String connectionHash, String clientUUID) {
@@ -123,6 +136,16 @@ public class SessionManagerImpl implements SessionManager {
         return (Collection<Object>) this.sessionMap.get(sessionInfo.getSessionUUID()).getAllLobs();
     }
 
+    @Override
+    public StagedLob stageLob(SessionInfo sessionInfo, InputStream inputStream) throws SQLException {
+        Session session = this.sessionMap.get(sessionInfo.getSessionUUID());
+        if (session == null) {
+            log.error("Attempting to stage LOB on null session {}", sessionInfo.getSessionUUID());
+            throw new RuntimeException("Session not found: " + sessionInfo.getSessionUUID());
+        }
+        return this.lobStagingStore.stage(session.getSessionUUID(), inputStream);
+    }
+
     @Override
     public void terminateSession(SessionInfo sessionInfo) throws SQLException {
         log.info("Terminating session -> " + sessionInfo.getSessionUUID());
@@ -135,6 +158,7 @@ public class SessionManagerImpl implements SessionManager {
             }
         }
         targetSession.terminate();
+        this.lobStagingStore.releaseSession(sessionInfo.getSessionUUID());
     }
 
     @SneakyThrows
@@ -173,4 +197,55 @@ public class SessionManagerImpl implements SessionManager {
         Session session = this.sessionMap.get(sessionInfo.getSessionUUID());
         return session.getAttr(key);
     }
+
+    @Override
+    public int releaseResources(SessionInfo sessionInfo, List<ResourceRelease> resources) {
+        Session session = this.sessionMap.get(sessionInfo.getSessionUUID());
+        if (session == null) {
+            //Session terminated already, its resources were released with it.
+            log.debug("Skipping release of {} resources of terminated session {}", resources.size(),
+                    sessionInfo.getSessionUUID());
+            return 0;
+        }
+        int released = 0;
+        for (ResourceRelease release : resources) {
+            AutoCloseable resource = session.removeResource(release.getResourceType(), release.getResourceUUID());
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+                released++;
+            } catch (Exception e) {
+                //Client does not wait for releases, failures are only logged.
+                log.warn("Failure releasing {} {}: {}", release.getResourceType(), release.getResourceUUID(),
+                        e.getMessage());
+            }
+        }
+        log.debug("Released {} resources of session {}", released, sessionInfo.getSessionUUID());
+        return released;
+    }
+
+    /**
+     * Terminates the sessions still open, rolling back their transactions, and frees the LOBs still staged. Used when
+     * the server shuts down.
+     */
+    @Override
+    public void close() {
+        for (String sessionUUID : this.sessionMap.keySet()) {
+            Session session = this.sessionMap.remove(sessionUUID);
+            if (session == null) {
+                continue;
+            }
+            try {
+                if (!session.getConnection().getAutoCommit()) {
+                    session.getConnection().rollback();
+                }
+                session.terminate();
+            } catch (SQLException e) {
+                log.warn("Failure terminating session {} on shutdown: {}", sessionUUID, e.getMessage());
+            }
+        }
+        this.lobStagingStore.close();
+    }
 }
@@ -0,0 +1,130 @@
+package org.openjdbcproxy.grpc.server;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
+import org.openjdbcproxy.grpc.dto.ParameterMetadata;
+import org.openjdbcproxy.grpc.dto.StatementDescription;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Descriptions of prepared statements (result set and parameter metadata) cached per connection hash and SQL, shared
+ * by every client of the same database. Frameworks that describe every statement before executing it are answered
+ * without preparing the statement again. Entries expire after the time to live configured and every entry of a
+ * connection hash is dropped when a DDL statement is executed through it.
+ */
+@Slf4j
+public class StatementDescriptionCache {
+
+    private static final int MAX_ENTRIES_PER_CONN_HASH = 1024;
+
+    private final long ttlMillis;
+    private final Map<String, Map<String, Entry>> descriptions = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttlMillis Time to live of the descriptions, 0 disables the cache
+     */
+    public StatementDescriptionCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return The description cached or null if not cached or expired.
+     */
+    public StatementDescription get(String connHash, String sql) {
+        Map<String, Entry> entries = this.descriptions.get(connHash);
+        if (entries == null) {
+            return null;
+        }
+        Entry entry = entries.get(sql);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(this.ttlMillis)) {
+            entries.remove(sql, entry);
+            return null;
+        }
+        return entry.description;
+    }
+
+    public void put(String connHash, String sql, StatementDescription description) {
+        if (this.ttlMillis <= 0) {
+            return;
+        }
+        Map<String, Entry> entries = this.descriptions.computeIfAbsent(connHash, k -> new ConcurrentHashMap<>());
+        if (entries.size() >= MAX_ENTRIES_PER_CONN_HASH) {
+            entries.values().removeIf(entry -> entry.isExpired(this.ttlMillis));
+            if (entries.size() >= MAX_ENTRIES_PER_CONN_HASH) {
+                return;
+            }
+        }
+        entries.put(sql, new Entry(description));
+    }
+
+    /**
+     * Drops every description of a connection hash, called when a DDL statement runs through it.
+     */
+    public void invalidate(String connHash) {
+        if (this.descriptions.remove(connHash) != null) {
+            log.debug("Statement descriptions of {} invalidated", connHash);
+        }
+    }
+
+    /**
+     * Describes a prepared statement without executing it. Databases that cannot describe the result set or the
+     * parameters before execution leave the respective part null.
+     */
+    public static StatementDescription describe(PreparedStatement ps) throws SQLException {
+        List<ColumnMetadata> columns = null;
+        ResultSetMetaData resultSetMetaData = ps.getMetaData();
+        if (resultSetMetaData != null) {
+            columns = new HydratedResultSetMetadata(resultSetMetaData).getColumns();
+        }
+        List<ParameterMetadata> parameters = null;
+        try {
+            ParameterMetaData parameterMetaData = ps.getParameterMetaData();
+            if (parameterMetaData != null) {
+                parameters = new ArrayList<>();
+                for (int i = 1; i <= parameterMetaData.getParameterCount(); i++) {
+                    parameters.add(ParameterMetadata.builder()
+                            .parameterType(parameterMetaData.getParameterType(i))
+                            .parameterTypeName(parameterMetaData.getParameterTypeName(i))
+                            .parameterClassName(parameterMetaData.getParameterClassName(i))
+                            .parameterMode(parameterMetaData.getParameterMode(i))
+                            .precision(parameterMetaData.getPrecision(i))
+                            .scale(parameterMetaData.getScale(i))
+                            .nullable(parameterMetaData.isNullable(i))
+                            .signed(parameterMetaData.isSigned(i))
+                            .build());
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Unable to describe parameters: {}", e.getMessage());
+            parameters = null;
+        }
+        return StatementDescription.builder()
+                .columns(columns)
+                .parameters(parameters)
+                .build();
+    }
+
+    private static class Entry {
+        private final StatementDescription description;
+        private final long createdAt = System.nanoTime();
+
+        Entry(StatementDescription description) {
+            this.description = description;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.nanoTime() - this.createdAt > ttlMillis * 1_000_000L;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.openjdbcproxy.grpc.server;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.openjdbcproxy.grpc.CallResourceRequest;
 import com.openjdbcproxy.grpc.CallResourceResponse;
 import com.openjdbcproxy.grpc.CallType;
@@ -8,9 +9,13 @@ import com.openjdbcproxy.grpc.ConnectionDetails;
 import com.openjdbcproxy.grpc.DbName;
 import com.openjdbcproxy.grpc.LobDataBlock;
 import com.openjdbcproxy.grpc.LobReference;
+import com.openjdbcproxy.grpc.LobReferences;
 import com.openjdbcproxy.grpc.LobType;
 import com.openjdbcproxy.grpc.OpResult;
 import com.openjdbcproxy.grpc.ReadLobRequest;
+import com.openjdbcproxy.grpc.ReleaseResourcesRequest;
+import com.openjdbcproxy.grpc.ReleaseResourcesResponse;
+import com.openjdbcproxy.grpc.ResourceRelease;
 import com.openjdbcproxy.grpc.ResourceType;
 import com.openjdbcproxy.grpc.ResultSetFetchRequest;
 import com.openjdbcproxy.grpc.ResultType;
@@ -24,6 +29,7 @@ import com.openjdbcproxy.grpc.TransactionInfo;
 import com.openjdbcproxy.grpc.TransactionStatus;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.grpc.Status;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.Builder;
@@ -37,6 +43,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.openjdbcproxy.constants.CommonConstants;
 import org.openjdbcproxy.grpc.dto.OpQueryResult;
 import org.openjdbcproxy.grpc.dto.Parameter;
+import org.openjdbcproxy.grpc.dto.RowChange;
+import org.openjdbcproxy.grpc.dto.StatementDescription;
+import org.openjdbcproxy.grpc.server.utils.DatabaseMetaDataSnapshot;
 import org.openjdbcproxy.grpc.server.utils.DateTimeUtils;
 import org.openjdbcproxy.database.DatabaseUtils;
 import org.openjdbcproxy.grpc.server.utils.DriverUtils;
@@ -46,16 +55,20 @@ import org.openjdbcproxy.grpc.server.utils.UrlParser;
 import org.openjdbcproxy.grpc.server.utils.MethodReflectionUtils;
 import org.openjdbcproxy.grpc.server.utils.MethodNameGenerator;
 import org.openjdbcproxy.grpc.server.utils.SessionInfoUtils;
+import org.openjdbcproxy.grpc.server.statement.CallableStatementHandler;
 import org.openjdbcproxy.grpc.server.statement.ParameterHandler;
+import org.openjdbcproxy.grpc.server.statement.SettingsHandler;
 import org.openjdbcproxy.grpc.server.statement.StatementFactory;
 import org.openjdbcproxy.grpc.server.resultset.ResultSetWrapper;
+import org.openjdbcproxy.grpc.server.resultset.RowChangesHandler;
+import org.openjdbcproxy.grpc.server.lob.ClobBlockWriter;
 import org.openjdbcproxy.grpc.server.lob.LobProcessor;
+import org.openjdbcproxy.grpc.server.lob.StagedLob;
 import org.openjdbcproxy.grpc.server.utils.StatementRequestValidator;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Reader;
-import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
@@ -85,15 +98,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.openjdbcproxy.constants.CommonConstants.MAX_LOB_DATA_BLOCK_SIZE;
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 import static org.openjdbcproxy.grpc.server.Constants.EMPTY_LIST;
 import static org.openjdbcproxy.grpc.server.Constants.EMPTY_MAP;
 import static org.openjdbcproxy.grpc.server.Constants.EMPTY_STRING;
@@ -107,8 +125,18 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
     private final Map<String, HikariDataSource> datasourceMap = new ConcurrentHashMap<>();
     private final SessionManager sessionManager;
     private final CircuitBreaker circuitBreaker;
+    private final StatementDescriptionCache statementDescriptionCache;
+    private final long flowControlTimeout;
     private static final List<String> INPUT_STREAM_TYPES = Arrays.asList("RAW", "BINARY VARYING", "BYTEA");
+    //Times out flow controlled result sets whose client stopped asking for rows, no thread waits for the client.
+    private static final ScheduledExecutorService FLOW_CONTROL_TIMER = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "ojp-flow-control-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
     private final Map<String, DbName> dbNameMap = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> databaseMetaDataSnapshotMap = new ConcurrentHashMap<>();
 
     private final static String RESULT_SET_METADATA_ATTR_PREFIX = "rsMetadata|";
 
@@ -116,6 +144,26 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         DriverUtils.registerDrivers();
     }
 
+    public StatementServiceImpl(SessionManager sessionManager, CircuitBreaker circuitBreaker) {
+        this(sessionManager, circuitBreaker,
+                new StatementDescriptionCache(ServerConfiguration.DEFAULT_DESCRIBE_CACHE_TTL),
+                ServerConfiguration.DEFAULT_FLOW_CONTROL_TIMEOUT);
+    }
+
+    /**
+     * Terminates the sessions still open and closes the connection pools and the LOB staging store. To be called once
+     * the gRPC servers using this service terminated.
+     */
+    public void close() {
+        this.sessionManager.close();
+        for (HikariDataSource dataSource : this.datasourceMap.values()) {
+            dataSource.close();
+        }
+        this.datasourceMap.clear();
+        this.dbNameMap.clear();
+        this.databaseMetaDataSnapshotMap.clear();
+    }
+
     @Override
     public void connect(ConnectionDetails connectionDetails, StreamObserver<SessionInfo> responseObserver) {
         String connHash = ConnectionHashGenerator.hashConnectionDetails(connectionDetails);
@@ -133,6 +181,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
 
             ds = new HikariDataSource(config);
             this.datasourceMap.put(connHash, ds);
+            this.dbNameMap.put(connHash, DatabaseUtils.resolveDbName(connectionDetails.getUrl()));
         }
 
         this.sessionManager.registerClientUUID(connHash, connectionDetails.getClientUUID());
@@ -142,9 +191,6 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                 .setClientUUID(connectionDetails.getClientUUID())
                 .build()
         );
-
-        this.dbNameMap.put(connHash, DatabaseUtils.resolveDbName(connectionDetails.getUrl()));
-
         responseObserver.onCompleted();
     }
 
@@ -163,10 +209,16 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         OpResult.Builder opResultBuilder = OpResult.newBuilder();
 
         try {
-            dto = sessionConnection(request.getSession(), StatementRequestValidator.isAddBatchOperation(request) || StatementRequestValidator.hasAutoGeneratedKeysFlag(request));
+            this.releasePiggybackedResources(request);
+            dto = sessionConnection(request.getSession(), StatementRequestValidator.isAddBatchOperation(request) ||
+                    request.getBeginTransaction());
             returnSessionInfo = dto.getSession();
+            SettingsHandler.applyConnectionSettings(dto.getConnection(), request.getConnectionSettings());
+            if (request.getBeginTransaction()) {
+                returnSessionInfo = this.beginTransaction(returnSessionInfo);
+            }
 
-            List<Parameter> params = deserialize(request.getParameters().toByteArray(), List.class);
+            List<Parameter> params = deserialize(request.getParameters(), List.class);
             PreparedStatement ps = dto.getSession() != null && StringUtils.isNotBlank(dto.getSession().getSessionUUID())
                     && StringUtils.isNoneBlank(request.getStatementUUID()) ?
                     sessionManager.getPreparedStatement(dto.getSession(), request.getStatementUUID()) : null;
@@ -187,11 +239,8 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                     }
                 } else {
                     ps = StatementFactory.createPreparedStatement(sessionManager, dto, request.getSql(), params, request);
-                    if (StatementRequestValidator.hasAutoGeneratedKeysFlag(request)) {
-                        String psNewUUID = sessionManager.registerPreparedStatement(dto.getSession(), ps);
-                        opResultBuilder.setUuid(psNewUUID);
-                    }
                 }
+                SettingsHandler.applyStatementSettings(ps, request.getStatementSettings());
                 if (StatementRequestValidator.isAddBatchOperation(request)) {
                     ps.addBatch();
                     if (request.getStatementUUID().isBlank()) {
@@ -201,70 +250,186 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                     }
                 } else {
                     updated = ps.executeUpdate();
+                    if (StatementRequestValidator.returnsGeneratedKeys(request)) {
+                        //Keys go back with the update count, the client does not come back for them.
+                        opResultBuilder.setGeneratedKeys(serializeToByteString(
+                                ResultSetWrapper.materialize(ps.getGeneratedKeys())));
+                        if (StringUtils.isEmpty(request.getStatementUUID())) {
+                            ps.close();
+                        }
+                    }
                 }
                 stmt = ps;
             } else {
                 stmt = StatementFactory.createStatement(sessionManager, dto.getConnection(), request);
+                SettingsHandler.applyStatementSettings(stmt, request.getStatementSettings());
                 updated = stmt.executeUpdate(request.getSql());
             }
 
+            if (DatabaseUtils.isDdl(request.getSql())) {
+                this.statementDescriptionCache.invalidate(request.getSession().getConnHash());
+            }
+
+            if (request.getCommitTransaction()) {
+                returnSessionInfo = this.commit(returnSessionInfo);
+            }
+
             if (StatementRequestValidator.isAddBatchOperation(request)) {
                 responseObserver.onNext(opResultBuilder
                         .setType(ResultType.UUID_STRING)
                         .setSession(returnSessionInfo)
-                        .setValue(ByteString.copyFrom(serialize(psUUID))).build());
+                        .setValue(serializeToByteString(psUUID)).build());
             } else {
                 responseObserver.onNext(opResultBuilder
                         .setType(ResultType.INTEGER)
                         .setSession(returnSessionInfo)
-                        .setValue(ByteString.copyFrom(serialize(updated))).build());
+                        .setValue(serializeToByteString(updated)).build());
             }
             responseObserver.onCompleted();
             circuitBreaker.onSuccess(stmtHash);
         } catch (SQLDataException e) {// Need a second catch just for the acquisition of the connection
             circuitBreaker.onFailure(stmtHash, e);
             log.error("SQL data failure during update execution: " + e.getMessage(), e);
+            this.abortBegunTransaction(request, returnSessionInfo);
             sendSQLExceptionMetadata(e, responseObserver, SqlErrorType.SQL_DATA_EXCEPTION);
         } catch (SQLException e) {// Need a second catch just for the acquisition of the connection
             circuitBreaker.onFailure(stmtHash, e);
             log.error("Failure during update execution: " + e.getMessage(), e);
+            this.abortBegunTransaction(request, returnSessionInfo);
             sendSQLExceptionMetadata(e, responseObserver);
         } finally {
             //If there is no session, close statement and connection
             if (dto.getSession() == null || StringUtils.isEmpty(dto.getSession().getSessionUUID())) {
-                assert stmt != null;
-                try {
-                    stmt.close();
-                } catch (SQLException e) {
-                    log.error("Failure closing statement: " + e.getMessage(), e);
+                if (stmt != null) {
+                    try {
+                        stmt.close();
+                    } catch (SQLException e) {
+                        log.error("Failure closing statement: " + e.getMessage(), e);
+                    }
                 }
-                try {
-                    stmt.getConnection().close();
-                } catch (SQLException e) {
-                    log.error("Failure closing connection: " + e.getMessage(), e);
+                //Connection may have been acquired without a statement being created, i.e. if applying settings failed.
+                if (dto.getConnection() != null) {
+                    try {
+                        dto.getConnection().close();
+                    } catch (SQLException e) {
+                        log.error("Failure closing connection: " + e.getMessage(), e);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Executes the updates of a stream one after the other in the order received, sending the result of each one as
+     * soon as it is executed. The client does not wait for a result before sending the next update. The first failure
+     * ends the stream and the updates received after it are discarded.
+     */
+    @Override
+    public StreamObserver<StatementRequest> executeUpdatePipeline(StreamObserver<OpResult> responseObserver) {
+        log.info("Executing updates pipeline");
+        return new StreamObserver<>() {
+            private boolean failed = false;
+
+            @Override
+            public void onNext(StatementRequest request) {
+                if (this.failed) {
+                    return;
+                }
+                try {
+                    executeUpdate(request, new StreamObserver<>() {
+                        @Override
+                        public void onNext(OpResult opResult) {
+                            responseObserver.onNext(opResult);
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {
+                            failed = true;
+                            responseObserver.onError(throwable);
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            //Stream completes only once the client has sent all the updates.
+                        }
+                    });
+                } catch (Exception e) {
+                    this.failed = true;
+                    if (e instanceof SQLException) {
+                        sendSQLExceptionMetadata((SQLException) e, responseObserver);
+                    } else {
+                        sendSQLExceptionMetadata(new SQLException("Unable to execute update: " + e.getMessage(), e),
+                                responseObserver);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.error("Failure updates pipeline stream: " + throwable.getMessage(), throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!this.failed) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
     @Override
     public void executeQuery(StatementRequest request, StreamObserver<OpResult> responseObserver) {
         log.info("Executing query for {}", request.getSql());
         String stmtHash = SqlStatementXXHash.hashSqlQuery(request.getSql());
         try {
             circuitBreaker.preCheck(stmtHash);
+            this.releasePiggybackedResources(request);
+            boolean sessionless = this.isSessionlessQuery(request);
             ConnectionSessionDTO dto = this.sessionConnection(request.getSession(), true);
+            SessionInfo returnSessionInfo = dto.getSession();
+            try {
+                SettingsHandler.applyConnectionSettings(dto.getConnection(), request.getConnectionSettings());
+                if (request.getBeginTransaction()) {
+                    returnSessionInfo = this.beginTransaction(dto.getSession());
+                }
 
-            List<Parameter> params = deserialize(request.getParameters().toByteArray(), List.class);
-            if (CollectionUtils.isNotEmpty(params)) {
-                PreparedStatement ps = StatementFactory.createPreparedStatement(sessionManager, dto, request.getSql(), params, request);
-                String resultSetUUID = this.sessionManager.registerResultSet(dto.getSession(), ps.executeQuery());
-                this.handleResultSet(dto.getSession(), resultSetUUID, responseObserver);
-            } else {
-                Statement stmt = StatementFactory.createStatement(sessionManager, dto.getConnection(), request);
-                String resultSetUUID = this.sessionManager.registerResultSet(dto.getSession(),
-                        stmt.executeQuery(request.getSql()));
-                this.handleResultSet(dto.getSession(), resultSetUUID, responseObserver);
+                List<Parameter> params = deserialize(request.getParameters(), List.class);
+                ResultSet rs;
+                if (CollectionUtils.isNotEmpty(params)) {
+                    PreparedStatement ps = StatementFactory.createPreparedStatement(sessionManager, dto, request.getSql(), params, request);
+                    SettingsHandler.applyStatementSettings(ps, request.getStatementSettings());
+                    rs = ps.executeQuery();
+                } else {
+                    Statement stmt = StatementFactory.createStatement(sessionManager, dto.getConnection(), request);
+                    SettingsHandler.applyStatementSettings(stmt, request.getStatementSettings());
+                    rs = stmt.executeQuery(request.getSql());
+                }
+                if (sessionless && !this.isReadableWithoutSession(rs)) {
+                    rs.close();
+                    sendSQLExceptionMetadata(new SQLException("Query returning large objects can not be executed " +
+                            "without a session.", CommonConstants.SESSIONLESS_QUERY_REFUSED_SQL_STATE), responseObserver);
+                    return;
+                }
+                String resultSetUUID = this.sessionManager.registerResultSet(dto.getSession(), rs);
+                //Sessionless queries are read in full before their session ends, they are not flow controlled.
+                if (!sessionless && this.isFlowControlled(request) &&
+                        responseObserver instanceof ServerCallStreamObserver) {
+                    new FlowControlledResultSet(returnSessionInfo, resultSetUUID,
+                            new ResultSetBlockReader(returnSessionInfo, resultSetUUID, true),
+                            (ServerCallStreamObserver<OpResult>) responseObserver,
+                            StringUtils.isEmpty(request.getSession().getSessionUUID())).start();
+                } else {
+                    this.handleResultSet(returnSessionInfo, resultSetUUID, sessionless ?
+                            this.withoutSession(request.getSession(), responseObserver) : responseObserver, true);
+                }
+            } catch (SQLException e) {
+                this.abortBegunTransaction(request, returnSessionInfo);
+                throw e;
+            } finally {
+                if (sessionless) {
+                    this.sessionManager.terminateSession(dto.getSession());
+                }
             }
             circuitBreaker.onSuccess(stmtHash);
         } catch (SQLException e) {
@@ -279,7 +444,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         log.debug("Executing fetch next rows for result set  {}", request.getResultSetUUID());
         try {
             ConnectionSessionDTO dto = this.sessionConnection(request.getSession(), false);
-            this.handleResultSet(dto.getSession(), request.getResultSetUUID(), responseObserver);
+            this.handleResultSet(dto.getSession(), request.getResultSetUUID(), responseObserver, false);
         } catch (SQLException e) {
             log.error("Failure fetch next rows for result set: " + e.getMessage(), e);
             sendSQLExceptionMetadata(e, responseObserver);
@@ -295,6 +460,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
             private String stmtUUID;
             private LobType lobType;
             private LobDataBlocksInputStream lobDataBlocksInputStream = null;
+            private final ClobBlockWriter clobBlockWriter = new ClobBlockWriter();
             private final AtomicBoolean isFirstBlock = new AtomicBoolean(true);
             private final AtomicInteger countBytesWritten = new AtomicInteger(0);
 
@@ -365,8 +531,8 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                                 throw new SQLException("Unable to write LOB of type " + this.lobType + ": Blob object is null for UUID " + this.lobUUID + 
                                     ". This may indicate a race condition or session management issue.");
                             }
-                            byte[] byteArrayData = lobDataBlock.getData().toByteArray();
-                            bytesWritten = blob.setBytes(lobDataBlock.getPosition(), byteArrayData);
+                            //Blob.setBytes only takes arrays, this is the single copy of the block made on the write path.
+                            bytesWritten = blob.setBytes(lobDataBlock.getPosition(), lobDataBlock.getData().toByteArray());
                             break;
                         }
                         case LT_CLOB: {
@@ -375,19 +541,15 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                                 throw new SQLException("Unable to write LOB of type " + this.lobType + ": Clob object is null for UUID " + this.lobUUID + 
                                     ". This may indicate a race condition or session management issue.");
                             }
-                            byte[] byteArrayData = lobDataBlock.getData().toByteArray();
-                            Writer writer = clob.setCharacterStream(lobDataBlock.getPosition());
-                            writer.write(new String(byteArrayData, StandardCharsets.UTF_8).toCharArray());
-                            bytesWritten = byteArrayData.length;
+                            bytesWritten = this.clobBlockWriter.write(clob, lobDataBlock.getPosition(), lobDataBlock.getData());
                             break;
                         }
                         case LT_BINARY_STREAM: {
                             if (this.lobUUID == null) {
-                                byte[] metadataBytes = lobDataBlock.getMetadata().toByteArray();
-                                if (metadataBytes == null && metadataBytes.length < 1) {
+                                if (lobDataBlock.getMetadata().isEmpty()) {
                                     throw new SQLException("Metadata empty for binary stream type.");
                                 }
-                                Map<Integer, Object> metadata = deserialize(metadataBytes, Map.class);
+                                Map<Integer, Object> metadata = deserialize(lobDataBlock.getMetadata(), Map.class);
                                 String sql = (String) metadata.get(CommonConstants.PREPARED_STATEMENT_BINARY_STREAM_SQL);
                                 PreparedStatement ps;
                                 String preparedStatementUUID = (String) metadata.get(CommonConstants.PREPARED_STATEMENT_UUID_BINARY_STREAM);
@@ -405,7 +567,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                                 sessionManager.registerLob(dto.getSession(), lobDataBlocksInputStream, lobDataBlocksInputStream.getUuid());
                                 sessionManager.registerAttr(dto.getSession(), lobDataBlocksInputStream.getUuid(), metadata);
                                 //Need to first send the ref to the client before adding the stream as a parameter
-                                sendLobRef(dto, lobDataBlock.getData().toByteArray().length);
+                                sendLobRef(dto, lobDataBlock.getData().size());
                             } else {
                                 lobDataBlocksInputStream.addBlock(lobDataBlock);
                             }
@@ -453,6 +615,9 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
             @SneakyThrows
             @Override
             public void onCompleted() {
+                if (LobType.LT_CLOB.equals(this.lobType) && this.lobUUID != null) {
+                    this.clobBlockWriter.finish(sessionManager.getLob(this.sessionInfo, this.lobUUID));
+                }
                 if (lobDataBlocksInputStream != null) {
                     CompletableFuture.runAsync(() -> {
                         log.info("Finishing lob stream for lob ref {}", this.lobUUID);
@@ -476,70 +641,157 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         };
     }
 
+    /**
+     * Creates several Blobs and Clobs in a single stream, blocks are routed to their LOB by the lobIndex. No reference
+     * is sent back until the client completes the stream, then all references are returned at once so the client never
+     * waits between LOBs.
+     */
+    @Override
+    public StreamObserver<LobDataBlock> createLobs(StreamObserver<LobReferences> responseObserver) {
+        log.info("Creating LOBs batch");
+        return new StreamObserver<>() {
+            private ConnectionSessionDTO dto;
+            private final Map<Integer, LobReference.Builder> lobRefs = new TreeMap<>();
+            private final Map<Integer, ClobBlockWriter> clobBlockWriters = new HashMap<>();
+            private boolean failed = false;
+
+            @Override
+            public void onNext(LobDataBlock lobDataBlock) {
+                if (this.failed) {
+                    return;
+                }
+                try {
+                    //Blocks after the first may still carry an empty session, the one started by the first block is kept.
+                    if (this.dto == null) {
+                        this.dto = sessionConnection(lobDataBlock.getSession(), true);
+                    }
+                    LobType lobType = lobDataBlock.getLobType();
+                    LobReference.Builder lobRef = this.lobRefs.get(lobDataBlock.getLobIndex());
+                    if (lobRef == null) {
+                        Object lob;
+                        if (LobType.LT_BLOB.equals(lobType)) {
+                            lob = this.dto.getConnection().createBlob();
+                        } else if (LobType.LT_CLOB.equals(lobType)) {
+                            lob = this.dto.getConnection().createClob();
+                        } else {
+                            throw new SQLException("LOB type " + lobType + " not supported in LOB batches.");
+                        }
+                        String lobUUID = UUID.randomUUID().toString();
+                        sessionManager.registerLob(this.dto.getSession(), lob, lobUUID);
+                        lobRef = LobReference.newBuilder().setUuid(lobUUID).setLobType(lobType);
+                        this.lobRefs.put(lobDataBlock.getLobIndex(), lobRef);
+                    }
+
+                    int bytesWritten;
+                    if (LobType.LT_BLOB.equals(lobType)) {
+                        Blob blob = sessionManager.getLob(this.dto.getSession(), lobRef.getUuid());
+                        bytesWritten = blob.setBytes(lobDataBlock.getPosition(), lobDataBlock.getData().toByteArray());
+                    } else {
+                        Clob clob = sessionManager.getLob(this.dto.getSession(), lobRef.getUuid());
+                        bytesWritten = this.clobBlockWriters.computeIfAbsent(lobDataBlock.getLobIndex(),
+                                k -> new ClobBlockWriter()).write(clob, lobDataBlock.getPosition(), lobDataBlock.getData());
+                    }
+                    lobRef.setBytesWritten(lobRef.getBytesWritten() + bytesWritten);
+                } catch (SQLException e) {
+                    this.failed = true;
+                    sendSQLExceptionMetadata(e, responseObserver);
+                } catch (Exception e) {
+                    this.failed = true;
+                    sendSQLExceptionMetadata(new SQLException("Unable to write data: " + e.getMessage(), e), responseObserver);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.error("Failure lobs batch stream: " + throwable.getMessage(), throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                if (this.failed) {
+                    return;
+                }
+                if (this.dto == null) {
+                    responseObserver.onNext(LobReferences.getDefaultInstance());
+                    responseObserver.onCompleted();
+                    return;
+                }
+                try {
+                    for (Map.Entry<Integer, ClobBlockWriter> entry : this.clobBlockWriters.entrySet()) {
+                        entry.getValue().finish(sessionManager.getLob(this.dto.getSession(),
+                                this.lobRefs.get(entry.getKey()).getUuid()));
+                    }
+                    LobReferences.Builder lobReferences = LobReferences.newBuilder().setSession(this.dto.getSession());
+                    for (LobReference.Builder lobRef : this.lobRefs.values()) {
+                        lobReferences.addLobReferences(lobRef.setSession(this.dto.getSession()));
+                    }
+                    responseObserver.onNext(lobReferences.build());
+                    responseObserver.onCompleted();
+                } catch (SQLException e) {
+                    sendSQLExceptionMetadata(e, responseObserver);
+                } catch (Exception e) {
+                    sendSQLExceptionMetadata(new SQLException("Unable to write data: " + e.getMessage(), e), responseObserver);
+                }
+            }
+        };
+    }
+
     @Override
     public void readLob(ReadLobRequest request, StreamObserver<LobDataBlock> responseObserver) {
         log.debug("Reading lob {}", request.getLobReference().getUuid());
         try {
             LobReference lobRef = request.getLobReference();
+            Object lobObj = sessionManager.getLob(lobRef.getSession(), lobRef.getUuid());
+            if (lobObj instanceof StagedLob) {
+                this.readStagedLob((StagedLob) lobObj, request, responseObserver);
+                return;
+            }
             ReadLobContext readLobContext = this.findLobContext(request);
             InputStream inputStream = readLobContext.getInputStream();
             if (inputStream == null) {
                 responseObserver.onNext(LobDataBlock.newBuilder()
                         .setSession(lobRef.getSession())
                         .setPosition(-1)
-                        .setData(ByteString.copyFrom(new byte[0]))
+                        .setData(ByteString.EMPTY)
                         .build());
                 responseObserver.onCompleted();
                 return;
             }
             //If the lob length is known the exact size of the next block is also known.
-            boolean exactSizeKnown = readLobContext.getLobLength().isPresent() && readLobContext.getAvailableLength().isPresent();
             int nextByte = inputStream.read();
-            int nextBlockSize = nextByte == -1 ? 1 : this.nextBlockSize(readLobContext, request.getPosition());
+            long sentBytes = 0;
+            int nextBlockSize = this.nextBlockSize(readLobContext, sentBytes);
             byte[] nextBlock = new byte[nextBlockSize];
             int idx = -1;
-            int currentPos = (int) request.getPosition();
-            boolean nextBlockFullyEmpty = false;
             while (nextByte != -1) {
                 nextBlock[++idx] = (byte) nextByte;
-                nextBlockFullyEmpty = false;
                 if (idx == nextBlockSize - 1) {
-                    currentPos += (idx + 1);
-                    log.info("Sending block of data size {} pos {}", idx + 1, currentPos);
+                    sentBytes += nextBlockSize;
+                    log.info("Sending block of data size {} pos {}", nextBlockSize, request.getPosition() + sentBytes - 1);
                     //Send data to client in limited size blocks to safeguard server memory.
+                    //The block array is never written again after being sent, so it can be wrapped instead of copied.
                     responseObserver.onNext(LobDataBlock.newBuilder()
                             .setSession(lobRef.getSession())
-                            .setPosition(currentPos)
-                            .setData(ByteString.copyFrom(nextBlock))
+                            .setPosition(request.getPosition() + sentBytes - 1)
+                            .setData(UnsafeByteOperations.unsafeWrap(nextBlock))
                             .build()
                     );
-                    nextBlockSize = this.nextBlockSize(readLobContext, currentPos - 1);
-                    if (nextBlockSize > 0) {//Might be a single small block then nextBlockSize will return negative.
-                        nextBlock = new byte[nextBlockSize];
-                    } else {
-                        nextBlock = new byte[0];
-                    }
-                    nextBlockFullyEmpty = true;
+                    nextBlockSize = this.nextBlockSize(readLobContext, sentBytes);
+                    nextBlock = new byte[nextBlockSize];
                     idx = -1;
                 }
                 nextByte = inputStream.read();
             }
 
-            //Send leftover bytes
-            if (!nextBlockFullyEmpty && nextBlock.length > 0 && nextBlock[0] != -1) {
-
-                byte[] adjustedSizeArray = (idx % MAX_LOB_DATA_BLOCK_SIZE != 0 && !exactSizeKnown) ?
-                        trim(nextBlock) : nextBlock;
-                if (nextByte == -1 && adjustedSizeArray.length == 1 && adjustedSizeArray[0] != nextByte) {
-                    // For cases where the amount of bytes is a multiple of the block size and last read only reads the end of the stream.
-                    adjustedSizeArray = new byte[0];
-                }
-                currentPos = (int) request.getPosition() + idx;
-                log.info("Sending leftover bytes size {} pos {}", idx, currentPos);
+            //Send leftover bytes, or a single empty block if the range requested had no bytes at all.
+            if (idx >= 0 || sentBytes == 0) {
+                long currentPos = request.getPosition() + sentBytes + idx;
+                log.info("Sending leftover bytes size {} pos {}", idx + 1, currentPos);
                 responseObserver.onNext(LobDataBlock.newBuilder()
                         .setSession(lobRef.getSession())
                         .setPosition(currentPos)
-                        .setData(ByteString.copyFrom(adjustedSizeArray))
+                        .setData(idx >= 0 ? UnsafeByteOperations.unsafeWrap(Arrays.copyOf(nextBlock, idx + 1)) :
+                                ByteString.EMPTY)
                         .build()
                 );
             }
@@ -553,19 +805,27 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         }
     }
 
-    private byte[] trim(byte[] nextBlock) {
-        int lastBytePos = 0;
-        for (int i = nextBlock.length - 1; i >= 0; i--) {
-            int currentByte = nextBlock[i];
-            if (currentByte != 0) {
-                lastBytePos = i;
-                break;
-            }
-        }
-
-        byte[] trimmedArray = new byte[lastBytePos + 1];
-        System.arraycopy(nextBlock, 0, trimmedArray, 0, lastBytePos + 1);
-        return trimmedArray;
+    /**
+     * Serves the requested range of a staged LOB straight from its heap array or memory mapped spill file.
+     */
+    private void readStagedLob(StagedLob stagedLob, ReadLobRequest request, StreamObserver<LobDataBlock> responseObserver)
+            throws SQLException {
+        SessionInfo session = request.getLobReference().getSession();
+        long offset = Math.min(request.getPosition() - 1, stagedLob.length());
+        long end = Math.min(stagedLob.length(), offset + request.getLength());
+        do {
+            int blockSize = (int) Math.min(MAX_LOB_DATA_BLOCK_SIZE, end - offset);
+            log.debug("Sending staged block of data size {} pos {}", blockSize, offset + blockSize);
+            //Copied from the mapping rather than wrapped, the spill file may be unmapped before the message is sent.
+            responseObserver.onNext(LobDataBlock.newBuilder()
+                    .setSession(session)
+                    .setPosition(offset + blockSize)
+                    .setData(ByteString.copyFrom(stagedLob.slice(offset, blockSize)))
+                    .build()
+            );
+            offset += blockSize;
+        } while (offset < end);
+        responseObserver.onCompleted();
     }
 
     @Builder
@@ -623,9 +883,12 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         Clob clob = sessionManager.getLob(lobReference.getSession(), lobReference.getUuid());
         long lobLength = clob.length();
         readLobContextBuilder.lobLength(Optional.of(lobLength));
-        int availableLength = (request.getPosition() + request.getLength()) < lobLength ? request.getLength() :
-                (int) (lobLength - request.getPosition() + 1);
+        int availableLength = (request.getPosition() + request.getLength() - 1) <= lobLength ? request.getLength() :
+                (int) Math.max(0, lobLength - request.getPosition() + 1);
         readLobContextBuilder.availableLength(Optional.of(availableLength));
+        if (availableLength == 0) {
+            return InputStream.nullInputStream();
+        }
         Reader reader = clob.getCharacterStream(request.getPosition(), availableLength);
         return ReaderInputStream.builder()
                 .setReader(reader)
@@ -640,35 +903,28 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         Blob blob = sessionManager.getLob(lobReference.getSession(), lobReference.getUuid());
         long lobLength = blob.length();
         readLobContextBuilder.lobLength(Optional.of(lobLength));
-        int availableLength = (request.getPosition() + request.getLength()) < lobLength ? request.getLength() :
-                (int) (lobLength - request.getPosition() + 1);
+        int availableLength = (request.getPosition() + request.getLength() - 1) <= lobLength ? request.getLength() :
+                (int) Math.max(0, lobLength - request.getPosition() + 1);
         readLobContextBuilder.availableLength(Optional.of(availableLength));
+        if (availableLength == 0) {
+            return InputStream.nullInputStream();
+        }
         return blob.getBinaryStream(request.getPosition(), availableLength);
     }
 
-    private int nextBlockSize(ReadLobContext readLobContext, long position) {
+    /**
+     * Size of the next block to send, blocks never go past the range requested when the lob length is known. If the
+     * stream produces more bytes than the range in characters (multi byte characters of a Clob) full blocks are used.
+     */
+    private int nextBlockSize(ReadLobContext readLobContext, long sentBytes) {
 
         //BinaryStreams do not have means to know the size of the lob like Blobs or Clobs.
         if (readLobContext.getAvailableLength().isEmpty() || readLobContext.getLobLength().isEmpty()) {
             return MAX_LOB_DATA_BLOCK_SIZE;
         }
 
-        long lobLength = readLobContext.getLobLength().get();
-        int length = readLobContext.getAvailableLength().get();
-
-        //Single read situations
-        int nextBlockSize = Math.min(MAX_LOB_DATA_BLOCK_SIZE, length);
-        if ((int) lobLength == length && position == 1) {
-            return length;
-        }
-        int nextPos = (int) (position + nextBlockSize);
-        if (nextPos > lobLength) {
-            nextBlockSize = Math.toIntExact(nextBlockSize - (nextPos - lobLength));
-        } else if ((position + 1) % length == 0) {
-            nextBlockSize = 0;
-        }
-
-        return nextBlockSize;
+        long remaining = readLobContext.getAvailableLength().get() - sentBytes;
+        return remaining > 0 ? (int) Math.min(MAX_LOB_DATA_BLOCK_SIZE, remaining) : MAX_LOB_DATA_BLOCK_SIZE;
     }
 
     @Override
@@ -693,22 +949,10 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
 
             //Start a session if none started yet.
             if (StringUtils.isEmpty(sessionInfo.getSessionUUID())) {
-                Connection conn = this.datasourceMap.get(sessionInfo.getConnHash()).getConnection();
-                activeSessionInfo = sessionManager.createSession(sessionInfo.getClientUUID(), conn);
+                activeSessionInfo = this.sessionConnection(sessionInfo, true).getSession();
             }
-            Connection sessionConnection = sessionManager.getConnection(activeSessionInfo);
-            //Start a transaction
-            sessionConnection.setAutoCommit(Boolean.FALSE);
 
-            TransactionInfo transactionInfo = TransactionInfo.newBuilder()
-                    .setTransactionStatus(TransactionStatus.TRX_ACTIVE)
-                    .setTransactionUUID(UUID.randomUUID().toString())
-                    .build();
-
-            SessionInfo.Builder sessionInfoBuilder = SessionInfoUtils.newBuilderFrom(activeSessionInfo);
-            sessionInfoBuilder.setTransactionInfo(transactionInfo);
-
-            responseObserver.onNext(sessionInfoBuilder.build());
+            responseObserver.onNext(this.beginTransaction(activeSessionInfo));
             responseObserver.onCompleted();
         } catch (SQLException se) {
             sendSQLExceptionMetadata(se, responseObserver);
@@ -721,18 +965,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
     public void commitTransaction(SessionInfo sessionInfo, StreamObserver<SessionInfo> responseObserver) {
         log.info("Commiting transaction");
         try {
-            Connection conn = sessionManager.getConnection(sessionInfo);
-            conn.commit();
-
-            TransactionInfo transactionInfo = TransactionInfo.newBuilder()
-                    .setTransactionStatus(TransactionStatus.TRX_COMMITED)
-                    .setTransactionUUID(sessionInfo.getTransactionInfo().getTransactionUUID())
-                    .build();
-
-            SessionInfo.Builder sessionInfoBuilder = SessionInfoUtils.newBuilderFrom(sessionInfo);
-            sessionInfoBuilder.setTransactionInfo(transactionInfo);
-
-            responseObserver.onNext(sessionInfoBuilder.build());
+            responseObserver.onNext(this.commit(sessionInfo));
             responseObserver.onCompleted();
         } catch (SQLException se) {
             sendSQLExceptionMetadata(se, responseObserver);
@@ -741,6 +974,71 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         }
     }
 
+    /**
+     * Starts a transaction in the connection of an active session.
+     *
+     * @return Session info with the new active transaction
+     */
+    private SessionInfo beginTransaction(SessionInfo activeSessionInfo) throws SQLException {
+        Connection sessionConnection = sessionManager.getConnection(activeSessionInfo);
+        //Start a transaction
+        sessionConnection.setAutoCommit(Boolean.FALSE);
+
+        TransactionInfo transactionInfo = TransactionInfo.newBuilder()
+                .setTransactionStatus(TransactionStatus.TRX_ACTIVE)
+                .setTransactionUUID(UUID.randomUUID().toString())
+                .build();
+
+        SessionInfo.Builder sessionInfoBuilder = SessionInfoUtils.newBuilderFrom(activeSessionInfo);
+        sessionInfoBuilder.setTransactionInfo(transactionInfo);
+        return sessionInfoBuilder.build();
+    }
+
+    /**
+     * Rolls back the transaction begun along with a statement that failed. The client only learns of the transaction
+     * and of a session started for it from the reply, which carries the error instead, so a session started by the
+     * statement is terminated and a session the client already had is put back in auto commit.
+     */
+    private void abortBegunTransaction(StatementRequest request, SessionInfo sessionInfo) {
+        if (!request.getBeginTransaction() || sessionInfo == null ||
+                StringUtils.isEmpty(sessionInfo.getSessionUUID())) {
+            return;
+        }
+        try {
+            if (StringUtils.isEmpty(request.getSession().getSessionUUID())) {
+                //Terminating rolls back the transaction if it became active.
+                this.sessionManager.terminateSession(sessionInfo);
+            } else {
+                Connection conn = this.sessionManager.getConnection(sessionInfo);
+                if (!conn.getAutoCommit()) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failure aborting transaction begun by a failed statement: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Commits the transaction of the session.
+     *
+     * @return Session info with the transaction committed
+     */
+    private SessionInfo commit(SessionInfo sessionInfo) throws SQLException {
+        Connection conn = sessionManager.getConnection(sessionInfo);
+        conn.commit();
+
+        TransactionInfo transactionInfo = TransactionInfo.newBuilder()
+                .setTransactionStatus(TransactionStatus.TRX_COMMITED)
+                .setTransactionUUID(sessionInfo.getTransactionInfo().getTransactionUUID())
+                .build();
+
+        SessionInfo.Builder sessionInfoBuilder = SessionInfoUtils.newBuilderFrom(sessionInfo);
+        sessionInfoBuilder.setTransactionInfo(transactionInfo);
+        return sessionInfoBuilder.build();
+    }
+
     @Override
     public void rollbackTransaction(SessionInfo sessionInfo, StreamObserver<SessionInfo> responseObserver) {
         log.info("Rollback transaction");
@@ -778,6 +1076,18 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                 return;
             }
 
+            if (this.databaseMetaDataSnapshot(request, responseObserver)) {
+                return;
+            }
+
+            if (this.statementDescription(request, responseObserver)) {
+                return;
+            }
+
+            if (this.rowChanges(request, responseObserver)) {
+                return;
+            }
+
             Object resource;
             switch (request.getResourceType()) {
                 case RES_RESULT_SET:
@@ -789,6 +1099,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                 case RES_STATEMENT: {
                     ConnectionSessionDTO csDto = sessionConnection(request.getSession(), true);
                     responseBuilder.setSession(csDto.getSession());
+                    SettingsHandler.applyConnectionSettings(csDto.getConnection(), request.getConnectionSettings());
                     Statement statement = null;
                     if (!request.getResourceUUID().isBlank()) {
                         statement = sessionManager.getStatement(csDto.getSession(), request.getResourceUUID());
@@ -797,33 +1108,41 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                         String uuid = sessionManager.registerStatement(csDto.getSession(), statement);
                         responseBuilder.setResourceUUID(uuid);
                     }
+                    SettingsHandler.applyStatementSettings(statement, request.getStatementSettings());
                     resource = statement;
                     break;
                 }
                 case RES_PREPARED_STATEMENT: {
                     ConnectionSessionDTO csDto = sessionConnection(request.getSession(), true);
                     responseBuilder.setSession(csDto.getSession());
+                    SettingsHandler.applyConnectionSettings(csDto.getConnection(), request.getConnectionSettings());
                     PreparedStatement ps = null;
                     if (!request.getResourceUUID().isBlank()) {
                         ps = sessionManager.getPreparedStatement(request.getSession(), request.getResourceUUID());
                     } else {
                         Map<String, Object> mapProperties = EMPTY_MAP;
                         if (!request.getProperties().isEmpty()) {
-                            mapProperties = deserialize(request.getProperties().toByteArray(), Map.class);
+                            mapProperties = deserialize(request.getProperties(), Map.class);
                         }
                         ps = csDto.getConnection().prepareStatement((String) mapProperties.get(CommonConstants.PREPARED_STATEMENT_SQL_KEY));
                         String uuid = sessionManager.registerPreparedStatement(csDto.getSession(), ps);
                         responseBuilder.setResourceUUID(uuid);
                     }
+                    SettingsHandler.applyStatementSettings(ps, request.getStatementSettings());
                     resource = ps;
                     break;
                 }
-                case RES_CALLABLE_STATEMENT:
-                    resource = sessionManager.getCallableStatement(request.getSession(), request.getResourceUUID());
+                case RES_CALLABLE_STATEMENT: {
+                    CallableStatement cs = sessionManager.getCallableStatement(request.getSession(),
+                            request.getResourceUUID());
+                    CallableStatementHandler.replayPendingCalls(cs, request.getPendingCallsList());
+                    resource = cs;
                     break;
+                }
                 case RES_CONNECTION: {
                     ConnectionSessionDTO csDto = sessionConnection(request.getSession(), true);
                     responseBuilder.setSession(csDto.getSession());
+                    SettingsHandler.applyConnectionSettings(csDto.getConnection(), request.getConnectionSettings());
                     resource = csDto.getConnection();
                     break;
                 }
@@ -839,7 +1158,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
             }
 
             List<Object> paramsReceived = (request.getTarget().getParams().size() > 0) ?
-                    deserialize(request.getTarget().getParams().toByteArray(), List.class) : EMPTY_LIST;
+                    deserialize(request.getTarget().getParams(), List.class) : EMPTY_LIST;
             Class<?> clazz = resource.getClass();
             if ((paramsReceived != null && paramsReceived.size() > 0) &&
                     ((CallType.CALL_RELEASE.equals(request.getTarget().getCallType()) &&
@@ -873,6 +1192,20 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                     resultFirstLevel = arrayUUID;
                 }
             }
+            if (resource instanceof CallableStatement && this.isOutParametersReadable(request, resultFirstLevel)) {
+                responseBuilder.setOutParameters(serializeToByteString(
+                        CallableStatementHandler.readOutParameters((CallableStatement) resource, request.getProperties())));
+            }
+            if (ResourceType.RES_STATEMENT.equals(request.getResourceType()) &&
+                    CallType.CALL_EXECUTE.equals(request.getTarget().getCallType()) && !paramsReceived.isEmpty() &&
+                    paramsReceived.get(0) instanceof String && DatabaseUtils.isDdl((String) paramsReceived.get(0))) {
+                this.statementDescriptionCache.invalidate(request.getSession().getConnHash());
+            }
+            if (resource instanceof Statement && StatementRequestValidator.returnsGeneratedKeys(request, paramsReceived)) {
+                //Keys generated by executeBatch or execute go back with the execution result.
+                responseBuilder.setGeneratedKeys(serializeToByteString(
+                        ResultSetWrapper.materialize(((Statement) resource).getGeneratedKeys())));
+            }
             if (resultFirstLevel instanceof Savepoint) {
                 Savepoint sp = (Savepoint) resultFirstLevel;
                 String uuid = UUID.randomUUID().toString();
@@ -883,7 +1216,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                 //Second level calls, for cases like getMetadata().isAutoIncrement(int column)
                 Class<?> clazzNext = resultFirstLevel.getClass();
                 List<Object> paramsReceived2 = (request.getTarget().getNextCall().getParams().size() > 0) ?
-                        deserialize(request.getTarget().getNextCall().getParams().toByteArray(), List.class) :
+                        deserialize(request.getTarget().getNextCall().getParams(), List.class) :
                         EMPTY_LIST;
                 Method methodNext = MethodReflectionUtils.findMethodByName(JavaSqlInterfacesConverter.interfaceClass(clazzNext),
                         MethodNameGenerator.methodName(request.getTarget().getNextCall()),
@@ -897,11 +1230,15 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                 }
                 if (resultSecondLevel instanceof ResultSet) {
                     ResultSet rs = (ResultSet) resultSecondLevel;
-                    resultSecondLevel = this.sessionManager.registerResultSet(responseBuilder.getSession(), rs);
+                    if (this.isMaterializeResultSet(request)) {
+                        resultSecondLevel = ResultSetWrapper.materialize(rs);
+                    } else {
+                        resultSecondLevel = this.sessionManager.registerResultSet(responseBuilder.getSession(), rs);
+                    }
                 }
-                responseBuilder.setValues(ByteString.copyFrom(serialize(resultSecondLevel)));
+                responseBuilder.setValues(serializeToByteString(resultSecondLevel));
             } else {
-                responseBuilder.setValues(ByteString.copyFrom(serialize(resultFirstLevel)));
+                responseBuilder.setValues(serializeToByteString(resultFirstLevel));
             }
 
             responseObserver.onNext(responseBuilder.build());
@@ -921,6 +1258,167 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         }
     }
 
+    @Override
+    public void releaseResources(ReleaseResourcesRequest request,
+                                 StreamObserver<ReleaseResourcesResponse> responseObserver) {
+        log.debug("Releasing {} resources and {} sessions", request.getResourcesCount(),
+                request.getTerminatedSessionsCount());
+        try {
+            int released = request.getResourcesCount() == 0 ? 0 :
+                    this.sessionManager.releaseResources(request.getSession(), request.getResourcesList());
+            for (SessionInfo terminatedSession : request.getTerminatedSessionsList()) {
+                try {
+                    this.sessionManager.terminateSession(terminatedSession);
+                    released++;
+                } catch (Exception e) {
+                    //Client does not wait for terminations, failures are only logged.
+                    log.warn("Failure terminating session {}: {}", terminatedSession.getSessionUUID(), e.getMessage());
+                }
+            }
+            responseObserver.onNext(ReleaseResourcesResponse.newBuilder().setReleased(released).build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            sendSQLExceptionMetadata(new SQLException("Unable to release resources: " + e.getMessage(), e),
+                    responseObserver);
+        }
+    }
+
+    /**
+     * OUT parameters are read right after an execution that produced no result set. Reading them while result sets are
+     * pending would discard those in some databases (i.e. SQL Server), the client asks for them later instead.
+     */
+    private boolean isOutParametersReadable(CallResourceRequest request, Object result) {
+        if (!CallType.CALL_EXECUTE.equals(request.getTarget().getCallType())) {
+            return false;
+        }
+        String resourceName = request.getTarget().getResourceName();
+        return "Update".equalsIgnoreCase(resourceName) || "LargeUpdate".equalsIgnoreCase(resourceName) ||
+                (resourceName.isEmpty() && Boolean.FALSE.equals(result));
+    }
+
+    /**
+     * Releases the resources closed by the client since its last request, sent along with the statement instead of in
+     * a call of their own.
+     */
+    private void releasePiggybackedResources(StatementRequest request) {
+        if (request.getReleasesCount() > 0 && StringUtils.isNotEmpty(request.getSession().getSessionUUID())) {
+            this.sessionManager.releaseResources(request.getSession(), request.getReleasesList());
+        }
+    }
+
+    /**
+     * Answers the request for the snapshot of all scalar DatabaseMetaData attributes. As these only depend on the
+     * database and the credentials, the snapshot is taken once per connection hash and reused for every client.
+     *
+     * @param request
+     * @param responseObserver
+     * @return boolean
+     * @throws SQLException
+     */
+    private boolean databaseMetaDataSnapshot(CallResourceRequest request, StreamObserver<CallResourceResponse> responseObserver)
+            throws SQLException {
+        if (!ResourceType.RES_CONNECTION.equals(request.getResourceType()) ||
+                !CallType.CALL_GET.equals(request.getTarget().getCallType()) ||
+                !CommonConstants.DATABASE_METADATA_SNAPSHOT.equals(request.getTarget().getResourceName())) {
+            return false;
+        }
+        SessionInfo session = request.getSession();
+        Map<String, Object> snapshot = this.databaseMetaDataSnapshotMap.get(session.getConnHash());
+        if (snapshot == null) {
+            ConnectionSessionDTO csDto = sessionConnection(session, false);
+            try {
+                snapshot = DatabaseMetaDataSnapshot.take(csDto.getConnection().getMetaData());
+            } finally {
+                //Connection borrowed only to take the snapshot, returned to the pool if not owned by a session.
+                if (StringUtils.isEmpty(session.getSessionUUID())) {
+                    csDto.getConnection().close();
+                }
+            }
+            this.databaseMetaDataSnapshotMap.put(session.getConnHash(), snapshot);
+        }
+        responseObserver.onNext(CallResourceResponse.newBuilder()
+                .setSession(session)
+                .setValues(serializeToByteString(snapshot))
+                .build());
+        responseObserver.onCompleted();
+        return true;
+    }
+
+    /**
+     * Answers the request for the description of a prepared statement, used by the client for getMetaData and
+     * getParameterMetaData. Descriptions are cached per connection hash and SQL, the statement is prepared only on a
+     * miss and with a connection borrowed for it when the client has no session.
+     *
+     * @param request
+     * @param responseObserver
+     * @return boolean
+     * @throws SQLException
+     */
+    private boolean statementDescription(CallResourceRequest request, StreamObserver<CallResourceResponse> responseObserver)
+            throws SQLException {
+        if (!ResourceType.RES_PREPARED_STATEMENT.equals(request.getResourceType()) ||
+                !CallType.CALL_GET.equals(request.getTarget().getCallType()) ||
+                !CommonConstants.STATEMENT_DESCRIPTION.equals(request.getTarget().getResourceName())) {
+            return false;
+        }
+        SessionInfo session = request.getSession();
+        Map<String, Object> properties = deserialize(request.getProperties(), Map.class);
+        String sql = (String) properties.get(CommonConstants.PREPARED_STATEMENT_SQL_KEY);
+        StatementDescription description = this.statementDescriptionCache.get(session.getConnHash(), sql);
+        if (description == null) {
+            ConnectionSessionDTO csDto = sessionConnection(session, false);
+            try (PreparedStatement ps = csDto.getConnection().prepareStatement(sql)) {
+                description = StatementDescriptionCache.describe(ps);
+            } finally {
+                //Connection borrowed only to describe the statement, returned to the pool if not owned by a session.
+                if (StringUtils.isEmpty(session.getSessionUUID())) {
+                    csDto.getConnection().close();
+                }
+            }
+            this.statementDescriptionCache.put(session.getConnHash(), sql, description);
+        }
+        responseObserver.onNext(CallResourceResponse.newBuilder()
+                .setSession(session)
+                .setValues(serializeToByteString(description))
+                .build());
+        responseObserver.onCompleted();
+        return true;
+    }
+
+    /**
+     * Applies in a single call the row changes the client kept while scrolling an updatable result set locally.
+     *
+     * @param request
+     * @param responseObserver
+     * @return boolean
+     * @throws SQLException
+     */
+    private boolean rowChanges(CallResourceRequest request, StreamObserver<CallResourceResponse> responseObserver)
+            throws SQLException {
+        if (!ResourceType.RES_RESULT_SET.equals(request.getResourceType()) ||
+                !CallType.CALL_UPDATE.equals(request.getTarget().getCallType()) ||
+                !CommonConstants.RESULT_SET_ROW_CHANGES.equals(request.getTarget().getResourceName())) {
+            return false;
+        }
+        ResultSet rs = this.sessionManager.getResultSet(request.getSession(), request.getResourceUUID());
+        List<Object> params = deserialize(request.getTarget().getParams(), List.class);
+        int changed = RowChangesHandler.apply(rs, (List<RowChange>) params.get(0));
+        responseObserver.onNext(CallResourceResponse.newBuilder()
+                .setSession(request.getSession())
+                .setValues(serializeToByteString(changed))
+                .build());
+        responseObserver.onCompleted();
+        return true;
+    }
+
+    private boolean isMaterializeResultSet(CallResourceRequest request) {
+        if (request.getProperties().isEmpty()) {
+            return false;
+        }
+        Map<String, Object> properties = deserialize(request.getProperties(), Map.class);
+        return Boolean.TRUE.equals(properties.get(CommonConstants.MATERIALIZE_RESULT_SET_FLAG));
+    }
+
     /**
      * As DB2 eagerly closes result sets in multiple situations the result set metadata is saved a priori in a session
      * attribute and has to be read in a special manner treated in this method.
@@ -939,7 +1437,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
             ResultSetMetaData resultSetMetaData = (ResultSetMetaData) this.sessionManager.getAttr(request.getSession(),
                     RESULT_SET_METADATA_ATTR_PREFIX + request.getResourceUUID());
             List<Object> paramsReceived = (request.getTarget().getNextCall().getParams().size() > 0) ?
-                    deserialize(request.getTarget().getNextCall().getParams().toByteArray(), List.class) :
+                    deserialize(request.getTarget().getNextCall().getParams(), List.class) :
                     EMPTY_LIST;
             Method methodNext = MethodReflectionUtils.findMethodByName(ResultSetMetaData.class,
                     MethodNameGenerator.methodName(request.getTarget().getNextCall()),
@@ -947,7 +1445,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
             Object metadataResult = methodNext.invoke(resultSetMetaData, paramsReceived.toArray());
             responseObserver.onNext(CallResourceResponse.newBuilder()
                     .setSession(request.getSession())
-                    .setValues(ByteString.copyFrom(serialize(metadataResult)))
+                    .setValues(serializeToByteString(metadataResult))
                     .build());
             responseObserver.onCompleted();
             return true;
@@ -984,7 +1482,9 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
             // Get the datasource for this connection hash
             HikariDataSource dataSource = this.datasourceMap.get(sessionInfo.getConnHash());
             if (dataSource == null) {
-                throw new SQLException("No datasource found for connection hash: " + sessionInfo.getConnHash());
+                //Clients reuse connection hashes without calling connect, one unknown makes them connect again.
+                throw new SQLException("No datasource found for connection hash: " + sessionInfo.getConnHash(),
+                        CommonConstants.UNKNOWN_CONN_HASH_SQL_STATE);
             }
             
             try {
@@ -1009,37 +1509,124 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
         return dtoBuilder.build();
     }
 
-    private void handleResultSet(SessionInfo session, String resultSetUUID, StreamObserver<OpResult> responseObserver)
-            throws SQLException {
-        ResultSet rs = this.sessionManager.getResultSet(session, resultSetUUID);
-        OpQueryResult.OpQueryResultBuilder queryResultBuilder = OpQueryResult.builder();
-        int columnCount = rs.getMetaData().getColumnCount();
-        List<String> labels = new ArrayList<>();
-        for (int i = 0; i < columnCount; i++) {
-            labels.add(rs.getMetaData().getColumnName(i + 1));
+    /**
+     * Streams the rows of a result set in blocks, every block is sent right away and buffered until the client reads
+     * it.
+     *
+     * @param withMetadata - if true the labels and the column metadata are sent with the first block, as done when the
+     *                     query is executed. Fetches of the next rows leave them out, the client holds them already.
+     */
+    private void handleResultSet(SessionInfo session, String resultSetUUID, StreamObserver<OpResult> responseObserver,
+                                 boolean withMetadata) throws SQLException {
+        ResultSetBlockReader reader = new ResultSetBlockReader(session, resultSetUUID, withMetadata);
+        OpResult block;
+        while ((block = reader.nextBlock()) != null) {
+            responseObserver.onNext(block);
+        }
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Reads the rows of a result set one block at a time. The first block is sent even if empty and carries the labels
+     * and column metadata when asked for.
+     */
+    private class ResultSetBlockReader {
+        private final SessionInfo session;
+        private final String resultSetUUID;
+        private final ResultSet rs;
+        private final int columnCount;
+        private final int[] columnTypes;
+        private final String[] columnTypeNames;
+        private final DbName dbName;
+        private final HydratedResultSetMetadata hydratedMetadata;
+        private OpQueryResult.OpQueryResultBuilder queryResultBuilder = OpQueryResult.builder();
+        //Only used if result set contains LOBs in SQL Server and DB2 (if LOB's present), so cursor is not read in
+        // advance, every row has to be requested by the jdbc client.
+        private String resultSetMode = "";
+        private boolean resultSetMetadataCollected;
+        private boolean blockRead;
+        private boolean finished;
+
+        ResultSetBlockReader(SessionInfo session, String resultSetUUID, boolean withMetadata) throws SQLException {
+            this.session = session;
+            this.resultSetUUID = resultSetUUID;
+            this.rs = sessionManager.getResultSet(session, resultSetUUID);
+            ResultSetMetaData metaData = this.rs.getMetaData();
+            this.columnCount = metaData.getColumnCount();
+            this.columnTypes = new int[this.columnCount];
+            this.columnTypeNames = new String[this.columnCount];
+            for (int i = 0; i < this.columnCount; i++) {
+                this.columnTypes[i] = metaData.getColumnType(i + 1);
+                this.columnTypeNames[i] = metaData.getColumnTypeName(i + 1);
+            }
+            HydratedResultSetMetadata hydrated = null;
+            if (withMetadata) {
+                List<String> labels = new ArrayList<>();
+                for (int i = 0; i < this.columnCount; i++) {
+                    labels.add(metaData.getColumnName(i + 1));
+                }
+                this.queryResultBuilder.labels(labels);
+                hydrated = hydrateResultSetMetadata(metaData);
+                if (hydrated != null) {
+                    this.queryResultBuilder.columns(hydrated.getColumns());
+                }
+            }
+            this.hydratedMetadata = hydrated;
+            //Collected along with the first block only, fetches of the next rows find it in the session.
+            this.resultSetMetadataCollected = !withMetadata;
+            this.dbName = DatabaseUtils.resolveDbName(this.rs.getStatement().getConnection().getMetaData().getURL());
+        }
+
+        boolean isFinished() {
+            return this.finished;
+        }
+
+        boolean isBlockRead() {
+            return this.blockRead;
+        }
+
+        /**
+         * @return The next block of rows, null once the result set ended.
+         */
+        OpResult nextBlock() throws SQLException {
+            if (this.finished) {
+                return null;
+            }
+            List<Object[]> results = new ArrayList<>();
+            while (this.rs.next()) {
+                if (DbName.DB2.equals(this.dbName) && !this.resultSetMetadataCollected) {
+                    collectResultSetMetadata(this.session, this.resultSetUUID, this.rs, this.hydratedMetadata);
+                    this.resultSetMetadataCollected = true;
+                }
+                results.add(this.readRow());
+
+                if ((DbName.DB2.equals(this.dbName) || DbName.SQL_SERVER.equals(this.dbName))
+                        && CommonConstants.RESULT_SET_ROW_BY_ROW_MODE.equalsIgnoreCase(this.resultSetMode)) {
+                    this.finished = true;
+                    return this.wrap(results);
+                }
+                if (results.size() == CommonConstants.ROWS_PER_RESULT_SET_DATA_BLOCK) {
+                    return this.wrap(results);
+                }
+            }
+            this.finished = true;
+            //A full block read right before the end is the last one, no empty block follows it.
+            return results.isEmpty() && this.blockRead ? null : this.wrap(results);
+        }
+
+        private OpResult wrap(List<Object[]> results) {
+            OpResult block = ResultSetWrapper.wrapResults(this.session, results, this.queryResultBuilder,
+                    this.resultSetUUID, this.resultSetMode);
+            this.queryResultBuilder = OpQueryResult.builder();// Recreate the builder to not send labels in every block.
+            this.blockRead = true;
+            return block;
         }
-        queryResultBuilder.labels(labels);
-
-        List<Object[]> results = new ArrayList<>();
-        int row = 0;
-        boolean justSent = false;
-        DbName dbName = DatabaseUtils.resolveDbName(rs.getStatement().getConnection().getMetaData().getURL());
-        //Only used if result set contains LOBs in SQL Server and DB2 (if LOB's present), so cursor is not read in advance,
-        // every row has to be requested by the jdbc client.
-        String resultSetMode = "";
-        boolean resultSetMetadataCollected = false;
-
-        forEachRow:
-        while (rs.next()) {
-            if (DbName.DB2.equals(dbName) && !resultSetMetadataCollected) {
-                this.collectResultSetMetadata(session, resultSetUUID, rs);
-            }
-            justSent = false;
-            row++;
-            Object[] rowValues = new Object[columnCount];
-            for (int i = 0; i < columnCount; i++) {
-                int colType = rs.getMetaData().getColumnType(i + 1);
-                String colTypeName = rs.getMetaData().getColumnTypeName(i + 1);
+
+        private Object[] readRow() throws SQLException {
+            Object[] rowValues = new Object[this.columnCount];
+            for (int i = 0; i < this.columnCount; i++) {
+                int colType = this.columnTypes[i];
+                String colTypeName = this.columnTypeNames[i];
                 Object currentValue = null;
                 //Postgres uses type BYTEA which translates to type VARBINARY
                 switch (colType) {
@@ -1072,7 +1659,7 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                             String clobUUID = UUID.randomUUID().toString();
                             //CLOB needs to be prefixed as per it can be read in the JDBC driver by getString method and it would be valid to return just a UUID as string
                             currentValue = CommonConstants.OJP_CLOB_PREFIX + clobUUID;
-                            this.sessionManager.registerLob(session, clob, clobUUID);
+                            sessionManager.registerLob(session, clob, clobUUID);
                         }
                         break;
                     }
@@ -1106,37 +1693,201 @@ public class StatementServiceImpl extends StatementServiceGrpc.StatementServiceI
                     }
                 }
                 rowValues[i] = currentValue;
+            }
+            return rowValues;
+        }
+    }
+
+    /**
+     * Sends the blocks of a result set as the client asks for them. No thread is held while the client is not ready:
+     * the next blocks are read from the database and sent by the ready handler of the call, run by gRPC once the
+     * client asks for more rows. A client not asking for more rows within the flow control timeout is taken as gone
+     * and, as when the call is cancelled, the result set is released, along with the session if it was started by the
+     * query and the client never received it.
+     */
+    private class FlowControlledResultSet {
+        private final SessionInfo session;
+        private final String resultSetUUID;
+        private final ResultSetBlockReader reader;
+        private final ServerCallStreamObserver<OpResult> responseObserver;
+        private final boolean sessionStarted;
+        private ScheduledFuture<?> timeout;
+        private long waits;
+        private boolean done;
+
+        FlowControlledResultSet(SessionInfo session, String resultSetUUID, ResultSetBlockReader reader,
+                                ServerCallStreamObserver<OpResult> responseObserver, boolean sessionStarted) {
+            this.session = session;
+            this.resultSetUUID = resultSetUUID;
+            this.reader = reader;
+            this.responseObserver = responseObserver;
+            this.sessionStarted = sessionStarted;
+        }
 
+        /**
+         * Sends the blocks the client is ready for and returns, the handlers of the call send the rest.
+         */
+        void start() {
+            this.responseObserver.setOnCancelHandler(this::cancelled);
+            this.responseObserver.setOnReadyHandler(this::sendReadyBlocks);
+            this.sendReadyBlocks();
+        }
+
+        private synchronized void sendReadyBlocks() {
+            this.cancelTimeout();
+            try {
+                while (!this.done && this.responseObserver.isReady()) {
+                    OpResult block = this.reader.nextBlock();
+                    if (block != null) {
+                        this.responseObserver.onNext(block);
+                    }
+                    if (this.reader.isFinished()) {
+                        this.done = true;
+                        this.responseObserver.onCompleted();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.error("Failure reading result set " + this.resultSetUUID + ": " + e.getMessage(), e);
+                this.done = true;
+                this.release();
+                sendSQLExceptionMetadata(e instanceof SQLException ? (SQLException) e :
+                        new SQLException(e.getMessage(), e), this.responseObserver);
+                return;
+            }
+            if (!this.done) {
+                long wait = ++this.waits;
+                this.timeout = FLOW_CONTROL_TIMER.schedule(() -> this.timedOut(wait), flowControlTimeout,
+                        TimeUnit.MILLISECONDS);
             }
-            results.add(rowValues);
+        }
 
-            if ((DbName.DB2.equals(dbName) || DbName.SQL_SERVER.equals(dbName))
-                    && CommonConstants.RESULT_SET_ROW_BY_ROW_MODE.equalsIgnoreCase(resultSetMode)) {
-                break forEachRow;
+        private synchronized void timedOut(long wait) {
+            if (this.done || wait != this.waits) {
+                return;
             }
+            this.done = true;
+            log.warn("Client did not ask for more rows of result set {} in {} ms, releasing it", this.resultSetUUID,
+                    flowControlTimeout);
+            this.release();
+            this.responseObserver.onError(Status.DEADLINE_EXCEEDED
+                    .withDescription("Client did not ask for more rows in time")
+                    .asRuntimeException());
+        }
 
-            if (row % CommonConstants.ROWS_PER_RESULT_SET_DATA_BLOCK == 0) {
-                justSent = true;
-                //Send a block of records
-                responseObserver.onNext(ResultSetWrapper.wrapResults(session, results, queryResultBuilder, resultSetUUID, resultSetMode));
-                queryResultBuilder = OpQueryResult.builder();// Recreate the builder to not send labels in every block.
-                results = new ArrayList<>();
+        private synchronized void cancelled() {
+            this.cancelTimeout();
+            if (this.done) {
+                return;
             }
+            this.done = true;
+            log.debug("Stopped sending result set {}, the client cancelled it", this.resultSetUUID);
+            this.release();
         }
 
-        if (!justSent) {
-            //Send a block of remaining records
-            responseObserver.onNext(ResultSetWrapper.wrapResults(session, results, queryResultBuilder, resultSetUUID, resultSetMode));
+        private void cancelTimeout() {
+            if (this.timeout != null) {
+                this.timeout.cancel(false);
+                this.timeout = null;
+            }
         }
 
-        responseObserver.onCompleted();
+        /**
+         * Releases the result set, or the whole session if the query started it and the client did not receive it.
+         */
+        private void release() {
+            if (this.sessionStarted && !this.reader.isBlockRead()) {
+                try {
+                    sessionManager.terminateSession(this.session);
+                } catch (SQLException e) {
+                    log.warn("Failure terminating session {}: {}", this.session.getSessionUUID(), e.getMessage());
+                }
+                return;
+            }
+            sessionManager.releaseResources(this.session, List.of(ResourceRelease.newBuilder()
+                    .setResourceType(ResourceType.RES_RESULT_SET)
+                    .setResourceUUID(this.resultSetUUID)
+                    .build()));
+        }
+    }
+
+    /**
+     * Queries sent without a session by clients that may send the same query to another server (hedged queries) run in
+     * a session ended as soon as their rows are sent, so the loser of the race leaves nothing behind.
+     */
+    private boolean isSessionlessQuery(StatementRequest request) {
+        if (StringUtils.isNotEmpty(request.getSession().getSessionUUID()) || request.getBeginTransaction() ||
+                request.getProperties().isEmpty()) {
+            return false;
+        }
+        Map<String, Object> properties = deserialize(request.getProperties(), Map.class);
+        return Boolean.TRUE.equals(properties.get(CommonConstants.SESSIONLESS_QUERY_FLAG));
+    }
+
+    /**
+     * The session of a sessionless query ends with the call, its blocks carry the session sent by the client so the
+     * client keeps going without one.
+     */
+    private StreamObserver<OpResult> withoutSession(SessionInfo clientSession, StreamObserver<OpResult> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(OpResult opResult) {
+                responseObserver.onNext(opResult.toBuilder().setSession(clientSession).build());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                responseObserver.onError(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
 
+    /**
+     * @return false if the rows have columns read later through the session, such as large objects.
+     */
+    private boolean isReadableWithoutSession(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            switch (metaData.getColumnType(i)) {
+                case Types.BLOB, Types.CLOB, Types.NCLOB, Types.LONGVARBINARY, Types.VARBINARY, Types.BINARY:
+                    return false;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private boolean isFlowControlled(StatementRequest request) {
+        if (request.getProperties().isEmpty()) {
+            return false;
+        }
+        Map<String, Object> properties = deserialize(request.getProperties(), Map.class);
+        return Boolean.TRUE.equals(properties.get(CommonConstants.FLOW_CONTROLLED_RESULT_SET_FLAG));
     }
 
     @SneakyThrows
-    private void collectResultSetMetadata(SessionInfo session, String resultSetUUID, ResultSet rs) {
-        this.sessionManager.registerAttr(session, RESULT_SET_METADATA_ATTR_PREFIX +
-                resultSetUUID, new HydratedResultSetMetadata(rs.getMetaData()));
+    private void collectResultSetMetadata(SessionInfo session, String resultSetUUID, ResultSet rs,
+                                          HydratedResultSetMetadata hydratedMetadata) {
+        this.sessionManager.registerAttr(session, RESULT_SET_METADATA_ATTR_PREFIX + resultSetUUID,
+                hydratedMetadata != null ? hydratedMetadata : new HydratedResultSetMetadata(rs.getMetaData()));
+    }
+
+    /**
+     * Captures the metadata sent to the driver with the first block. Returns null if the database driver fails to
+     * provide any of the attributes, in which case the driver falls back to requesting each attribute.
+     */
+    private HydratedResultSetMetadata hydrateResultSetMetadata(ResultSetMetaData metaData) {
+        try {
+            return new HydratedResultSetMetadata(metaData);
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Unable to hydrate result set metadata: {}", e.getMessage());
+            return null;
+        }
     }
 
     /**
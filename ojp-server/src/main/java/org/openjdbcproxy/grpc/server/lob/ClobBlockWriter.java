@@ -0,0 +1,80 @@
+package org.openjdbcproxy.grpc.server.lob;
+
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.sql.Clob;
+import java.sql.SQLException;
+
+import static org.openjdbcproxy.constants.CommonConstants.MAX_LOB_DATA_BLOCK_SIZE;
+
+/**
+ * Writes the UTF-8 bytes of consecutive LobDataBlocks to a Clob decoding them in a streaming manner. Bytes are decoded
+ * straight from the ByteString buffers into a reused char buffer, and multi byte characters split across two blocks
+ * are carried over to the next block instead of being decoded as malformed input.
+ */
+public class ClobBlockWriter {
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(MAX_LOB_DATA_BLOCK_SIZE);
+    private ByteString leftover = ByteString.EMPTY;
+    private long position = -1;
+
+    /**
+     * Decodes and writes one block.
+     *
+     * @param clob          Target Clob
+     * @param blockPosition Position informed by the client for the block, only the first one is used as the following
+     *                      positions are tracked in characters
+     * @param data          UTF-8 bytes of the block
+     * @return Number of bytes consumed
+     */
+    public int write(Clob clob, long blockPosition, ByteString data) throws SQLException, IOException {
+        if (this.position == -1) {
+            this.position = blockPosition;
+        }
+        ByteString pending = this.leftover.isEmpty() ? data : this.leftover.concat(data);
+        ByteBuffer in = pending.asReadOnlyByteBuffer();
+        this.decode(clob, in, false);
+        this.leftover = in.hasRemaining() ? ByteString.copyFrom(in) : ByteString.EMPTY;
+        return data.size();
+    }
+
+    /**
+     * Writes any incomplete trailing sequence left by the last block.
+     */
+    public void finish(Clob clob) throws SQLException, IOException {
+        if (this.leftover.isEmpty()) {
+            return;
+        }
+        this.decode(clob, this.leftover.asReadOnlyByteBuffer(), true);
+        this.leftover = ByteString.EMPTY;
+    }
+
+    private void decode(Clob clob, ByteBuffer in, boolean endOfInput) throws SQLException, IOException {
+        Writer writer = clob.setCharacterStream(this.position);
+        CoderResult result;
+        do {
+            result = this.decoder.decode(in, this.chars, endOfInput);
+            if (endOfInput && result.isUnderflow()) {
+                result = this.decoder.flush(this.chars);
+            }
+            this.chars.flip();
+            writer.write(this.chars.array(), this.chars.arrayOffset() + this.chars.position(), this.chars.remaining());
+            this.position += this.chars.remaining();
+            this.chars.clear();
+        } while (result.isOverflow());
+        if (endOfInput) {
+            this.decoder.reset();
+        }
+    }
+}
@@ -5,7 +5,6 @@ import com.openjdbcproxy.grpc.SessionInfo;
 import lombok.SneakyThrows;
 import org.openjdbcproxy.grpc.server.SessionManager;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.sql.Blob;
 import java.sql.ResultSet;
@@ -27,7 +26,7 @@ public class LobProcessor {
      * @param rs           The result set
      * @param columnIndex  The column index (0-based)
      * @param dbNameMap    Map of connection hash to database name
-     * @return The processed BLOB value (UUID or byte array)
+     * @return The processed BLOB value (UUID or, for small eagerly hydrated LOBs, byte array)
      * @throws SQLException if BLOB processing fails
      */
     @SneakyThrows
@@ -38,11 +37,19 @@ public class LobProcessor {
             return null;
         }
         DbName dbName = dbNameMap.get(session.getConnHash());
+        String lobUUID = UUID.randomUUID().toString();
         //SQL Server and DB2 must eagerly hydrate LOBs as per LOBs get invalidated once cursor moves.
         if (DbName.SQL_SERVER.equals(dbName) || DbName.DB2.equals(dbName)) {
-            return blob.getBinaryStream().readAllBytes();
+            StagedLob stagedLob = sessionManager.stageLob(session, blob.getBinaryStream());
+            if (stagedLob.isInHeap()) {
+                //Small LOBs travel inline with the row data, nothing has to stay staged in the session.
+                byte[] bytes = stagedLob.getBytes(1, (int) stagedLob.length());
+                stagedLob.free();
+                return bytes;
+            }
+            sessionManager.registerLob(session, stagedLob, lobUUID);
+            return lobUUID;
         }
-        String lobUUID = UUID.randomUUID().toString();
         sessionManager.registerLob(session, blob, lobUUID);
         return lobUUID;
     }
@@ -83,14 +90,13 @@ public class LobProcessor {
                 return null;
             }
 
+            binaryValue = UUID.randomUUID().toString();
             //SQL Server and DB2 must eagerly hydrate LOBs as per LOBs get invalidated once cursor moves.
             if (DbName.SQL_SERVER.equals(dbName) || DbName.DB2.equals(dbName)) {
-                byte[] allBytes = inputStream.readAllBytes();
-                inputStream = new ByteArrayInputStream(allBytes);
+                sessionManager.registerLob(session, sessionManager.stageLob(session, inputStream), binaryValue.toString());
+            } else {
+                sessionManager.registerLob(session, inputStream, binaryValue.toString());
             }
-
-            binaryValue = UUID.randomUUID().toString();
-            sessionManager.registerLob(session, inputStream, binaryValue.toString());
         }
         return binaryValue;
     }
@@ -0,0 +1,183 @@
+package org.openjdbcproxy.grpc.server.lob;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdbcproxy.grpc.server.ServerConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Staging area for LOBs the server has to hydrate eagerly (SQL Server and DB2 invalidate LOB locators once the cursor
+ * moves). LOBs up to the heap threshold are kept as byte arrays, bigger ones are spilled to a temporary file that is
+ * memory mapped, keeping the bytes off the JVM heap. Staged bytes are accounted against a per session and a global
+ * quota, staging fails with an SQLException once either quota would be exceeded. Closing the store frees the LOBs
+ * still staged.
+ */
+@Slf4j
+public class LobStagingStore implements AutoCloseable {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String SPILL_FILE_PREFIX = "ojp-lob-";
+    private static final String SPILL_FILE_SUFFIX = ".tmp";
+
+    private final int heapThreshold;
+    private final long sessionQuota;
+    private final long globalQuota;
+    private final Path spillDirectory;
+    private final AtomicLong globalUsage = new AtomicLong(0);
+    private final Map<String, AtomicLong> sessionUsageMap = new ConcurrentHashMap<>();
+    private final Set<StagedLob> stagedLobs = ConcurrentHashMap.newKeySet();
+
+    public LobStagingStore() {
+        this(ServerConfiguration.DEFAULT_LOB_HEAP_THRESHOLD, ServerConfiguration.DEFAULT_LOB_SESSION_QUOTA,
+                ServerConfiguration.DEFAULT_LOB_GLOBAL_QUOTA, ServerConfiguration.DEFAULT_LOB_SPILL_DIRECTORY);
+    }
+
+    public LobStagingStore(int heapThreshold, long sessionQuota, long globalQuota, String spillDirectory) {
+        //One extra byte is read over the threshold to find out if the LOB fits in heap.
+        this.heapThreshold = Math.min(Math.max(heapThreshold, 0), Integer.MAX_VALUE - 1);
+        this.sessionQuota = sessionQuota;
+        this.globalQuota = globalQuota;
+        this.spillDirectory = StringUtils.isBlank(spillDirectory) ?
+                Paths.get(System.getProperty("java.io.tmpdir")) : Paths.get(spillDirectory);
+    }
+
+    /**
+     * Reads the whole input stream into the staging area.
+     *
+     * @param sessionUUID The session the staged bytes are accounted against
+     * @param inputStream The LOB content
+     * @return StagedLob holding the bytes read
+     * @throws SQLException if a quota is exceeded or the bytes could not be staged
+     */
+    public StagedLob stage(String sessionUUID, InputStream inputStream) throws SQLException {
+        AtomicLong sessionUsage = this.sessionUsageMap.computeIfAbsent(sessionUUID, k -> new AtomicLong(0));
+        long reserved = 0;
+        Path spillFile = null;
+        try {
+            byte[] head = inputStream.readNBytes(this.heapThreshold + 1);
+            this.reserve(sessionUsage, head.length);
+            reserved += head.length;
+            if (head.length <= this.heapThreshold) {
+                return this.staged(StagedLob.inHeap(this, sessionUUID, head));
+            }
+
+            spillFile = Files.createTempFile(this.spillDirectory, SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX);
+            try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.wrap(head));
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    this.reserve(sessionUsage, read);
+                    reserved += read;
+                    writeFully(channel, ByteBuffer.wrap(buffer, 0, read));
+                }
+                //The mapping outlives the channel, it is only released when the arena is closed.
+                Arena arena = Arena.ofShared();
+                MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, reserved, arena);
+                log.debug("LOB of {} bytes spilled to {}", reserved, spillFile);
+                return this.staged(StagedLob.spilled(this, sessionUUID, spillFile, arena, segment));
+            }
+        } catch (SQLException e) {
+            this.discard(sessionUUID, reserved, spillFile);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            this.discard(sessionUUID, reserved, spillFile);
+            throw new SQLException("Unable to stage LOB: " + e.getMessage(), e);
+        }
+    }
+
+    private StagedLob staged(StagedLob stagedLob) {
+        this.stagedLobs.add(stagedLob);
+        return stagedLob;
+    }
+
+    /**
+     * Returns the bytes of a staged LOB freed to the quotas.
+     */
+    void release(StagedLob stagedLob, String sessionUUID, long bytes) {
+        this.stagedLobs.remove(stagedLob);
+        this.release(sessionUUID, bytes);
+    }
+
+    /**
+     * Returns bytes previously staged to the quotas.
+     */
+    private void release(String sessionUUID, long bytes) {
+        this.globalUsage.addAndGet(-bytes);
+        AtomicLong sessionUsage = this.sessionUsageMap.get(sessionUUID);
+        if (sessionUsage != null) {
+            sessionUsage.addAndGet(-bytes);
+        }
+    }
+
+    /**
+     * Drops the quota accounting of a terminated session, its staged LOBs are expected to be freed already.
+     */
+    public void releaseSession(String sessionUUID) {
+        this.sessionUsageMap.remove(sessionUUID);
+    }
+
+    /**
+     * Frees the LOBs still staged, unmapping and deleting their spill files.
+     */
+    @Override
+    public void close() {
+        for (StagedLob stagedLob : new ArrayList<>(this.stagedLobs)) {
+            stagedLob.free();
+        }
+    }
+
+    public long getGlobalUsage() {
+        return this.globalUsage.get();
+    }
+
+    public long getSessionUsage(String sessionUUID) {
+        AtomicLong sessionUsage = this.sessionUsageMap.get(sessionUUID);
+        return sessionUsage != null ? sessionUsage.get() : 0;
+    }
+
+    private void reserve(AtomicLong sessionUsage, long bytes) throws SQLException {
+        if (this.globalUsage.addAndGet(bytes) > this.globalQuota) {
+            this.globalUsage.addAndGet(-bytes);
+            throw new SQLException("Global LOB staging quota of " + this.globalQuota + " bytes exceeded.");
+        }
+        if (sessionUsage.addAndGet(bytes) > this.sessionQuota) {
+            sessionUsage.addAndGet(-bytes);
+            this.globalUsage.addAndGet(-bytes);
+            throw new SQLException("Session LOB staging quota of " + this.sessionQuota + " bytes exceeded.");
+        }
+    }
+
+    private void discard(String sessionUUID, long reserved, Path spillFile) {
+        this.release(sessionUUID, reserved);
+        if (spillFile != null) {
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                log.warn("Unable to delete LOB spill file {}: {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.openjdbcproxy.grpc.server.lob;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Read only Blob over bytes held by the LobStagingStore, either a heap byte array or a memory mapped spill file.
+ * Exposed as a java.sql.Blob so the existing readLob and callResource flows can serve it like any driver Blob.
+ */
+@Slf4j
+public class StagedLob implements Blob {
+
+    private final LobStagingStore store;
+    private final String sessionUUID;
+    private final long length;
+    private final byte[] heapBytes;
+    private final Path spillFile;
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final AtomicBoolean freed = new AtomicBoolean(false);
+
+    private StagedLob(LobStagingStore store, String sessionUUID, long length, byte[] heapBytes, Path spillFile,
+                      Arena arena, MemorySegment segment) {
+        this.store = store;
+        this.sessionUUID = sessionUUID;
+        this.length = length;
+        this.heapBytes = heapBytes;
+        this.spillFile = spillFile;
+        this.arena = arena;
+        this.segment = segment;
+    }
+
+    static StagedLob inHeap(LobStagingStore store, String sessionUUID, byte[] bytes) {
+        return new StagedLob(store, sessionUUID, bytes.length, bytes, null, null, null);
+    }
+
+    static StagedLob spilled(LobStagingStore store, String sessionUUID, Path spillFile, Arena arena,
+                             MemorySegment segment) {
+        return new StagedLob(store, sessionUUID, segment.byteSize(), null, spillFile, arena, segment);
+    }
+
+    public boolean isInHeap() {
+        return this.heapBytes != null;
+    }
+
+    /**
+     * Read only view over a range of the staged bytes, no bytes are copied.
+     *
+     * @param offset 0-based offset of the first byte
+     * @param size   number of bytes, must not go past the end of the LOB
+     * @return ByteBuffer positioned at the first byte of the range
+     */
+    public ByteBuffer slice(long offset, int size) throws SQLException {
+        this.notFreed();
+        if (offset < 0 || size < 0 || offset + size > this.length) {
+            throw new SQLException("Invalid LOB range offset " + offset + " size " + size + " for length " + this.length);
+        }
+        if (this.isInHeap()) {
+            return ByteBuffer.wrap(this.heapBytes, (int) offset, size).slice().asReadOnlyBuffer();
+        }
+        return this.segment.asSlice(offset, size).asByteBuffer().asReadOnlyBuffer();
+    }
+
+    @Override
+    public long length() throws SQLException {
+        this.notFreed();
+        return this.length;
+    }
+
+    @Override
+    public byte[] getBytes(long pos, int length) throws SQLException {
+        ByteBuffer range = this.slice(Math.min(pos - 1, this.length), this.availableLength(pos, length));
+        byte[] bytes = new byte[range.remaining()];
+        range.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public InputStream getBinaryStream() throws SQLException {
+        return this.getBinaryStream(1, this.length);
+    }
+
+    @Override
+    public InputStream getBinaryStream(long pos, long length) throws SQLException {
+        return new ByteBufferInputStream(this.slice(Math.min(pos - 1, this.length), this.availableLength(pos, length)));
+    }
+
+    @Override
+    public long position(byte[] pattern, long start) throws SQLException {
+        throw new SQLFeatureNotSupportedException("position not supported on staged LOBs.");
+    }
+
+    @Override
+    public long position(Blob pattern, long start) throws SQLException {
+        throw new SQLFeatureNotSupportedException("position not supported on staged LOBs.");
+    }
+
+    @Override
+    public int setBytes(long pos, byte[] bytes) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Staged LOBs are read only.");
+    }
+
+    @Override
+    public int setBytes(long pos, byte[] bytes, int offset, int len) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Staged LOBs are read only.");
+    }
+
+    @Override
+    public OutputStream setBinaryStream(long pos) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Staged LOBs are read only.");
+    }
+
+    @Override
+    public void truncate(long len) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Staged LOBs are read only.");
+    }
+
+    /**
+     * Unmaps and deletes the spill file (if any) and returns the staged bytes to the store quotas.
+     */
+    @Override
+    public void free() {
+        if (!this.freed.compareAndSet(false, true)) {
+            return;
+        }
+        if (this.arena != null) {
+            this.arena.close();
+        }
+        if (this.spillFile != null) {
+            try {
+                Files.deleteIfExists(this.spillFile);
+            } catch (IOException e) {
+                log.warn("Unable to delete LOB spill file {}: {}", this.spillFile, e.getMessage());
+            }
+        }
+        this.store.release(this, this.sessionUUID, this.length);
+    }
+
+    /**
+     * Clamps the requested length to the bytes available from pos, ranges past the end of the LOB are empty.
+     */
+    private int availableLength(long pos, long length) throws SQLException {
+        if (pos < 1) {
+            throw new SQLException("Invalid LOB position " + pos);
+        }
+        long available = Math.max(0, this.length - (pos - 1));
+        return (int) Math.min(Math.min(available, Math.max(length, 0)), Integer.MAX_VALUE);
+    }
+
+    private void notFreed() throws SQLException {
+        if (this.freed.get()) {
+            throw new SQLException("LOB already freed.");
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.buffer.mark();
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            this.buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() {
+            this.buffer.reset();
+        }
+    }
+}
@@ -65,7 +65,7 @@ public class ConnectionPoolConfigurer {
         }
 
         try {
-            Properties clientProperties = deserialize(connectionDetails.getProperties().toByteArray(), Properties.class);
+            Properties clientProperties = deserialize(connectionDetails.getProperties(), Properties.class);
             log.info("Received {} properties from client for connection pool configuration", clientProperties.size());
             return clientProperties;
         } catch (Exception e) {
@@ -4,16 +4,24 @@ import com.google.protobuf.ByteString;
 import com.openjdbcproxy.grpc.OpResult;
 import com.openjdbcproxy.grpc.ResultType;
 import com.openjdbcproxy.grpc.SessionInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.dto.ColumnMetadata;
 import org.openjdbcproxy.grpc.dto.OpQueryResult;
+import org.openjdbcproxy.grpc.server.HydratedResultSetMetadata;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
-import static org.openjdbcproxy.grpc.SerializationHandler.serialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
 
 /**
  * Utility class for wrapping result set data into OpResult objects.
  * Extracted from StatementServiceImpl to improve modularity.
  */
+@Slf4j
 public class ResultSetWrapper {
 
     /**
@@ -36,9 +44,47 @@ public class ResultSetWrapper {
         resultsBuilder.setType(ResultType.RESULT_SET_DATA);
         queryResultBuilder.resultSetUUID(resultSetUUID);
         queryResultBuilder.rows(results);
-        resultsBuilder.setValue(ByteString.copyFrom(serialize(queryResultBuilder.build())));
+        resultsBuilder.setValue(serializeToByteString(queryResultBuilder.build()));
         resultsBuilder.setFlag(resultSetMode);
 
         return resultsBuilder.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads every row of a result set into a single OpQueryResult and closes it. Used for small result sets, such as
+     * the ones of catalog queries, which the client keeps in memory.
+     *
+     * @param rs The result set to read
+     * @return OpQueryResult with the labels, the column metadata and all the rows
+     * @throws SQLException if reading the result set fails
+     */
+    public static OpQueryResult materialize(ResultSet rs) throws SQLException {
+        try (rs) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> labels = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                labels.add(metaData.getColumnName(i + 1));
+            }
+            List<ColumnMetadata> columns = null;
+            try {
+                columns = new HydratedResultSetMetadata(metaData).getColumns();
+            } catch (SQLException e) {
+                log.warn("Unable to hydrate result set metadata: {}", e.getMessage());
+            }
+            List<Object[]> rows = new ArrayList<>();
+            while (rs.next()) {
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                rows.add(row);
+            }
+            return OpQueryResult.builder()
+                    .labels(labels)
+                    .columns(columns)
+                    .rows(rows)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.openjdbcproxy.grpc.server.resultset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.dto.RowChange;
+import org.openjdbcproxy.grpc.dto.RowChangeType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies to an updatable result set the row changes the client kept while scrolling it locally. Updates are applied
+ * first, then deletes from the last row up so the numbers of the rows still to change do not shift, and inserts last.
+ */
+@Slf4j
+public class RowChangesHandler {
+
+    /**
+     * @param rs      Updatable result set the changes were made to
+     * @param changes Changes in the order the client made them, at most one update or delete per row
+     * @return Number of rows changed
+     * @throws SQLException if any of the changes fails
+     */
+    public static int apply(ResultSet rs, List<RowChange> changes) throws SQLException {
+        List<RowChange> updates = new ArrayList<>();
+        List<RowChange> deletes = new ArrayList<>();
+        List<RowChange> inserts = new ArrayList<>();
+        for (RowChange change : changes) {
+            if (RowChangeType.UPDATE.equals(change.getType())) {
+                updates.add(change);
+            } else if (RowChangeType.DELETE.equals(change.getType())) {
+                deletes.add(change);
+            } else {
+                inserts.add(change);
+            }
+        }
+        updates.sort(Comparator.comparingInt(RowChange::getRow));
+        deletes.sort(Comparator.comparingInt(RowChange::getRow).reversed());
+
+        for (RowChange update : updates) {
+            moveTo(rs, update.getRow());
+            updateValues(rs, update.getValues());
+            rs.updateRow();
+        }
+        for (RowChange delete : deletes) {
+            moveTo(rs, delete.getRow());
+            rs.deleteRow();
+        }
+        if (!inserts.isEmpty()) {
+            rs.moveToInsertRow();
+            for (RowChange insert : inserts) {
+                updateValues(rs, insert.getValues());
+                rs.insertRow();
+            }
+            rs.moveToCurrentRow();
+        }
+        log.debug("Applied {} updates, {} deletes and {} inserts", updates.size(), deletes.size(), inserts.size());
+        return changes.size();
+    }
+
+    private static void moveTo(ResultSet rs, int row) throws SQLException {
+        if (!rs.absolute(row)) {
+            throw new SQLException("Row " + row + " not found in the result set.");
+        }
+    }
+
+    private static void updateValues(ResultSet rs, Map<Integer, Object> values) throws SQLException {
+        for (Map.Entry<Integer, Object> value : values.entrySet()) {
+            if (value.getValue() == null) {
+                rs.updateNull(value.getKey());
+            } else {
+                rs.updateObject(value.getKey(), value.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.openjdbcproxy.grpc.server.statement;
+
+import com.google.protobuf.ByteString;
+import com.openjdbcproxy.grpc.TargetCall;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.server.utils.MethodNameGenerator;
+import org.openjdbcproxy.grpc.server.utils.MethodReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+
+/**
+ * Handles the calls the client defers on a callable statement: OUT parameter registrations and setters are sent along
+ * with the next call and replayed in order, and the OUT parameters registered are read right after execution so the
+ * client can serve its getters locally.
+ */
+@Slf4j
+public class CallableStatementHandler {
+
+    /**
+     * Replays the calls deferred by the client, in the order they were made.
+     *
+     * @param cs           The callable statement
+     * @param pendingCalls Calls deferred by the client
+     * @throws SQLException if any of the calls fails
+     */
+    public static void replayPendingCalls(CallableStatement cs, List<TargetCall> pendingCalls) throws SQLException {
+        for (TargetCall call : pendingCalls) {
+            List<Object> params = call.getParams().isEmpty() ? Collections.emptyList() :
+                    deserialize(call.getParams(), List.class);
+            String methodName = MethodNameGenerator.methodName(call);
+            log.debug("Replaying {} with {} params", methodName, params.size());
+            try {
+                Method method = MethodReflectionUtils.findMethodByName(CallableStatement.class, methodName, params);
+                method.invoke(cs, params.toArray());
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof SQLException) {
+                    throw (SQLException) e.getTargetException();
+                }
+                throw new SQLException("Unable to call " + methodName + ": " + e.getTargetException().getMessage(),
+                        e.getTargetException());
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new SQLException("Unable to call " + methodName + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the OUT parameters registered by the client. Values of types the client cannot rebuild (i.e. LOBs or
+     * vendor specific types) are left out, the client gets those from the server when asked for.
+     *
+     * @param cs         The callable statement executed
+     * @param properties Request properties holding the OUT parameter indexes or names
+     * @return Map of parameter index or name to value, empty if no OUT parameters were registered
+     * @throws SQLException if reading any of the parameters fails
+     */
+    public static Map<Object, Object> readOutParameters(CallableStatement cs, ByteString properties)
+            throws SQLException {
+        Map<Object, Object> outParameters = new HashMap<>();
+        if (properties.isEmpty()) {
+            return outParameters;
+        }
+        Map<String, Object> propertiesMap = deserialize(properties, Map.class);
+        List<Object> outKeys = (List<Object>) propertiesMap.get(CommonConstants.CALLABLE_STATEMENT_OUT_PARAMETERS_KEY);
+        if (outKeys == null) {
+            return outParameters;
+        }
+        for (Object key : outKeys) {
+            Object value = key instanceof Integer ? cs.getObject((Integer) key) : cs.getObject((String) key);
+            if (isTransferable(value)) {
+                outParameters.put(key, value);
+            }
+        }
+        return outParameters;
+    }
+
+    private static boolean isTransferable(Object value) {
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Byte ||
+                value instanceof Short || value instanceof Integer || value instanceof Long ||
+                value instanceof Float || value instanceof Double || value instanceof BigDecimal ||
+                value instanceof byte[] || value instanceof java.sql.Date || value instanceof java.sql.Time ||
+                value instanceof java.sql.Timestamp;
+    }
+}
@@ -0,0 +1,69 @@
+package org.openjdbcproxy.grpc.server.statement;
+
+import com.google.protobuf.ByteString;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdbcproxy.grpc.server.utils.MethodReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+
+/**
+ * Applies the connection and statement setters the client sends along with a statement execution instead of calling
+ * each of them remotely. Settings are maps of property name to value, each entry is applied by calling the setter of
+ * the same name.
+ */
+@Slf4j
+public class SettingsHandler {
+
+    /**
+     * Applies the connection settings of a request, must be called before the statement is created.
+     *
+     * @param connection The connection executing the request
+     * @param settings   Serialized settings map, empty if there is nothing to apply
+     * @throws SQLException if any setter fails
+     */
+    public static void applyConnectionSettings(Connection connection, ByteString settings) throws SQLException {
+        apply(Connection.class, connection, settings);
+    }
+
+    /**
+     * Applies the statement settings of a request, must be called before the statement is executed.
+     *
+     * @param statement The statement to be executed
+     * @param settings  Serialized settings map, empty if there is nothing to apply
+     * @throws SQLException if any setter fails
+     */
+    public static void applyStatementSettings(Statement statement, ByteString settings) throws SQLException {
+        apply(Statement.class, statement, settings);
+    }
+
+    private static void apply(Class<?> clazz, Object target, ByteString settings) throws SQLException {
+        if (settings.isEmpty()) {
+            return;
+        }
+        Map<String, Object> settingsMap = deserialize(settings, Map.class);
+        for (Map.Entry<String, Object> setting : settingsMap.entrySet()) {
+            log.debug("Applying {} {} = {}", clazz.getSimpleName(), setting.getKey(), setting.getValue());
+            try {
+                Method method = MethodReflectionUtils.findMethodByName(clazz, "set" + setting.getKey(),
+                        Collections.singletonList(setting.getValue()));
+                method.invoke(target, setting.getValue());
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof SQLException) {
+                    throw (SQLException) e.getTargetException();
+                }
+                throw new SQLException("Unable to set " + setting.getKey() + ": " + e.getTargetException().getMessage(),
+                        e.getTargetException());
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new SQLException("Unable to set " + setting.getKey() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,11 +39,7 @@ public class StatementFactory {
             if (StringUtils.isNotEmpty(request.getStatementUUID())) {
                 return sessionManager.getStatement(request.getSession(), request.getStatementUUID());
             }
-            if (request.getProperties().isEmpty()) {
-                return connection.createStatement();
-            }
-            Map<String, Object> properties = deserialize(request.getProperties().toByteArray(), Map.class);
-
+            Map<String, Object> properties = statementProperties(request);
             if (properties.isEmpty()) {
                 return connection.createStatement();
             }
@@ -80,27 +77,23 @@ public class StatementFactory {
             throws SQLException {
 
         PreparedStatement ps = null;
-        Map<String, Object> properties = EMPTY_MAP;
-        if (!request.getProperties().isEmpty()) {
-            properties = deserialize(request.getProperties().toByteArray(), Map.class);
-        }
+        Map<String, Object> properties = statementProperties(request);
         if (properties.isEmpty()) {
             ps = dto.getConnection().prepareStatement(sql);
         }
-        if (properties.size() == 1) {
-            int[] columnIndexes = (int[]) properties.get(CommonConstants.STATEMENT_COLUMN_INDEXES_KEY);
-            String[] columnNames = (String[]) properties.get(CommonConstants.STATEMENT_COLUMN_INDEXES_KEY);
-            Boolean isAddBatch = (Boolean) properties.get(CommonConstants.PREPARED_STATEMENT_ADD_BATCH_FLAG);
-            Integer autoGeneratedKeys = (Integer) properties.get(CommonConstants.STATEMENT_AUTO_GENERATED_KEYS_KEY);
-            if (columnIndexes != null) {
-                ps = dto.getConnection().prepareStatement(sql, columnIndexes);
-            } else if (columnNames != null) {
-                ps = dto.getConnection().prepareStatement(sql, columnNames);
-            } else if (isAddBatch != null && isAddBatch) {
-                ps = dto.getConnection().prepareStatement(sql);
-            } else if (autoGeneratedKeys != null) {
-                ps = dto.getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            }
+        //Generated keys properties may come along with the add batch flag, keys are then returned by the batch.
+        int[] columnIndexes = (int[]) properties.get(CommonConstants.STATEMENT_COLUMN_INDEXES_KEY);
+        String[] columnNames = (String[]) properties.get(CommonConstants.STATEMENT_COLUMN_NAMES_KEY);
+        Boolean isAddBatch = (Boolean) properties.get(CommonConstants.PREPARED_STATEMENT_ADD_BATCH_FLAG);
+        Integer autoGeneratedKeys = (Integer) properties.get(CommonConstants.STATEMENT_AUTO_GENERATED_KEYS_KEY);
+        if (columnIndexes != null) {
+            ps = dto.getConnection().prepareStatement(sql, columnIndexes);
+        } else if (columnNames != null) {
+            ps = dto.getConnection().prepareStatement(sql, columnNames);
+        } else if (autoGeneratedKeys != null) {
+            ps = dto.getConnection().prepareStatement(sql, autoGeneratedKeys);
+        } else if (isAddBatch != null && isAddBatch) {
+            ps = dto.getConnection().prepareStatement(sql);
         }
         Integer resultSetType = (Integer) properties.get(CommonConstants.STATEMENT_RESULT_SET_TYPE_KEY);
         Integer resultSetConcurrency = (Integer) properties.get(CommonConstants.STATEMENT_RESULT_SET_CONCURRENCY_KEY);
@@ -119,4 +112,18 @@ public class StatementFactory {
         ParameterHandler.addParametersPreparedStatement(sessionManager, dto.getSession(), ps, params);
         return ps;
     }
-}
\ No newline at end of file
+
+    /**
+     * Properties of the request the statement is created with, leaving out the flags telling how to run a query and
+     * send its rows.
+     */
+    private static Map<String, Object> statementProperties(StatementRequest request) {
+        if (request.getProperties().isEmpty()) {
+            return EMPTY_MAP;
+        }
+        Map<String, Object> properties = new HashMap<>(deserialize(request.getProperties(), Map.class));
+        properties.remove(CommonConstants.FLOW_CONTROLLED_RESULT_SET_FLAG);
+        properties.remove(CommonConstants.SESSIONLESS_QUERY_FLAG);
+        return properties;
+    }
+}
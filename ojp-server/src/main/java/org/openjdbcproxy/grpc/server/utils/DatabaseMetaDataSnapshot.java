@@ -0,0 +1,49 @@
+package org.openjdbcproxy.grpc.server.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility class taking a snapshot of every scalar attribute of a {@link DatabaseMetaData}, meaning the methods
+ * without parameters returning a primitive, a String or another serializable value. Attributes depending on the state
+ * of the connection rather than on the database are left out, as well as the ones the database driver fails to
+ * provide, the client asks the server for those.
+ */
+@Slf4j
+public class DatabaseMetaDataSnapshot {
+
+    private static final Set<String> CONNECTION_STATE_METHODS = Set.of("isReadOnly", "getConnection");
+
+    /**
+     * Takes the snapshot.
+     *
+     * @param metaData The database metadata
+     * @return Map of attribute values keyed by the lower case method name
+     */
+    public static Map<String, Object> take(DatabaseMetaData metaData) {
+        Map<String, Object> snapshot = new HashMap<>();
+        for (Method method : DatabaseMetaData.class.getMethods()) {
+            if (method.getParameterCount() > 0 || CONNECTION_STATE_METHODS.contains(method.getName()) ||
+                    !(method.getReturnType().isPrimitive() || Serializable.class.isAssignableFrom(method.getReturnType())) ||
+                    void.class.equals(method.getReturnType())) {
+                continue;
+            }
+            try {
+                snapshot.put(method.getName().toLowerCase(Locale.ROOT), method.invoke(metaData));
+            } catch (InvocationTargetException e) {
+                log.debug("Attribute {} left out of the metadata snapshot: {}", method.getName(), e.getCause().getMessage());
+            } catch (IllegalAccessException e) {
+                log.debug("Attribute {} left out of the metadata snapshot: {}", method.getName(), e.getMessage());
+            }
+        }
+        return snapshot;
+    }
+}
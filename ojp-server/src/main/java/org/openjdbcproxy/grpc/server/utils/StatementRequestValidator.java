@@ -1,9 +1,14 @@
 package org.openjdbcproxy.grpc.server.utils;
 
+import com.google.protobuf.ByteString;
+import com.openjdbcproxy.grpc.CallResourceRequest;
+import com.openjdbcproxy.grpc.CallType;
+import com.openjdbcproxy.grpc.ResourceType;
 import com.openjdbcproxy.grpc.StatementRequest;
 import org.openjdbcproxy.constants.CommonConstants;
 
 import java.sql.Statement;
+import java.util.List;
 import java.util.Map;
 
 import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
@@ -24,11 +29,56 @@ public class StatementRequestValidator {
         if (request.getProperties().isEmpty()) {
             return false;
         }
-        Map<String, Object> properties = deserialize(request.getProperties().toByteArray(), Map.class);
+        Map<String, Object> properties = deserialize(request.getProperties(), Map.class);
         Integer autoGeneratedKeys = (Integer) properties.get(CommonConstants.STATEMENT_AUTO_GENERATED_KEYS_KEY);
         return autoGeneratedKeys != null && autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS;
     }
 
+    /**
+     * Checks if the statement of the request is created to return generated keys, either with the auto-generated keys
+     * flag or with the column indexes or names of the keys.
+     *
+     * @param request The statement request
+     * @return true if the keys generated have to be returned
+     */
+    public static boolean returnsGeneratedKeys(StatementRequest request) {
+        return hasGeneratedKeysProperties(request.getProperties());
+    }
+
+    /**
+     * Checks if the call executes a statement returning generated keys. Prepared statements declare it in the request
+     * properties, statements in the second parameter of the execute method called.
+     *
+     * @param request The call resource request
+     * @param params  The parameters of the method called
+     * @return true if the keys generated have to be returned
+     */
+    public static boolean returnsGeneratedKeys(CallResourceRequest request, List<Object> params) {
+        if (!CallType.CALL_EXECUTE.equals(request.getTarget().getCallType())) {
+            return false;
+        }
+        if (ResourceType.RES_PREPARED_STATEMENT.equals(request.getResourceType())) {
+            return hasGeneratedKeysProperties(request.getProperties());
+        }
+        if (ResourceType.RES_STATEMENT.equals(request.getResourceType()) && params.size() == 2) {
+            Object keys = params.get(1);
+            return Integer.valueOf(Statement.RETURN_GENERATED_KEYS).equals(keys) || keys instanceof int[] ||
+                    keys instanceof String[];
+        }
+        return false;
+    }
+
+    private static boolean hasGeneratedKeysProperties(ByteString propertiesBytes) {
+        if (propertiesBytes.isEmpty()) {
+            return false;
+        }
+        Map<String, Object> properties = deserialize(propertiesBytes, Map.class);
+        Integer autoGeneratedKeys = (Integer) properties.get(CommonConstants.STATEMENT_AUTO_GENERATED_KEYS_KEY);
+        return (autoGeneratedKeys != null && autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS) ||
+                properties.get(CommonConstants.STATEMENT_COLUMN_INDEXES_KEY) != null ||
+                properties.get(CommonConstants.STATEMENT_COLUMN_NAMES_KEY) != null;
+    }
+
     /**
      * Checks if the request is an add batch operation.
      *
@@ -39,7 +89,7 @@ public class StatementRequestValidator {
         if (request.getProperties().isEmpty()) {
             return false;
         }
-        Map<String, Object> properties = deserialize(request.getProperties().toByteArray(), Map.class);
+        Map<String, Object> properties = deserialize(request.getProperties(), Map.class);
         Boolean batchFlag = (Boolean) properties.get(CommonConstants.PREPARED_STATEMENT_ADD_BATCH_FLAG);
         return batchFlag != null && batchFlag;
     }
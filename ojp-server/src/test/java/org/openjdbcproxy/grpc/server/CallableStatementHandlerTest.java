@@ -0,0 +1,91 @@
+package org.openjdbcproxy.grpc.server;
+
+import com.google.protobuf.ByteString;
+import com.openjdbcproxy.grpc.CallType;
+import com.openjdbcproxy.grpc.TargetCall;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.server.statement.CallableStatementHandler;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests the replay of the calls a client defers on a callable statement and the reading of its OUT parameters.
+ */
+class CallableStatementHandlerTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:callable_handler_test", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    @Test
+    void testPendingCallsReplayedAndOutParametersRead() throws SQLException {
+        try (CallableStatement cs = this.connection.prepareCall("{? = CALL ABS(?)}")) {
+            CallableStatementHandler.replayPendingCalls(cs, List.of(
+                    call(CallType.CALL_REGISTER, "OutParameter", Arrays.asList(1, Types.INTEGER)),
+                    call(CallType.CALL_SET, "Int", Arrays.asList(2, -5))));
+            cs.execute();
+
+            Map<Object, Object> outParameters = CallableStatementHandler.readOutParameters(cs,
+                    outParametersProperty(List.of(1)));
+
+            assertEquals(1, outParameters.size());
+            assertEquals(5, outParameters.get(1));
+        }
+    }
+
+    @Test
+    void testNoOutParametersRegistered() throws SQLException {
+        try (CallableStatement cs = this.connection.prepareCall("{CALL ABS(1)}")) {
+            cs.execute();
+
+            assertTrue(CallableStatementHandler.readOutParameters(cs, ByteString.EMPTY).isEmpty());
+            assertTrue(CallableStatementHandler.readOutParameters(cs, serializeToByteString(new HashMap<>())).isEmpty());
+        }
+    }
+
+    @Test
+    void testFailedReplayFails() throws SQLException {
+        try (CallableStatement cs = this.connection.prepareCall("{? = CALL ABS(?)}")) {
+            assertThrows(SQLException.class, () -> CallableStatementHandler.replayPendingCalls(cs, List.of(
+                    call(CallType.CALL_SET, "Int", Arrays.asList(9, 1)))));
+        }
+    }
+
+    private static TargetCall call(CallType callType, String resourceName, List<Object> params) {
+        return TargetCall.newBuilder()
+                .setCallType(callType)
+                .setResourceName(resourceName)
+                .setParams(serializeToByteString(params))
+                .build();
+    }
+
+    private static ByteString outParametersProperty(List<Object> outKeys) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(CommonConstants.CALLABLE_STATEMENT_OUT_PARAMETERS_KEY, outKeys);
+        return serializeToByteString(properties);
+    }
+}
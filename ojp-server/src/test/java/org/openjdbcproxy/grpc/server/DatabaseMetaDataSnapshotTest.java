@@ -0,0 +1,39 @@
+package org.openjdbcproxy.grpc.server;
+
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.server.utils.DatabaseMetaDataSnapshot;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests the scalar attributes of the database metadata a snapshot carries to the client.
+ */
+class DatabaseMetaDataSnapshotTest {
+
+    @Test
+    void testScalarAttributesTaken() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:metadata_snapshot_test", "sa", "")) {
+            Map<String, Object> snapshot = DatabaseMetaDataSnapshot.take(connection.getMetaData());
+
+            assertEquals("H2", snapshot.get("getdatabaseproductname"));
+            assertEquals(connection.getMetaData().getMaxColumnNameLength(), snapshot.get("getmaxcolumnnamelength"));
+            assertEquals(connection.getMetaData().supportsBatchUpdates(), snapshot.get("supportsbatchupdates"));
+        }
+    }
+
+    @Test
+    void testConnectionStateAndNonScalarAttributesLeftOut() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:metadata_snapshot_test", "sa", "")) {
+            Map<String, Object> snapshot = DatabaseMetaDataSnapshot.take(connection.getMetaData());
+
+            assertFalse(snapshot.containsKey("isreadonly"));
+            assertFalse(snapshot.containsKey("getconnection"));
+            assertFalse(snapshot.containsKey("gettables"));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.openjdbcproxy.grpc.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdbcproxy.grpc.server.lob.LobStagingStore;
+import org.openjdbcproxy.grpc.server.lob.StagedLob;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the heap and memory mapped tiers and the quotas of LobStagingStore.
+ */
+public class LobStagingStoreTest {
+
+    private static final String SESSION_UUID = "test-session-uuid";
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    public void testSmallLobStaysInHeap() throws Exception {
+        LobStagingStore store = new LobStagingStore(16, 1024, 1024, spillDirectory.toString());
+        byte[] content = randomBytes(10);
+
+        StagedLob stagedLob = store.stage(SESSION_UUID, new ByteArrayInputStream(content));
+
+        assertTrue(stagedLob.isInHeap());
+        assertEquals(10, stagedLob.length());
+        assertArrayEquals(content, stagedLob.getBytes(1, 10));
+        assertEquals(10, store.getSessionUsage(SESSION_UUID));
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testBigLobSpillsToMappedFile() throws Exception {
+        LobStagingStore store = new LobStagingStore(16, 1024 * 1024, 1024 * 1024, spillDirectory.toString());
+        byte[] content = randomBytes(200_000);
+
+        StagedLob stagedLob = store.stage(SESSION_UUID, new ByteArrayInputStream(content));
+
+        assertFalse(stagedLob.isInHeap());
+        assertEquals(content.length, stagedLob.length());
+        assertArrayEquals(content, stagedLob.getBinaryStream().readAllBytes());
+        byte[] range = stagedLob.getBytes(1001, 500);
+        for (int i = 0; i < range.length; i++) {
+            assertEquals(content[1000 + i], range[i]);
+        }
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(1, files.count());
+        }
+
+        stagedLob.free();
+
+        assertEquals(0, store.getGlobalUsage());
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(SQLException.class, stagedLob::length);
+    }
+
+    @Test
+    public void testCloseFreesStagedLobs() throws Exception {
+        LobStagingStore store = new LobStagingStore(16, 1024 * 1024, 1024 * 1024, spillDirectory.toString());
+        StagedLob spilled = store.stage(SESSION_UUID, new ByteArrayInputStream(randomBytes(1000)));
+        StagedLob inHeap = store.stage(SESSION_UUID, new ByteArrayInputStream(randomBytes(10)));
+
+        store.close();
+
+        assertEquals(0, store.getGlobalUsage());
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(SQLException.class, spilled::length);
+        assertThrows(SQLException.class, inHeap::length);
+    }
+
+    @Test
+    public void testRangePastTheEndIsEmpty() throws Exception {
+        LobStagingStore store = new LobStagingStore(16, 1024, 1024, spillDirectory.toString());
+        StagedLob stagedLob = store.stage(SESSION_UUID, new ByteArrayInputStream(randomBytes(100)));
+
+        assertEquals(0, stagedLob.getBytes(101, 10).length);
+        assertEquals(-1, stagedLob.getBinaryStream(500, 10).read());
+    }
+
+    @Test
+    public void testSessionQuotaExceeded() throws Exception {
+        LobStagingStore store = new LobStagingStore(16, 1000, 10_000, spillDirectory.toString());
+        store.stage(SESSION_UUID, new ByteArrayInputStream(randomBytes(600)));
+
+        assertThrows(SQLException.class, () -> store.stage(SESSION_UUID, new ByteArrayInputStream(randomBytes(600))));
+        assertEquals(600, store.getSessionUsage(SESSION_UUID));
+        assertEquals(600, store.getGlobalUsage());
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(1, files.count());
+        }
+        // Other sessions still have their own quota.
+        assertNotNull(store.stage("other-session-uuid", new ByteArrayInputStream(randomBytes(600))));
+    }
+
+    @Test
+    public void testGlobalQuotaExceeded() throws Exception {
+        LobStagingStore store = new LobStagingStore(16, 1000, 1000, spillDirectory.toString());
+        store.stage(SESSION_UUID, new ByteArrayInputStream(randomBytes(600)));
+
+        assertThrows(SQLException.class, () -> store.stage("other-session-uuid", new ByteArrayInputStream(randomBytes(600))));
+        assertEquals(600, store.getGlobalUsage());
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,92 @@
+package org.openjdbcproxy.grpc.server;
+
+import com.google.protobuf.ByteString;
+import com.openjdbcproxy.grpc.ConnectionDetails;
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.StatementRequest;
+import com.openjdbcproxy.grpc.StatementServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.SerializationHandler;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that an embedded server serves statements through the in-process transport and releases its connection pools
+ * when closed.
+ */
+class OjpEmbeddedServerTest {
+
+    @Test
+    void testStatementsServedInProcess() throws Exception {
+        try (OjpEmbeddedServer server = OjpEmbeddedServer.start("embedded-test")) {
+            ManagedChannel channel = InProcessChannelBuilder.forName(server.getName()).build();
+            try {
+                StatementServiceGrpc.StatementServiceBlockingStub stub = StatementServiceGrpc.newBlockingStub(channel);
+                SessionInfo session = stub.connect(ConnectionDetails.newBuilder()
+                        .setUrl("jdbc:ojp[inprocess:embedded-test]_h2:mem:embedded")
+                        .setUser("sa")
+                        .setPassword("")
+                        .setClientUUID("embedded-client")
+                        .build());
+                assertFalse(session.getConnHash().isEmpty());
+
+                OpResult result = stub.executeUpdate(StatementRequest.newBuilder()
+                        .setSession(session)
+                        .setSql("CREATE TABLE IF NOT EXISTS embedded_test (id INT)")
+                        .setParameters(ByteString.copyFrom(SerializationHandler.serialize(new ArrayList<>())))
+                        .build());
+                assertEquals(session.getConnHash(), result.getSession().getConnHash());
+            } finally {
+                channel.shutdownNow();
+                channel.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void testConnectionPoolsClosedWithTheServer() throws Exception {
+        OjpEmbeddedServer server = OjpEmbeddedServer.start("embedded-close-test");
+        ManagedChannel channel = InProcessChannelBuilder.forName(server.getName()).build();
+        try {
+            StatementServiceGrpc.StatementServiceBlockingStub stub = StatementServiceGrpc.newBlockingStub(channel);
+            SessionInfo session = stub.connect(ConnectionDetails.newBuilder()
+                    .setUrl("jdbc:ojp[inprocess:embedded-close-test]_h2:mem:embedded_close")
+                    .setUser("sa")
+                    .setPassword("")
+                    .setClientUUID("embedded-close-client")
+                    .build());
+            //The transaction and its session are left open, as an application that does not close its connections
+            //would.
+            SessionInfo transactionSession = stub.startTransaction(session);
+            stub.executeUpdate(StatementRequest.newBuilder()
+                    .setSession(transactionSession)
+                    .setSql("CREATE TABLE embedded_close_test (id INT)")
+                    .setParameters(ByteString.copyFrom(SerializationHandler.serialize(new ArrayList<>())))
+                    .build());
+        } finally {
+            channel.shutdownNow();
+            channel.awaitTermination(1, TimeUnit.SECONDS);
+        }
+
+        server.close();
+
+        //Only the connection opened here is left on the database.
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:embedded_close", "sa", "");
+             ResultSet rs = connection.createStatement()
+                     .executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+}
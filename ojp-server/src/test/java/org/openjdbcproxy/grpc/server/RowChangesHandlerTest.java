@@ -0,0 +1,94 @@
+package org.openjdbcproxy.grpc.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.dto.RowChange;
+import org.openjdbcproxy.grpc.dto.RowChangeType;
+import org.openjdbcproxy.grpc.server.resultset.RowChangesHandler;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the row changes the client kept on an updatable result set applied to it on the server.
+ */
+class RowChangesHandlerTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:row_changes_test", "sa", "");
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("CREATE TABLE row_changes_test (id INT PRIMARY KEY, name VARCHAR(20))");
+            statement.execute("INSERT INTO row_changes_test VALUES (1, 'one'), (2, 'two'), (3, 'three'), (4, 'four')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("DROP TABLE row_changes_test");
+        }
+        this.connection.close();
+    }
+
+    @Test
+    void testChangesApplied() throws SQLException {
+        List<RowChange> changes = List.of(
+                RowChange.builder().type(RowChangeType.DELETE).row(2).build(),
+                RowChange.builder().type(RowChangeType.INSERT).values(values(1, 5, 2, "five")).build(),
+                RowChange.builder().type(RowChangeType.UPDATE).row(3).values(values(2, "THREE")).build(),
+                RowChange.builder().type(RowChangeType.DELETE).row(4).build(),
+                RowChange.builder().type(RowChangeType.UPDATE).row(1).values(values(2, null)).build());
+
+        try (Statement statement = this.connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE,
+                ResultSet.CONCUR_UPDATABLE);
+             ResultSet rs = statement.executeQuery("SELECT id, name FROM row_changes_test ORDER BY id")) {
+            assertEquals(5, RowChangesHandler.apply(rs, changes));
+        }
+
+        assertEquals(List.of("1:null", "3:THREE", "5:five"), rows());
+    }
+
+    @Test
+    void testChangeOfMissingRowFails() throws SQLException {
+        List<RowChange> changes = List.of(RowChange.builder().type(RowChangeType.DELETE).row(10).build());
+
+        try (Statement statement = this.connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE,
+                ResultSet.CONCUR_UPDATABLE);
+             ResultSet rs = statement.executeQuery("SELECT id, name FROM row_changes_test ORDER BY id")) {
+            assertThrows(SQLException.class, () -> RowChangesHandler.apply(rs, changes));
+        }
+    }
+
+    private static Map<Integer, Object> values(Object... columnsAndValues) {
+        Map<Integer, Object> values = new HashMap<>();
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            values.put((Integer) columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return values;
+    }
+
+    private List<String> rows() throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = this.connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, name FROM row_changes_test ORDER BY id")) {
+            while (rs.next()) {
+                rows.add(rs.getInt(1) + ":" + rs.getString(2));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,54 @@
+package org.openjdbcproxy.grpc.server;
+
+import com.openjdbcproxy.grpc.ResourceType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the resources a session releases when the client closes them.
+ */
+class SessionTest {
+
+    private Session session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:session_test", "sa", "");
+        this.session = new Session(connection, "session-test-hash", "session-test-client");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.session.terminate();
+    }
+
+    @Test
+    void testResultSetsReleasedWithTheirStatement() throws Exception {
+        Statement statement = this.session.getConnection().createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT 1");
+        PreparedStatement otherStatement = this.session.getConnection().prepareStatement("SELECT 2");
+        ResultSet otherResultSet = otherStatement.executeQuery();
+        this.session.addStatement("statement-1", statement);
+        this.session.addResultSet("result-set-1", resultSet);
+        this.session.addPreparedStatement("statement-2", otherStatement);
+        this.session.addResultSet("result-set-2", otherResultSet);
+
+        assertSame(statement, this.session.removeResource(ResourceType.RES_STATEMENT, "statement-1"));
+
+        assertNull(this.session.getResultSet("result-set-1"));
+        assertNotNull(this.session.getResultSet("result-set-2"));
+        assertSame(otherStatement, this.session.removeResource(ResourceType.RES_PREPARED_STATEMENT, "statement-2"));
+        assertNull(this.session.getResultSet("result-set-2"));
+    }
+}
@@ -0,0 +1,89 @@
+package org.openjdbcproxy.grpc.server;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.server.statement.SettingsHandler;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests for the connection and statement setters applied by SettingsHandler along with an execution.
+ */
+public class SettingsHandlerTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:settings_handler_test", "sa", "");
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testConnectionSettingsApplied() throws SQLException {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("AutoCommit", false);
+        settings.put("TransactionIsolation", Connection.TRANSACTION_SERIALIZABLE);
+
+        SettingsHandler.applyConnectionSettings(connection, serializeToByteString(settings));
+
+        assertFalse(connection.getAutoCommit());
+        assertEquals(Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+    }
+
+    @Test
+    public void testStatementSettingsApplied() throws SQLException {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("MaxRows", 10);
+        settings.put("QueryTimeout", 5);
+
+        try (Statement statement = connection.createStatement()) {
+            SettingsHandler.applyStatementSettings(statement, serializeToByteString(settings));
+
+            assertEquals(10, statement.getMaxRows());
+            assertEquals(5, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    public void testEmptySettingsIgnored() throws SQLException {
+        SettingsHandler.applyConnectionSettings(connection, ByteString.EMPTY);
+
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    public void testRejectedSettingFails() throws SQLException {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("MaxRows", -1);
+
+        try (Statement statement = connection.createStatement()) {
+            assertThrows(SQLException.class, () ->
+                    SettingsHandler.applyStatementSettings(statement, serializeToByteString(settings)));
+        }
+    }
+
+    @Test
+    public void testUnknownSettingFails() {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("Unknown", 1);
+
+        SQLException e = assertThrows(SQLException.class, () ->
+                SettingsHandler.applyConnectionSettings(connection, serializeToByteString(settings)));
+        assertTrue(e.getMessage().startsWith("Unable to set Unknown"));
+    }
+}
@@ -0,0 +1,83 @@
+package org.openjdbcproxy.grpc.server;
+
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.grpc.dto.StatementDescription;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the prepared statement descriptions the server caches per connection hash.
+ */
+class StatementDescriptionCacheTest {
+
+    private static final String SQL = "SELECT id, name FROM description_test WHERE id = ?";
+
+    private final StatementDescription description = StatementDescription.builder().build();
+
+    @Test
+    void testDescriptionCachedPerConnHash() {
+        StatementDescriptionCache cache = new StatementDescriptionCache(60_000);
+
+        cache.put("hash-1", SQL, this.description);
+
+        assertSame(this.description, cache.get("hash-1", SQL));
+        assertNull(cache.get("hash-2", SQL));
+        assertNull(cache.get("hash-1", "SELECT 1"));
+    }
+
+    @Test
+    void testZeroTimeToLiveDisablesTheCache() {
+        StatementDescriptionCache cache = new StatementDescriptionCache(0);
+
+        cache.put("hash-1", SQL, this.description);
+
+        assertNull(cache.get("hash-1", SQL));
+    }
+
+    @Test
+    void testDescriptionExpires() throws Exception {
+        StatementDescriptionCache cache = new StatementDescriptionCache(1);
+
+        cache.put("hash-1", SQL, this.description);
+        Thread.sleep(10);
+
+        assertNull(cache.get("hash-1", SQL));
+    }
+
+    @Test
+    void testInvalidateDropsTheDescriptionsOfTheConnHash() {
+        StatementDescriptionCache cache = new StatementDescriptionCache(60_000);
+        cache.put("hash-1", SQL, this.description);
+        cache.put("hash-2", SQL, this.description);
+
+        cache.invalidate("hash-1");
+
+        assertNull(cache.get("hash-1", SQL));
+        assertSame(this.description, cache.get("hash-2", SQL));
+    }
+
+    @Test
+    void testDescribe() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:description_test", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE description_test (id INT, name VARCHAR(20))");
+            }
+            try (PreparedStatement ps = connection.prepareStatement(SQL)) {
+                StatementDescription described = StatementDescriptionCache.describe(ps);
+
+                assertEquals(2, described.getColumns().size());
+                assertEquals("ID", described.getColumns().get(0).getColumnName());
+                assertEquals(Types.VARCHAR, described.getColumns().get(1).getColumnType());
+                assertEquals(1, described.getParameters().size());
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package org.openjdbcproxy.grpc.server;
+
+import com.openjdbcproxy.grpc.ConnectionDetails;
+import com.openjdbcproxy.grpc.OpResult;
+import com.openjdbcproxy.grpc.ReleaseResourcesRequest;
+import com.openjdbcproxy.grpc.ResultSetFetchRequest;
+import com.openjdbcproxy.grpc.SessionInfo;
+import com.openjdbcproxy.grpc.StatementRequest;
+import com.openjdbcproxy.grpc.StatementServiceGrpc;
+import com.openjdbcproxy.grpc.TransactionStatus;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdbcproxy.constants.CommonConstants;
+import org.openjdbcproxy.grpc.dto.OpQueryResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.openjdbcproxy.grpc.SerializationHandler.deserialize;
+import static org.openjdbcproxy.grpc.SerializationHandler.serializeToByteString;
+
+/**
+ * Tests the statement service over the in-process transport against an H2 database.
+ */
+class StatementServiceImplTest {
+
+    private static final long FLOW_CONTROL_TIMEOUT = 200;
+
+    private SessionManagerImpl sessionManager;
+    private Server server;
+    private ManagedChannel channel;
+    private StatementServiceGrpc.StatementServiceBlockingStub blockingStub;
+    private StatementServiceGrpc.StatementServiceStub asyncStub;
+    private SessionInfo session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = "statement-service-test-" + UUID.randomUUID();
+        this.sessionManager = spy(new SessionManagerImpl());
+        this.server = InProcessServerBuilder.forName(name)
+                .addService(new StatementServiceImpl(this.sessionManager, new CircuitBreaker(60000, 3),
+                        new StatementDescriptionCache(60000), FLOW_CONTROL_TIMEOUT))
+                .build()
+                .start();
+        this.channel = InProcessChannelBuilder.forName(name).build();
+        this.blockingStub = StatementServiceGrpc.newBlockingStub(this.channel);
+        this.asyncStub = StatementServiceGrpc.newStub(this.channel);
+        this.session = this.blockingStub.connect(ConnectionDetails.newBuilder()
+                .setUrl("jdbc:ojp[inprocess:" + name + "]_h2:mem:" + name + ";DB_CLOSE_DELAY=-1")
+                .setUser("sa")
+                .setPassword("")
+                .setClientUUID("statement-service-client")
+                .build());
+        this.blockingStub.executeUpdate(request(this.session, "CREATE TABLE service_test (id INT)").build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.channel.shutdownNow();
+        this.server.shutdownNow();
+        this.server.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testUpdatePipelineEndsAtFirstFailure() throws Exception {
+        List<OpResult> results = new CopyOnWriteArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        StreamObserver<StatementRequest> requests = this.asyncStub.executeUpdatePipeline(new StreamObserver<>() {
+            @Override
+            public void onNext(OpResult opResult) {
+                results.add(opResult);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                failure.set(throwable);
+                done.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        });
+
+        requests.onNext(request(this.session, "INSERT INTO service_test VALUES (1)").build());
+        requests.onNext(request(this.session, "INSERT INTO service_test VALUES (2)").build());
+        requests.onNext(request(this.session, "INSERT INTO missing_table VALUES (3)").build());
+        requests.onNext(request(this.session, "INSERT INTO service_test VALUES (4)").build());
+        requests.onCompleted();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, results.size());
+        assertEquals(1, (Integer) deserialize(results.get(0).getValue(), Integer.class));
+        assertEquals(Status.Code.CANCELLED, Status.fromThrowable(failure.get()).getCode());
+        assertEquals(List.of(1, 2), this.ids());
+    }
+
+    @Test
+    void testUpdatePipelineCompletes() throws Exception {
+        List<OpResult> results = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<StatementRequest> requests = this.asyncStub.executeUpdatePipeline(new StreamObserver<>() {
+            @Override
+            public void onNext(OpResult opResult) {
+                results.add(opResult);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.countDown();
+            }
+        });
+
+        requests.onNext(request(this.session, "INSERT INTO service_test VALUES (1)").build());
+        requests.onNext(request(this.session, "INSERT INTO service_test VALUES (2)").build());
+        requests.onCompleted();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void testTerminatedSessionsReleased() {
+        SessionInfo transactionSession = this.blockingStub.startTransaction(this.session);
+        this.blockingStub.executeUpdate(request(transactionSession, "INSERT INTO service_test VALUES (1)").build());
+        SessionInfo unknownSession = this.session.toBuilder().setSessionUUID("unknown-session").build();
+
+        int released = this.blockingStub.releaseResources(ReleaseResourcesRequest.newBuilder()
+                .setSession(this.session)
+                .addTerminatedSessions(transactionSession)
+                .addTerminatedSessions(unknownSession)
+                .build()).getReleased();
+
+        assertEquals(1, released);
+        assertNull(this.sessionManager.getConnection(transactionSession));
+        assertTrue(this.ids().isEmpty());
+    }
+
+    @Test
+    void testSessionlessQueryEndsItsSession() throws Exception {
+        Iterator<OpResult> blocks = this.blockingStub.executeQuery(request(this.session, "SELECT 1")
+                .setProperties(serializeToByteString(properties(CommonConstants.SESSIONLESS_QUERY_FLAG)))
+                .build());
+
+        OpResult block = blocks.next();
+        assertTrue(block.getSession().getSessionUUID().isEmpty());
+        assertEquals(1, ((OpQueryResult) deserialize(block.getValue(), OpQueryResult.class)).getRows().size());
+        assertFalse(blocks.hasNext());
+        verify(this.sessionManager).terminateSession(argThat(s -> !s.getSessionUUID().isEmpty()));
+    }
+
+    @Test
+    void testSessionlessQueryOfLargeObjectsRefused() {
+        Iterator<OpResult> blocks = this.blockingStub.executeQuery(request(this.session, "SELECT CAST('x' AS CLOB)")
+                .setProperties(serializeToByteString(properties(CommonConstants.SESSIONLESS_QUERY_FLAG)))
+                .build());
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, blocks::next);
+        assertEquals(Status.Code.CANCELLED, e.getStatus().getCode());
+    }
+
+    @Test
+    void testFlowControlledResultSetReleasedWhenClientStopsReading() throws Exception {
+        List<OpResult> blocks = new CopyOnWriteArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch failed = new CountDownLatch(1);
+        this.asyncStub.executeQuery(request(this.session, "SELECT X FROM SYSTEM_RANGE(1, " +
+                        CommonConstants.ROWS_PER_RESULT_SET_DATA_BLOCK * 3 + ")")
+                        .setProperties(serializeToByteString(properties(CommonConstants.FLOW_CONTROLLED_RESULT_SET_FLAG)))
+                        .build(),
+                new ClientResponseObserver<StatementRequest, OpResult>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<StatementRequest> requestStream) {
+                        requestStream.disableAutoRequestWithInitial(1);
+                    }
+
+                    @Override
+                    public void onNext(OpResult opResult) {
+                        blocks.add(opResult);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        failure.set(throwable);
+                        failed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, Status.fromThrowable(failure.get()).getCode());
+        assertEquals(1, blocks.size());
+        OpQueryResult firstBlock = deserialize(blocks.get(0).getValue(), OpQueryResult.class);
+        assertNull(this.sessionManager.getResultSet(blocks.get(0).getSession(), firstBlock.getResultSetUUID()));
+    }
+
+    @Test
+    void testSlowClientHoldsNoServerThread() throws Exception {
+        String name = "statement-service-single-thread-test-" + UUID.randomUUID();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Server singleThreadServer = InProcessServerBuilder.forName(name)
+                .executor(executor)
+                .addService(new StatementServiceImpl(this.sessionManager, new CircuitBreaker(60000, 3),
+                        new StatementDescriptionCache(60000), 60000))
+                .build()
+                .start();
+        ManagedChannel singleThreadChannel = InProcessChannelBuilder.forName(name).build();
+        try {
+            StatementServiceGrpc.StatementServiceBlockingStub stub = StatementServiceGrpc.newBlockingStub(
+                    singleThreadChannel);
+            SessionInfo singleThreadSession = stub.connect(ConnectionDetails.newBuilder()
+                    .setUrl("jdbc:ojp[inprocess:" + name + "]_h2:mem:" + name + ";DB_CLOSE_DELAY=-1")
+                    .setUser("sa")
+                    .setPassword("")
+                    .setClientUUID("statement-service-client")
+                    .build());
+            List<OpResult> blocks = new CopyOnWriteArrayList<>();
+            CountDownLatch firstBlock = new CountDownLatch(1);
+            AtomicReference<ClientCallStreamObserver<StatementRequest>> call = new AtomicReference<>();
+            StatementServiceGrpc.newStub(singleThreadChannel).executeQuery(request(singleThreadSession,
+                            "SELECT X FROM SYSTEM_RANGE(1, " + CommonConstants.ROWS_PER_RESULT_SET_DATA_BLOCK * 3 + ")")
+                            .setProperties(serializeToByteString(properties(CommonConstants.FLOW_CONTROLLED_RESULT_SET_FLAG)))
+                            .build(),
+                    new ClientResponseObserver<StatementRequest, OpResult>() {
+                        @Override
+                        public void beforeStart(ClientCallStreamObserver<StatementRequest> requestStream) {
+                            call.set(requestStream);
+                            requestStream.disableAutoRequestWithInitial(1);
+                        }
+
+                        @Override
+                        public void onNext(OpResult opResult) {
+                            blocks.add(opResult);
+                            firstBlock.countDown();
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                        }
+                    });
+            assertTrue(firstBlock.await(5, TimeUnit.SECONDS));
+
+            //The only server thread is free to run other calls while the first client reads no more rows.
+            assertTrue(stub.withDeadlineAfter(2, TimeUnit.SECONDS)
+                    .executeQuery(request(singleThreadSession, "SELECT 1").build()).hasNext());
+
+            call.get().cancel("Client gone", null);
+            OpQueryResult result = deserialize(blocks.get(0).getValue(), OpQueryResult.class);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (this.sessionManager.getResultSet(blocks.get(0).getSession(), result.getResultSetUUID()) != null &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNull(this.sessionManager.getResultSet(blocks.get(0).getSession(), result.getResultSetUUID()));
+        } finally {
+            singleThreadChannel.shutdownNow();
+            singleThreadServer.shutdownNow();
+            singleThreadServer.awaitTermination(1, TimeUnit.SECONDS);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMetadataSentWithTheQueryOnly() {
+        OpResult queryBlock = this.blockingStub.executeQuery(request(this.session, "SELECT id FROM service_test")
+                .build()).next();
+        OpQueryResult queryResult = deserialize(queryBlock.getValue(), OpQueryResult.class);
+        assertEquals(List.of("ID"), queryResult.getLabels());
+        assertEquals(1, queryResult.getColumns().size());
+
+        OpResult fetchBlock = this.blockingStub.fetchNextRows(ResultSetFetchRequest.newBuilder()
+                .setSession(queryBlock.getSession())
+                .setResultSetUUID(queryResult.getResultSetUUID())
+                .setSize(1)
+                .build());
+        OpQueryResult fetchResult = deserialize(fetchBlock.getValue(), OpQueryResult.class);
+        assertNull(fetchResult.getLabels());
+        assertNull(fetchResult.getColumns());
+        assertEquals(queryResult.getResultSetUUID(), fetchResult.getResultSetUUID());
+    }
+
+    @Test
+    void testTransactionBegunByFailedUpdateRolledBack() throws Exception {
+        SessionInfo querySession = this.blockingStub.executeQuery(request(this.session, "SELECT 1").build())
+                .next().getSession();
+
+        assertThrows(StatusRuntimeException.class, () -> this.blockingStub.executeUpdate(
+                request(querySession, "INSERT INTO missing_table VALUES (1)").setBeginTransaction(true).build()));
+
+        assertTrue(this.sessionManager.getConnection(querySession).getAutoCommit());
+    }
+
+    @Test
+    void testSessionStartedByFailedUpdateTerminated() throws Exception {
+        assertThrows(StatusRuntimeException.class, () -> this.blockingStub.executeUpdate(
+                request(this.session, "INSERT INTO missing_table VALUES (1)").setBeginTransaction(true).build()));
+
+        verify(this.sessionManager).terminateSession(argThat(s -> TransactionStatus.TRX_ACTIVE.equals(
+                s.getTransactionInfo().getTransactionStatus())));
+    }
+
+    private static StatementRequest.Builder request(SessionInfo session, String sql) {
+        return StatementRequest.newBuilder()
+                .setSession(session)
+                .setSql(sql)
+                .setParameters(serializeToByteString(new ArrayList<>()));
+    }
+
+    private static Map<String, Object> properties(String flag) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(flag, Boolean.TRUE);
+        return properties;
+    }
+
+    private List<Integer> ids() {
+        List<Integer> ids = new ArrayList<>();
+        Iterator<OpResult> blocks = this.blockingStub.executeQuery(
+                request(this.session, "SELECT id FROM service_test ORDER BY id").build());
+        while (blocks.hasNext()) {
+            OpQueryResult queryResult = deserialize(blocks.next().getValue(), OpQueryResult.class);
+            for (Object[] row : queryResult.getRows()) {
+                ids.add((Integer) row[0]);
+            }
+        }
+        return ids;
+    }
+}